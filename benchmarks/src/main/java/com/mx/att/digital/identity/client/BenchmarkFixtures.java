@@ -0,0 +1,77 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.config.JacksonConfig;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Piezas compartidas por las suites. Vive en el paquete {@code client} para reutilizar las
+ * muestras de {@link OrchestratorWarmUp} y construir el {@link OrchestratorCodec} real.
+ */
+public final class BenchmarkFixtures {
+
+  public static final String FUNCTION_ARN = "arn:aws:lambda:us-east-1:000000000000:function:bench";
+
+  private BenchmarkFixtures() {
+  }
+
+  /** El mismo {@code ObjectMapper} que registra {@link JacksonConfig} en la aplicación. */
+  public static ObjectMapper objectMapper() {
+    return new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json(), false);
+  }
+
+  /** Request válido de la operación, como JSON del portal. */
+  public static String requestJson(OrchestratorOperation op) {
+    return OrchestratorWarmUp.sampleRequest(op);
+  }
+
+  /** Respuesta exitosa de la función para la operación. */
+  public static byte[] responseBytes(OrchestratorOperation op) {
+    return OrchestratorWarmUp.sampleResponse(op).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Cliente síncrono sin captura de logs, hedging ni límite adaptativo. */
+  public static OrchestratorClient client(LambdaClient lambda, ObjectMapper mapper) {
+    return new OrchestratorClient(lambda, mapper, FUNCTION_ARN, "RequestResponse",
+        LambdaLogCapture.fixed("None"), HedgedInvoker.disabled(), AdaptiveConcurrencyLimiter.disabled(), MicroBatcher.disabled(),
+        OrchestratorMetrics.standalone());
+  }
+
+  static OrchestratorCodec codec(ObjectMapper mapper) {
+    return new OrchestratorCodec(mapper, FUNCTION_ARN, "RequestResponse", LambdaLogCapture.fixed("None"),
+        OrchestratorMetrics.standalone());
+  }
+
+  /**
+   * {@link LambdaClient} que responde siempre lo mismo, sin red. Un stub y no un mock de Mockito:
+   * el mock registra cada invocación y en una corrida de JMH eso crece sin límite y se mide.
+   */
+  public static LambdaClient stubLambda(byte[] response) {
+    InvokeResponse canned = InvokeResponse.builder()
+        .statusCode(200)
+        .executedVersion("$LATEST")
+        .payload(SdkBytes.fromByteArrayUnsafe(response))
+        .build();
+    return new LambdaClient() {
+      @Override
+      public InvokeResponse invoke(InvokeRequest request) {
+        return canned;
+      }
+
+      @Override
+      public String serviceName() {
+        return "lambda";
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+}
@@ -0,0 +1,94 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.model.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sobre hacia Lambda ({@code buildRequest}: serialización al buffer del pool + {@code InvokeRequest})
+ * y parseo de la respuesta, por operación, con las métricas de {@link OrchestratorMetrics} activas
+ * como en producción.
+ *
+ * <p>Los {@code legacy*} reproducen el camino anterior del cliente y sirven de línea base: comparar
+ * su {@code gc.alloc.rate.norm} con el del codec da los bytes por llamada que se ahorran.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrchestratorCodecBenchmark {
+
+  @Param({"SESSION_INIT", "MDN_VALIDATE", "OTP_REQUEST", "OTP_VALIDATE", "OTP_FORWARD"})
+  public OrchestratorOperation operation;
+
+  private ObjectMapper mapper;
+  private OrchestratorCodec codec;
+  private Object request;
+  private InvokeResponse response;
+  private JavaType responseType;
+
+  @Setup
+  public void setUp() throws Exception {
+    mapper = BenchmarkFixtures.objectMapper();
+    codec = BenchmarkFixtures.codec(mapper);
+    request = mapper.readValue(BenchmarkFixtures.requestJson(operation), operation.requestType());
+    response = InvokeResponse.builder()
+        .statusCode(200)
+        .payload(SdkBytes.fromByteArrayUnsafe(BenchmarkFixtures.responseBytes(operation)))
+        .build();
+    responseType = mapper.getTypeFactory().constructParametricType(ApiResponse.class, operation.dataType());
+  }
+
+  @Benchmark
+  public InvokeRequest buildRequest() {
+    return codec.buildRequest(operation, request);
+  }
+
+  /** Sobre como se armaba antes: {@code Map} + {@code String} intermedio + copia a UTF-8. */
+  @Benchmark
+  public InvokeRequest legacyBuildRequest() throws Exception {
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("operation", operation.wireName());
+    payload.put("request", request);
+    return InvokeRequest.builder()
+        .functionName(BenchmarkFixtures.FUNCTION_ARN)
+        .invocationType("RequestResponse")
+        .logType("None")
+        .payload(SdkBytes.fromString(mapper.writeValueAsString(payload), StandardCharsets.UTF_8))
+        .build();
+  }
+
+  @Benchmark
+  public ApiResponse<Object> readResponse() throws Exception {
+    return codec.readResponse(response, operation, 1_000_000L);
+  }
+
+  /** Lectura como se hacía antes: {@code String} intermedio y {@code readValue} con el tipo genérico. */
+  @Benchmark
+  public ApiResponse<Object> legacyReadResponse() throws Exception {
+    String body = response.payload().asUtf8String();
+    if (body.isBlank()) throw new IllegalStateException("Respuesta vacía");
+    return mapper.readValue(body, responseType);
+  }
+}
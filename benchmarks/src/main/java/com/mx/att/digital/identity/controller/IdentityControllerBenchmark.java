@@ -0,0 +1,97 @@
+package com.mx.att.digital.identity.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.client.BenchmarkFixtures;
+import com.mx.att.digital.identity.client.OrchestratorClient;
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.exception.GlobalExceptionHandler;
+import com.mx.att.digital.identity.idempotency.IdempotencyGuard;
+import com.mx.att.digital.identity.idempotency.InMemoryIdempotencyStore;
+import com.mx.att.digital.identity.service.impl.IdentityServiceImpl;
+import com.mx.att.digital.identity.service.impl.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Request completo por {@link IdentityController}: dispatch de MVC, lectura y {@code @Valid} del
+ * body, {@link IdentityServiceImpl} (single-flight), {@link OrchestratorClient} con su codec y
+ * escritura de la respuesta; {@code LambdaClient} es un stub sin red. Sin los aspectos de
+ * resilience4j ni idempotencia: miden su propio costo aparte y aquí ocultarían el camino base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentityControllerBenchmark {
+
+  @Param({"SESSION_INIT", "MDN_VALIDATE", "OTP_REQUEST", "OTP_VALIDATE", "OTP_FORWARD"})
+  public OrchestratorOperation operation;
+
+  private MockMvc mvc;
+  private RequestBuilder request;
+
+  @Setup
+  public void setUp() throws Exception {
+    ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    OrchestratorClient client = BenchmarkFixtures.client(
+        BenchmarkFixtures.stubLambda(BenchmarkFixtures.responseBytes(operation)), mapper);
+    IdempotencyGuard idempotency = new IdempotencyGuard(
+        new InMemoryIdempotencyStore(1024, 512, 4), mapper, registry, Duration.ofMinutes(10), false);
+    IdentityController controller = new IdentityController(
+        new IdentityServiceImpl(client, new SingleFlight(registry), idempotency),
+        req -> { throw new UnsupportedOperationException("lotes fuera de este benchmark"); },
+        req -> { throw new UnsupportedOperationException("flujo compuesto fuera de este benchmark"); });
+
+    mvc = MockMvcBuilders.standaloneSetup(controller)
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .setMessageConverters(new MappingJackson2HttpMessageConverter(mapper))
+        .build();
+    request = post(path(operation))
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(BenchmarkFixtures.requestJson(operation));
+
+    int status = call().getStatus();
+    if (status != 200) {
+      throw new IllegalStateException(operation + " respondió " + status);
+    }
+  }
+
+  @Benchmark
+  public MockHttpServletResponse call() throws Exception {
+    return mvc.perform(request).andReturn().getResponse();
+  }
+
+  private static String path(OrchestratorOperation op) {
+    return switch (op) {
+      case SESSION_INIT -> "/session/init";
+      case MDN_VALIDATE -> "/mdn/validate";
+      case OTP_REQUEST -> "/otp/request";
+      case OTP_VALIDATE -> "/otp/validate";
+      case OTP_FORWARD -> "/otp/forward";
+    };
+  }
+}
@@ -0,0 +1,90 @@
+package com.mx.att.digital.identity.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.client.BenchmarkFixtures;
+import com.mx.att.digital.identity.client.ConcurrencyLimitExceededException;
+import com.mx.att.digital.identity.client.OrchestratorClientException;
+import com.mx.att.digital.identity.controller.IdentityController;
+import com.mx.att.digital.identity.model.ErrorResponse;
+import com.mx.att.digital.identity.model.SessionInitRequest;
+import com.mx.att.digital.identity.ratelimit.RateLimitedException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Respuesta de error completa: handler de {@link GlobalExceptionHandler} + serialización del
+ * {@link ErrorResponse} con el {@code ObjectMapper} de la aplicación. Los logs del handler quedan
+ * fuera (nivel OFF en {@code logback.xml} del módulo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+  @Param({"validation", "rateLimited", "concurrencyLimit", "bulkheadFull", "unexpected"})
+  public String kind;
+
+  private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+  private ObjectMapper mapper;
+  private Exception exception;
+
+  @Setup
+  public void setUp() throws Exception {
+    mapper = BenchmarkFixtures.objectMapper();
+    exception = switch (kind) {
+      case "validation" -> validationFailure();
+      case "rateLimited" -> new RateLimitedException("otpRequest", Duration.ofMillis(1500));
+      case "concurrencyLimit" -> new ConcurrencyLimitExceededException("mdnValidate", 20);
+      case "bulkheadFull" -> BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("otpValidate"));
+      case "unexpected" -> new OrchestratorClientException("Lambda function error: Unhandled (op=otpRequest)");
+      default -> throw new IllegalArgumentException(kind);
+    };
+  }
+
+  @Benchmark
+  public byte[] render() throws Exception {
+    ResponseEntity<ErrorResponse> response = switch (exception) {
+      case MethodArgumentNotValidException ex -> handler.handleValidation(ex);
+      case RateLimitedException ex -> handler.handleRateLimited(ex);
+      case ConcurrencyLimitExceededException ex -> handler.handleConcurrencyLimit(ex);
+      case BulkheadFullException ex -> handler.handleBulkheadFull(ex);
+      default -> handler.handleGeneric(exception);
+    };
+    return mapper.writeValueAsBytes(response.getBody());
+  }
+
+  /** Dos campos inválidos de {@code /session/init}, como los reporta {@code @Valid}. */
+  private static MethodArgumentNotValidException validationFailure() throws NoSuchMethodException {
+    MethodParameter parameter = new MethodParameter(
+        IdentityController.class.getMethod("sessionInit", SessionInitRequest.class), 0);
+    BeanPropertyBindingResult result = new BeanPropertyBindingResult(
+        new SessionInitRequest("", null, null), "sessionInitRequest");
+    result.addError(new FieldError("sessionInitRequest", "uuid", "", false,
+        new String[] {"NotBlank"}, null, "must not be blank"));
+    result.addError(new FieldError("sessionInitRequest", "timestamp", null, false,
+        new String[] {"NotNull"}, null, "must not be null"));
+    return new MethodArgumentNotValidException(parameter, result);
+  }
+}
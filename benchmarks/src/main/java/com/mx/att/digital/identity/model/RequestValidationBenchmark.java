@@ -0,0 +1,72 @@
+package com.mx.att.digital.identity.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.client.BenchmarkFixtures;
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation de cada record de request, válido e inválido ({@code uuid} en blanco: lo exigen
+ * todos). El camino inválido construye violaciones y mensajes interpolados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestValidationBenchmark {
+
+  @Param({"SESSION_INIT", "MDN_VALIDATE", "OTP_REQUEST", "OTP_VALIDATE", "OTP_FORWARD"})
+  public OrchestratorOperation operation;
+
+  @Param({"true", "false"})
+  public boolean valid;
+
+  private ValidatorFactory factory;
+  private Validator validator;
+  private Object request;
+
+  @Setup
+  public void setUp() throws Exception {
+    factory = Validation.buildDefaultValidatorFactory();
+    validator = factory.getValidator();
+    ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+    String json = BenchmarkFixtures.requestJson(operation);
+    if (!valid) {
+      json = json.replaceFirst("\"uuid\":\"[^\"]*\"", "\"uuid\":\"\"");
+    }
+    request = mapper.readValue(json, operation.requestType());
+    if (validator.validate(request).isEmpty() != valid) {
+      throw new IllegalStateException("muestra con validez inesperada: " + operation);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    factory.close();
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<Object>> validate() {
+    return validator.validate(request);
+  }
+}
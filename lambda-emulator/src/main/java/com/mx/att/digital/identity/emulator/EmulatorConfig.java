@@ -0,0 +1,114 @@
+package com.mx.att.digital.identity.emulator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Comportamiento del emulador, leído de un {@code .properties} (ver {@code emulator.properties}
+ * en la raíz del módulo). Cada operación toma {@code default.*} salvo lo que sobrescriba en
+ * {@code operation.<op>.*}.
+ *
+ * @param port                 puerto HTTP (0 = efímero)
+ * @param memorySizeMb         {@code Memory Size} reportado en la línea REPORT
+ * @param coldStartProbability probabilidad de que una invocación caiga en un entorno frío
+ * @param initDuration         {@code Init Duration} de los arranques en frío (se suma a la latencia)
+ * @param fallback             perfil de las operaciones sin configuración propia ({@code default.*})
+ * @param operations           perfiles por operación ({@code sessionInit}, {@code mdnValidate}, ...)
+ */
+public record EmulatorConfig(
+    int port,
+    int memorySizeMb,
+    double coldStartProbability,
+    LatencyDistribution initDuration,
+    OperationProfile fallback,
+    Map<String, OperationProfile> operations
+) {
+
+  public static final Set<String> OPERATIONS =
+      Set.of("sessionInit", "mdnValidate", "otpRequest", "otpValidate", "otpForward");
+
+  /**
+   * @param latency           tiempo de la función por invocación
+   * @param throttleRate      fracción de invocaciones rechazadas con 429 {@code TooManyRequestsException}
+   * @param functionErrorRate fracción que responde 200 con {@code X-Amz-Function-Error: Unhandled}
+   */
+  public record OperationProfile(LatencyDistribution latency, double throttleRate, double functionErrorRate) {
+
+    public OperationProfile {
+      rate("throttle-rate", throttleRate);
+      rate("function-error-rate", functionErrorRate);
+    }
+  }
+
+  public EmulatorConfig {
+    if (port < 0 || port > 65535) throw new IllegalArgumentException("port fuera de rango: " + port);
+    if (memorySizeMb < 128) throw new IllegalArgumentException("memory-size-mb debe ser >= 128: " + memorySizeMb);
+    rate("cold-start.probability", coldStartProbability);
+    for (String op : operations.keySet()) {
+      if (!OPERATIONS.contains(op)) throw new IllegalArgumentException("operación desconocida: " + op);
+    }
+    operations = Map.copyOf(operations);
+  }
+
+  public static EmulatorConfig defaults() {
+    return from(new Properties());
+  }
+
+  public static EmulatorConfig load(Path file) throws IOException {
+    Properties props = new Properties();
+    try (Reader in = Files.newBufferedReader(file)) {
+      props.load(in);
+    }
+    return from(props);
+  }
+
+  public static EmulatorConfig from(Properties props) {
+    OperationProfile defaults = new OperationProfile(
+        LatencyDistribution.parse(props.getProperty("default.latency", "lognormal:median=40ms,p99=300ms")),
+        Double.parseDouble(props.getProperty("default.throttle-rate", "0")),
+        Double.parseDouble(props.getProperty("default.function-error-rate", "0")));
+
+    Map<String, OperationProfile> operations = new HashMap<>();
+    for (String key : props.stringPropertyNames()) {
+      if (!key.startsWith("operation.")) continue;
+      String rest = key.substring("operation.".length());
+      int dot = rest.indexOf('.');
+      if (dot <= 0) continue;
+      String op = rest.substring(0, dot);
+      if (operations.containsKey(op)) continue;
+      String prefix = "operation." + op + ".";
+      operations.put(op, new OperationProfile(
+          props.containsKey(prefix + "latency")
+              ? LatencyDistribution.parse(props.getProperty(prefix + "latency")) : defaults.latency(),
+          Double.parseDouble(props.getProperty(prefix + "throttle-rate", Double.toString(defaults.throttleRate()))),
+          Double.parseDouble(props.getProperty(prefix + "function-error-rate", Double.toString(defaults.functionErrorRate())))));
+    }
+
+    return new EmulatorConfig(
+        Integer.parseInt(props.getProperty("port", "9001")),
+        Integer.parseInt(props.getProperty("memory-size-mb", "512")),
+        Double.parseDouble(props.getProperty("cold-start.probability", "0.02")),
+        LatencyDistribution.parse(props.getProperty("cold-start.init-duration", "lognormal:median=250ms,p99=900ms")),
+        defaults,
+        operations);
+  }
+
+  public OperationProfile profile(String operation) {
+    return operations.getOrDefault(operation, fallback);
+  }
+
+  /** Mismo comportamiento en otro puerto (las pruebas usan 0). */
+  public EmulatorConfig withPort(int newPort) {
+    return new EmulatorConfig(newPort, memorySizeMb, coldStartProbability, initDuration, fallback, operations);
+  }
+
+  private static void rate(String name, double value) {
+    if (value < 0 || value > 1) throw new IllegalArgumentException(name + " debe estar entre 0 y 1: " + value);
+  }
+}
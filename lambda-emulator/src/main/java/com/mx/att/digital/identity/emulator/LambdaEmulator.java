@@ -0,0 +1,275 @@
+package com.mx.att.digital.identity.emulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Emulador local del API Invoke de Lambda ({@code POST /2015-03-31/functions/{fn}/invocations})
+ * que responde el sobre {@code {"operation","request"}} de {@code OrchestratorClient} para las
+ * cinco operaciones, más {@code keepWarm}, y el sobre de lote {@code {"operation","requests":[...]}}
+ * de {@code MicroBatcher} (una sola latencia para todo el lote, {@code {"responses":[...]}} en el
+ * mismo orden). Apuntar la aplicación con
+ * {@code aws.lambda.endpoint-override=http://127.0.0.1:<port>}.
+ *
+ * <p>Por invocación, según {@link EmulatorConfig}: 429 {@code TooManyRequestsException} con
+ * probabilidad {@code throttle-rate}; arranque en frío con probabilidad
+ * {@code cold-start.probability} (suma {@code Init Duration}); latencia muestreada de la
+ * distribución de la operación; y {@code X-Amz-Function-Error: Unhandled} con probabilidad
+ * {@code function-error-rate}. Con {@code X-Amz-Log-Type: Tail} devuelve en
+ * {@code X-Amz-Log-Result} los logs con su línea {@code REPORT}. {@code DryRun} responde 204 y
+ * {@code Event} 202, como Lambda. Cada request corre en su propio hilo virtual.
+ */
+public final class LambdaEmulator implements AutoCloseable {
+
+  static final String INVOKE_PATH = "/2015-03-31/functions/";
+
+  private final EmulatorConfig config;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final LongAdder invocations = new LongAdder();
+  private final LongAdder throttled = new LongAdder();
+  private final LongAdder functionErrors = new LongAdder();
+  private final LongAdder coldStarts = new LongAdder();
+
+  /** Totales desde el arranque. */
+  public record Stats(long invocations, long throttled, long functionErrors, long coldStarts) {}
+
+  private LambdaEmulator(EmulatorConfig config) throws IOException {
+    this.config = config;
+    this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lambda-emulator-", 0).factory());
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", config.port()), 0);
+    this.server.setExecutor(executor);
+    this.server.createContext(INVOKE_PATH, this::handle);
+  }
+
+  public static LambdaEmulator start(EmulatorConfig config) throws IOException {
+    LambdaEmulator emulator = new LambdaEmulator(config);
+    emulator.server.start();
+    return emulator;
+  }
+
+  public static void main(String[] args) throws IOException {
+    EmulatorConfig config = args.length > 0 ? EmulatorConfig.load(Path.of(args[0])) : EmulatorConfig.defaults();
+    LambdaEmulator emulator = start(config);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      emulator.close();
+      System.out.println("[EMULATOR] " + emulator.stats());
+    }));
+    System.out.println("[EMULATOR] Lambda Invoke API en " + emulator.endpoint()
+        + " (aws.lambda.endpoint-override)");
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  /** Valor para {@code aws.lambda.endpoint-override}. */
+  public URI endpoint() {
+    return URI.create("http://127.0.0.1:" + port());
+  }
+
+  public Stats stats() {
+    return new Stats(invocations.sum(), throttled.sum(), functionErrors.sum(), coldStarts.sum());
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  // ===== Invoke =====
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      String path = exchange.getRequestURI().getPath();
+      if (!"POST".equals(exchange.getRequestMethod()) || !path.endsWith("/invocations")) {
+        error(exchange, 404, "ResourceNotFoundException", "Ruta no emulada: " + path);
+        return;
+      }
+      byte[] body = exchange.getRequestBody().readAllBytes();
+      String invocationType = header(exchange, "X-Amz-Invocation-Type", "RequestResponse");
+      if ("DryRun".equals(invocationType)) {
+        exchange.sendResponseHeaders(204, -1);
+        return;
+      }
+
+      invocations.increment();
+      RandomGenerator random = ThreadLocalRandom.current();
+      JsonNode envelope = parse(body);
+      String operation = envelope.path("operation").asText("");
+      JsonNode request = envelope.path("request");
+      boolean keepWarm = "keepWarm".equals(operation);
+      EmulatorConfig.OperationProfile profile = config.profile(operation);
+
+      if (!keepWarm && random.nextDouble() < profile.throttleRate()) {
+        throttled.increment();
+        exchange.getResponseHeaders().add("Retry-After", "1");
+        error(exchange, 429, "TooManyRequestsException", "Rate Exceeded.");
+        return;
+      }
+
+      long initNanos = 0;
+      if (random.nextDouble() < config.coldStartProbability()) {
+        coldStarts.increment();
+        initNanos = config.initDuration().sampleNanos(random);
+      }
+      long durationNanos = keepWarm
+          ? TimeUnit.MILLISECONDS.toNanos(request.path("delayMs").asLong(0))
+          : profile.latency().sampleNanos(random);
+      sleepNanos(initNanos + durationNanos);
+
+      String requestId = UUID.randomUUID().toString();
+      exchange.getResponseHeaders().add("x-amzn-RequestId", requestId);
+      if ("Event".equals(invocationType)) {
+        exchange.sendResponseHeaders(202, -1);
+        return;
+      }
+
+      byte[] payload;
+      boolean unknown = !keepWarm && !EmulatorConfig.OPERATIONS.contains(operation);
+      if (unknown || (!keepWarm && random.nextDouble() < profile.functionErrorRate())) {
+        functionErrors.increment();
+        exchange.getResponseHeaders().add("X-Amz-Function-Error", "Unhandled");
+        payload = functionError(unknown ? "Operación desconocida: " + operation : "Error emulado (op=" + operation + ")");
+      } else {
+        JsonNode batch = envelope.path("requests");
+        payload = keepWarm ? "{}".getBytes(StandardCharsets.UTF_8)
+            : batch.isArray() ? mapper.writeValueAsBytes(batch(operation, batch))
+            : mapper.writeValueAsBytes(success(operation, request));
+      }
+
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.getResponseHeaders().add("X-Amz-Executed-Version", "$LATEST");
+      if ("Tail".equalsIgnoreCase(header(exchange, "X-Amz-Log-Type", "None"))) {
+        exchange.getResponseHeaders().add("X-Amz-Log-Result", tailLogs(requestId, operation, durationNanos, initNanos, random));
+      }
+      send(exchange, 200, payload);
+    }
+  }
+
+  // ===== Cuerpos =====
+
+  private ObjectNode batch(String operation, JsonNode requests) {
+    ObjectNode out = mapper.createObjectNode();
+    ArrayNode responses = out.putArray("responses");
+    for (JsonNode request : requests) {
+      responses.add(success(operation, request));
+    }
+    return out;
+  }
+
+  private ObjectNode success(String operation, JsonNode request) {
+    String uuid = request.path("uuid").asText("emulated");
+    String msisdn = request.path("msisdn").asText("5500000000");
+    ObjectNode data = mapper.createObjectNode()
+        .put("uuid", uuid)
+        .put("resultCode", "0")
+        .put("resultDesc", "ok");
+    switch (operation) {
+      case "mdnValidate" -> data
+          .put("msisdn", msisdn)
+          .put("customerType", "POSPAGO")
+          .put("platform", "P1")
+          .put("isRegistered", true)
+          .put("status", "ACTIVE");
+      case "otpValidate" -> data.put("onboardingUrl", "https://localhost/onboarding/" + uuid);
+      default -> { }
+    }
+    ObjectNode response = mapper.createObjectNode()
+        .put("status", "OK")
+        .put("message", "emulated")
+        .put("timestamp", OffsetDateTime.now(ZoneOffset.UTC).toString());
+    response.set("data", data);
+    return response;
+  }
+
+  private byte[] functionError(String message) throws IOException {
+    return mapper.writeValueAsBytes(mapper.createObjectNode()
+        .put("errorMessage", message)
+        .put("errorType", "EmulatedError"));
+  }
+
+  /** Lo que Lambda deja en {@code X-Amz-Log-Result}: los últimos 4 KB de logs, en base64. */
+  private String tailLogs(String requestId, String operation, long durationNanos, long initNanos, RandomGenerator random) {
+    double durationMs = durationNanos / 1e6;
+    StringBuilder logs = new StringBuilder()
+        .append("START RequestId: ").append(requestId).append(" Version: $LATEST\n")
+        .append(String.format(Locale.ROOT, "%s\t%s\tINFO\toperation=%s%n", OffsetDateTime.now(ZoneOffset.UTC), requestId, operation))
+        .append("END RequestId: ").append(requestId).append('\n')
+        .append(String.format(Locale.ROOT,
+            "REPORT RequestId: %s\tDuration: %.2f ms\tBilled Duration: %d ms\tMemory Size: %d MB\tMax Memory Used: %d MB",
+            requestId, durationMs, (long) Math.ceil(durationMs), config.memorySizeMb(),
+            config.memorySizeMb() / 5 + random.nextInt(config.memorySizeMb() / 10 + 1)));
+    if (initNanos > 0) {
+      logs.append(String.format(Locale.ROOT, "\tInit Duration: %.2f ms", initNanos / 1e6));
+    }
+    logs.append("\t\n");
+    return Base64.getEncoder().encodeToString(logs.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  // ===== HTTP =====
+
+  private JsonNode parse(byte[] body) {
+    try {
+      return mapper.readTree(body);
+    } catch (IOException ex) {
+      return mapper.createObjectNode();
+    }
+  }
+
+  /** Error del servicio Lambda (no de la función): el SDK toma el código de {@code X-Amzn-ErrorType}. */
+  private void error(HttpExchange exchange, int status, String type, String message) throws IOException {
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.getResponseHeaders().add("X-Amzn-ErrorType", type);
+    send(exchange, status, mapper.writeValueAsBytes(mapper.createObjectNode()
+        .put("__type", type)
+        .put("Type", "User")
+        .put("message", message)));
+  }
+
+  private static void send(HttpExchange exchange, int status, byte[] payload) throws IOException {
+    exchange.sendResponseHeaders(status, payload.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(payload);
+    }
+  }
+
+  private static String header(HttpExchange exchange, String name, String fallback) {
+    String value = exchange.getRequestHeaders().getFirst(name);
+    return value == null || value.isBlank() ? fallback : value;
+  }
+
+  private static void sleepNanos(long nanos) {
+    if (nanos <= 0) return;
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.mx.att.digital.identity.emulator;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de latencias del emulador. Formatos aceptados por {@link #parse(String)}:
+ *
+ * <ul>
+ *   <li>{@code 40ms} o {@code fixed:40ms}: siempre lo mismo.</li>
+ *   <li>{@code uniform:10ms..80ms}: uniforme en el rango.</li>
+ *   <li>{@code lognormal:median=40ms,p99=300ms}: log-normal con esa mediana y ese p99; la cola
+ *       larga típica de una función con dependencias remotas.</li>
+ * </ul>
+ * Las duraciones admiten {@code ms} y {@code s}.
+ */
+public sealed interface LatencyDistribution {
+
+  /** z del percentil 99 de la normal estándar. */
+  double Z_99 = 2.3263478740408408;
+
+  long sampleNanos(RandomGenerator random);
+
+  static LatencyDistribution parse(String spec) {
+    String s = spec.trim().toLowerCase(Locale.ROOT);
+    int colon = s.indexOf(':');
+    String kind = colon < 0 ? "fixed" : s.substring(0, colon);
+    String args = colon < 0 ? s : s.substring(colon + 1);
+    return switch (kind) {
+      case "fixed" -> new Fixed(duration(args));
+      case "uniform" -> {
+        int dots = args.indexOf("..");
+        if (dots < 0) throw new IllegalArgumentException("uniform requiere min..max: " + spec);
+        yield new Uniform(duration(args.substring(0, dots)), duration(args.substring(dots + 2)));
+      }
+      case "lognormal" -> {
+        Duration median = null;
+        Duration p99 = null;
+        for (String part : args.split(",")) {
+          String[] kv = part.split("=", 2);
+          if (kv.length != 2) throw new IllegalArgumentException("lognormal requiere median=..,p99=..: " + spec);
+          switch (kv[0].trim()) {
+            case "median" -> median = duration(kv[1]);
+            case "p99" -> p99 = duration(kv[1]);
+            default -> throw new IllegalArgumentException("parámetro desconocido '" + kv[0] + "': " + spec);
+          }
+        }
+        if (median == null || p99 == null) {
+          throw new IllegalArgumentException("lognormal requiere median y p99: " + spec);
+        }
+        yield new LogNormal(median, p99);
+      }
+      default -> throw new IllegalArgumentException("distribución desconocida '" + kind + "': " + spec);
+    };
+  }
+
+  static Duration duration(String text) {
+    String t = text.trim();
+    try {
+      if (t.endsWith("ms")) return Duration.ofNanos(Math.round(Double.parseDouble(t.substring(0, t.length() - 2)) * 1e6));
+      if (t.endsWith("s")) return Duration.ofNanos(Math.round(Double.parseDouble(t.substring(0, t.length() - 1)) * 1e9));
+    } catch (NumberFormatException ex) {
+      // cae al error de abajo con el texto original
+    }
+    throw new IllegalArgumentException("duración inválida (use ms o s): " + text);
+  }
+
+  record Fixed(Duration value) implements LatencyDistribution {
+    @Override
+    public long sampleNanos(RandomGenerator random) {
+      return value.toNanos();
+    }
+  }
+
+  record Uniform(Duration min, Duration max) implements LatencyDistribution {
+    public Uniform {
+      if (max.compareTo(min) < 0) throw new IllegalArgumentException("uniform: max < min");
+    }
+
+    @Override
+    public long sampleNanos(RandomGenerator random) {
+      long lo = min.toNanos();
+      long hi = max.toNanos();
+      return lo == hi ? lo : random.nextLong(lo, hi + 1);
+    }
+  }
+
+  record LogNormal(Duration median, Duration p99) implements LatencyDistribution {
+    public LogNormal {
+      if (median.isNegative() || median.isZero() || p99.compareTo(median) < 0) {
+        throw new IllegalArgumentException("lognormal: se requiere 0 < median <= p99");
+      }
+    }
+
+    @Override
+    public long sampleNanos(RandomGenerator random) {
+      double mu = Math.log(median.toNanos());
+      double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+      return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+  }
+}
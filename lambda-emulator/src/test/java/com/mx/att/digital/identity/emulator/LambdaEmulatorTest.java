@@ -0,0 +1,161 @@
+package com.mx.att.digital.identity.emulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LambdaEmulatorTest {
+
+  private final HttpClient http = HttpClient.newHttpClient();
+  private final ObjectMapper mapper = new ObjectMapper();
+  private LambdaEmulator emulator;
+
+  @AfterEach
+  void stop() {
+    if (emulator != null) emulator.close();
+  }
+
+  @Test
+  void answers_every_operation_with_an_api_response() throws Exception {
+    emulator = LambdaEmulator.start(config(""));
+
+    for (String op : EmulatorConfig.OPERATIONS) {
+      HttpResponse<String> r = invoke(op, "RequestResponse", "None");
+      JsonNode body = mapper.readTree(r.body());
+
+      assertThat(r.statusCode()).isEqualTo(200);
+      assertThat(r.headers().firstValue("X-Amz-Function-Error")).isEmpty();
+      assertThat(r.headers().firstValue("x-amzn-RequestId")).isPresent();
+      assertThat(body.path("status").asText()).isEqualTo("OK");
+      assertThat(body.path("data").path("uuid").asText()).isEqualTo("u-1");
+    }
+    JsonNode mdn = mapper.readTree(invoke("mdnValidate", "RequestResponse", "None").body()).path("data");
+    assertThat(mdn.path("msisdn").asText()).isEqualTo("5512345678");
+    assertThat(mdn.path("isRegistered").asBoolean()).isTrue();
+    assertThat(emulator.stats().invocations()).isEqualTo(6);
+  }
+
+  @Test
+  void throttles_with_429_too_many_requests() throws Exception {
+    emulator = LambdaEmulator.start(config("operation.otpRequest.throttle-rate=1"));
+
+    HttpResponse<String> r = invoke("otpRequest", "RequestResponse", "None");
+
+    assertThat(r.statusCode()).isEqualTo(429);
+    assertThat(r.headers().firstValue("X-Amzn-ErrorType")).hasValue("TooManyRequestsException");
+    assertThat(mapper.readTree(r.body()).path("__type").asText()).isEqualTo("TooManyRequestsException");
+    assertThat(invoke("otpForward", "RequestResponse", "None").statusCode()).isEqualTo(200);
+    assertThat(emulator.stats().throttled()).isEqualTo(1);
+  }
+
+  @Test
+  void function_errors_and_unknown_operations_are_unhandled() throws Exception {
+    emulator = LambdaEmulator.start(config("default.function-error-rate=1"));
+
+    HttpResponse<String> r = invoke("sessionInit", "RequestResponse", "None");
+    assertThat(r.statusCode()).isEqualTo(200);
+    assertThat(r.headers().firstValue("X-Amz-Function-Error")).hasValue("Unhandled");
+    assertThat(mapper.readTree(r.body()).has("errorMessage")).isTrue();
+
+    HttpResponse<String> unknown = invoke("deleteEverything", "RequestResponse", "None");
+    assertThat(unknown.headers().firstValue("X-Amz-Function-Error")).hasValue("Unhandled");
+    assertThat(unknown.body()).contains("deleteEverything");
+    assertThat(emulator.stats().functionErrors()).isEqualTo(2);
+  }
+
+  @Test
+  void tail_logs_carry_a_report_line_with_init_duration_on_cold_start() throws Exception {
+    emulator = LambdaEmulator.start(config("""
+        cold-start.probability=1
+        cold-start.init-duration=120ms
+        default.latency=5ms
+        memory-size-mb=1024
+        """));
+
+    HttpResponse<String> r = invoke("sessionInit", "RequestResponse", "Tail");
+    String logs = new String(Base64.getDecoder().decode(r.headers().firstValue("X-Amz-Log-Result").orElseThrow()),
+        StandardCharsets.UTF_8);
+
+    assertThat(logs).startsWith("START RequestId: ");
+    assertThat(logs).contains("REPORT RequestId: ", "\tDuration: 5.00 ms", "\tBilled Duration: 5 ms",
+        "\tMemory Size: 1024 MB", "\tInit Duration: 120.00 ms");
+    assertThat(emulator.stats().coldStarts()).isEqualTo(1);
+    assertThat(invoke("sessionInit", "RequestResponse", "None").headers().firstValue("X-Amz-Log-Result")).isEmpty();
+  }
+
+  @Test
+  void dry_run_and_event_invocations_return_no_payload() throws Exception {
+    emulator = LambdaEmulator.start(config(""));
+
+    assertThat(invoke("sessionInit", "DryRun", "None").statusCode()).isEqualTo(204);
+    assertThat(invoke("sessionInit", "Event", "None").statusCode()).isEqualTo(202);
+    assertThat(emulator.stats().invocations()).isEqualTo(1);
+  }
+
+  @Test
+  void batch_envelope_gets_one_response_per_request_in_one_invocation() throws Exception {
+    emulator = LambdaEmulator.start(config(""));
+
+    HttpResponse<String> r = post("""
+        {"operation":"mdnValidate","requests":[{"uuid":"u-1","msisdn":"5500000001"},{"uuid":"u-2","msisdn":"5500000002"}]}""",
+        "RequestResponse", "None");
+    JsonNode responses = mapper.readTree(r.body()).path("responses");
+
+    assertThat(r.statusCode()).isEqualTo(200);
+    assertThat(responses.size()).isEqualTo(2);
+    assertThat(responses.get(0).path("data").path("uuid").asText()).isEqualTo("u-1");
+    assertThat(responses.get(1).path("data").path("msisdn").asText()).isEqualTo("5500000002");
+    assertThat(responses.get(1).path("status").asText()).isEqualTo("OK");
+    assertThat(emulator.stats().invocations()).isEqualTo(1);
+  }
+
+  @Test
+  void config_rejects_unknown_operations_and_bad_rates() {
+    assertThatThrownBy(() -> config("operation.deleteEverything.latency=1ms")).hasMessageContaining("desconocida");
+    assertThatThrownBy(() -> config("default.throttle-rate=1.5")).hasMessageContaining("throttle-rate");
+    assertThat(config("operation.otpRequest.function-error-rate=0.5").profile("otpRequest").latency())
+        .isEqualTo(LatencyDistribution.parse("1ms"));
+  }
+
+  /** Latencia mínima, sin arranques en frío y en puerto efímero, salvo lo que diga {@code overrides}. */
+  private static EmulatorConfig config(String overrides) {
+    Properties props = new Properties();
+    props.setProperty("cold-start.probability", "0");
+    props.setProperty("default.latency", "1ms");
+    try {
+      props.load(new StringReader(overrides));
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+    return EmulatorConfig.from(props).withPort(0);
+  }
+
+  private HttpResponse<String> invoke(String operation, String invocationType, String logType) throws Exception {
+    return post("""
+        {"operation":"%s","request":{"uuid":"u-1","msisdn":"5512345678"}}""".formatted(operation), invocationType, logType);
+  }
+
+  private HttpResponse<String> post(String envelope, String invocationType, String logType) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(
+            URI.create(emulator.endpoint() + LambdaEmulator.INVOKE_PATH + "orchestrator/invocations"))
+        .header("X-Amz-Invocation-Type", invocationType)
+        .header("X-Amz-Log-Type", logType)
+        .POST(HttpRequest.BodyPublishers.ofString(envelope))
+        .build();
+    return http.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
@@ -0,0 +1,58 @@
+package com.mx.att.digital.identity.emulator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyDistributionTest {
+
+  @Test
+  void parses_all_formats() {
+    assertThat(LatencyDistribution.parse("40ms")).isEqualTo(new LatencyDistribution.Fixed(Duration.ofMillis(40)));
+    assertThat(LatencyDistribution.parse("fixed:1.5s")).isEqualTo(new LatencyDistribution.Fixed(Duration.ofMillis(1500)));
+    assertThat(LatencyDistribution.parse("uniform:10ms..80ms"))
+        .isEqualTo(new LatencyDistribution.Uniform(Duration.ofMillis(10), Duration.ofMillis(80)));
+    assertThat(LatencyDistribution.parse(" LogNormal:p99=300ms, median=40ms "))
+        .isEqualTo(new LatencyDistribution.LogNormal(Duration.ofMillis(40), Duration.ofMillis(300)));
+  }
+
+  @Test
+  void rejects_malformed_specs() {
+    assertThatThrownBy(() -> LatencyDistribution.parse("40")).hasMessageContaining("ms o s");
+    assertThatThrownBy(() -> LatencyDistribution.parse("uniform:80ms")).hasMessageContaining("min..max");
+    assertThatThrownBy(() -> LatencyDistribution.parse("uniform:80ms..10ms")).hasMessageContaining("max < min");
+    assertThatThrownBy(() -> LatencyDistribution.parse("lognormal:median=40ms")).hasMessageContaining("p99");
+    assertThatThrownBy(() -> LatencyDistribution.parse("lognormal:median=300ms,p99=40ms")).hasMessageContaining("median <= p99");
+    assertThatThrownBy(() -> LatencyDistribution.parse("pareto:40ms")).hasMessageContaining("desconocida");
+  }
+
+  @Test
+  void uniform_stays_within_bounds() {
+    RandomGenerator random = new SplittableRandom(7);
+    LatencyDistribution d = LatencyDistribution.parse("uniform:10ms..20ms");
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(d.sampleNanos(random)).isBetween(10_000_000L, 20_000_000L);
+    }
+  }
+
+  @Test
+  void lognormal_matches_requested_median_and_p99() {
+    RandomGenerator random = new SplittableRandom(42);
+    LatencyDistribution d = LatencyDistribution.parse("lognormal:median=40ms,p99=300ms");
+    long[] samples = new long[200_000];
+    for (int i = 0; i < samples.length; i++) samples[i] = d.sampleNanos(random);
+    Arrays.sort(samples);
+
+    double medianMs = samples[samples.length / 2] / 1e6;
+    double p99Ms = samples[(int) (samples.length * 0.99)] / 1e6;
+    assertThat(medianMs).isCloseTo(40, within(2.0));
+    assertThat(p99Ms).isCloseTo(300, within(20.0));
+  }
+}
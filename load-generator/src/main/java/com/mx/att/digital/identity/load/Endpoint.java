@@ -0,0 +1,39 @@
+package com.mx.att.digital.identity.load;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/** Endpoints de {@code IdentityController} que recorre una jornada, con el cuerpo que envía cada uno. */
+public enum Endpoint {
+
+  SESSION_INIT("/session/init"),
+  MDN_VALIDATE("/mdn/validate"),
+  OTP_REQUEST("/otp/request"),
+  OTP_FORWARD("/otp/forward"),
+  OTP_VALIDATE("/otp/validate");
+
+  private final String path;
+
+  Endpoint(String path) {
+    this.path = path;
+  }
+
+  public String path() {
+    return path;
+  }
+
+  /** Cuerpo válido para el usuario {@code uuid}/{@code msisdn} (MSISDN de 10 dígitos, OTP de 6). */
+  String body(String uuid, String msisdn, String otp) {
+    String ts = OffsetDateTime.now(ZoneOffset.UTC).toString();
+    return switch (this) {
+      case SESSION_INIT -> """
+          {"uuid":"%s","timestamp":"%s","msisdn":"%s"}""".formatted(uuid, ts, msisdn);
+      case MDN_VALIDATE -> """
+          {"uuid":"%s","timestamp":"%s","source":"WEB","initFlowType":"LOGIN","msisdn":"%s"}""".formatted(uuid, ts, msisdn);
+      case OTP_REQUEST, OTP_FORWARD -> """
+          {"uuid":"%s","timestamp":"%s","msisdn":"%s"}""".formatted(uuid, ts, msisdn);
+      case OTP_VALIDATE -> """
+          {"uuid":"%s","timestamp":"%s","msisdn":"%s","otp":"%s"}""".formatted(uuid, ts, msisdn, otp);
+    };
+  }
+}
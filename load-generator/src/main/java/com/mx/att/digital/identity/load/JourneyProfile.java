@@ -0,0 +1,88 @@
+package com.mx.att.digital.identity.load;
+
+import com.mx.att.digital.identity.emulator.LatencyDistribution;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.random.RandomGenerator;
+
+/**
+ * El embudo de una jornada real y sus tiempos de pensar, leído de un {@code .properties} (ver
+ * {@code journeys.properties} en la raíz del módulo):
+ * {@code /session/init} → {@code /mdn/validate} → {@code /otp/request} → ({@code /otp/forward}) →
+ * {@code /otp/validate}, donde cada flecha es una probabilidad de seguir (el resto abandona).
+ *
+ * @param toMdnValidate   probabilidad de seguir a {@code /mdn/validate} tras {@code /session/init}
+ * @param toOtpRequest    probabilidad de pedir OTP tras validar el MDN
+ * @param otpForward      probabilidad de reenviar el OTP ({@code /otp/forward}) antes de validarlo
+ * @param toOtpValidate   probabilidad de capturar el OTP ({@code /otp/validate})
+ * @param thinkTime       pausa del usuario entre pasos
+ * @param otpEntryTime    pausa hasta capturar (o reenviar) el OTP: leer el SMS y teclearlo
+ */
+public record JourneyProfile(
+    double toMdnValidate,
+    double toOtpRequest,
+    double otpForward,
+    double toOtpValidate,
+    LatencyDistribution thinkTime,
+    LatencyDistribution otpEntryTime
+) {
+
+  /** Un paso de la jornada: la pausa previa y el endpoint. */
+  public record Step(Endpoint endpoint, long thinkNanos) {}
+
+  public JourneyProfile {
+    rate("funnel.mdn-validate", toMdnValidate);
+    rate("funnel.otp-request", toOtpRequest);
+    rate("funnel.otp-forward", otpForward);
+    rate("funnel.otp-validate", toOtpValidate);
+  }
+
+  public static JourneyProfile defaults() {
+    return from(new Properties());
+  }
+
+  public static JourneyProfile load(Path file) throws IOException {
+    Properties props = new Properties();
+    try (Reader in = Files.newBufferedReader(file)) {
+      props.load(in);
+    }
+    return from(props);
+  }
+
+  public static JourneyProfile from(Properties props) {
+    return new JourneyProfile(
+        Double.parseDouble(props.getProperty("funnel.mdn-validate", "0.9")),
+        Double.parseDouble(props.getProperty("funnel.otp-request", "0.75")),
+        Double.parseDouble(props.getProperty("funnel.otp-forward", "0.15")),
+        Double.parseDouble(props.getProperty("funnel.otp-validate", "0.85")),
+        LatencyDistribution.parse(props.getProperty("think-time", "lognormal:median=2s,p99=10s")),
+        LatencyDistribution.parse(props.getProperty("otp-entry-time", "lognormal:median=15s,p99=60s")));
+  }
+
+  /** Sortea una jornada completa; siempre empieza por {@code /session/init} sin pausa. */
+  public List<Step> plan(RandomGenerator random) {
+    List<Step> steps = new ArrayList<>(5);
+    steps.add(new Step(Endpoint.SESSION_INIT, 0));
+    if (random.nextDouble() >= toMdnValidate) return steps;
+    steps.add(new Step(Endpoint.MDN_VALIDATE, thinkTime.sampleNanos(random)));
+    if (random.nextDouble() >= toOtpRequest) return steps;
+    steps.add(new Step(Endpoint.OTP_REQUEST, thinkTime.sampleNanos(random)));
+    if (random.nextDouble() < otpForward) {
+      steps.add(new Step(Endpoint.OTP_FORWARD, otpEntryTime.sampleNanos(random)));
+    }
+    if (random.nextDouble() < toOtpValidate) {
+      steps.add(new Step(Endpoint.OTP_VALIDATE, otpEntryTime.sampleNanos(random)));
+    }
+    return steps;
+  }
+
+  private static void rate(String name, double value) {
+    if (value < 0 || value > 1) throw new IllegalArgumentException(name + " debe estar entre 0 y 1: " + value);
+  }
+}
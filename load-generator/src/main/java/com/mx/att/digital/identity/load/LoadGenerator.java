@@ -0,0 +1,291 @@
+package com.mx.att.digital.identity.load;
+
+import com.mx.att.digital.identity.emulator.LatencyDistribution;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: inicia jornadas ({@link JourneyProfile}) a una tasa fija,
+ * sin esperar a que terminen las anteriores, así que un servicio lento acumula usuarios en vez de
+ * frenar la carga. Cada jornada corre en un hilo virtual y recorre sus pasos con sus tiempos de
+ * pensar.
+ *
+ * <p>Cada paso tiene un instante previsto: la llegada de la jornada para el primero, y la respuesta
+ * anterior más el tiempo de pensar para los demás. La latencia se mide desde ahí y no desde el
+ * envío real, para que un retraso del propio generador (GC, falta de CPU) no esconda tiempo de
+ * espera (omisión coordinada). Sólo cuentan los pasos previstos dentro de la ventana medida; las
+ * jornadas que la rebasan se abandonan y se esperan sólo las peticiones en vuelo.
+ *
+ * <p>Uso: {@code LoadGenerator --target=http://127.0.0.1:8080 --rate=20 --duration=5m
+ * [--warm-up=30s] [--profile=journeys.properties] [--report-dir=target/load]
+ * [--baseline=report.json] [--tolerance=0.10] [--request-timeout=30s]}. Sale con 3 si hay
+ * regresiones contra {@code --baseline}.
+ */
+public final class LoadGenerator {
+
+  /** Latencia máxima registrable: lo que pase de aquí se registra como este valor. */
+  private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+  private static final int REGRESSION_EXIT_CODE = 3;
+
+  private static final int OK = 0;
+  private static final int CLIENT_ERROR = 1;
+  private static final int SERVER_ERROR = 2;
+  private static final int FAILURE = 3;
+
+  /**
+   * @param warmUp         llegadas previas a la ventana medida, descartadas
+   * @param tolerance      margen relativo para {@link LoadReport#regressionsAgainst}
+   */
+  public record Options(
+      URI target,
+      double rate,
+      Duration duration,
+      Duration warmUp,
+      Duration requestTimeout,
+      Path profile,
+      Path reportDir,
+      Path baseline,
+      double tolerance
+  ) {
+
+    public Options {
+      if (rate <= 0) throw new IllegalArgumentException("--rate debe ser > 0: " + rate);
+      if (duration.isNegative() || duration.isZero()) throw new IllegalArgumentException("--duration debe ser > 0");
+    }
+
+    private static final Set<String> KEYS = Set.of(
+        "target", "rate", "duration", "warm-up", "request-timeout", "profile", "report-dir", "baseline", "tolerance");
+
+    /** {@code --clave=valor}; las duraciones aceptan {@code 500ms}, {@code 30s} y {@code 5m}. */
+    public static Options parse(String... args) {
+      Map<String, String> values = new LinkedHashMap<>();
+      for (String arg : args) {
+        int eq = arg.indexOf('=');
+        if (!arg.startsWith("--") || eq < 0) {
+          throw new IllegalArgumentException("argumento inválido (use --clave=valor): " + arg);
+        }
+        String key = arg.substring(2, eq);
+        if (!KEYS.contains(key)) throw new IllegalArgumentException("opción desconocida: --" + key);
+        values.put(key, arg.substring(eq + 1));
+      }
+      return new Options(
+          URI.create(values.getOrDefault("target", "http://127.0.0.1:8080")),
+          Double.parseDouble(values.getOrDefault("rate", "10")),
+          duration(values.getOrDefault("duration", "60s")),
+          duration(values.getOrDefault("warm-up", "10s")),
+          duration(values.getOrDefault("request-timeout", "30s")),
+          values.containsKey("profile") ? Path.of(values.get("profile")) : null,
+          Path.of(values.getOrDefault("report-dir", "target/load")),
+          values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+          Double.parseDouble(values.getOrDefault("tolerance", "0.10")));
+    }
+
+    static Duration duration(String text) {
+      String t = text.trim();
+      if (t.endsWith("m") && !t.endsWith("ms")) {
+        return Duration.ofSeconds(Math.round(Double.parseDouble(t.substring(0, t.length() - 1)) * 60));
+      }
+      return LatencyDistribution.duration(t);
+    }
+  }
+
+  private final Options options;
+  private final JourneyProfile profile;
+  private final ExecutorService journeys = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("journey-", 0).factory());
+  // Aparte de journeys: al dejar de crear jornadas, el cliente sigue atendiendo lo que está en vuelo.
+  private final ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private final HttpClient http;
+
+  private final Map<Endpoint, Recorder> corrected = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, Recorder> uncorrected = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, LongAdder[]> outcomes = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, Histogram> measured = new EnumMap<>(Endpoint.class);
+  private final AtomicLong maxScheduleLagNanos = new AtomicLong();
+
+  private final LongAdder journeysStarted = new LongAdder();
+
+  // Hasta que run() fija la ventana, todo se mide.
+  private volatile long measureFrom = Long.MIN_VALUE;
+  private volatile long measureUntil = Long.MAX_VALUE;
+
+  public LoadGenerator(Options options, JourneyProfile profile) {
+    this.options = options;
+    this.profile = profile;
+    this.http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(httpExecutor)
+        .build();
+    for (Endpoint e : Endpoint.values()) {
+      corrected.put(e, new Recorder(MAX_TRACKABLE_NANOS, 3));
+      uncorrected.put(e, new Recorder(MAX_TRACKABLE_NANOS, 3));
+      outcomes.put(e, new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()});
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options options;
+    JourneyProfile profile;
+    try {
+      options = Options.parse(args);
+      profile = options.profile() != null ? JourneyProfile.load(options.profile()) : JourneyProfile.defaults();
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      System.exit(2);
+      return;
+    }
+    System.exit(run(options, profile, System.out));
+  }
+
+  /** Corre, escribe el reporte en {@code --report-dir} y compara con {@code --baseline}; devuelve el código de salida. */
+  static int run(Options options, JourneyProfile profile, PrintStream out) throws IOException, InterruptedException {
+    LoadGenerator generator = new LoadGenerator(options, profile);
+    out.printf(Locale.ROOT, "[LOAD] %s: %.1f jornadas/s, calentamiento %s, ventana %s%n",
+        options.target(), options.rate(), options.warmUp(), options.duration());
+    LoadReport report = generator.run();
+    out.print(report.render());
+
+    Path dir = Files.createDirectories(options.reportDir());
+    report.write(dir.resolve("report.json"));
+    generator.writeHistograms(dir);
+    out.println("[LOAD] reporte en " + dir.resolve("report.json"));
+
+    if (options.baseline() == null) return 0;
+    LoadReport baseline = LoadReport.read(options.baseline());
+    if (baseline.rate() != report.rate()) {
+      out.printf(Locale.ROOT, "[LOAD] aviso: la línea base corrió a %.1f jornadas/s y esta a %.1f%n", baseline.rate(), report.rate());
+    }
+    List<String> regressions = report.regressionsAgainst(baseline, options.tolerance());
+    regressions.forEach(r -> out.println("[LOAD] REGRESIÓN " + r));
+    if (regressions.isEmpty()) out.println("[LOAD] sin regresiones contra " + options.baseline());
+    return regressions.isEmpty() ? 0 : REGRESSION_EXIT_CODE;
+  }
+
+  /** Llegadas a intervalo fijo durante calentamiento + ventana; bloquea hasta vaciar lo que queda en vuelo. */
+  public LoadReport run() throws InterruptedException {
+    long interval = Math.round(1e9 / options.rate());
+    long start = System.nanoTime();
+    measureFrom = start + options.warmUp().toNanos();
+    measureUntil = measureFrom + options.duration().toNanos();
+
+    for (long arrival = start; arrival < measureUntil; arrival += interval) {
+      if (!sleepUntil(arrival)) throw new InterruptedException();
+      maxScheduleLagNanos.accumulateAndGet(System.nanoTime() - arrival, Math::max);
+      long intended = arrival;
+      journeys.execute(() -> journey(intended));
+      if (arrival >= measureFrom) journeysStarted.increment();
+    }
+    journeys.shutdown();
+    if (!journeys.awaitTermination(options.requestTimeout().toSeconds() + 5, TimeUnit.SECONDS)) {
+      journeys.shutdownNow();
+    }
+    httpExecutor.shutdownNow();
+    return report();
+  }
+
+  /** Cierra el intervalo de los histogramas: cada llamada reporta lo registrado desde la anterior. */
+  LoadReport report() {
+    double seconds = options.duration().toNanos() / 1e9;
+    Map<String, LoadReport.EndpointStats> endpoints = new LinkedHashMap<>();
+    for (Endpoint e : Endpoint.values()) {
+      Histogram h = corrected.get(e).getIntervalHistogram();
+      measured.put(e, h);
+      LongAdder[] o = outcomes.get(e);
+      endpoints.put(e.path(), LoadReport.EndpointStats.of(
+          h, uncorrected.get(e).getIntervalHistogram(), seconds,
+          o[OK].sum(), o[CLIENT_ERROR].sum(), o[SERVER_ERROR].sum(), o[FAILURE].sum()));
+    }
+    return new LoadReport(options.target().toString(), options.rate(), seconds, journeysStarted.sum(),
+        maxScheduleLagNanos.get() / 1e6, endpoints);
+  }
+
+  private void journey(long arrival) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String uuid = UUID.randomUUID().toString();
+    String msisdn = "55" + String.format(Locale.ROOT, "%08d", random.nextInt(100_000_000));
+    String otp = String.format(Locale.ROOT, "%06d", random.nextInt(1_000_000));
+
+    long intended = arrival;
+    for (JourneyProfile.Step step : profile.plan(random)) {
+      intended += step.thinkNanos();
+      if (intended >= measureUntil || !sleepUntil(intended)) return;
+      long end = call(step.endpoint(), uuid, msisdn, otp, intended);
+      if (end < 0) return; // el usuario abandona ante un error
+      intended = end;
+    }
+  }
+
+  /** Hace un paso y lo registra; devuelve el fin (nanoTime) o -1 si no terminó en 2xx. */
+  private long call(Endpoint endpoint, String uuid, String msisdn, String otp, long intended) {
+    HttpRequest request = HttpRequest.newBuilder(options.target().resolve(endpoint.path()))
+        .timeout(options.requestTimeout())
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(endpoint.body(uuid, msisdn, otp)))
+        .build();
+    long sent = System.nanoTime();
+    int status;
+    try {
+      status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    } catch (IOException ex) {
+      status = -1;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return -1;
+    }
+    long end = System.nanoTime();
+    record(endpoint, intended, sent, end, status);
+    return status / 100 == 2 ? end : -1;
+  }
+
+  void record(Endpoint endpoint, long intended, long sent, long end, int status) {
+    if (intended < measureFrom || intended >= measureUntil) return;
+    corrected.get(endpoint).recordValue(Math.min(end - intended, MAX_TRACKABLE_NANOS));
+    uncorrected.get(endpoint).recordValue(Math.min(end - sent, MAX_TRACKABLE_NANOS));
+    int outcome = status < 0 ? FAILURE : status / 100 == 2 ? OK : status / 100 == 4 ? CLIENT_ERROR : SERVER_ERROR;
+    outcomes.get(endpoint)[outcome].increment();
+  }
+
+  /** Distribución corregida por endpoint en formato {@code .hgrm} (ms), para graficar o comparar a detalle. */
+  private void writeHistograms(Path dir) throws IOException {
+    for (Endpoint e : Endpoint.values()) {
+      Path file = dir.resolve(e.path().substring(1).replace('/', '-') + ".hgrm");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+        measured.get(e).outputPercentileDistribution(out, 1e6);
+      }
+    }
+  }
+
+  /** {@code false} si se interrumpió antes del plazo. */
+  private static boolean sleepUntil(long deadline) {
+    for (long left = deadline - System.nanoTime(); left > 0; left = deadline - System.nanoTime()) {
+      if (Thread.currentThread().isInterrupted()) return false;
+      LockSupport.parkNanos(left);
+    }
+    return true;
+  }
+}
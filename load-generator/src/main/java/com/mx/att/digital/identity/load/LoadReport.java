@@ -0,0 +1,139 @@
+package com.mx.att.digital.identity.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de una corrida, en un JSON estable para comparar corridas entre sí ({@code --baseline}).
+ * Las latencias se miden desde el instante en que el paso debía empezar según la tasa de llegada
+ * (corregidas por omisión coordinada); {@code uncorrectedP99Ms} es la misma p99 medida desde el
+ * envío real, sólo como referencia: si difieren mucho, el generador no mantuvo la tasa.
+ *
+ * @param target             URL base atacada
+ * @param rate               jornadas por segundo pedidas
+ * @param durationSeconds    ventana medida (sin el calentamiento)
+ * @param journeysStarted    jornadas iniciadas en la ventana medida
+ * @param maxScheduleLagMs   mayor retraso del generador al iniciar una jornada
+ * @param endpoints          estadísticas por ruta, en el orden del embudo
+ */
+public record LoadReport(
+    String target,
+    double rate,
+    double durationSeconds,
+    long journeysStarted,
+    double maxScheduleLagMs,
+    Map<String, EndpointStats> endpoints
+) {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  /** Tolerancia absoluta de la tasa de error al comparar: un punto porcentual. */
+  static final double ERROR_RATE_TOLERANCE = 0.01;
+
+  /**
+   * @param count            pasos medidos (cualquier resultado)
+   * @param throughput       pasos por segundo completados
+   * @param clientErrors     respuestas 4xx
+   * @param serverErrors     respuestas 5xx
+   * @param failures         sin respuesta (conexión, timeout)
+   */
+  public record EndpointStats(
+      long count,
+      double throughput,
+      long ok,
+      long clientErrors,
+      long serverErrors,
+      long failures,
+      double p50Ms,
+      double p90Ms,
+      double p99Ms,
+      double p999Ms,
+      double maxMs,
+      double uncorrectedP99Ms
+  ) {
+
+    static EndpointStats of(Histogram corrected, Histogram uncorrected, double seconds,
+                            long ok, long clientErrors, long serverErrors, long failures) {
+      long count = corrected.getTotalCount();
+      return new EndpointStats(
+          count,
+          seconds > 0 ? count / seconds : 0,
+          ok, clientErrors, serverErrors, failures,
+          millis(corrected.getValueAtPercentile(50)),
+          millis(corrected.getValueAtPercentile(90)),
+          millis(corrected.getValueAtPercentile(99)),
+          millis(corrected.getValueAtPercentile(99.9)),
+          millis(corrected.getMaxValue()),
+          millis(uncorrected.getValueAtPercentile(99)));
+    }
+
+    /** Fracción de pasos que no terminaron en 2xx. */
+    public double errorRate() {
+      return count == 0 ? 0 : (double) (count - ok) / count;
+    }
+
+    private static double millis(long nanos) {
+      return Math.round(nanos / 1e4) / 100.0;
+    }
+  }
+
+  public LoadReport {
+    endpoints = new LinkedHashMap<>(endpoints);
+  }
+
+  public static LoadReport read(Path file) throws IOException {
+    return MAPPER.readValue(file.toFile(), LoadReport.class);
+  }
+
+  public void write(Path file) throws IOException {
+    MAPPER.writeValue(file.toFile(), this);
+  }
+
+  /**
+   * Regresiones contra {@code baseline}, por endpoint: throughput menor en más de
+   * {@code tolerance}, p99 mayor en más de {@code tolerance}, o tasa de error mayor en más de un
+   * punto. Vacía si no hay.
+   */
+  public List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+    List<String> regressions = new ArrayList<>();
+    for (Map.Entry<String, EndpointStats> e : endpoints.entrySet()) {
+      EndpointStats before = baseline.endpoints().get(e.getKey());
+      if (before == null || before.count() == 0) continue;
+      EndpointStats now = e.getValue();
+      String path = e.getKey();
+      if (now.throughput() < before.throughput() * (1 - tolerance)) {
+        regressions.add(String.format(Locale.ROOT, "%s throughput %.1f/s -> %.1f/s", path, before.throughput(), now.throughput()));
+      }
+      if (now.p99Ms() > before.p99Ms() * (1 + tolerance)) {
+        regressions.add(String.format(Locale.ROOT, "%s p99 %.2f ms -> %.2f ms", path, before.p99Ms(), now.p99Ms()));
+      }
+      if (now.errorRate() > before.errorRate() + ERROR_RATE_TOLERANCE) {
+        regressions.add(String.format(Locale.ROOT, "%s errores %.2f%% -> %.2f%%", path, before.errorRate() * 100, now.errorRate() * 100));
+      }
+    }
+    return regressions;
+  }
+
+  /** Tabla legible para consola. */
+  public String render() {
+    StringBuilder out = new StringBuilder(String.format(Locale.ROOT,
+        "%s: %.1f jornadas/s pedidas, %d iniciadas en %.0f s (retraso máx. del generador %.1f ms)%n",
+        target, rate, journeysStarted, durationSeconds, maxScheduleLagMs));
+    out.append(String.format(Locale.ROOT, "%-15s %8s %8s %7s %9s %9s %9s %9s %9s %12s%n",
+        "endpoint", "count", "req/s", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 sin corr"));
+    endpoints.forEach((path, s) -> out.append(String.format(Locale.ROOT,
+        "%-15s %8d %8.1f %7.2f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+        path, s.count(), s.throughput(), s.errorRate() * 100,
+        s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs(), s.uncorrectedP99Ms())));
+    return out.toString();
+  }
+}
@@ -0,0 +1,61 @@
+package com.mx.att.digital.identity.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class JourneyProfileTest {
+
+  @Test
+  void funnel_drop_off_follows_the_configured_probabilities() {
+    JourneyProfile profile = JourneyProfile.defaults();
+    RandomGenerator random = new SplittableRandom(11);
+    int journeys = 100_000;
+    Map<Endpoint, Integer> reached = new EnumMap<>(Endpoint.class);
+    for (int i = 0; i < journeys; i++) {
+      for (JourneyProfile.Step step : profile.plan(random)) reached.merge(step.endpoint(), 1, Integer::sum);
+    }
+
+    double mdn = 0.9;
+    double otp = mdn * 0.75;
+    assertThat(reached.get(Endpoint.SESSION_INIT)).isEqualTo(journeys);
+    assertThat(reached.get(Endpoint.MDN_VALIDATE) / (double) journeys).isCloseTo(mdn, within(0.01));
+    assertThat(reached.get(Endpoint.OTP_REQUEST) / (double) journeys).isCloseTo(otp, within(0.01));
+    assertThat(reached.get(Endpoint.OTP_FORWARD) / (double) journeys).isCloseTo(otp * 0.15, within(0.01));
+    assertThat(reached.get(Endpoint.OTP_VALIDATE) / (double) journeys).isCloseTo(otp * 0.85, within(0.01));
+  }
+
+  @Test
+  void steps_keep_funnel_order_and_only_the_first_has_no_think_time() {
+    Properties props = new Properties();
+    props.setProperty("funnel.mdn-validate", "1");
+    props.setProperty("funnel.otp-request", "1");
+    props.setProperty("funnel.otp-forward", "1");
+    props.setProperty("funnel.otp-validate", "1");
+    props.setProperty("think-time", "2s");
+    props.setProperty("otp-entry-time", "15s");
+
+    List<JourneyProfile.Step> steps = JourneyProfile.from(props).plan(new SplittableRandom(1));
+
+    assertThat(steps).extracting(JourneyProfile.Step::endpoint).containsExactly(Endpoint.values());
+    assertThat(steps).extracting(JourneyProfile.Step::thinkNanos)
+        .containsExactly(0L, 2_000_000_000L, 2_000_000_000L, 15_000_000_000L, 15_000_000_000L);
+  }
+
+  @Test
+  void rejects_probabilities_outside_zero_one() {
+    Properties props = new Properties();
+    props.setProperty("funnel.otp-forward", "1.2");
+
+    assertThatThrownBy(() -> JourneyProfile.from(props)).hasMessageContaining("funnel.otp-forward");
+  }
+}
@@ -0,0 +1,164 @@
+package com.mx.att.digital.identity.load;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LoadGeneratorTest {
+
+  private HttpServer server;
+  private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+  @AfterEach
+  void stop() {
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void drives_full_journeys_at_the_requested_arrival_rate() throws Exception {
+    URI target = start(0, 200);
+
+    LoadReport report = new LoadGenerator(options(target, 100, "1s", null), funnel("1")).run();
+
+    assertThat(report.journeysStarted()).isEqualTo(100);
+    assertThat(report.endpoints().get("/session/init").count()).isEqualTo(100);
+    // Los demás pasos dependen del reloj (entran pasos de jornadas del calentamiento y salen los
+    // que caerían fuera de la ventana), así que sólo se comprueban invariantes: todo lo contado
+    // llegó al servicio y respondió bien, y ningún paso tiene más peticiones que el anterior.
+    int previous = Integer.MAX_VALUE;
+    for (Endpoint e : Endpoint.values()) {
+      LoadReport.EndpointStats s = report.endpoints().get(e.path());
+      int served = hits.getOrDefault(e.path(), new AtomicInteger()).get();
+      assertThat(s.count()).as(e.path()).isPositive().isLessThanOrEqualTo(served);
+      assertThat(s.ok()).as(e.path()).isEqualTo(s.count());
+      assertThat(served).as(e.path()).isLessThanOrEqualTo(previous);
+      previous = served;
+    }
+    // El calentamiento también pega al servicio, pero no entra al reporte.
+    assertThat(hits.get("/session/init").get()).isEqualTo(150);
+  }
+
+  @Test
+  void arrivals_keep_coming_while_the_service_stalls() throws Exception {
+    URI target = start(400, 200);
+    LoadGenerator.Options noWarmUp = new LoadGenerator.Options(target, 100, Duration.ofSeconds(1), Duration.ZERO,
+        Duration.ofSeconds(5), null, Path.of("target", "load-test"), null, 0.10);
+
+    LoadReport report = new LoadGenerator(noWarmUp, funnel("0")).run();
+
+    // Modelo abierto: el atasco no frena las llegadas y la espera en cola cuenta en la latencia.
+    LoadReport.EndpointStats init = report.endpoints().get("/session/init");
+    assertThat(init.count()).isEqualTo(100);
+    assertThat(init.p99Ms()).isGreaterThan(300);
+    assertThat(report.endpoints().get("/mdn/validate").count()).isZero();
+  }
+
+  @Test
+  void latency_is_measured_from_the_intended_start() {
+    LoadGenerator generator = new LoadGenerator(options(URI.create("http://127.0.0.1:9"), 1, "1s", null), funnel("0"));
+    long ms = TimeUnit.MILLISECONDS.toNanos(1);
+    long intended = System.nanoTime();
+
+    // El generador se retrasó 300 ms en enviar y el servicio tardó 10 ms: el usuario esperó 310.
+    generator.record(Endpoint.SESSION_INIT, intended, intended + 300 * ms, intended + 310 * ms, 200);
+    generator.record(Endpoint.SESSION_INIT, intended, intended, intended + 10 * ms, 503);
+    LoadReport.EndpointStats init = generator.report().endpoints().get("/session/init");
+
+    assertThat(init.maxMs()).isCloseTo(310, within(0.5));
+    assertThat(init.uncorrectedP99Ms()).isCloseTo(10, within(0.1));
+    assertThat(init.ok()).isEqualTo(1);
+    assertThat(init.serverErrors()).isEqualTo(1);
+  }
+
+  @Test
+  void exits_with_regression_code_against_a_faster_baseline(@TempDir Path dir) throws Exception {
+    URI target = start(0, 200);
+    Path baseline = dir.resolve("baseline.json");
+    Map<String, LoadReport.EndpointStats> fast = new LinkedHashMap<>();
+    fast.put("/session/init", new LoadReport.EndpointStats(1000, 1000, 1000, 0, 0, 0, 0.1, 0.1, 0.1, 0.1, 0.1, 0.1));
+    new LoadReport(target.toString(), 50, 1, 50, 0, fast).write(baseline);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int exit = LoadGenerator.run(options(target, 50, "1s", baseline), funnel("0"),
+        new PrintStream(out, true, StandardCharsets.UTF_8));
+
+    assertThat(exit).isEqualTo(3);
+    assertThat(out.toString(StandardCharsets.UTF_8)).contains("REGRESIÓN /session/init throughput");
+    assertThat(dir.resolve("session-init.hgrm")).exists();
+    assertThat(Files.readString(dir.resolve("report.json"))).contains("\"journeysStarted\" : 50");
+  }
+
+  @Test
+  void options_parse_durations_and_reject_unknown_flags() {
+    LoadGenerator.Options o = LoadGenerator.Options.parse("--rate=2.5", "--duration=5m", "--warm-up=500ms");
+
+    assertThat(o.rate()).isEqualTo(2.5);
+    assertThat(o.duration()).isEqualTo(Duration.ofMinutes(5));
+    assertThat(o.warmUp()).isEqualTo(Duration.ofMillis(500));
+    assertThatThrownBy(() -> LoadGenerator.Options.parse("--users=10")).hasMessageContaining("--users");
+    assertThatThrownBy(() -> LoadGenerator.Options.parse("--rate=0")).hasMessageContaining("--rate");
+  }
+
+  /** Responde {@code status} a todo; la primera petición tarda {@code stallMs}. Un solo hilo: lo demás hace cola. */
+  private URI start(long stallMs, int status) throws IOException {
+    AtomicBoolean stalled = new AtomicBoolean();
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.setExecutor(Executors.newSingleThreadExecutor());
+    server.createContext("/", exchange -> {
+      exchange.getRequestBody().readAllBytes();
+      hits.computeIfAbsent(exchange.getRequestURI().getPath(), k -> new AtomicInteger()).incrementAndGet();
+      if (stallMs > 0 && stalled.compareAndSet(false, true)) {
+        try {
+          Thread.sleep(stallMs);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+    });
+    server.start();
+    return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+  }
+
+  private static LoadGenerator.Options options(URI target, double rate, String duration, Path baseline) {
+    Path dir = baseline != null ? baseline.getParent() : Path.of("target", "load-test");
+    return new LoadGenerator.Options(target, rate, LoadGenerator.Options.duration(duration), Duration.ofMillis(500),
+        Duration.ofSeconds(5), null, dir, baseline, 0.10);
+  }
+
+  /** Sin tiempos de pensar; {@code p} es la probabilidad de cada paso del embudo. */
+  private static JourneyProfile funnel(String p) {
+    Properties props = new Properties();
+    props.setProperty("funnel.mdn-validate", p);
+    props.setProperty("funnel.otp-request", p);
+    props.setProperty("funnel.otp-forward", p);
+    props.setProperty("funnel.otp-validate", p);
+    props.setProperty("think-time", "0ms");
+    props.setProperty("otp-entry-time", "0ms");
+    return JourneyProfile.from(props);
+  }
+}
@@ -0,0 +1,75 @@
+package com.mx.att.digital.identity.load;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LoadReportTest {
+
+  @Test
+  void endpoint_stats_come_from_the_corrected_histogram() {
+    Histogram corrected = new Histogram(3);
+    Histogram uncorrected = new Histogram(3);
+    for (int ms = 1; ms <= 100; ms++) {
+      corrected.recordValue(ms * 1_000_000L);
+      uncorrected.recordValue(1_000_000L);
+    }
+
+    LoadReport.EndpointStats s = LoadReport.EndpointStats.of(corrected, uncorrected, 10, 95, 3, 1, 1);
+
+    assertThat(s.count()).isEqualTo(100);
+    assertThat(s.throughput()).isEqualTo(10.0);
+    // HdrHistogram con 3 dígitos significativos.
+    assertThat(s.p50Ms()).isCloseTo(50.0, within(0.1));
+    assertThat(s.p99Ms()).isCloseTo(99.0, within(0.1));
+    assertThat(s.maxMs()).isCloseTo(100.0, within(0.1));
+    assertThat(s.uncorrectedP99Ms()).isCloseTo(1.0, within(0.01));
+    assertThat(s.errorRate()).isEqualTo(0.05);
+  }
+
+  @Test
+  void round_trips_through_json(@TempDir Path dir) throws Exception {
+    LoadReport report = report(stats(100, 20, 0));
+
+    report.write(dir.resolve("report.json"));
+
+    assertThat(LoadReport.read(dir.resolve("report.json"))).isEqualTo(report);
+  }
+
+  @Test
+  void flags_throughput_latency_and_error_regressions_beyond_tolerance() {
+    LoadReport baseline = report(stats(100, 20, 0));
+
+    assertThat(report(stats(95, 21.5, 0.005)).regressionsAgainst(baseline, 0.10)).isEmpty();
+    assertThat(report(stats(80, 20, 0)).regressionsAgainst(baseline, 0.10))
+        .singleElement().asString().contains("/session/init throughput 100.0/s -> 80.0/s");
+    assertThat(report(stats(100, 25, 0)).regressionsAgainst(baseline, 0.10))
+        .singleElement().asString().contains("p99 20.00 ms -> 25.00 ms");
+    assertThat(report(stats(100, 20, 0.02)).regressionsAgainst(baseline, 0.10))
+        .singleElement().asString().contains("errores 0.00% -> 2.00%");
+  }
+
+  @Test
+  void render_lists_every_endpoint() {
+    String table = report(stats(100, 20, 0)).render();
+
+    assertThat(table).contains("10.0 jornadas/s", "/session/init", "100.0", "20.00");
+  }
+
+  private static LoadReport report(LoadReport.EndpointStats sessionInit) {
+    return new LoadReport("http://127.0.0.1:8080", 10, 60, 600, 0.4, Map.of("/session/init", sessionInit));
+  }
+
+  private static LoadReport.EndpointStats stats(double throughput, double p99Ms, double errorRate) {
+    long count = Math.round(throughput * 60);
+    long errors = Math.round(count * errorRate);
+    return new LoadReport.EndpointStats(count, throughput, count - errors, 0, errors, 0,
+        p99Ms / 4, p99Ms / 2, p99Ms, p99Ms * 2, p99Ms * 3, p99Ms);
+  }
+}
@@ -0,0 +1,51 @@
+package com.mx.att.digital.identity.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator {@code /actuator/mdncache}: {@code GET} devuelve estadísticas, {@code DELETE} vacía el
+ * cache y {@code DELETE /actuator/mdncache/{msisdn}} invalida una sola MSISDN (p. ej. tras un
+ * cambio de plan o portabilidad).
+ */
+@Endpoint(id = "mdncache")
+public class MdnCacheEndpoint {
+
+  private final MdnValidationCache cache;
+
+  public MdnCacheEndpoint(MdnValidationCache cache) {
+    this.cache = cache;
+  }
+
+  @ReadOperation
+  public Map<String, Object> stats() {
+    CacheStats s = cache.stats();
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("size", cache.estimatedSize());
+    out.put("hits", s.hitCount());
+    out.put("misses", s.missCount());
+    out.put("hitRate", s.hitRate());
+    out.put("evictions", s.evictionCount());
+    out.put("loads", s.loadSuccessCount());
+    out.put("loadFailures", s.loadFailureCount());
+    out.put("refreshes", cache.refreshCount());
+    out.put("refreshFailures", cache.refreshFailureCount());
+    return out;
+  }
+
+  @DeleteOperation
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @DeleteOperation
+  public void invalidate(@Selector String msisdn) {
+    cache.invalidate(msisdn);
+  }
+}
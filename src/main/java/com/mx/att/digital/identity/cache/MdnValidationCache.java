@@ -0,0 +1,265 @@
+package com.mx.att.digital.identity.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mx.att.digital.identity.config.MdnCacheProperties;
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.MdnValidateData;
+import com.mx.att.digital.identity.model.MdnValidateRequest;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Cache read-through de {@code mdnValidate} por MSISDN.
+ *
+ * <ul>
+ *   <li>En un fallo de cache consulta Lambda una sola vez por MSISDN: las lecturas concurrentes de
+ *       la misma MSISDN esperan esa consulta y reciben su resultado (o su excepción).</li>
+ *   <li>Una lectura con edad mayor a {@code refresh-after} devuelve el valor cacheado y dispara el
+ *       refresco en un ejecutor propio (refresh-ahead), así las MSISDN activas no llegan a expirar.
+ *       El refresco no pertenece a ninguna sesión: arma un request nuevo con {@code uuid} y
+ *       {@code timestamp} propios y el {@code source}/{@code initFlowType} de la última consulta.</li>
+ *   <li>Pasado {@code ttl} la entrada expira y se consulta Lambda en línea. Si el circuito
+ *       {@code mdnValidate} está abierto ({@link CallNotPermittedException}) se sirve la última
+ *       respuesta conocida, que se conserva aparte hasta {@code ttl + max-stale}.</li>
+ *   <li>Sólo se cachean respuestas con {@code data}. El {@code uuid} de la respuesta se reemplaza
+ *       por el de la sesión que pregunta.</li>
+ * </ul>
+ * Métricas: {@code cache.gets}, {@code cache.evictions}, {@code cache.size}, etc. con
+ * {@code cache=mdn-validate}, y {@code identity.mdn-cache.stale} por cada entrada vencida servida.
+ */
+public class MdnValidationCache implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(MdnValidationCache.class);
+
+  static final String CACHE_NAME = "mdn-validate";
+
+  private final Function<MdnValidateRequest, ApiResponse<MdnValidateData>> origin;
+  private final AsyncCache<String, Entry> cache;
+  /** Última respuesta conocida por MSISDN; sólo se lee con el circuito abierto. */
+  private final Cache<String, Entry> lastKnown;
+  /** MSISDN con un refresco en curso: a lo más uno por MSISDN. */
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final Ticker ticker;
+  private final long refreshAfterNanos;
+  private final Executor refreshExecutor;
+  private final Counter staleServed;
+  private final Counter refreshed;
+  private final Counter refreshFailed;
+
+  public MdnValidationCache(
+      Function<MdnValidateRequest, ApiResponse<MdnValidateData>> origin,
+      MdnCacheProperties props,
+      MeterRegistry registry
+  ) {
+    this(origin, props, registry, Ticker.systemTicker(),
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mdn-cache-refresh-", 0).factory()));
+  }
+
+  MdnValidationCache(
+      Function<MdnValidateRequest, ApiResponse<MdnValidateData>> origin,
+      MdnCacheProperties props,
+      MeterRegistry registry,
+      Ticker ticker,
+      Executor refreshExecutor
+  ) {
+    this.origin = origin;
+    this.ticker = ticker;
+    this.refreshAfterNanos = props.refreshAfter().toNanos();
+    this.refreshExecutor = refreshExecutor;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(props.maxSize())
+        .expireAfterWrite(props.ttl())
+        .ticker(ticker)
+        .recordStats()
+        .buildAsync();
+    this.lastKnown = Caffeine.newBuilder()
+        .maximumSize(props.maxSize())
+        .expireAfterWrite(props.ttl().plus(props.maxStale()))
+        .ticker(ticker)
+        .build();
+    this.staleServed = Counter.builder("identity.mdn-cache.stale")
+        .description("Respuestas mdnValidate vencidas servidas con el circuito mdnValidate abierto")
+        .register(registry);
+    // Los refrescos no pasan por el loader de Caffeine: sus loadSuccess/loadFailure no los ven.
+    this.refreshed = Counter.builder("identity.mdn-cache.refreshes")
+        .description("Refrescos en segundo plano de una entrada mdnValidate")
+        .tag("outcome", "success")
+        .register(registry);
+    this.refreshFailed = Counter.builder("identity.mdn-cache.refreshes")
+        .description("Refrescos en segundo plano de una entrada mdnValidate")
+        .tag("outcome", "failure")
+        .register(registry);
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  public ApiResponse<MdnValidateData> get(MdnValidateRequest req) {
+    String msisdn = req == null ? null : req.msisdn();
+    if (msisdn == null || msisdn.isBlank()) {
+      return origin.apply(req);
+    }
+
+    try {
+      CompletableFuture<Entry> mine = new CompletableFuture<>();
+      CompletableFuture<Entry> current = cache.get(msisdn, (key, executor) -> mine);
+      if (current == mine) {
+        return load(msisdn, req, mine).response();
+      }
+      Entry hit = await(current);
+      refreshIfOld(msisdn, current, hit);
+      return hit.responseFor(req);
+    } catch (CallNotPermittedException open) {
+      Entry stale = lastKnown.getIfPresent(msisdn);
+      if (stale == null) throw open;
+      staleServed.increment();
+      log.warn("[MDN-CACHE] circuito abierto, se sirve respuesta vencida msisdn={}", msisdn);
+      return stale.responseFor(req);
+    }
+  }
+
+  public void invalidate(String msisdn) {
+    cache.synchronous().invalidate(msisdn);
+    lastKnown.invalidate(msisdn);
+  }
+
+  public void invalidateAll() {
+    cache.synchronous().invalidateAll();
+    lastKnown.invalidateAll();
+  }
+
+  public long estimatedSize() {
+    return cache.synchronous().estimatedSize();
+  }
+
+  public CacheStats stats() {
+    return cache.synchronous().stats();
+  }
+
+  /** Refrescos en segundo plano que obtuvieron respuesta, la haya reemplazado o no. */
+  public long refreshCount() {
+    return (long) refreshed.count();
+  }
+
+  /** Refrescos en segundo plano cuya consulta falló; la entrada vigente se siguió sirviendo. */
+  public long refreshFailureCount() {
+    return (long) refreshFailed.count();
+  }
+
+  /** Detiene los refrescos en curso; los que no alcanzan a terminar no reemplazan nada. */
+  @Override
+  public void close() {
+    if (refreshExecutor instanceof ExecutorService executor) {
+      executor.shutdownNow();
+    }
+  }
+
+  // ===== Interno =====
+
+  /** Consulta en línea como dueña de {@code slot}; quienes llegaron mientras tanto la esperan. */
+  private Entry load(String msisdn, MdnValidateRequest req, CompletableFuture<Entry> slot) {
+    Entry loaded;
+    try {
+      loaded = new Entry(req, origin.apply(req), ticker.read());
+    } catch (RuntimeException | Error ex) {
+      // Caffeine quita la entrada al completarse con error.
+      slot.completeExceptionally(ex);
+      throw ex;
+    }
+    if (loaded.cacheable()) {
+      lastKnown.put(msisdn, loaded);
+    } else {
+      cache.asMap().remove(msisdn, slot);
+    }
+    slot.complete(loaded);
+    return loaded;
+  }
+
+  private void refreshIfOld(String msisdn, CompletableFuture<Entry> current, Entry hit) {
+    if (ticker.read() - hit.loadedAt() < refreshAfterNanos || !refreshing.add(msisdn)) return;
+    try {
+      refreshExecutor.execute(() -> refresh(msisdn, current, hit));
+    } catch (RejectedExecutionException ex) {
+      refreshing.remove(msisdn);
+    }
+  }
+
+  /** Reemplaza la entrada sólo si sigue siendo la que se leyó: una invalidación gana. */
+  private void refresh(String msisdn, CompletableFuture<Entry> current, Entry old) {
+    try {
+      MdnValidateRequest template = old.request();
+      MdnValidateRequest fresh = new MdnValidateRequest(
+          UUID.randomUUID().toString(), OffsetDateTime.now(), template.source(), template.initFlowType(), msisdn);
+      Entry reloaded = new Entry(template, origin.apply(fresh), ticker.read());
+      refreshed.increment();
+      if (!reloaded.cacheable()) {
+        // La siguiente lectura vuelve a consultar en línea.
+        if (cache.asMap().remove(msisdn, current)) lastKnown.invalidate(msisdn);
+        return;
+      }
+      if (cache.asMap().replace(msisdn, current, CompletableFuture.completedFuture(reloaded))) {
+        lastKnown.put(msisdn, reloaded);
+      }
+    } catch (RuntimeException ex) {
+      // La entrada vigente se sigue sirviendo; la próxima lectura vieja lo reintenta.
+      refreshFailed.increment();
+      log.warn("[MDN-CACHE] refresco fallido msisdn={}: {}", msisdn, ex.toString());
+    } finally {
+      refreshing.remove(msisdn);
+    }
+  }
+
+  private static Entry await(CompletableFuture<Entry> pending) {
+    try {
+      return pending.join();
+    } catch (CompletionException ex) {
+      // Mismo contrato de errores que la consulta original: se relanza la excepción tal cual.
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException re) throw re;
+      if (cause instanceof Error err) throw err;
+      throw ex;
+    }
+  }
+
+  /**
+   * @param request  consulta que llenó la entrada; de ella sólo se reusan {@code source} e
+   *                 {@code initFlowType} para refrescar
+   * @param loadedAt lectura del {@link Ticker} al recibir la respuesta
+   */
+  record Entry(MdnValidateRequest request, ApiResponse<MdnValidateData> response, long loadedAt) {
+
+    boolean cacheable() {
+      return response != null && response.data() != null;
+    }
+
+    ApiResponse<MdnValidateData> responseFor(MdnValidateRequest req) {
+      MdnValidateData d = response.data();
+      if (d == null || req.uuid() == null || req.uuid().equals(d.uuid())) {
+        return response;
+      }
+      MdnValidateData own = new MdnValidateData(
+          req.uuid(), d.resultCode(), d.resultDesc(), d.msisdn(),
+          d.customerType(), d.platform(), d.isRegistered(), d.status()
+      );
+      return new ApiResponse<>(response.status(), response.message(), own, response.timestamp());
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia adaptativo (AIMD guiado por latencia) frente a las invocaciones a Lambda.
+ *
+ * <ul>
+ *   <li>Latencia base: la RTT mínima observada en épocas de {@value #EPOCH} muestras; al cerrar
+ *       cada época se reemplaza por la mínima de la época, así sigue a la función cuando se
+ *       enfría o le cambian la concurrencia reservada.</li>
+ *   <li>Señal: RTT suavizada (media móvil exponencial, peso {@value #SMOOTHING} por muestra)
+ *       contra {@code tolerance × base}; una respuesta lenta aislada no mueve el límite.</li>
+ *   <li>Aumento aditivo: con la RTT suavizada dentro de la tolerancia y el límite en uso (al menos
+ *       la mitad ocupada) el límite crece ~1 por cada {@code límite} respuestas.</li>
+ *   <li>Disminución multiplicativa: con la RTT suavizada por encima de la tolerancia y el límite
+ *       saturado (la invocación salió con el límite lleno) se multiplica por {@code backoff-ratio};
+ *       si sobra cupo la latencia no la causa la concurrencia propia y el límite no se toca. Un
+ *       {@code TooManyRequestsException} de Lambda lo multiplica por 0.5. A lo más una
+ *       disminución por RTT para no desplomar el límite con una sola ráfaga.</li>
+ * </ul>
+ * Apagado por defecto ({@code orchestrator.concurrency-limit.enabled}): se activa tras calibrar
+ * {@code tolerance} con la latencia real de la función.
+ * Sin permiso se rechaza de inmediato con {@link ConcurrencyLimitExceededException} (503,
+ * reintentable). Métricas: {@code identity.orchestrator.concurrency.limit},
+ * {@code identity.orchestrator.concurrency.in-flight} y
+ * {@code identity.orchestrator.concurrency.rejected{operation}}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+  private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+  static final int EPOCH = 500;
+  static final double SMOOTHING = 0.1;
+  private static final double THROTTLE_RATIO = 0.5;
+
+  private final boolean enabled;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double backoffRatio;
+  private final LongSupplier clock;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile double limit;
+
+  // Guardados por lock
+  private long baseRtt = Long.MAX_VALUE;
+  private long epochMinRtt = Long.MAX_VALUE;
+  private double smoothedRtt = -1;
+  private int epochSamples;
+  private long lastDecrease;
+
+  private final Counter[] rejected = new Counter[OrchestratorOperation.values().length];
+
+  @Autowired
+  public AdaptiveConcurrencyLimiter(
+      @Value("${orchestrator.concurrency-limit.enabled:false}") boolean enabled,
+      @Value("${orchestrator.concurrency-limit.initial-limit:20}") int initialLimit,
+      @Value("${orchestrator.concurrency-limit.min-limit:2}") int minLimit,
+      @Value("${orchestrator.concurrency-limit.max-limit:200}") int maxLimit,
+      @Value("${orchestrator.concurrency-limit.tolerance:2.0}") double tolerance,
+      @Value("${orchestrator.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+      MeterRegistry registry
+  ) {
+    this(enabled, initialLimit, minLimit, maxLimit, tolerance, backoffRatio, registry, System::nanoTime);
+  }
+
+  AdaptiveConcurrencyLimiter(
+      boolean enabled,
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      double tolerance,
+      double backoffRatio,
+      MeterRegistry registry,
+      LongSupplier clock
+  ) {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("orchestrator.concurrency-limit: se requiere 1 <= min-limit <= initial-limit <= max-limit");
+    }
+    if (tolerance < 1) {
+      throw new IllegalArgumentException("orchestrator.concurrency-limit.tolerance debe ser >= 1: " + tolerance);
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("orchestrator.concurrency-limit.backoff-ratio debe estar entre 0 y 1: " + backoffRatio);
+    }
+    this.enabled = enabled;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.backoffRatio = backoffRatio;
+    this.clock = clock;
+    this.limit = initialLimit;
+    this.lastDecrease = clock.getAsLong();
+
+    for (OrchestratorOperation op : OrchestratorOperation.values()) {
+      rejected[op.ordinal()] = Counter.builder("identity.orchestrator.concurrency.rejected")
+          .description("Invocaciones rechazadas por superar el límite de concurrencia adaptativo")
+          .tag("operation", op.wireName())
+          .register(registry);
+    }
+    Gauge.builder("identity.orchestrator.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+        .description("Límite de concurrencia adaptativo actual hacia Lambda")
+        .register(registry);
+    Gauge.builder("identity.orchestrator.concurrency.in-flight", inFlight, AtomicInteger::get)
+        .description("Invocaciones a Lambda en vuelo bajo el límite adaptativo")
+        .register(registry);
+  }
+
+  /** Sin límite: todas las invocaciones pasan. */
+  public static AdaptiveConcurrencyLimiter disabled() {
+    return new AdaptiveConcurrencyLimiter(false, 1, 1, 1, 1, 0.5, new SimpleMeterRegistry(), System::nanoTime);
+  }
+
+  public int limit() {
+    return (int) limit;
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Reserva un lugar o rechaza de inmediato. El {@link Permit} devuelto debe cerrarse con
+   * exactamente uno de {@code success}, {@code throttled} o {@code ignore}.
+   */
+  Permit acquire(OrchestratorOperation operation) {
+    if (!enabled) {
+      return Permit.NOOP;
+    }
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= (int) limit) {
+        rejected[operation.ordinal()].increment();
+        throw new ConcurrencyLimitExceededException(operation.wireName(), (int) limit);
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return new Permit(this, current + 1);
+  }
+
+  // ===== Ajuste del límite =====
+
+  private void onSample(long rttNanos, int inFlightAtStart) {
+    lock.lock();
+    try {
+      if (rttNanos < epochMinRtt) epochMinRtt = rttNanos;
+      if (rttNanos < baseRtt) baseRtt = rttNanos;
+      if (++epochSamples >= EPOCH) {
+        baseRtt = epochMinRtt;
+        epochMinRtt = Long.MAX_VALUE;
+        epochSamples = 0;
+      }
+
+      smoothedRtt = smoothedRtt < 0 ? rttNanos : smoothedRtt + (rttNanos - smoothedRtt) * SMOOTHING;
+
+      double current = limit;
+      if (smoothedRtt > baseRtt * tolerance) {
+        if (inFlightAtStart >= (int) current) {
+          decrease(backoffRatio, (long) smoothedRtt);
+        }
+      } else if (inFlightAtStart * 2 >= current) {
+        limit = Math.min(maxLimit, current + 1.0 / current);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void onThrottle() {
+    lock.lock();
+    try {
+      decrease(THROTTLE_RATIO, baseRtt == Long.MAX_VALUE ? 0 : baseRtt);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void decrease(double ratio, long rttNanos) {
+    long now = clock.getAsLong();
+    if (now - lastDecrease < rttNanos) return;
+    lastDecrease = now;
+    double previous = limit;
+    limit = Math.max(minLimit, previous * ratio);
+    if (log.isDebugEnabled() && (int) limit != (int) previous) {
+      log.debug("[LAMBDA] límite de concurrencia {} -> {}", (int) previous, (int) limit);
+    }
+  }
+
+  private void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /** Lugar reservado para una invocación. */
+  static class Permit {
+
+    static final Permit NOOP = new Permit(null, 0);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final int inFlightAtStart;
+    private final long start;
+
+    private Permit(AdaptiveConcurrencyLimiter limiter, int inFlightAtStart) {
+      this.limiter = limiter;
+      this.inFlightAtStart = inFlightAtStart;
+      this.start = limiter == null ? 0 : limiter.clock.getAsLong();
+    }
+
+    /** La invocación respondió: su latencia alimenta el límite. */
+    void success() {
+      if (limiter == null) return;
+      limiter.release();
+      limiter.onSample(limiter.clock.getAsLong() - start, inFlightAtStart);
+    }
+
+    /** Lambda rechazó por concurrencia ({@code TooManyRequestsException}). */
+    void throttled() {
+      if (limiter == null) return;
+      limiter.release();
+      limiter.onThrottle();
+    }
+
+    /** Falló por otra causa: no dice nada de la capacidad de la función. */
+    void ignore() {
+      if (limiter == null) return;
+      limiter.release();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.mx.att.digital.identity.client;
+
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.LambdaServiceClientConfiguration;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorador de {@link LambdaClient} que limita las invocaciones concurrentes con un
+ * {@link Semaphore} justo.
+ *
+ * <p>Con hilos virtuales no hay pool de plataforma que acote cuántos hilos entran al cliente
+ * HTTP del SDK; sin este límite miles de hilos virtuales competirían por el pool de conexiones
+ * y quedarían anclados (pinned) en sus secciones {@code synchronized}. Dimensionando los permisos
+ * igual que el pool, la espera ocurre aquí, donde un hilo virtual se desmonta sin anclar su
+ * carrier.
+ *
+ * <p>Sin permiso a tiempo lanza {@link LambdaSaturatedException}, que el circuit breaker y el
+ * retry ignoran: la saturación local no es una falla de Lambda.
+ */
+public final class BoundedLambdaClient implements LambdaClient {
+
+  private final LambdaClient delegate;
+  private final Semaphore permits;
+  private final long acquireTimeoutNanos;
+
+  public BoundedLambdaClient(LambdaClient delegate, int maxConcurrentInvocations, Duration acquireTimeout) {
+    if (maxConcurrentInvocations <= 0) {
+      throw new IllegalArgumentException("maxConcurrentInvocations debe ser > 0");
+    }
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    this.permits = new Semaphore(maxConcurrentInvocations, true);
+    this.acquireTimeoutNanos = acquireTimeout.toNanos();
+  }
+
+  @Override
+  public InvokeResponse invoke(InvokeRequest invokeRequest) {
+    acquire();
+    try {
+      return delegate.invoke(invokeRequest);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void acquire() {
+    try {
+      if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new LambdaSaturatedException(
+            "Sin permiso para invocar Lambda tras " + Duration.ofNanos(acquireTimeoutNanos).toMillis() + " ms");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new LambdaSaturatedException("Interrumpido esperando permiso para invocar Lambda", ex);
+    }
+  }
+
+  /** Permisos libres en este momento (útil como gauge de saturación). */
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  public LambdaClient delegate() {
+    return delegate;
+  }
+
+  @Override
+  public LambdaServiceClientConfiguration serviceClientConfiguration() {
+    return delegate.serviceClientConfiguration();
+  }
+
+  @Override
+  public String serviceName() {
+    return delegate.serviceName();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
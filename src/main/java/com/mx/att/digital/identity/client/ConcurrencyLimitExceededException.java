@@ -0,0 +1,16 @@
+package com.mx.att.digital.identity.client;
+
+/** Invocación rechazada localmente por el {@link AdaptiveConcurrencyLimiter}; es reintentable. */
+public class ConcurrencyLimitExceededException extends OrchestratorClientException {
+
+  private final int limit;
+
+  public ConcurrencyLimitExceededException(String operation, int limit) {
+    super("Límite de concurrencia hacia Lambda alcanzado (op=" + operation + ", límite=" + limit + ")");
+    this.limit = limit;
+  }
+
+  public int limit() {
+    return limit;
+  }
+}
@@ -0,0 +1,40 @@
+package com.mx.att.digital.identity.client;
+
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.function.Predicate;
+
+/**
+ * {@code retryExceptionPredicate} de los retries de {@code otpRequest}/{@code otpForward}: sólo
+ * acepta fallas en las que la función no llegó a ejecutarse, así que reintentar no puede mandar
+ * un segundo SMS.
+ *
+ * <ul>
+ *   <li>{@link TooManyRequestsException}: Lambda rechazó la invocación por concurrencia.</li>
+ *   <li>No se pudo abrir la conexión (DNS, conexión rechazada, sin ruta o connect-timeout), en
+ *       cualquier punto de la cadena de causas: el SDK y el codec las envuelven.</li>
+ * </ul>
+ * Un read timeout, un 5xx o un {@code functionError} pueden llegar después de que la función
+ * mandó el SMS: no se reintentan y el portal decide con su propio reintento, que sí pasa por el
+ * {@code IdempotencyGuard}.
+ */
+public class FailedBeforeSend implements Predicate<Throwable> {
+
+  @Override
+  public boolean test(Throwable failure) {
+    for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+      if (t instanceof TooManyRequestsException
+          || t instanceof ConnectException
+          || t instanceof NoRouteToHostException
+          || t instanceof UnknownHostException
+          // Apache (org.apache.http.conn) y java.net.http no comparten jerarquía.
+          || t.getClass().getSimpleName().endsWith("ConnectTimeoutException")) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,310 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Hedging de invocaciones a Lambda: si la invocación no terminó al llegar al percentil
+ * {@code quantile} de latencia reciente de la operación, se lanza una segunda idéntica y gana la
+ * primera en responder; la otra se cancela (interrupción del hilo que espera al SDK).
+ *
+ * <ul>
+ *   <li>Opt-in por operación ({@code orchestrator.hedging.operations}); sólo se aceptan las
+ *       {@link OrchestratorOperation#hedgeable()}: nunca {@code otpRequest}/{@code otpForward}
+ *       (envían SMS) ni {@code otpValidate} (consume el OTP).</li>
+ *   <li>Presupuesto: cada llamada aporta {@code budget-percent}/100 de hedge; no se lanza un hedge
+ *       sin saldo, así los hedges no superan ese porcentaje del tráfico (con ráfaga de
+ *       {@value #MAX_BURST}).</li>
+ *   <li>Sin hedge mientras no haya {@value #MIN_SAMPLES} muestras de latencia de la operación.
+ *       Cada intento que termina aporta su muestra; la original que pierde contra el hedge aporta
+ *       lo que llevaba al cancelarse, así la ventana conserva la cola lenta.</li>
+ *   <li>Cada intento pasa por separado por el {@link AdaptiveConcurrencyLimiter} (ver
+ *       {@link OrchestratorClient}): un hedge ocupa su propio permiso.</li>
+ * </ul>
+ * Métricas: {@code identity.orchestrator.hedge.fired|won|budget-exhausted{operation}} y
+ * {@code identity.orchestrator.hedge.threshold{operation}} (ms).
+ */
+@Component
+public class HedgedInvoker {
+
+  private static final Logger log = LoggerFactory.getLogger(HedgedInvoker.class);
+
+  static final int WINDOW = 512;
+  static final int MIN_SAMPLES = 32;
+  static final int MAX_BURST = 10;
+  private static final int RECOMPUTE_EVERY = 32;
+  private static final long TOKEN = 100;
+
+  private final Set<OrchestratorOperation> operations;
+  private final double quantile;
+  private final long budgetPerCall;
+  private final long minDelayNanos;
+  private final ExecutorService executor;
+  private final Map<OrchestratorOperation, OperationStats> stats = new EnumMap<>(OrchestratorOperation.class);
+  private final AtomicLong budget = new AtomicLong(TOKEN);
+
+  @Autowired
+  public HedgedInvoker(
+      @Value("${orchestrator.hedging.operations:}") List<String> operations,
+      @Value("${orchestrator.hedging.quantile:0.95}") double quantile,
+      @Value("${orchestrator.hedging.budget-percent:10}") int budgetPercent,
+      @Value("${orchestrator.hedging.min-delay:20ms}") Duration minDelay,
+      MeterRegistry registry
+  ) {
+    this(parse(operations), quantile, budgetPercent, minDelay, registry,
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lambda-hedge-", 0).factory()));
+  }
+
+  HedgedInvoker(
+      Set<OrchestratorOperation> operations,
+      double quantile,
+      int budgetPercent,
+      Duration minDelay,
+      MeterRegistry registry,
+      ExecutorService executor
+  ) {
+    for (OrchestratorOperation op : operations) {
+      if (!op.hedgeable()) {
+        throw new IllegalArgumentException("orchestrator.hedging.operations no admite " + op.wireName());
+      }
+    }
+    if (quantile <= 0 || quantile >= 1) {
+      throw new IllegalArgumentException("orchestrator.hedging.quantile debe estar entre 0 y 1: " + quantile);
+    }
+    this.operations = operations.isEmpty() ? EnumSet.noneOf(OrchestratorOperation.class) : EnumSet.copyOf(operations);
+    this.quantile = quantile;
+    this.budgetPerCall = Math.max(0, budgetPercent);
+    this.minDelayNanos = minDelay.toNanos();
+    this.executor = executor;
+    for (OrchestratorOperation op : this.operations) {
+      stats.put(op, new OperationStats(op, registry));
+    }
+    if (!this.operations.isEmpty()) {
+      log.info("[LAMBDA] hedging activo ops={} p{} presupuesto={}%", this.operations, (int) (quantile * 100), budgetPercent);
+    }
+  }
+
+  /** Sin hedging: invoca siempre en el hilo que llama. */
+  public static HedgedInvoker disabled() {
+    return new HedgedInvoker(Set.of(), 0.95, 0, Duration.ZERO, new SimpleMeterRegistry(), null);
+  }
+
+  public boolean enabledFor(OrchestratorOperation operation) {
+    return operations.contains(operation);
+  }
+
+  <T> T invoke(OrchestratorOperation operation, Supplier<T> call) {
+    OperationStats s = stats.get(operation);
+    if (s == null) {
+      return call.get();
+    }
+    deposit();
+
+    Attempts<T> attempts = new Attempts<>(s, call);
+    Attempt primary = attempts.launch(false);
+    Attempt hedge = null;
+    try {
+      long delay = s.thresholdNanos();
+      if (delay < 0) {
+        return attempts.await();
+      }
+      try {
+        return attempts.winner.get(delay, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException slow) {
+        if (attempts.winner.isDone()) {
+          return attempts.await();
+        }
+        if (withdraw()) {
+          s.fired.increment();
+          hedge = attempts.launch(true);
+        } else {
+          s.budgetExhausted.increment();
+        }
+        return attempts.await();
+      } catch (ExecutionException failed) {
+        return attempts.await();
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new OrchestratorClientException("Invocación interrumpida (op=" + operation.wireName() + ")", ie);
+    } finally {
+      // La original que perdió contra el hedge tardó al menos lo que lleva: se registra esa cota
+      // para que la cola lenta siga en la ventana y el umbral no se sesgue hacia el ganador.
+      if (hedge != null && attempts.succeeded()) primary.recordIfPending();
+      primary.future.cancel(true);
+      if (hedge != null) hedge.future.cancel(true);
+    }
+  }
+
+  /** Umbral actual de hedge de la operación; negativo si aún no hay suficientes muestras. */
+  long thresholdNanos(OrchestratorOperation operation) {
+    OperationStats s = stats.get(operation);
+    return s == null ? -1 : s.thresholdNanos();
+  }
+
+  /** Muestras de latencia registradas para la operación. */
+  long samples(OrchestratorOperation operation) {
+    OperationStats s = stats.get(operation);
+    return s == null ? 0 : s.samples.get();
+  }
+
+  // ===== Presupuesto (unidades de 1/100 de hedge) =====
+
+  private void deposit() {
+    long cap = TOKEN * MAX_BURST;
+    budget.getAndUpdate(b -> Math.min(cap, b + budgetPerCall));
+  }
+
+  private boolean withdraw() {
+    long prev = budget.getAndUpdate(b -> b >= TOKEN ? b - TOKEN : b);
+    return prev >= TOKEN;
+  }
+
+  private static Set<OrchestratorOperation> parse(List<String> names) {
+    Set<OrchestratorOperation> out = EnumSet.noneOf(OrchestratorOperation.class);
+    for (String n : names) {
+      if (n != null && !n.isBlank()) out.add(OrchestratorOperation.fromWireName(n.trim()));
+    }
+    return out;
+  }
+
+  /** Intentos de una llamada: el primero en terminar bien gana; falla sólo si fallan todos. */
+  private final class Attempts<T> {
+
+    final CompletableFuture<T> winner = new CompletableFuture<>();
+    final AtomicInteger pending = new AtomicInteger();
+    final OperationStats stats;
+    final Supplier<T> call;
+
+    Attempts(OperationStats stats, Supplier<T> call) {
+      this.stats = stats;
+      this.call = call;
+    }
+
+    Attempt launch(boolean hedge) {
+      pending.incrementAndGet();
+      Attempt attempt = new Attempt(stats);
+      attempt.future = executor.submit(() -> {
+        try {
+          T resp = call.get();
+          // Todo intento que termina aporta su latencia, gane o no, y antes de completar: quien
+          // espera ve ya la muestra de esta llamada.
+          attempt.recordIfPending();
+          if (winner.complete(resp) && hedge) stats.won.increment();
+        } catch (Throwable t) {
+          if (pending.decrementAndGet() == 0) winner.completeExceptionally(t);
+          return;
+        }
+        pending.decrementAndGet();
+      });
+      return attempt;
+    }
+
+    boolean succeeded() {
+      return winner.isDone() && !winner.isCompletedExceptionally();
+    }
+
+    T await() {
+      try {
+        return winner.join();
+      } catch (CompletionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException re) throw re;
+        if (cause instanceof Error err) throw err;
+        throw ex;
+      }
+    }
+  }
+
+  /** Un intento lanzado; su latencia entra a la ventana una sola vez. */
+  private static final class Attempt {
+
+    final OperationStats stats;
+    final long start = System.nanoTime();
+    final AtomicBoolean recorded = new AtomicBoolean();
+    volatile Future<?> future;
+
+    Attempt(OperationStats stats) {
+      this.stats = stats;
+    }
+
+    void recordIfPending() {
+      if (recorded.compareAndSet(false, true)) stats.record(System.nanoTime() - start);
+    }
+  }
+
+  /** Ventana circular de latencias recientes y métricas de una operación. */
+  private final class OperationStats {
+
+    final AtomicLongArray window = new AtomicLongArray(WINDOW);
+    final AtomicLong samples = new AtomicLong();
+    volatile long threshold = -1;
+    final Counter fired;
+    final Counter won;
+    final Counter budgetExhausted;
+
+    OperationStats(OrchestratorOperation op, MeterRegistry registry) {
+      String name = op.wireName();
+      this.fired = Counter.builder("identity.orchestrator.hedge.fired")
+          .description("Invocaciones de respaldo lanzadas por superar el umbral de latencia")
+          .tag("operation", name).register(registry);
+      this.won = Counter.builder("identity.orchestrator.hedge.won")
+          .description("Invocaciones de respaldo que respondieron antes que la original")
+          .tag("operation", name).register(registry);
+      this.budgetExhausted = Counter.builder("identity.orchestrator.hedge.budget-exhausted")
+          .description("Hedges no lanzados por falta de presupuesto")
+          .tag("operation", name).register(registry);
+      Gauge.builder("identity.orchestrator.hedge.threshold", this, s -> s.threshold < 0 ? Double.NaN : s.threshold / 1e6)
+          .description("Umbral de latencia (ms) a partir del cual se lanza el hedge")
+          .tag("operation", name).register(registry);
+    }
+
+    void record(long nanos) {
+      long n = samples.getAndIncrement();
+      window.set((int) (n % WINDOW), nanos);
+      if ((n + 1) >= MIN_SAMPLES && (n + 1) % RECOMPUTE_EVERY == 0) {
+        recompute(Math.min(n + 1, WINDOW));
+      }
+    }
+
+    long thresholdNanos() {
+      return threshold;
+    }
+
+    private void recompute(long count) {
+      long[] copy = new long[(int) count];
+      for (int i = 0; i < copy.length; i++) copy[i] = window.get(i);
+      Arrays.sort(copy);
+      int idx = (int) Math.min(copy.length - 1, Math.ceil(quantile * copy.length) - 1);
+      threshold = Math.max(minDelayNanos, copy[Math.max(0, idx)]);
+    }
+  }
+}
@@ -0,0 +1,249 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mx.att.digital.identity.config.KeepWarmProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LogType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantiene calientes entornos de ejecución de la función orquestadora con invocaciones no-op.
+ *
+ * <p>Cada {@code interval} se calcula la concurrencia que tuvo el tráfico real en el periodo
+ * (ley de Little: tiempo total en Lambda / duración del periodo, leído de
+ * {@link OrchestratorMetrics}) y el objetivo de entornos calientes:
+ * {@code clamp(ceil(concurrencia × headroom), min-environments, max-environments)}. Se envían
+ * tantos pings concurrentes como entornos del objetivo no haya tocado ya el tráfico real; si el
+ * tráfico alcanza el objetivo, la ronda no envía nada. Al tráfico real se le acredita el mismo
+ * {@code headroom} (sus picos tocan más entornos que la media), así que con tráfico los pings
+ * sólo completan el piso de {@code min-environments}.
+ *
+ * <p>Contrato con la función: sobre {@code {"operation":"keepWarm","request":{"delayMs":N}}};
+ * debe esperar {@code N} ms (para que los pings concurrentes ocupen entornos distintos) y
+ * responder sin efectos. Los pings piden {@link LogType#TAIL}: si la línea {@code REPORT} trae
+ * {@code Init Duration}, el ping encontró un entorno frío. Métricas:
+ * {@code identity.lambda.keep-warm.pings|cold|failed} y {@code identity.lambda.keep-warm.target}.
+ */
+public class LambdaKeepWarmer implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(LambdaKeepWarmer.class);
+
+  static final String OPERATION = "keepWarm";
+
+  private final LambdaClient lambda;
+  private final OrchestratorMetrics traffic;
+  private final InvokeRequest ping;
+  private final long intervalNanos;
+  private final int minEnvironments;
+  private final int maxEnvironments;
+  private final double headroom;
+  private final long pingTimeoutMillis;
+
+  private final Counter pings;
+  private final Counter cold;
+  private final Counter failed;
+  private final AtomicInteger target = new AtomicInteger();
+
+  /** Hilos virtuales por ping: sin hilos ociosos entre rondas. Se recrea en cada {@link #start}. */
+  private volatile ExecutorService pingers = newPingers();
+
+  private long lastCalls;
+  private double lastBusyNanos;
+  private ScheduledExecutorService scheduler;
+
+  public LambdaKeepWarmer(
+      LambdaClient lambda,
+      String functionArn,
+      ObjectMapper mapper,
+      KeepWarmProperties props,
+      OrchestratorMetrics traffic,
+      MeterRegistry registry
+  ) {
+    if (props.minEnvironments() < 0 || props.maxEnvironments() < props.minEnvironments()) {
+      throw new IllegalArgumentException("orchestrator.keep-warm: se requiere 0 <= min-environments <= max-environments");
+    }
+    if (props.headroom() < 1) {
+      throw new IllegalArgumentException("orchestrator.keep-warm.headroom debe ser >= 1: " + props.headroom());
+    }
+    this.lambda = lambda;
+    this.traffic = traffic;
+    this.intervalNanos = props.interval().toNanos();
+    this.minEnvironments = props.minEnvironments();
+    this.maxEnvironments = props.maxEnvironments();
+    this.headroom = props.headroom();
+    this.pingTimeoutMillis = props.pingDelay().toMillis() + TimeUnit.SECONDS.toMillis(30);
+    this.ping = InvokeRequest.builder()
+        .functionName(functionArn)
+        .invocationType("RequestResponse")
+        .logType(LogType.TAIL)
+        .payload(SdkBytes.fromByteArrayUnsafe(envelope(mapper, props.pingDelay().toMillis())))
+        .build();
+
+    this.pings = Counter.builder("identity.lambda.keep-warm.pings")
+        .description("Invocaciones keep-warm enviadas")
+        .register(registry);
+    this.cold = Counter.builder("identity.lambda.keep-warm.cold")
+        .description("Invocaciones keep-warm que encontraron un entorno frío (Init Duration)")
+        .register(registry);
+    this.failed = Counter.builder("identity.lambda.keep-warm.failed")
+        .description("Invocaciones keep-warm fallidas o sin respuesta a tiempo")
+        .register(registry);
+    Gauge.builder("identity.lambda.keep-warm.target", target, AtomicInteger::get)
+        .description("Entornos de ejecución que se busca mantener calientes")
+        .register(registry);
+    this.lastCalls = traffic.invocations();
+    this.lastBusyNanos = traffic.invokeNanos();
+  }
+
+  private static byte[] envelope(ObjectMapper mapper, long delayMs) {
+    ObjectNode envelope = mapper.createObjectNode().put("operation", OPERATION);
+    envelope.putObject("request").put("delayMs", delayMs);
+    try {
+      return mapper.writeValueAsBytes(envelope);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("No se pudo serializar el sobre keep-warm", ex);
+    }
+  }
+
+  private static ExecutorService newPingers() {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lambda-keep-warm-", 0).factory());
+  }
+
+  // ===== Ciclo de vida =====
+
+  @Override
+  public synchronized void start() {
+    if (scheduler != null) return;
+    if (pingers.isShutdown()) pingers = newPingers();
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "lambda-keep-warm");
+      t.setDaemon(true);
+      return t;
+    });
+    // Primera ronda de inmediato: cubre el arranque de la instancia (rampa de la mañana).
+    scheduler.scheduleWithFixedDelay(this::tick, 0, intervalNanos, TimeUnit.NANOSECONDS);
+    log.info("[LAMBDA] keep-warm activo cada {} s, entornos {}..{}",
+        TimeUnit.NANOSECONDS.toSeconds(intervalNanos), minEnvironments, maxEnvironments);
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (scheduler == null) return;
+    scheduler.shutdownNow();
+    // Los pings en vuelo se interrumpen también: ninguno sobrevive al contexto.
+    pingers.shutdownNow();
+    scheduler = null;
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return scheduler != null;
+  }
+
+  // ===== Ronda =====
+
+  private void tick() {
+    try {
+      runOnce();
+    } catch (RuntimeException ex) {
+      // Nunca cancelar la programación por un fallo de una ronda.
+      log.warn("[LAMBDA] keep-warm: ronda fallida: {}", ex.getMessage());
+    }
+  }
+
+  /**
+   * Evalúa el tráfico desde la ronda anterior y envía los pings necesarios; devuelve cuántos.
+   * Sólo lo llama el scheduler (un hilo), así que el estado de la ronda no necesita candado.
+   */
+  int runOnce() {
+    long calls = traffic.invocations();
+    double busy = traffic.invokeNanos();
+    long deltaCalls = calls - lastCalls;
+    double deltaBusy = busy - lastBusyNanos;
+    lastCalls = calls;
+    lastBusyNanos = busy;
+
+    int goal = targetFor(deltaBusy / intervalNanos);
+    target.set(goal);
+    int needed = pingsNeeded(goal, deltaCalls, deltaBusy / intervalNanos * headroom);
+    if (needed > 0) {
+      fire(needed);
+    } else {
+      log.debug("[LAMBDA] keep-warm: el tráfico real cubre {} entornos, sin pings", goal);
+    }
+    return needed;
+  }
+
+  /** Objetivo de entornos calientes para una concurrencia media observada. */
+  int targetFor(double concurrency) {
+    int scaled = (int) Math.ceil(concurrency * headroom);
+    return Math.max(minEnvironments, Math.min(maxEnvironments, scaled));
+  }
+
+  /**
+   * Entornos del objetivo que el tráfico real no mantuvo calientes. El tráfico toca a lo más
+   * tantos entornos como llamadas hubo y {@code ceil(scaledConcurrency)}, la concurrencia media
+   * ya multiplicada por el {@code headroom} con que se calculó el objetivo.
+   */
+  static int pingsNeeded(int goal, long calls, double scaledConcurrency) {
+    long covered = Math.min(calls, (long) Math.ceil(scaledConcurrency));
+    return (int) Math.max(0, goal - covered);
+  }
+
+  private void fire(int count) {
+    ExecutorService executor = pingers;
+    List<Future<InvokeResponse>> inFlight = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      inFlight.add(executor.submit(() -> lambda.invoke(ping)));
+    }
+    int coldHits = 0;
+    for (Future<InvokeResponse> f : inFlight) {
+      pings.increment();
+      try {
+        InvokeResponse resp = f.get(pingTimeoutMillis, TimeUnit.MILLISECONDS);
+        if (resp.functionError() != null && !resp.functionError().isEmpty()) {
+          failed.increment();
+        } else if (wasCold(resp)) {
+          coldHits++;
+          cold.increment();
+        }
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        inFlight.forEach(p -> p.cancel(true));
+        return;
+      } catch (Exception ex) {
+        failed.increment();
+        f.cancel(true);
+      }
+    }
+    log.info("[LAMBDA] keep-warm: {} pings, {} en frío", count, coldHits);
+  }
+
+  private static boolean wasCold(InvokeResponse resp) {
+    String tail = resp.logResult();
+    if (tail == null || tail.isEmpty()) return false;
+    LambdaReport report = LambdaReport.parse(new String(Base64.getDecoder().decode(tail), StandardCharsets.UTF_8));
+    return report != null && report.coldStart();
+  }
+}
@@ -0,0 +1,183 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LogType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Decide por invocación si se piden los logs de Lambda ({@link LogType#TAIL}, hasta 4 KB en
+ * base64 por respuesta) y los decodifica fuera del hilo del request.
+ *
+ * <p>{@code aws.lambda.log-type}:
+ * <ul>
+ *   <li>{@code None} / {@code Tail}: comportamiento fijo, como antes.</li>
+ *   <li>{@code Adaptive}: Tail en una fracción {@code sample-rate} de las llamadas, y en el 100%
+ *       durante {@code cooldown} tras un {@code functionError} o una latencia mayor a
+ *       {@code latency-threshold}.</li>
+ * </ul>
+ * Todo log recibido se decodifica en un ejecutor propio acotado (si está saturado, se descarta):
+ * de la línea {@code REPORT} salen las métricas de {@link LambdaReportMetrics} (arranques en frío,
+ * init, duración en la función vs. resto, GB-segundo). El texto sólo se escribe ante un
+ * {@code functionError} (nivel ERROR) o con DEBUG habilitado para esta clase.
+ */
+@Component
+public class LambdaLogCapture {
+
+  private static final Logger log = LoggerFactory.getLogger(LambdaLogCapture.class);
+
+  public enum Mode { NONE, TAIL, ADAPTIVE }
+
+  private static final int DECODE_QUEUE = 256;
+
+  private final Mode mode;
+  private final double sampleRate;
+  private final long cooldownNanos;
+  private final long latencyThresholdNanos;
+  private final LongSupplier clock;
+  private final Executor decoder;
+  private final LambdaReportMetrics reports;
+
+  /** Fin (nanoTime) del periodo de captura total; 0 = sin refuerzo activo. */
+  private volatile long boostedUntil;
+
+  @Autowired
+  public LambdaLogCapture(
+      @Value("${aws.lambda.log-type:Adaptive}") String logType,
+      @Value("${aws.lambda.log-capture.sample-rate:0.01}") double sampleRate,
+      @Value("${aws.lambda.log-capture.cooldown:60s}") Duration cooldown,
+      @Value("${aws.lambda.log-capture.latency-threshold:2s}") Duration latencyThreshold,
+      MeterRegistry registry
+  ) {
+    this(resolveMode(logType), sampleRate, cooldown, latencyThreshold, System::nanoTime, defaultDecoder(), registry);
+  }
+
+  LambdaLogCapture(
+      Mode mode,
+      double sampleRate,
+      Duration cooldown,
+      Duration latencyThreshold,
+      LongSupplier clock,
+      Executor decoder,
+      MeterRegistry registry
+  ) {
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("aws.lambda.log-capture.sample-rate debe estar entre 0 y 1: " + sampleRate);
+    }
+    this.mode = mode;
+    this.sampleRate = sampleRate;
+    this.cooldownNanos = cooldown.toNanos();
+    this.latencyThresholdNanos = latencyThreshold.toNanos();
+    this.clock = clock;
+    this.decoder = decoder;
+    this.reports = new LambdaReportMetrics(registry);
+  }
+
+  /** Modo fijo (None/Tail), útil para clientes construidos a mano. */
+  public static LambdaLogCapture fixed(String logType) {
+    Mode m = resolveMode(logType) == Mode.TAIL ? Mode.TAIL : Mode.NONE;
+    return new LambdaLogCapture(m, 0, Duration.ZERO, Duration.ZERO, System::nanoTime, Runnable::run, new SimpleMeterRegistry());
+  }
+
+  public Mode mode() {
+    return mode;
+  }
+
+  /** {@code true} mientras dura el periodo de captura total tras un error o una latencia atípica. */
+  public boolean boosted() {
+    long until = boostedUntil;
+    return until != 0 && clock.getAsLong() - until < 0;
+  }
+
+  // ===== Por invocación =====
+
+  LogType nextLogType() {
+    return switch (mode) {
+      case NONE -> LogType.NONE;
+      case TAIL -> LogType.TAIL;
+      case ADAPTIVE -> boosted() || ThreadLocalRandom.current().nextDouble() < sampleRate
+          ? LogType.TAIL
+          : LogType.NONE;
+    };
+  }
+
+  /**
+   * Registra el resultado de una invocación: activa el refuerzo si hubo {@code functionError}
+   * o latencia atípica y, si la respuesta trae logs, los decodifica en segundo plano.
+   */
+  void onResponse(InvokeResponse resp, OrchestratorOperation operation, long elapsedNanos) {
+    boolean functionError = resp.functionError() != null && !resp.functionError().isEmpty();
+
+    if (mode == Mode.ADAPTIVE && (functionError || elapsedNanos >= latencyThresholdNanos)) {
+      boost(operation, functionError, elapsedNanos);
+    }
+
+    String logResult = resp.logResult();
+    if (logResult == null || logResult.isEmpty()) return;
+
+    decoder.execute(() -> publish(logResult, operation, functionError, elapsedNanos));
+  }
+
+  private void boost(OrchestratorOperation operation, boolean functionError, long elapsedNanos) {
+    boolean wasBoosted = boosted();
+    boostedUntil = clock.getAsLong() + cooldownNanos;
+    if (!wasBoosted) {
+      log.info("[LAMBDA] captura de logs al 100% por {} s (op={}, functionError={}, latencia={} ms)",
+          TimeUnit.NANOSECONDS.toSeconds(cooldownNanos), operation.wireName(), functionError,
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+  }
+
+  private void publish(String logResult, OrchestratorOperation operation, boolean functionError, long elapsedNanos) {
+    String decoded = new String(Base64.getDecoder().decode(logResult), StandardCharsets.UTF_8);
+    LambdaReport report = LambdaReport.parse(decoded);
+    if (report != null) {
+      reports.record(operation, report, elapsedNanos);
+    }
+    if (functionError) {
+      log.error("[LAMBDA][logs] op={}\n{}", operation.wireName(), decoded);
+    } else {
+      log.debug("[LAMBDA][logs] op={}\n{}", operation.wireName(), decoded);
+    }
+  }
+
+  static Mode resolveMode(String configured) {
+    if (configured == null) return Mode.NONE;
+    return switch (configured.trim().toLowerCase(Locale.ROOT)) {
+      case "tail" -> Mode.TAIL;
+      case "adaptive" -> Mode.ADAPTIVE;
+      default -> Mode.NONE;
+    };
+  }
+
+  private static Executor defaultDecoder() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        1, 1, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(DECODE_QUEUE),
+        r -> {
+          Thread t = new Thread(r, "lambda-tail-logs");
+          t.setDaemon(true);
+          return t;
+        },
+        new ThreadPoolExecutor.DiscardPolicy()
+    );
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
@@ -0,0 +1,78 @@
+package com.mx.att.digital.identity.client;
+
+/**
+ * Línea {@code REPORT} que Lambda agrega al final de los logs de cada invocación:
+ *
+ * <pre>
+ * REPORT RequestId: ...	Duration: 12.34 ms	Billed Duration: 13 ms	Memory Size: 512 MB	Max Memory Used: 90 MB	Init Duration: 180.55 ms
+ * </pre>
+ *
+ * {@code Init Duration} sólo aparece en un arranque en frío; {@code initDurationMs} queda en -1
+ * si no viene.
+ */
+record LambdaReport(
+    double durationMs,
+    double billedDurationMs,
+    int memorySizeMb,
+    int maxMemoryUsedMb,
+    double initDurationMs
+) {
+
+  private static final String MARKER = "REPORT RequestId:";
+
+  boolean coldStart() {
+    return initDurationMs >= 0;
+  }
+
+  /** GB-segundo facturados: duración facturada × memoria configurada. */
+  double billedGbSeconds() {
+    return (billedDurationMs / 1000.0) * (memorySizeMb / 1024.0);
+  }
+
+  /** Última línea REPORT de los logs decodificados, o {@code null} si no hay una completa. */
+  static LambdaReport parse(String logs) {
+    if (logs == null) return null;
+    int start = logs.lastIndexOf(MARKER);
+    if (start < 0) return null;
+    int end = logs.indexOf('\n', start);
+    String line = end < 0 ? logs.substring(start) : logs.substring(start, end);
+
+    double duration = valueAt(line, durationIndex(line));
+    double billed = field(line, "Billed Duration:");
+    double memory = field(line, "Memory Size:");
+    double maxUsed = field(line, "Max Memory Used:");
+    double init = field(line, "Init Duration:");
+    if (duration < 0 || billed < 0 || memory < 0) return null;
+    return new LambdaReport(duration, billed, (int) memory, (int) Math.max(0, maxUsed), init);
+  }
+
+  /** Posición justo después de {@code Duration:} que no es {@code Billed}/{@code Init Duration:}. */
+  private static int durationIndex(String line) {
+    String key = "Duration:";
+    for (int i = line.indexOf(key); i >= 0; i = line.indexOf(key, i + 1)) {
+      if (!line.startsWith("Billed ", i - 7) && !line.startsWith("Init ", i - 5)) {
+        return i + key.length();
+      }
+    }
+    return -1;
+  }
+
+  private static double field(String line, String key) {
+    int i = line.indexOf(key);
+    return valueAt(line, i < 0 ? -1 : i + key.length());
+  }
+
+  /** Número que empieza en {@code from} (tras espacios); -1 si no hay. */
+  private static double valueAt(String line, int from) {
+    if (from < 0) return -1;
+    while (from < line.length() && line.charAt(from) == ' ') from++;
+    int to = from;
+    while (to < line.length() && (Character.isDigit(line.charAt(to)) || line.charAt(to) == '.')) to++;
+    if (to == from) return -1;
+    try {
+      return Double.parseDouble(line.substring(from, to));
+    } catch (NumberFormatException ex) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas por operación a partir de las líneas {@code REPORT} de Lambda. Sólo hay línea cuando
+ * se pidieron los logs ({@code LogType.TAIL}), así que son una muestra: las tasas se calculan
+ * contra {@code identity.lambda.report.samples}, no contra el total de invocaciones.
+ *
+ * <ul>
+ *   <li>{@code identity.lambda.report.samples} y {@code identity.lambda.cold-starts}: tasa de
+ *       arranques en frío = cold-starts / samples.</li>
+ *   <li>{@code identity.lambda.init-duration}: duración del init en los arranques en frío.</li>
+ *   <li>{@code identity.lambda.function-duration} y {@code identity.lambda.overhead}: la latencia
+ *       que vemos, separada en tiempo dentro de la función y el resto (red, cola, SDK).</li>
+ *   <li>{@code identity.lambda.billed-duration} y {@code identity.lambda.billed-gb-seconds}.</li>
+ *   <li>{@code identity.lambda.max-memory-used} (MB).</li>
+ * </ul>
+ */
+final class LambdaReportMetrics {
+
+  private static final int OPS = OrchestratorOperation.values().length;
+
+  private final Counter[] samples = new Counter[OPS];
+  private final Counter[] coldStarts = new Counter[OPS];
+  private final Timer[] initDuration = new Timer[OPS];
+  private final Timer[] functionDuration = new Timer[OPS];
+  private final Timer[] overhead = new Timer[OPS];
+  private final Timer[] billedDuration = new Timer[OPS];
+  private final Counter[] billedGbSeconds = new Counter[OPS];
+  private final DistributionSummary[] maxMemoryUsed = new DistributionSummary[OPS];
+
+  LambdaReportMetrics(MeterRegistry registry) {
+    for (OrchestratorOperation op : OrchestratorOperation.values()) {
+      int i = op.ordinal();
+      String name = op.wireName();
+      samples[i] = Counter.builder("identity.lambda.report.samples")
+          .description("Invocaciones con línea REPORT analizada")
+          .tag("operation", name).register(registry);
+      coldStarts[i] = Counter.builder("identity.lambda.cold-starts")
+          .description("Invocaciones muestreadas que incluyeron Init Duration (arranque en frío)")
+          .tag("operation", name).register(registry);
+      initDuration[i] = timer(registry, "identity.lambda.init-duration", "Init Duration de los arranques en frío", name);
+      functionDuration[i] = timer(registry, "identity.lambda.function-duration", "Duration reportada por Lambda", name);
+      overhead[i] = timer(registry, "identity.lambda.overhead", "Latencia observada menos Duration de la función", name);
+      billedDuration[i] = timer(registry, "identity.lambda.billed-duration", "Billed Duration reportada por Lambda", name);
+      billedGbSeconds[i] = Counter.builder("identity.lambda.billed-gb-seconds")
+          .description("GB-segundo facturados en las invocaciones muestreadas")
+          .tag("operation", name).register(registry);
+      maxMemoryUsed[i] = DistributionSummary.builder("identity.lambda.max-memory-used")
+          .description("Max Memory Used reportada por Lambda")
+          .baseUnit("megabytes")
+          .tag("operation", name).register(registry);
+    }
+  }
+
+  /** @param elapsedNanos latencia, vista desde este servicio, del intento que produjo el {@code REPORT} */
+  void record(OrchestratorOperation op, LambdaReport report, long elapsedNanos) {
+    int i = op.ordinal();
+    samples[i].increment();
+    if (report.coldStart()) {
+      coldStarts[i].increment();
+      initDuration[i].record(toNanos(report.initDurationMs()), TimeUnit.NANOSECONDS);
+    }
+    long functionNanos = toNanos(report.durationMs());
+    functionDuration[i].record(functionNanos, TimeUnit.NANOSECONDS);
+    // En frío el init no entra en Duration pero sí en la latencia observada: se descuenta también.
+    long insideLambda = functionNanos + (report.coldStart() ? toNanos(report.initDurationMs()) : 0);
+    overhead[i].record(Math.max(0, elapsedNanos - insideLambda), TimeUnit.NANOSECONDS);
+    billedDuration[i].record(toNanos(report.billedDurationMs()), TimeUnit.NANOSECONDS);
+    billedGbSeconds[i].increment(report.billedGbSeconds());
+    maxMemoryUsed[i].record(report.maxMemoryUsedMb());
+  }
+
+  private static long toNanos(double millis) {
+    return (long) (millis * 1_000_000);
+  }
+
+  private static Timer timer(MeterRegistry registry, String name, String description, String operation) {
+    return Timer.builder(name)
+        .description(description)
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+}
@@ -0,0 +1,16 @@
+package com.mx.att.digital.identity.client;
+
+/**
+ * Invocación rechazada localmente por el {@link BoundedLambdaClient}: no hubo permiso a tiempo.
+ * Es saturación de esta instancia, no una falla de Lambda; es reintentable.
+ */
+public class LambdaSaturatedException extends OrchestratorClientException {
+
+  public LambdaSaturatedException(String message) {
+    super(message);
+  }
+
+  public LambdaSaturatedException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,299 @@
+package com.mx.att.digital.identity.client;
+
+import com.mx.att.digital.identity.model.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Micro-batching de invocaciones a Lambda: las llamadas concurrentes de una misma operación se
+ * juntan hasta {@code max-items} o hasta {@code linger} desde la primera, y salen en una sola
+ * invocación; cada llamador recibe su elemento de la respuesta. Reparte el costo fijo por
+ * invocación (overhead del API, granularidad de facturación) a cambio de hasta {@code linger} de
+ * latencia extra por llamada.
+ *
+ * <ul>
+ *   <li>Opt-in por operación ({@code orchestrator.micro-batch.operations}); sólo se aceptan las
+ *       {@link OrchestratorOperation#hedgeable()} (idempotentes): un reintento de lote nunca
+ *       reenvía un SMS ni consume un OTP.</li>
+ *   <li>Sin hilo de fondo: el primer llamador de cada lote espera {@code linger} y lo envía; si el
+ *       lote se llena antes, lo envía el llamador que lo llenó. Todos esperan en su propio hilo
+ *       (virtual) a su resultado.</li>
+ *   <li>Un lote de un solo elemento sale con el sobre normal {@code {"operation","request"}}.</li>
+ * </ul>
+ *
+ * <h2>Contrato del sobre de lote con la Lambda</h2>
+ * Petición, con todos los elementos de la misma operación:
+ * <pre>{@code {"operation":"mdnValidate","requests":[<request>, <request>, ...]}}</pre>
+ * Respuesta (sin {@code X-Amz-Function-Error}), un elemento por request, en el mismo orden:
+ * <pre>{@code {"responses":[<ApiResponse>, {"error":{"errorType":"...","errorMessage":"..."}}, ...]}}</pre>
+ * Cada elemento es la misma {@code ApiResponse} que devolvería la invocación individual, o un
+ * {@code error} que falla sólo a ese llamador. Un {@code functionError}, una excepción del SDK o un
+ * número de respuestas distinto al de requests fallan a todo el lote.
+ *
+ * <p>Métricas con {@code operation=<wireName>}:
+ * <ul>
+ *   <li>eficiencia: {@code identity.orchestrator.batch.size} (elementos por invocación) y
+ *       {@code identity.orchestrator.batch.invocations-saved};</li>
+ *   <li>latencia: {@code identity.orchestrator.batch.linger}, lo que esperó cada llamada en el
+ *       lote antes de enviarse;</li>
+ *   <li>{@code identity.orchestrator.batch.flushes{reason=size|linger}}: si los lotes se llenan o
+ *       salen por tiempo (muchos {@code linger} con tamaño bajo: el linger sólo agrega latencia).</li>
+ * </ul>
+ * Cada instancia junta lotes para un solo cliente.
+ */
+@Component
+public class MicroBatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(MicroBatcher.class);
+
+  /** Envía un lote y devuelve, por elemento y en orden, la {@code ApiResponse} o la {@code RuntimeException}. */
+  @FunctionalInterface
+  interface Flusher {
+    List<Object> flush(OrchestratorOperation operation, List<Object> requests);
+  }
+
+  private final Lane[] lanes = new Lane[OrchestratorOperation.values().length];
+  private final int maxItems;
+  private final long lingerNanos;
+
+  @Autowired
+  public MicroBatcher(
+      @Value("${orchestrator.micro-batch.operations:}") List<String> operations,
+      @Value("${orchestrator.micro-batch.max-items:16}") int maxItems,
+      @Value("${orchestrator.micro-batch.linger:500us}") Duration linger,
+      MeterRegistry registry
+  ) {
+    this(parse(operations), maxItems, linger, registry);
+  }
+
+  MicroBatcher(Set<OrchestratorOperation> operations, int maxItems, Duration linger, MeterRegistry registry) {
+    for (OrchestratorOperation op : operations) {
+      if (!op.hedgeable()) {
+        throw new IllegalArgumentException("orchestrator.micro-batch.operations no admite " + op.wireName());
+      }
+    }
+    if (maxItems < 1) {
+      throw new IllegalArgumentException("orchestrator.micro-batch.max-items debe ser >= 1: " + maxItems);
+    }
+    if (linger.isNegative()) {
+      throw new IllegalArgumentException("orchestrator.micro-batch.linger no puede ser negativo: " + linger);
+    }
+    this.maxItems = maxItems;
+    this.lingerNanos = linger.toNanos();
+    for (OrchestratorOperation op : operations) {
+      lanes[op.ordinal()] = new Lane(op, registry);
+    }
+    if (!operations.isEmpty()) {
+      log.info("[LAMBDA] micro-batching activo ops={} max-items={} linger={}", operations, maxItems, linger);
+    }
+  }
+
+  /** Sin micro-batching: cada llamada es una invocación. */
+  public static MicroBatcher disabled() {
+    return new MicroBatcher(Set.of(), 1, Duration.ZERO, new SimpleMeterRegistry());
+  }
+
+  public boolean enabledFor(OrchestratorOperation operation) {
+    return lanes[operation.ordinal()] != null;
+  }
+
+  /**
+   * Encola {@code request} en el lote abierto de la operación y espera su resultado; relanza tal
+   * cual la excepción del elemento o del lote. Sólo para operaciones {@link #enabledFor}.
+   */
+  @SuppressWarnings("unchecked")
+  <R> ApiResponse<R> call(OrchestratorOperation operation, Object request, Flusher flusher) {
+    Lane lane = lanes[operation.ordinal()];
+    Batch batch;
+    int slot;
+    boolean full;
+    lane.lock.lock();
+    try {
+      batch = lane.open;
+      if (batch == null) {
+        batch = lane.open = new Batch(maxItems);
+      }
+      slot = batch.add(request);
+      full = batch.size() == maxItems;
+      if (full) {
+        lane.close(batch);
+      }
+    } finally {
+      lane.lock.unlock();
+    }
+
+    if (full) {
+      lane.flush(batch, flusher, lane.bySize);
+      if (slot != 0) LockSupport.unpark(batch.leader);
+    } else if (slot == 0) {
+      long deadline = batch.openedAt + lingerNanos;
+      for (long remaining; !batch.closed && (remaining = deadline - System.nanoTime()) > 0; ) {
+        LockSupport.parkNanos(this, remaining);
+        if (Thread.currentThread().isInterrupted()) break;
+      }
+      if (lane.closeIfOpen(batch)) {
+        lane.flush(batch, flusher, lane.byLinger);
+      }
+    }
+    return (ApiResponse<R>) batch.await(slot, operation);
+  }
+
+  private static Set<OrchestratorOperation> parse(List<String> names) {
+    Set<OrchestratorOperation> out = EnumSet.noneOf(OrchestratorOperation.class);
+    for (String n : names) {
+      if (n != null && !n.isBlank()) out.add(OrchestratorOperation.fromWireName(n.trim()));
+    }
+    return out;
+  }
+
+  /** Lote abierto de una operación y sus métricas. */
+  private static final class Lane {
+
+    final OrchestratorOperation operation;
+    final ReentrantLock lock = new ReentrantLock();
+    Batch open;
+
+    final DistributionSummary size;
+    final Timer linger;
+    final Counter saved;
+    final Counter bySize;
+    final Counter byLinger;
+
+    Lane(OrchestratorOperation operation, MeterRegistry registry) {
+      this.operation = operation;
+      String name = operation.wireName();
+      this.size = DistributionSummary.builder("identity.orchestrator.batch.size")
+          .description("Elementos por invocación en lote")
+          .tag("operation", name)
+          .publishPercentileHistogram()
+          .register(registry);
+      this.linger = Timer.builder("identity.orchestrator.batch.linger")
+          .description("Espera de cada llamada en el lote antes de enviarse")
+          .tag("operation", name)
+          .publishPercentileHistogram()
+          .register(registry);
+      this.saved = Counter.builder("identity.orchestrator.batch.invocations-saved")
+          .description("Invocaciones a Lambda evitadas por micro-batching")
+          .tag("operation", name)
+          .register(registry);
+      this.bySize = flushes(registry, name, "size");
+      this.byLinger = flushes(registry, name, "linger");
+    }
+
+    private static Counter flushes(MeterRegistry registry, String operation, String reason) {
+      return Counter.builder("identity.orchestrator.batch.flushes")
+          .description("Lotes enviados, por motivo")
+          .tag("operation", operation)
+          .tag("reason", reason)
+          .register(registry);
+    }
+
+    /** Con {@link #lock} tomado. */
+    void close(Batch batch) {
+      open = null;
+      batch.closed = true;
+    }
+
+    boolean closeIfOpen(Batch batch) {
+      lock.lock();
+      try {
+        if (open != batch) return false;
+        close(batch);
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void flush(Batch batch, Flusher flusher, Counter reason) {
+      int n = batch.size();
+      long now = System.nanoTime();
+      for (int i = 0; i < n; i++) {
+        linger.record(now - batch.enqueuedAt[i], TimeUnit.NANOSECONDS);
+      }
+      size.record(n);
+      saved.increment(n - 1.0);
+      reason.increment();
+      try {
+        List<Object> results = flusher.flush(operation, batch.requests);
+        if (results.size() != n) {
+          throw new OrchestratorClientException("Respuesta de lote con " + results.size()
+              + " elementos para " + n + " requests (op=" + operation.wireName() + ")");
+        }
+        for (int i = 0; i < n; i++) {
+          Object result = results.get(i);
+          if (result instanceof Throwable failed) {
+            batch.results.get(i).completeExceptionally(failed);
+          } else {
+            batch.results.get(i).complete(result);
+          }
+        }
+      } catch (RuntimeException | Error ex) {
+        for (CompletableFuture<Object> result : batch.results) {
+          result.completeExceptionally(ex);
+        }
+      }
+    }
+  }
+
+  /** Elementos de un lote; {@link #add} sólo con el lock de la {@link Lane}. */
+  private static final class Batch {
+
+    final Thread leader = Thread.currentThread();
+    final long openedAt = System.nanoTime();
+    final List<Object> requests;
+    final List<CompletableFuture<Object>> results;
+    final long[] enqueuedAt;
+    volatile boolean closed;
+
+    Batch(int capacity) {
+      this.requests = new ArrayList<>(capacity);
+      this.results = new ArrayList<>(capacity);
+      this.enqueuedAt = new long[capacity];
+    }
+
+    int add(Object request) {
+      int slot = requests.size();
+      requests.add(request);
+      results.add(new CompletableFuture<>());
+      enqueuedAt[slot] = slot == 0 ? openedAt : System.nanoTime();
+      return slot;
+    }
+
+    int size() {
+      return requests.size();
+    }
+
+    Object await(int slot, OrchestratorOperation operation) {
+      try {
+        return results.get(slot).get();
+      } catch (ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException rt) throw rt;
+        if (ex.getCause() instanceof Error err) throw err;
+        throw new OrchestratorClientException("Error en lote (op=" + operation.wireName() + ")", ex.getCause());
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new OrchestratorClientException("Invocación en lote interrumpida (op=" + operation.wireName() + ")", ie);
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mx.att.digital.identity.model.ApiResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobre {@code {"operation":"<op>","request":<req>}} de una operación: el prefijo con el nombre
+ * de la operación se codifica a UTF-8 una sola vez y el {@code request} se escribe con un
+ * {@link ObjectWriter} ya resuelto para su tipo, directo sobre el stream de salida. La respuesta
+ * se lee desde los bytes con un {@link ObjectReader} resuelto una vez para {@code ApiResponse<T>}.
+ * El sobre de lote ({@code {"operation":"<op>","requests":[...]}}, ver {@link MicroBatcher}) usa
+ * el mismo writer por elemento.
+ */
+final class OperationCodec {
+
+  private static final byte ENVELOPE_END = '}';
+  private static final byte[] BATCH_END = {']', '}'};
+
+  private final OrchestratorOperation operation;
+  private final byte[] prefix;
+  private final byte[] batchPrefix;
+  private final ObjectWriter requestWriter;
+  private final ObjectReader responseReader;
+
+  OperationCodec(OrchestratorOperation operation, ObjectMapper mapper) {
+    this.operation = operation;
+    try {
+      String name = mapper.writeValueAsString(operation.wireName());
+      this.prefix = ("{\"operation\":" + name + ",\"request\":").getBytes(StandardCharsets.UTF_8);
+      this.batchPrefix = ("{\"operation\":" + name + ",\"requests\":[").getBytes(StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      throw new IllegalStateException("No se pudo pre-codificar el sobre de " + operation.wireName(), ex);
+    }
+    this.requestWriter = mapper.writerFor(operation.requestType())
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    JavaType responseType = mapper.getTypeFactory()
+        .constructParametricType(ApiResponse.class, operation.dataType());
+    this.responseReader = mapper.readerFor(responseType);
+  }
+
+  OrchestratorOperation operation() {
+    return operation;
+  }
+
+  void writeEnvelope(Object request, OutputStream out) throws IOException {
+    out.write(prefix);
+    requestWriter.writeValue(out, request);
+    out.write(ENVELOPE_END);
+  }
+
+  <R> ApiResponse<R> readResponse(byte[] body) throws IOException {
+    return responseReader.readValue(body);
+  }
+
+  void writeBatchEnvelope(List<?> requests, OutputStream out) throws IOException {
+    out.write(batchPrefix);
+    for (int i = 0; i < requests.size(); i++) {
+      if (i > 0) out.write(',');
+      requestWriter.writeValue(out, requests.get(i));
+    }
+    out.write(BATCH_END);
+  }
+
+  /**
+   * {@code {"responses":[...]}} de un lote: por elemento, la {@code ApiResponse} o una
+   * {@link OrchestratorClientException} si la Lambda devolvió {@code {"error":{...}}} para él.
+   */
+  List<Object> readBatchResponse(byte[] body) throws IOException {
+    JsonNode responses = responseReader.readTree(body).path("responses");
+    if (!responses.isArray()) {
+      throw new OrchestratorClientException("Respuesta de lote sin arreglo responses (op=" + operation.wireName() + ")");
+    }
+    List<Object> out = new ArrayList<>(responses.size());
+    for (JsonNode item : responses) {
+      JsonNode error = item.get("error");
+      if (error != null) {
+        out.add(new OrchestratorClientException("Lambda batch item error: " + error.path("errorType").asText("")
+            + ": " + error.path("errorMessage").asText("") + " (op=" + operation.wireName() + ")"));
+      } else {
+        out.add(responseReader.readValue(item));
+      }
+    }
+    return out;
+  }
+}
@@ -0,0 +1,153 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.model.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Variante no bloqueante de {@link OrchestratorClient} sobre {@link LambdaAsyncClient}.
+ * El hilo que llama sólo construye el payload; la invocación y el parseo corren en el
+ * event loop del SDK y el resultado llega por el {@link CompletableFuture}.
+ *
+ * <p>Comparte con la variante síncrona el {@link AdaptiveConcurrencyLimiter}: el permiso se toma
+ * antes de invocar y se libera cuando el SDK completa, así ambos caminos cuentan contra el mismo
+ * límite. No tiene, en cambio, las demás capas del camino síncrono: ni hedging
+ * ({@link HedgedInvoker}), ni la caché de MDN ({@code CachingIdentityService}), ni la
+ * deduplicación en vuelo ({@code SingleFlight}).
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.async.enabled", havingValue = "true")
+public class OrchestratorAsyncClient {
+
+  private final LambdaAsyncClient lambda;
+  private final OrchestratorCodec codec;
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  public OrchestratorAsyncClient(
+      LambdaAsyncClient lambda,
+      ObjectMapper mapper,
+      @Value("${aws.lambda.function-arn}") String functionArn,
+      @Value("${aws.lambda.invocation-type:RequestResponse}") String invocationType,
+      LambdaLogCapture logCapture,
+      OrchestratorMetrics metrics,
+      AdaptiveConcurrencyLimiter limiter
+  ) {
+    this.lambda = lambda;
+    this.limiter = limiter;
+    this.codec = new OrchestratorCodec(
+        mapper,
+        Objects.requireNonNull(functionArn, "aws.lambda.function-arn es requerido"),
+        invocationType,
+        logCapture,
+        metrics
+    );
+  }
+
+  // ===== Métodos públicos (mismas operaciones que OrchestratorClient) =====
+
+  public CompletableFuture<ApiResponse<SessionInitData>> sessionInit(SessionInitRequest req) {
+    return invoke(OrchestratorOperation.SESSION_INIT, req);
+  }
+
+  public CompletableFuture<ApiResponse<MdnValidateData>> mdnValidate(MdnValidateRequest req) {
+    return invoke(OrchestratorOperation.MDN_VALIDATE, req);
+  }
+
+  public CompletableFuture<ApiResponse<OtpRequestData>> otpRequest(OtpRequest req) {
+    return invoke(OrchestratorOperation.OTP_REQUEST, req);
+  }
+
+  public CompletableFuture<ApiResponse<OtpValidateData>> otpValidate(OtpValidateRequest req) {
+    return invoke(OrchestratorOperation.OTP_VALIDATE, req);
+  }
+
+  public CompletableFuture<ApiResponse<OtpForwardData>> otpForward(OtpForwardRequest req) {
+    return invoke(OrchestratorOperation.OTP_FORWARD, req);
+  }
+
+  // ===== Implementación interna con AWS Lambda (async) =====
+
+  private <R> CompletableFuture<ApiResponse<R>> invoke(OrchestratorOperation operation, Object requestBody) {
+    InvokeRequest invokeReq;
+    try {
+      invokeReq = codec.buildRequest(operation, requestBody);
+    } catch (RuntimeException ex) {
+      // Nunca lanzar en el hilo que llama: el contrato async es el futuro.
+      return CompletableFuture.failedFuture(ex);
+    }
+
+    long start = System.nanoTime();
+    return limited(operation, invokeReq)
+        .handle((resp, error) -> {
+          if (error != null) {
+            throw translate(operation, error);
+          }
+          try {
+            return codec.<R>readResponse(resp, operation, System.nanoTime() - start);
+          } catch (RuntimeException ex) {
+            throw translate(operation, ex);
+          } catch (Exception ex) {
+            throw codec.wrap(operation, ex);
+          }
+        });
+  }
+
+  /**
+   * Invoca bajo un permiso del limitador; el permiso se cierra cuando el SDK completa, antes del
+   * parseo, igual que en {@link OrchestratorClient}.
+   */
+  private CompletableFuture<InvokeResponse> limited(OrchestratorOperation operation, InvokeRequest invokeReq) {
+    AdaptiveConcurrencyLimiter.Permit permit;
+    CompletableFuture<InvokeResponse> call;
+    try {
+      permit = limiter.acquire(operation);
+    } catch (ConcurrencyLimitExceededException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+    try {
+      call = lambda.invoke(invokeReq);
+    } catch (RuntimeException ex) {
+      permit.ignore();
+      return CompletableFuture.failedFuture(ex);
+    }
+    return call.whenComplete((resp, error) -> {
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      if (cause == null) {
+        permit.success();
+      } else if (cause instanceof TooManyRequestsException) {
+        permit.throttled();
+      } else {
+        permit.ignore();
+      }
+    });
+  }
+
+  /**
+   * Mismo contrato de errores que la variante síncrona: {@link LambdaException} y
+   * {@link OrchestratorClientException} se propagan tal cual; el resto se envuelve.
+   */
+  private RuntimeException translate(OrchestratorOperation operation, Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+
+    if (cause instanceof LambdaException awsEx) {
+      codec.sdkError(operation, awsEx);
+      return awsEx;
+    }
+    if (cause instanceof OrchestratorClientException ex) return ex;
+    if (cause instanceof Exception ex) return codec.wrap(operation, ex);
+    return new CompletionException(cause);
+  }
+}
@@ -1,107 +1,102 @@
 package com.mx.att.digital.identity.client;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mx.att.digital.identity.model.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.lambda.model.InvokeRequest;
 import software.amazon.awssdk.services.lambda.model.InvokeResponse;
 import software.amazon.awssdk.services.lambda.model.LambdaException;
-import software.amazon.awssdk.services.lambda.model.LogType;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 @Component
 public class OrchestratorClient {
 
-  private static final Logger log = LoggerFactory.getLogger(OrchestratorClient.class);
-
   private final LambdaClient lambda;
-  private final ObjectMapper mapper;
-  private final String functionArn;
-  private final String invocationType; // RequestResponse | Event
-  private final String logType;        // None | Tail
+  private final OrchestratorCodec codec;
+  private final HedgedInvoker hedging;
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final MicroBatcher batcher;
 
   public OrchestratorClient(
       LambdaClient lambda,
       ObjectMapper mapper,
       @Value("${aws.lambda.function-arn}") String functionArn,
       @Value("${aws.lambda.invocation-type:RequestResponse}") String invocationType,
-      @Value("${aws.lambda.log-type:Tail}") String logType
+      LambdaLogCapture logCapture,
+      HedgedInvoker hedging,
+      AdaptiveConcurrencyLimiter limiter,
+      MicroBatcher batcher,
+      OrchestratorMetrics metrics
   ) {
     this.lambda = lambda;
-    this.mapper = mapper;
-    this.functionArn = Objects.requireNonNull(functionArn, "aws.lambda.function-arn es requerido");
-    this.invocationType = invocationType;
-    this.logType = logType;
+    this.hedging = hedging;
+    this.limiter = limiter;
+    this.batcher = batcher;
+    this.codec = new OrchestratorCodec(
+        mapper,
+        Objects.requireNonNull(functionArn, "aws.lambda.function-arn es requerido"),
+        invocationType,
+        logCapture,
+        metrics
+    );
+  }
+
+  /** Para {@link OrchestratorWarmUp}: ensaya el mismo codec que el tráfico real. */
+  OrchestratorCodec codec() {
+    return codec;
   }
 
   // ===== Métodos públicos (MISMAS FIRMAS) =====
 
   public ApiResponse<SessionInitData> sessionInit(SessionInitRequest req) {
-    return invoke("sessionInit", req, new TypeReference<>() {});
+    return invoke(OrchestratorOperation.SESSION_INIT, req);
   }
 
   public ApiResponse<MdnValidateData> mdnValidate(MdnValidateRequest req) {
-    return invoke("mdnValidate", req, new TypeReference<>() {});
+    return invoke(OrchestratorOperation.MDN_VALIDATE, req);
   }
 
   public ApiResponse<OtpRequestData> otpRequest(OtpRequest req) {
-    return invoke("otpRequest", req, new TypeReference<>() {});
+    return invoke(OrchestratorOperation.OTP_REQUEST, req);
   }
 
   public ApiResponse<OtpValidateData> otpValidate(OtpValidateRequest req) {
-    return invoke("otpValidate", req, new TypeReference<>() {});
+    return invoke(OrchestratorOperation.OTP_VALIDATE, req);
   }
 
   public ApiResponse<OtpForwardData> otpForward(OtpForwardRequest req) {
-    return invoke("otpForward", req, new TypeReference<>() {});
+    return invoke(OrchestratorOperation.OTP_FORWARD, req);
   }
 
   // ===== Implementación interna con AWS Lambda =====
 
-  private <Q, R> ApiResponse<R> invoke(
-      String operation,
-      Q requestBody,
-      TypeReference<ApiResponse<R>> typeRef
-  ) {
-    try {
-      String json = buildPayloadJson(operation, requestBody);
-
-      InvokeRequest invokeReq = InvokeRequest.builder()
-          .functionName(functionArn)
-          .invocationType(invocationType)
-          .logType(resolveLogType(logType))
-          .payload(SdkBytes.fromString(json, StandardCharsets.UTF_8))
-          .build();
-
-      log.debug("[LAMBDA] invoke op={} arn={} itype={} log={}", operation, functionArn, invocationType, logType);
-
-      InvokeResponse resp = lambda.invoke(invokeReq);
+  private <R> ApiResponse<R> invoke(OrchestratorOperation operation, Object requestBody) {
+    if (batcher.enabledFor(operation)) {
+      return batcher.call(operation, requestBody, this::invokeBatch);
+    }
+    return invokeOne(operation, requestBody);
+  }
 
-      logTailIfPresent(resp);
-      throwIfFunctionError(resp, operation);
+  private <R> ApiResponse<R> invokeOne(OrchestratorOperation operation, Object requestBody) {
+    try {
+      InvokeRequest invokeReq = codec.buildRequest(operation, requestBody);
 
-      String body = extractBodyOrThrow(resp, operation);
+      long start = System.nanoTime();
+      // Un permiso por intento: el limitador ve también la invocación de respaldo del hedge.
+      Attempt won = hedging.invoke(operation, () -> attempt(operation, invokeReq));
 
-      ApiResponse<R> parsed = mapper.readValue(body, typeRef);
-      if (parsed == null) {
-        throw new OrchestratorClientException("No se pudo parsear la respuesta de Lambda (op=" + operation + ")");
-      }
-      return parsed;
+      return codec.<R>readResponse(won.response(), operation, System.nanoTime() - start, won.nanos());
 
     } catch (LambdaException awsEx) {
       // S2139: NO log aquí si se re-lanza (evita doble log aguas arriba).
       // Mantener contrato: se propaga LambdaException tal cual.
+      codec.sdkError(operation, awsEx);
       throw awsEx;
 
     } catch (OrchestratorClientException ex) {
@@ -109,64 +104,70 @@ public class OrchestratorClient {
       throw ex;
 
     } catch (Exception ex) {
-      // S2139: NO log aquí si se envuelve; el contexto viaja en la excepción.
-      throw new OrchestratorClientException(
-          "Error invocando Lambda (op=" + operation + ", arn=" + functionArn + "): " + ex.getMessage(),
-          ex
-      );
+      throw codec.wrap(operation, ex);
     }
   }
 
-  private String buildPayloadJson(String operation, Object requestBody) {
-    try {
-      Map<String, Object> payload = new HashMap<>();
-      payload.put("operation", operation);
-      payload.put("request", requestBody);
-      return mapper.writeValueAsString(payload);
-    } catch (Exception ex) {
-      throw new OrchestratorClientException(
-          "No se pudo serializar payload para Lambda (op=" + operation + ", arn=" + functionArn + "): " + ex.getMessage(),
-          ex
-      );
+  /**
+   * Una invocación para todo el lote, con el mismo límite de concurrencia pero sin hedging: la
+   * latencia de un lote no es comparable con la de una llamada individual. Un lote de uno sale
+   * con el sobre normal.
+   */
+  private List<Object> invokeBatch(OrchestratorOperation operation, List<Object> requests) {
+    if (requests.size() == 1) {
+      try {
+        return List.of(invokeOne(operation, requests.get(0)));
+      } catch (RuntimeException ex) {
+        return List.of(ex);
+      }
     }
-  }
+    try {
+      InvokeRequest invokeReq = codec.buildBatchRequest(operation, requests);
 
-  private void logTailIfPresent(InvokeResponse resp) {
-    String logResult = resp.logResult();
-    if (logResult != null && !logResult.isEmpty()) {
-      String logsDecoded = new String(Base64.getDecoder().decode(logResult), StandardCharsets.UTF_8);
-      log.debug("[LAMBDA][logs]\n{}", logsDecoded);
-    }
-  }
+      long start = System.nanoTime();
+      InvokeResponse resp = limited(operation, () -> lambda.invoke(invokeReq));
 
-  private void throwIfFunctionError(InvokeResponse resp, String operation) {
-    String functionError = resp.functionError();
-    if (functionError == null || functionError.isEmpty()) return;
+      return codec.readBatchResponse(resp, operation, System.nanoTime() - start);
 
-    String errPayload = resp.payload() != null ? resp.payload().asUtf8String() : "";
-    log.error("[LAMBDA] functionError={} statusCode={} op={} payload={}",
-        functionError, resp.statusCode(), operation, errPayload);
+    } catch (LambdaException awsEx) {
+      codec.sdkError(operation, awsEx);
+      throw awsEx;
 
-    throw new OrchestratorClientException("Lambda function error: " + functionError + " (op=" + operation + ")");
-  }
+    } catch (OrchestratorClientException ex) {
+      throw ex;
 
-  private String extractBodyOrThrow(InvokeResponse resp, String operation) {
-    String body = resp.payload() != null ? resp.payload().asUtf8String() : null;
-    if (body == null || body.isBlank()) {
-      log.error("[LAMBDA] Respuesta vacía op={} statusCode={}", operation, resp.statusCode());
-      throw new OrchestratorClientException("Respuesta vacía de Lambda (op=" + operation + ")");
+    } catch (Exception ex) {
+      throw codec.wrap(operation, ex);
     }
-    return body;
   }
 
-  private LogType resolveLogType(String configured) {
-    if ("Tail".equalsIgnoreCase(configured)) return LogType.TAIL;
-    return LogType.NONE;
+  /**
+   * Un intento con su propia latencia: con hedge, el {@code REPORT} que trae la respuesta es el
+   * del intento que ganó y su overhead se mide contra ese intento, no contra la llamada completa.
+   */
+  private Attempt attempt(OrchestratorOperation operation, InvokeRequest invokeReq) {
+    long start = System.nanoTime();
+    InvokeResponse resp = limited(operation, () -> lambda.invoke(invokeReq));
+    return new Attempt(resp, System.nanoTime() - start);
+  }
+
+  private record Attempt(InvokeResponse response, long nanos) {
   }
 
-  // Excepción específica (evita java:S112) sin romper firmas.
-  static class OrchestratorClientException extends RuntimeException {
-    OrchestratorClientException(String message) { super(message); }
-    OrchestratorClientException(String message, Throwable cause) { super(message, cause); }
+  private InvokeResponse limited(OrchestratorOperation operation, Supplier<InvokeResponse> call) {
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(operation);
+    InvokeResponse resp;
+    try {
+      resp = call.get();
+    } catch (TooManyRequestsException throttled) {
+      permit.throttled();
+      throw throttled;
+    } catch (Throwable ex) {
+      // Cualquier salida libera el permiso, también la de un intento de hedge cancelado.
+      permit.ignore();
+      throw ex;
+    }
+    permit.success();
+    return resp;
   }
 }
@@ -0,0 +1,232 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.model.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LogType;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construcción del sobre {@code {operation, request}} y lectura de la respuesta de Lambda.
+ * Compartido por {@link OrchestratorClient} (síncrono) y {@link OrchestratorAsyncClient}
+ * para que ambos clientes mantengan exactamente el mismo contrato con la función.
+ *
+ * <p>El sobre se serializa en streaming a un buffer del pool mediante el {@link OperationCodec}
+ * de cada operación; la única reserva por llamada es el {@code byte[]} exacto que exige
+ * {@link SdkBytes}. La respuesta se parsea directo desde el arreglo de {@link SdkBytes} sin pasar
+ * por un {@code String}: sólo el camino de error materializa texto para el log. Si se piden los
+ * logs de la función ({@code LogType}) lo decide {@link LambdaLogCapture} en cada invocación.
+ * Cada etapa (sobre, invocación, parseo, errores) se mide en {@link OrchestratorMetrics}.
+ */
+final class OrchestratorCodec {
+
+  private static final Logger log = LoggerFactory.getLogger(OrchestratorCodec.class);
+
+  private static final int POOLED_BUFFERS = 256;
+  private static final int INITIAL_BUFFER_BYTES = 1024;
+  private static final int MAX_RETAINED_BUFFER_BYTES = 64 * 1024;
+
+  private final Map<OrchestratorOperation, OperationCodec> codecs;
+  private final PayloadBufferPool buffers;
+  private final String functionArn;
+  private final String invocationType; // RequestResponse | Event
+  private final LambdaLogCapture logCapture;
+  private final OrchestratorMetrics metrics;
+
+  OrchestratorCodec(
+      ObjectMapper mapper,
+      String functionArn,
+      String invocationType,
+      LambdaLogCapture logCapture,
+      OrchestratorMetrics metrics
+  ) {
+    this.codecs = new EnumMap<>(OrchestratorOperation.class);
+    for (OrchestratorOperation op : OrchestratorOperation.values()) {
+      codecs.put(op, new OperationCodec(op, mapper));
+    }
+    this.buffers = new PayloadBufferPool(POOLED_BUFFERS, INITIAL_BUFFER_BYTES, MAX_RETAINED_BUFFER_BYTES);
+    this.functionArn = functionArn;
+    this.invocationType = invocationType;
+    this.logCapture = logCapture;
+    this.metrics = metrics;
+  }
+
+  String functionArn() {
+    return functionArn;
+  }
+
+  // ===== Request =====
+
+  InvokeRequest buildRequest(OrchestratorOperation operation, Object requestBody) {
+    SdkBytes payload = encode(operation, requestBody);
+    LogType logType = logCapture.nextLogType();
+
+    log.debug("[LAMBDA] invoke op={} arn={} itype={} log={}", operation.wireName(), functionArn, invocationType, logType);
+
+    return InvokeRequest.builder()
+        .functionName(functionArn)
+        .invocationType(invocationType)
+        .logType(logType)
+        .payload(payload)
+        .build();
+  }
+
+  /** Sobre de lote de {@link MicroBatcher}: mismo destino, tipo de invocación y captura de logs que uno individual. */
+  InvokeRequest buildBatchRequest(OrchestratorOperation operation, List<Object> requests) {
+    SdkBytes payload;
+    try (PayloadBufferPool.Buffer out = buffers.acquire()) {
+      long start = System.nanoTime();
+      codecs.get(operation).writeBatchEnvelope(requests, out);
+      byte[] bytes = out.toByteArray();
+      metrics.serialized(operation, System.nanoTime() - start, bytes.length);
+      payload = SdkBytes.fromByteArrayUnsafe(bytes);
+    } catch (Exception ex) {
+      throw new OrchestratorClientException(
+          "No se pudo serializar lote para Lambda (op=" + operation.wireName() + ", arn=" + functionArn + "): " + ex.getMessage(),
+          ex
+      );
+    }
+    LogType logType = logCapture.nextLogType();
+    log.debug("[LAMBDA] invoke lote op={} n={} arn={} log={}", operation.wireName(), requests.size(), functionArn, logType);
+    return InvokeRequest.builder()
+        .functionName(functionArn)
+        .invocationType(invocationType)
+        .logType(logType)
+        .payload(payload)
+        .build();
+  }
+
+  SdkBytes encode(OrchestratorOperation operation, Object requestBody) {
+    try (PayloadBufferPool.Buffer out = buffers.acquire()) {
+      long start = System.nanoTime();
+      codecs.get(operation).writeEnvelope(requestBody, out);
+      // El arreglo es nuevo y nadie más lo referencia: no hace falta la copia defensiva.
+      byte[] bytes = out.toByteArray();
+      metrics.serialized(operation, System.nanoTime() - start, bytes.length);
+      return SdkBytes.fromByteArrayUnsafe(bytes);
+    } catch (Exception ex) {
+      throw new OrchestratorClientException(
+          "No se pudo serializar payload para Lambda (op=" + operation.wireName() + ", arn=" + functionArn + "): " + ex.getMessage(),
+          ex
+      );
+    }
+  }
+
+  // ===== Response =====
+
+  /** @param elapsedNanos duración de la invocación, para detectar latencias atípicas. */
+  <R> ApiResponse<R> readResponse(InvokeResponse resp, OrchestratorOperation operation, long elapsedNanos)
+      throws Exception {
+    return readResponse(resp, operation, elapsedNanos, elapsedNanos);
+  }
+
+  /**
+   * @param elapsedNanos duración de la llamada completa, para las métricas de invocación.
+   * @param attemptNanos duración del intento que trajo {@code resp}; difiere de la anterior sólo
+   *                     con hedge, y es contra la que se comparan sus logs.
+   */
+  <R> ApiResponse<R> readResponse(InvokeResponse resp, OrchestratorOperation operation, long elapsedNanos,
+      long attemptNanos) throws Exception {
+    String op = operation.wireName();
+    // asByteArrayUnsafe: el arreglo del SDK, sin copia; sólo se lee.
+    byte[] body = resp.payload() != null ? resp.payload().asByteArrayUnsafe() : null;
+    metrics.invoked(operation, elapsedNanos, body == null ? 0 : body.length);
+    logCapture.onResponse(resp, operation, attemptNanos);
+    throwIfFunctionError(resp, operation);
+
+    if (body == null || isBlank(body)) {
+      metrics.emptyResponse(operation);
+      log.error("[LAMBDA] Respuesta vacía op={} statusCode={}", op, resp.statusCode());
+      throw new OrchestratorClientException("Respuesta vacía de Lambda (op=" + op + ")");
+    }
+
+    long start = System.nanoTime();
+    ApiResponse<R> parsed = codecs.get(operation).readResponse(body);
+    metrics.decoded(operation, System.nanoTime() - start);
+    if (parsed == null) {
+      throw new OrchestratorClientException("No se pudo parsear la respuesta de Lambda (op=" + op + ")");
+    }
+    return parsed;
+  }
+
+  /** Respuesta de un lote: por elemento, {@code ApiResponse} o la excepción de ese elemento. */
+  List<Object> readBatchResponse(InvokeResponse resp, OrchestratorOperation operation, long elapsedNanos)
+      throws Exception {
+    String op = operation.wireName();
+    byte[] body = resp.payload() != null ? resp.payload().asByteArrayUnsafe() : null;
+    metrics.invoked(operation, elapsedNanos, body == null ? 0 : body.length);
+    logCapture.onResponse(resp, operation, elapsedNanos);
+    throwIfFunctionError(resp, operation);
+
+    if (body == null || isBlank(body)) {
+      metrics.emptyResponse(operation);
+      log.error("[LAMBDA] Respuesta de lote vacía op={} statusCode={}", op, resp.statusCode());
+      throw new OrchestratorClientException("Respuesta vacía de Lambda (op=" + op + ")");
+    }
+
+    long start = System.nanoTime();
+    List<Object> parsed = codecs.get(operation).readBatchResponse(body);
+    metrics.decoded(operation, System.nanoTime() - start);
+    return parsed;
+  }
+
+  private void throwIfFunctionError(InvokeResponse resp, OrchestratorOperation op) {
+    String functionError = resp.functionError();
+    if (functionError == null || functionError.isEmpty()) return;
+    metrics.functionError(op, functionError);
+    String operation = op.wireName();
+
+    String errPayload = resp.payload() != null ? resp.payload().asUtf8String() : "";
+    log.error("[LAMBDA] functionError={} statusCode={} op={} payload={}",
+        functionError, resp.statusCode(), operation, errPayload);
+
+    throw new OrchestratorClientException("Lambda function error: " + functionError + " (op=" + operation + ")");
+  }
+
+  /** Equivalente a {@code String.isBlank()} para los espacios que admite JSON, sin decodificar. */
+  static boolean isBlank(byte[] body) {
+    for (byte b : body) {
+      if (b != ' ' && b != '\t' && b != '\n' && b != '\r') return false;
+    }
+    return true;
+  }
+
+  // ===== Warm-up =====
+
+  /**
+   * Ciclo completo de sobre y parseo sin invocar ni medir: entrena el JIT y las caches de
+   * Jackson sobre los mismos {@link OperationCodec} y buffers que el tráfico real.
+   */
+  ApiResponse<?> rehearse(OrchestratorOperation operation, Object requestBody, byte[] responseBody) throws IOException {
+    try (PayloadBufferPool.Buffer out = buffers.acquire()) {
+      codecs.get(operation).writeEnvelope(requestBody, out);
+      out.toByteArray();
+    }
+    return codecs.get(operation).readResponse(responseBody);
+  }
+
+  // ===== Errores =====
+
+  /** Cuenta una excepción del SDK de AWS (incluida {@code LambdaException}) que se propaga tal cual. */
+  void sdkError(OrchestratorOperation operation, SdkException ex) {
+    metrics.sdkError(operation, ex);
+  }
+
+  OrchestratorClientException wrap(OrchestratorOperation operation, Exception ex) {
+    // S2139: NO log aquí si se envuelve; el contexto viaja en la excepción.
+    if (ex instanceof SdkException sdk) metrics.sdkError(operation, sdk);
+    return new OrchestratorClientException(
+        "Error invocando Lambda (op=" + operation.wireName() + ", arn=" + functionArn + "): " + ex.getMessage(),
+        ex
+    );
+  }
+}
@@ -0,0 +1,134 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas por etapa de cada invocación a Lambda, con {@code operation=<wireName>}:
+ *
+ * <ul>
+ *   <li>{@code identity.orchestrator.serialize}, {@code .invoke}, {@code .decode}: timers con
+ *       histograma de percentiles (sobre, llamada a Lambda, parseo de la respuesta).</li>
+ *   <li>{@code identity.orchestrator.request.bytes} y {@code .response.bytes}: tamaño de los
+ *       payloads.</li>
+ *   <li>{@code identity.orchestrator.function-errors{type}}, {@code .empty-responses} y
+ *       {@code .sdk-errors{code}}: contadores de fallos.</li>
+ * </ul>
+ * Los medidores fijos se registran al inicio por operación; sólo los contadores con etiqueta
+ * variable ({@code type}, {@code code}) se resuelven en el camino de error.
+ */
+@Component
+public class OrchestratorMetrics {
+
+  private static final int OPS = OrchestratorOperation.values().length;
+
+  private final MeterRegistry registry;
+  private final Timer[] serialize = new Timer[OPS];
+  private final Timer[] invoke = new Timer[OPS];
+  private final Timer[] decode = new Timer[OPS];
+  private final DistributionSummary[] requestBytes = new DistributionSummary[OPS];
+  private final DistributionSummary[] responseBytes = new DistributionSummary[OPS];
+  private final Counter[] emptyResponses = new Counter[OPS];
+
+  public OrchestratorMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    for (OrchestratorOperation op : OrchestratorOperation.values()) {
+      int i = op.ordinal();
+      String name = op.wireName();
+      serialize[i] = timer("identity.orchestrator.serialize", "Serialización del sobre hacia Lambda", name);
+      invoke[i] = timer("identity.orchestrator.invoke", "Latencia de la invocación a Lambda", name);
+      decode[i] = timer("identity.orchestrator.decode", "Parseo de la respuesta de Lambda", name);
+      requestBytes[i] = bytes("identity.orchestrator.request.bytes", "Tamaño del payload enviado a Lambda", name);
+      responseBytes[i] = bytes("identity.orchestrator.response.bytes", "Tamaño del payload recibido de Lambda", name);
+      emptyResponses[i] = Counter.builder("identity.orchestrator.empty-responses")
+          .description("Respuestas de Lambda sin payload")
+          .tag("operation", name)
+          .register(registry);
+    }
+  }
+
+  /** Métricas en un registro propio, útil para clientes construidos a mano. */
+  public static OrchestratorMetrics standalone() {
+    return new OrchestratorMetrics(new SimpleMeterRegistry());
+  }
+
+  /** Invocaciones a Lambda con respuesta desde el arranque, todas las operaciones. */
+  public long invocations() {
+    long n = 0;
+    for (Timer t : invoke) n += t.count();
+    return n;
+  }
+
+  /** Tiempo acumulado en invocaciones a Lambda (ns), todas las operaciones. */
+  public double invokeNanos() {
+    double total = 0;
+    for (Timer t : invoke) total += t.totalTime(TimeUnit.NANOSECONDS);
+    return total;
+  }
+
+  void serialized(OrchestratorOperation op, long nanos, int bytes) {
+    serialize[op.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    requestBytes[op.ordinal()].record(bytes);
+  }
+
+  void invoked(OrchestratorOperation op, long nanos, int responseBytes) {
+    invoke[op.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    this.responseBytes[op.ordinal()].record(responseBytes);
+  }
+
+  void decoded(OrchestratorOperation op, long nanos) {
+    decode[op.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  void emptyResponse(OrchestratorOperation op) {
+    emptyResponses[op.ordinal()].increment();
+  }
+
+  void functionError(OrchestratorOperation op, String type) {
+    Counter.builder("identity.orchestrator.function-errors")
+        .description("Respuestas de Lambda con functionError")
+        .tag("operation", op.wireName())
+        .tag("type", type)
+        .register(registry)
+        .increment();
+  }
+
+  /** Excepción del SDK: {@code code} es el código de error de AWS o, si no hay, la clase. */
+  void sdkError(OrchestratorOperation op, Throwable error) {
+    String code = error instanceof AwsServiceException aws
+        && aws.awsErrorDetails() != null
+        && aws.awsErrorDetails().errorCode() != null
+        ? aws.awsErrorDetails().errorCode()
+        : error.getClass().getSimpleName();
+    Counter.builder("identity.orchestrator.sdk-errors")
+        .description("Excepciones del SDK de AWS al invocar Lambda")
+        .tag("operation", op.wireName())
+        .tag("code", code)
+        .register(registry)
+        .increment();
+  }
+
+  private Timer timer(String name, String description, String operation) {
+    return Timer.builder(name)
+        .description(description)
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private DistributionSummary bytes(String name, String description, String operation) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .baseUnit("bytes")
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+}
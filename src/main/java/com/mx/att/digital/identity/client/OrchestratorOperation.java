@@ -0,0 +1,54 @@
+package com.mx.att.digital.identity.client;
+
+import com.mx.att.digital.identity.model.*;
+
+/**
+ * Operaciones que entiende la Lambda orquestadora. {@link #wireName()} es el valor del campo
+ * {@code operation} del sobre; los tipos permiten resolver una sola vez writers/readers de Jackson.
+ * {@link #hedgeable()} marca las operaciones que se pueden invocar dos veces en paralelo sin
+ * efectos visibles (no envían SMS ni consumen el OTP).
+ */
+public enum OrchestratorOperation {
+
+  SESSION_INIT("sessionInit", SessionInitRequest.class, SessionInitData.class, true),
+  MDN_VALIDATE("mdnValidate", MdnValidateRequest.class, MdnValidateData.class, true),
+  OTP_REQUEST("otpRequest", OtpRequest.class, OtpRequestData.class, false),
+  OTP_VALIDATE("otpValidate", OtpValidateRequest.class, OtpValidateData.class, false),
+  OTP_FORWARD("otpForward", OtpForwardRequest.class, OtpForwardData.class, false);
+
+  private final String wireName;
+  private final Class<?> requestType;
+  private final Class<?> dataType;
+  private final boolean hedgeable;
+
+  OrchestratorOperation(String wireName, Class<?> requestType, Class<?> dataType, boolean hedgeable) {
+    this.wireName = wireName;
+    this.requestType = requestType;
+    this.dataType = dataType;
+    this.hedgeable = hedgeable;
+  }
+
+  /** Operación por su nombre en el sobre ({@code sessionInit}, {@code mdnValidate}, ...). */
+  public static OrchestratorOperation fromWireName(String wireName) {
+    for (OrchestratorOperation op : values()) {
+      if (op.wireName.equalsIgnoreCase(wireName)) return op;
+    }
+    throw new IllegalArgumentException("Operación desconocida: " + wireName);
+  }
+
+  public String wireName() {
+    return wireName;
+  }
+
+  public Class<?> requestType() {
+    return requestType;
+  }
+
+  public Class<?> dataType() {
+    return dataType;
+  }
+
+  public boolean hedgeable() {
+    return hedgeable;
+  }
+}
@@ -0,0 +1,215 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.config.WarmUpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvocationType;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calentamiento de la instancia antes de recibir tráfico; corre como {@link ApplicationRunner},
+ * antes de que Spring Boot publique {@code ReadinessState.ACCEPTING_TRAFFIC}.
+ *
+ * <ol>
+ *   <li>Resuelve credenciales (la cadena de {@code DefaultCredentialsProvider} puede tardar
+ *       segundos la primera vez: IMDS, web identity, STS).</li>
+ *   <li>Con credenciales, abre {@code connections} conexiones del pool con invocaciones
+ *       {@code DryRun} concurrentes: TLS y firma sin ejecutar la función.</li>
+ *   <li>Mientras tanto, {@code iterations} ciclos por operación del camino caliente sin red:
+ *       deserializar el request como lo haría MVC, validarlo, ensayar sobre y parseo en el
+ *       {@link OrchestratorCodec} del cliente y serializar la respuesta.</li>
+ * </ol>
+ * Ningún fallo detiene el arranque; al agotarse {@code timeout} se cancela lo pendiente y la
+ * instancia se declara lista igual. Duración en {@code identity.warm-up.duration{outcome}}.
+ */
+public class OrchestratorWarmUp implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(OrchestratorWarmUp.class);
+
+  private static final String MSISDN = "5500000000";
+  private static final String TIMESTAMP = "2024-01-01T00:00:00Z";
+
+  private final LambdaClient lambda;
+  private final AwsCredentialsProvider credentials;
+  private final InvokeRequest dryRun;
+  private final OrchestratorCodec codec;
+  private final ObjectMapper mapper;
+  private final Validator validator;
+  private final int iterations;
+  private final int connections;
+  private final long timeoutNanos;
+  private final MeterRegistry registry;
+
+  private final Map<OrchestratorOperation, byte[]> requests = new EnumMap<>(OrchestratorOperation.class);
+  private final Map<OrchestratorOperation, byte[]> responses = new EnumMap<>(OrchestratorOperation.class);
+
+  public OrchestratorWarmUp(
+      LambdaClient lambda,
+      AwsCredentialsProvider credentials,
+      String functionArn,
+      OrchestratorClient client,
+      ObjectMapper mapper,
+      Validator validator,
+      WarmUpProperties props,
+      MeterRegistry registry
+  ) {
+    if (props.iterations() < 0 || props.connections() < 0) {
+      throw new IllegalArgumentException("orchestrator.warm-up: iterations y connections deben ser >= 0");
+    }
+    this.lambda = lambda;
+    this.credentials = credentials;
+    this.dryRun = InvokeRequest.builder()
+        .functionName(functionArn)
+        .invocationType(InvocationType.DRY_RUN)
+        .build();
+    this.codec = client.codec();
+    this.mapper = mapper;
+    this.validator = validator;
+    this.iterations = props.iterations();
+    this.connections = props.connections();
+    this.timeoutNanos = props.timeout().toNanos();
+    this.registry = registry;
+
+    for (OrchestratorOperation op : OrchestratorOperation.values()) {
+      requests.put(op, utf8(sampleRequest(op)));
+      responses.put(op, utf8(sampleResponse(op)));
+    }
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    String outcome;
+    ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("orchestrator-warm-up-", 0).factory());
+    try {
+      executor.submit(() -> warmUp(executor)).get(timeoutNanos, TimeUnit.NANOSECONDS);
+      outcome = "completed";
+    } catch (TimeoutException ex) {
+      outcome = "timeout";
+      log.warn("[WARMUP] tope de {} ms alcanzado; la instancia se declara lista sin terminar",
+          TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+    } catch (ExecutionException ex) {
+      outcome = "failed";
+      log.warn("[WARMUP] calentamiento fallido: {}", ex.getCause().toString());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      outcome = "interrupted";
+    } finally {
+      // shutdownNow y no close(): una invocación colgada no debe retener el arranque.
+      executor.shutdownNow();
+    }
+    long elapsed = System.nanoTime() - start;
+    Timer.builder("identity.warm-up.duration")
+        .description("Duración del calentamiento previo a readiness")
+        .tag("outcome", outcome)
+        .register(registry)
+        .record(elapsed, TimeUnit.NANOSECONDS);
+    log.info("[WARMUP] {} en {} ms", outcome, TimeUnit.NANOSECONDS.toMillis(elapsed));
+  }
+
+  private Void warmUp(ExecutorService executor) throws Exception {
+    List<Future<?>> connecting = resolveCredentials() ? openConnections(executor) : List.of();
+    trainHotPath();
+    int failed = 0;
+    for (Future<?> f : connecting) {
+      try {
+        f.get();
+      } catch (ExecutionException ex) {
+        failed++;
+        log.debug("[WARMUP] DryRun fallido: {}", ex.getCause().toString());
+      }
+    }
+    if (failed > 0) {
+      log.warn("[WARMUP] {} de {} invocaciones DryRun fallaron", failed, connecting.size());
+    }
+    return null;
+  }
+
+  private boolean resolveCredentials() {
+    try {
+      credentials.resolveCredentials();
+      return true;
+    } catch (RuntimeException ex) {
+      // Sin credenciales tampoco habrá DryRun; el primer request reportará el error real.
+      log.warn("[WARMUP] no se pudieron resolver credenciales de AWS: {}", ex.getMessage());
+      return false;
+    }
+  }
+
+  /** Concurrentes para que cada una tome (y deje en el pool) una conexión distinta. */
+  private List<Future<?>> openConnections(ExecutorService executor) {
+    List<Future<?>> calls = new ArrayList<>(connections);
+    for (int i = 0; i < connections; i++) {
+      calls.add(executor.submit(() -> lambda.invoke(dryRun)));
+    }
+    return calls;
+  }
+
+  /** Devuelve los ciclos ejecutados; se corta si el runner cancela por tiempo. */
+  int trainHotPath() throws Exception {
+    int cycles = 0;
+    for (int i = 0; i < iterations; i++) {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedException("warm-up cancelado tras " + cycles + " ciclos");
+      }
+      for (OrchestratorOperation op : OrchestratorOperation.values()) {
+        Object request = mapper.readValue(requests.get(op), op.requestType());
+        if (!validator.validate(request).isEmpty()) {
+          throw new IllegalStateException("muestra inválida para " + op.wireName());
+        }
+        mapper.writeValueAsBytes(codec.rehearse(op, request, responses.get(op)));
+        cycles++;
+      }
+    }
+    return cycles;
+  }
+
+  // ===== Muestras =====
+
+  static String sampleRequest(OrchestratorOperation op) {
+    return switch (op) {
+      case SESSION_INIT -> "{\"uuid\":\"warm-up\",\"timestamp\":\"" + TIMESTAMP + "\",\"msisdn\":\"" + MSISDN + "\"}";
+      case MDN_VALIDATE -> "{\"uuid\":\"warm-up\",\"timestamp\":\"" + TIMESTAMP + "\",\"source\":\"warm-up\","
+          + "\"initFlowType\":\"WEB\",\"msisdn\":\"" + MSISDN + "\"}";
+      case OTP_REQUEST, OTP_FORWARD -> "{\"uuid\":\"warm-up\",\"timestamp\":\"" + TIMESTAMP + "\",\"msisdn\":\"" + MSISDN + "\"}";
+      case OTP_VALIDATE -> "{\"uuid\":\"warm-up\",\"timestamp\":\"" + TIMESTAMP + "\",\"msisdn\":\"" + MSISDN
+          + "\",\"otp\":\"000000\"}";
+    };
+  }
+
+  static String sampleResponse(OrchestratorOperation op) {
+    String data = switch (op) {
+      case MDN_VALIDATE -> ",\"msisdn\":\"" + MSISDN + "\",\"customerType\":\"POSPAGO\",\"platform\":\"P1\","
+          + "\"isRegistered\":true,\"status\":\"ACTIVE\"";
+      case OTP_VALIDATE -> ",\"onboardingUrl\":\"https://localhost/warm-up\"";
+      default -> "";
+    };
+    return "{\"status\":\"OK\",\"message\":\"warm-up\",\"timestamp\":\"" + TIMESTAMP + "\","
+        + "\"data\":{\"uuid\":\"warm-up\",\"resultCode\":\"0\",\"resultDesc\":\"ok\"" + data + "}}";
+  }
+
+  private static byte[] utf8(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,96 @@
+package com.mx.att.digital.identity.client;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool lock-free de buffers de salida para serializar payloads sin reservar un
+ * {@code byte[]} creciente en cada llamada. No usa {@code ThreadLocal}, así que también
+ * recicla con hilos virtuales (un hilo por request). Los buffers que crecieron por encima de
+ * {@code maxRetainedBytes} se descartan para no retener memoria por un payload atípico.
+ */
+final class PayloadBufferPool {
+
+  private final ConcurrentLinkedQueue<Buffer> free = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pooled = new AtomicInteger();
+  private final int maxPooled;
+  private final int initialBytes;
+  private final int maxRetainedBytes;
+
+  PayloadBufferPool(int maxPooled, int initialBytes, int maxRetainedBytes) {
+    this.maxPooled = maxPooled;
+    this.initialBytes = initialBytes;
+    this.maxRetainedBytes = maxRetainedBytes;
+  }
+
+  Buffer acquire() {
+    Buffer b = free.poll();
+    if (b == null) {
+      return new Buffer(this, initialBytes);
+    }
+    pooled.decrementAndGet();
+    return b;
+  }
+
+  void release(Buffer b) {
+    b.count = 0;
+    if (b.buf.length > maxRetainedBytes) return;
+    if (pooled.incrementAndGet() > maxPooled) {
+      pooled.decrementAndGet();
+      return;
+    }
+    free.offer(b);
+  }
+
+  int pooledCount() {
+    return pooled.get();
+  }
+
+  /** {@link OutputStream} sobre un arreglo reutilizable; {@link #close()} lo devuelve al pool. */
+  static final class Buffer extends OutputStream {
+
+    private final PayloadBufferPool owner;
+    private byte[] buf;
+    private int count;
+
+    private Buffer(PayloadBufferPool owner, int initialBytes) {
+      this.owner = owner;
+      this.buf = new byte[initialBytes];
+    }
+
+    @Override
+    public void write(int b) {
+      ensureCapacity(count + 1);
+      buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      ensureCapacity(count + len);
+      System.arraycopy(b, off, buf, count, len);
+      count += len;
+    }
+
+    private void ensureCapacity(int min) {
+      if (min > buf.length) {
+        buf = Arrays.copyOf(buf, Math.max(min, buf.length << 1));
+      }
+    }
+
+    int size() {
+      return count;
+    }
+
+    /** Copia exacta del contenido: la única reserva proporcional al payload. */
+    byte[] toByteArray() {
+      return Arrays.copyOf(buf, count);
+    }
+
+    @Override
+    public void close() {
+      owner.release(this);
+    }
+  }
+}
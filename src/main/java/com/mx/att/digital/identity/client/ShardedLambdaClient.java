@@ -0,0 +1,63 @@
+package com.mx.att.digital.identity.client;
+
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.LambdaServiceClientConfiguration;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reparte las invocaciones entre varios {@link LambdaClient}, cada uno con su propio pool
+ * de conexiones. A tasas muy altas el lock del pool de un único cliente se vuelve el cuello
+ * de botella; con N shards la contención se divide entre N. La elección del shard usa
+ * {@link ThreadLocalRandom} para no introducir un contador compartido.
+ */
+public final class ShardedLambdaClient implements LambdaClient {
+
+  private final LambdaClient[] shards;
+
+  public ShardedLambdaClient(List<LambdaClient> shards) {
+    if (shards == null || shards.isEmpty()) {
+      throw new IllegalArgumentException("Se requiere al menos un LambdaClient");
+    }
+    this.shards = shards.toArray(LambdaClient[]::new);
+  }
+
+  @Override
+  public InvokeResponse invoke(InvokeRequest invokeRequest) {
+    return next().invoke(invokeRequest);
+  }
+
+  private LambdaClient next() {
+    return shards.length == 1 ? shards[0] : shards[ThreadLocalRandom.current().nextInt(shards.length)];
+  }
+
+  public int shardCount() {
+    return shards.length;
+  }
+
+  @Override
+  public LambdaServiceClientConfiguration serviceClientConfiguration() {
+    return shards[0].serviceClientConfiguration();
+  }
+
+  @Override
+  public String serviceName() {
+    return shards[0].serviceName();
+  }
+
+  @Override
+  public void close() {
+    RuntimeException first = null;
+    for (LambdaClient shard : shards) {
+      try {
+        shard.close();
+      } catch (RuntimeException ex) {
+        if (first == null) first = ex; else first.addSuppressed(ex);
+      }
+    }
+    if (first != null) throw first;
+  }
+}
@@ -1,6 +1,9 @@
 package com.mx.att.digital.identity.config;
 
+import com.mx.att.digital.identity.client.ShardedLambdaClient;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
@@ -8,12 +11,17 @@ import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClientBuilder;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.lambda.LambdaClientBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(LambdaHttpClientProperties.class)
 public class AwsLambdaConfig {
 
  
@@ -31,15 +39,62 @@ public class AwsLambdaConfig {
     return DefaultCredentialsProvider.create();
   }
 
+  /**
+   * Con {@code aws.lambda.http.shards > 1} se crean varios clientes (uno por pool de
+   * conexiones) detrás de un {@link ShardedLambdaClient}.
+   */
   @Bean
   public LambdaClient lambdaClient(
       AwsCredentialsProvider credentialsProvider,
       @Value("${aws.region}") String region,
-      @Value("${aws.lambda.endpoint-override:}") String endpointOverride
+      @Value("${aws.lambda.endpoint-override:}") String endpointOverride,
+      LambdaHttpClientProperties http
+  ) {
+    if (http.shards() == 1) {
+      return buildLambdaClient(credentialsProvider, region, endpointOverride, http);
+    }
+
+    List<LambdaClient> shards = new ArrayList<>(http.shards());
+    for (int i = 0; i < http.shards(); i++) {
+      shards.add(buildLambdaClient(credentialsProvider, region, endpointOverride, http));
+    }
+    return new ShardedLambdaClient(shards);
+  }
+
+  private LambdaClient buildLambdaClient(
+      AwsCredentialsProvider credentialsProvider,
+      String region,
+      String endpointOverride,
+      LambdaHttpClientProperties http
   ) {
     LambdaClientBuilder builder = LambdaClient.builder()
         .region(Region.of(region))
-        .credentialsProvider(credentialsProvider);
+        .credentialsProvider(credentialsProvider)
+        .httpClientBuilder(LambdaHttpClients.syncBuilder(http));
+
+    if (endpointOverride != null && !endpointOverride.isBlank()) {
+      builder = builder.endpointOverride(URI.create(endpointOverride));
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * Cliente no bloqueante para {@code OrchestratorAsyncClient}; sólo se crea cuando
+   * {@code orchestrator.async.enabled=true} para no levantar el event loop de Netty en balde.
+   */
+  @Bean
+  @ConditionalOnProperty(name = "orchestrator.async.enabled", havingValue = "true")
+  public LambdaAsyncClient lambdaAsyncClient(
+      AwsCredentialsProvider credentialsProvider,
+      @Value("${aws.region}") String region,
+      @Value("${aws.lambda.endpoint-override:}") String endpointOverride,
+      LambdaHttpClientProperties http
+  ) {
+    LambdaAsyncClientBuilder builder = LambdaAsyncClient.builder()
+        .region(Region.of(region))
+        .credentialsProvider(credentialsProvider)
+        .httpClientBuilder(LambdaHttpClients.asyncBuilder(http));
 
     if (endpointOverride != null && !endpointOverride.isBlank()) {
       builder = builder.endpointOverride(URI.create(endpointOverride));
@@ -0,0 +1,30 @@
+package com.mx.att.digital.identity.config;
+
+import com.mx.att.digital.identity.service.IdentityService;
+import com.mx.att.digital.identity.service.MdnBatchValidationService;
+import com.mx.att.digital.identity.service.impl.MdnBatchValidationServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Validación de MDN por lotes. Usa el {@code IdentityService} primario (con cache, si está
+ * activo), así que cada elemento pasa por el mismo circuit breaker, retry y bulkhead de
+ * {@code mdnValidate} que una petición individual.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+
+  @Bean
+  public MdnBatchValidationService mdnBatchValidationService(
+      IdentityService identityService,
+      Validator validator,
+      BatchProperties props,
+      MeterRegistry registry
+  ) {
+    return new MdnBatchValidationServiceImpl(identityService, validator, props, registry);
+  }
+}
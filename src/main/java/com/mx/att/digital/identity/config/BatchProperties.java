@@ -0,0 +1,32 @@
+package com.mx.att.digital.identity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Lotes de {@code POST /mdn/validate/batch} ({@code orchestrator.batch.*}).
+ *
+ * @param maxConcurrency validaciones en vuelo por lote; por debajo del bulkhead de
+ *                       {@code mdnValidate} para que un lote no deje sin permisos al tráfico
+ *                       interactivo (el tope es por lote: varios lotes simultáneos sí pueden)
+ * @param timeout        tope del lote; lo que no terminó sale como error {@code BATCH_TIMEOUT}
+ */
+@ConfigurationProperties(prefix = "orchestrator.batch")
+public record BatchProperties(
+    Integer maxConcurrency,
+    Duration timeout
+) {
+
+  public BatchProperties {
+    maxConcurrency = maxConcurrency != null ? maxConcurrency : 8;
+    timeout = timeout != null ? timeout : Duration.ofSeconds(30);
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("orchestrator.batch.max-concurrency debe ser >= 1: " + maxConcurrency);
+    }
+  }
+
+  public static BatchProperties defaults() {
+    return new BatchProperties(null, null);
+  }
+}
@@ -0,0 +1,53 @@
+package com.mx.att.digital.identity.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rechazos de los bulkheads por operación: {@code identity.bulkhead.rejected{name,type}}.
+ *
+ * <p>La ocupación ya la publica resilience4j-micrometer
+ * ({@code resilience4j.bulkhead.available.concurrent.calls}, ...); aquí sólo se agrega el contador
+ * de llamadas rechazadas por saturación. Todos los bulkheads son de semáforo, síncronos y async.
+ */
+@Configuration
+public class BulkheadMetricsConfig {
+
+  static final String REJECTED = "identity.bulkhead.rejected";
+
+  @Bean
+  public RegistryEventConsumer<Bulkhead> bulkheadRejectionMetrics(MeterRegistry registry) {
+    return new RegistryEventConsumer<>() {
+      @Override
+      public void onEntryAddedEvent(EntryAddedEvent<Bulkhead> event) {
+        bind(registry, event.getAddedEntry());
+      }
+
+      @Override
+      public void onEntryRemovedEvent(EntryRemovedEvent<Bulkhead> event) {
+        // El contador se conserva: es acumulado y el nombre puede volver a registrarse.
+      }
+
+      @Override
+      public void onEntryReplacedEvent(EntryReplacedEvent<Bulkhead> event) {
+        bind(registry, event.getNewEntry());
+      }
+    };
+  }
+
+  private static void bind(MeterRegistry registry, Bulkhead bulkhead) {
+    Counter rejected = Counter.builder(REJECTED)
+        .description("Llamadas rechazadas de inmediato por bulkhead saturado")
+        .tag("name", bulkhead.getName())
+        .tag("type", "semaphore")
+        .register(registry);
+    bulkhead.getEventPublisher().onCallRejected(e -> rejected.increment());
+  }
+}
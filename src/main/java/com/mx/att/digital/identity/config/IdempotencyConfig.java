@@ -0,0 +1,36 @@
+package com.mx.att.digital.identity.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.idempotency.IdempotencyGuard;
+import com.mx.att.digital.identity.idempotency.IdempotencyStore;
+import com.mx.att.digital.identity.idempotency.InMemoryIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Almacén de idempotencia por defecto (en memoria, por instancia). Otro bean
+ * {@link IdempotencyStore} lo reemplaza.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+  @Bean
+  @ConditionalOnMissingBean(IdempotencyStore.class)
+  public IdempotencyStore idempotencyStore(IdempotencyProperties props) {
+    return new InMemoryIdempotencyStore(props.capacity(), props.slotBytes(), props.segments());
+  }
+
+  @Bean
+  public IdempotencyGuard idempotencyGuard(
+      IdempotencyStore store,
+      ObjectMapper mapper,
+      MeterRegistry registry,
+      IdempotencyProperties props
+  ) {
+    return new IdempotencyGuard(store, mapper, registry, props.window(), props.enabled());
+  }
+}
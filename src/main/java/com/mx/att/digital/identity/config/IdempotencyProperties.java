@@ -0,0 +1,37 @@
+package com.mx.att.digital.identity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotencia de {@code otpRequest}/{@code otpForward} ({@code identity.idempotency.*}).
+ *
+ * @param enabled   {@code false} => las operaciones siempre invocan Lambda
+ * @param window    tiempo durante el cual se repite el resultado de una misma operación; del
+ *                  orden de los reintentos (segundos), no de la sesión
+ * @param capacity  entradas del almacén en memoria
+ * @param slotBytes tamaño fijo (off-heap) de cada resultado serializado; los mayores no se guardan
+ * @param segments  particiones con candado propio del almacén en memoria
+ */
+@ConfigurationProperties(prefix = "identity.idempotency")
+public record IdempotencyProperties(
+    Boolean enabled,
+    Duration window,
+    Integer capacity,
+    Integer slotBytes,
+    Integer segments
+) {
+
+  public IdempotencyProperties {
+    enabled = enabled != null ? enabled : Boolean.TRUE;
+    window = window != null ? window : Duration.ofSeconds(30);
+    capacity = capacity != null ? capacity : 65_536;
+    slotBytes = slotBytes != null ? slotBytes : 512;
+    segments = segments != null ? segments : 16;
+  }
+
+  public static IdempotencyProperties defaults() {
+    return new IdempotencyProperties(null, null, null, null, null);
+  }
+}
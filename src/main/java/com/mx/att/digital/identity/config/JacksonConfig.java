@@ -1,8 +1,10 @@
 package com.mx.att.digital.identity.config;
 
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
@@ -11,13 +13,21 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 public class JacksonConfig {
 
   @Bean
-  public ObjectMapper objectMapper(Jackson2ObjectMapperBuilder builder) {
+  public ObjectMapper objectMapper(
+      Jackson2ObjectMapperBuilder builder,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+  ) {
     // Usa el builder auto-configurado por Spring Boot y añade JavaTimeModule explícitamente
     ObjectMapper mapper = builder
         .createXmlMapper(false)
         .build();
     mapper.registerModule(new JavaTimeModule());
     mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    if (virtualThreads) {
+      // El pool por defecto guarda los buffers en un ThreadLocal: con un hilo virtual por
+      // request nunca se reutilizan. Un pool compartido lock-free sí se recicla entre hilos.
+      mapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedLockFreePool());
+    }
     return mapper;
   }
 }
@@ -0,0 +1,31 @@
+package com.mx.att.digital.identity.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.client.LambdaKeepWarmer;
+import com.mx.att.digital.identity.client.OrchestratorMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+
+/** Pings keep-warm a la función orquestadora; sólo con {@code orchestrator.keep-warm.enabled=true}. */
+@Configuration
+@ConditionalOnProperty(name = "orchestrator.keep-warm.enabled", havingValue = "true")
+@EnableConfigurationProperties(KeepWarmProperties.class)
+public class KeepWarmConfig {
+
+  @Bean
+  public LambdaKeepWarmer lambdaKeepWarmer(
+      LambdaClient lambda,
+      @Value("${aws.lambda.function-arn}") String functionArn,
+      ObjectMapper mapper,
+      KeepWarmProperties props,
+      OrchestratorMetrics traffic,
+      MeterRegistry registry
+  ) {
+    return new LambdaKeepWarmer(lambda, functionArn, mapper, props, traffic, registry);
+  }
+}
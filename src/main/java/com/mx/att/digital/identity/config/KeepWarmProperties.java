@@ -0,0 +1,41 @@
+package com.mx.att.digital.identity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Invocaciones keep-warm a la función orquestadora ({@code orchestrator.keep-warm.*}).
+ *
+ * @param enabled         {@code true} => se programan los pings (la función debe reconocer la
+ *                        operación reservada {@code keepWarm})
+ * @param interval        cada cuánto se evalúa y, si hace falta, se envía una ronda de pings
+ * @param minEnvironments entornos que se mantienen calientes sin tráfico
+ * @param maxEnvironments tope de pings concurrentes por ronda
+ * @param headroom        factor sobre la concurrencia observada para fijar el objetivo
+ * @param pingDelay       cuánto retiene la función cada ping para que los concurrentes caigan
+ *                        en entornos distintos
+ */
+@ConfigurationProperties(prefix = "orchestrator.keep-warm")
+public record KeepWarmProperties(
+    Boolean enabled,
+    Duration interval,
+    Integer minEnvironments,
+    Integer maxEnvironments,
+    Double headroom,
+    Duration pingDelay
+) {
+
+  public KeepWarmProperties {
+    enabled = enabled != null ? enabled : Boolean.FALSE;
+    interval = interval != null ? interval : Duration.ofMinutes(5);
+    minEnvironments = minEnvironments != null ? minEnvironments : 1;
+    maxEnvironments = maxEnvironments != null ? maxEnvironments : 10;
+    headroom = headroom != null ? headroom : 1.5;
+    pingDelay = pingDelay != null ? pingDelay : Duration.ofMillis(100);
+  }
+
+  public static KeepWarmProperties defaults() {
+    return new KeepWarmProperties(null, null, null, null, null, null);
+  }
+}
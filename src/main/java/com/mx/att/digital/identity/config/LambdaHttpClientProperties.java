@@ -0,0 +1,71 @@
+package com.mx.att.digital.identity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transporte HTTP del SDK para los clientes de Lambda ({@code aws.lambda.http.*}).
+ * Los valores ausentes toman los defaults del SDK para el cliente Apache.
+ *
+ * @param syncClient                   transporte de {@code LambdaClient}
+ * @param asyncClient                  transporte de {@code LambdaAsyncClient}
+ * @param maxConnections               conexiones totales; se reparten entre los {@code shards}
+ * @param connectionAcquisitionTimeout espera máxima por una conexión libre del pool
+ * @param connectionTimeout            timeout de establecimiento TCP/TLS
+ * @param socketTimeout                timeout de lectura
+ * @param tcpKeepAlive                 habilita TCP keep-alive en las conexiones del pool
+ * @param tcpKeepAliveInterval         intervalo de keep-alive (sólo CRT, que lo exige explícito)
+ * @param connectionMaxIdleTime        tiempo ocioso tras el cual el reaper cierra la conexión
+ * @param useIdleConnectionReaper      habilita el reaper de conexiones ociosas
+ * @param connectionTimeToLive         vida máxima de una conexión; {@code 0} = sin límite
+ * @param shards                       instancias independientes de {@code LambdaClient} (una por pool)
+ */
+@ConfigurationProperties(prefix = "aws.lambda.http")
+public record LambdaHttpClientProperties(
+    SyncTransport syncClient,
+    AsyncTransport asyncClient,
+    Integer maxConnections,
+    Duration connectionAcquisitionTimeout,
+    Duration connectionTimeout,
+    Duration socketTimeout,
+    Boolean tcpKeepAlive,
+    Duration tcpKeepAliveInterval,
+    Duration connectionMaxIdleTime,
+    Boolean useIdleConnectionReaper,
+    Duration connectionTimeToLive,
+    Integer shards
+) {
+
+  public enum SyncTransport { APACHE, URL_CONNECTION, CRT }
+
+  public enum AsyncTransport { NETTY, CRT }
+
+  public LambdaHttpClientProperties {
+    syncClient = syncClient != null ? syncClient : SyncTransport.APACHE;
+    asyncClient = asyncClient != null ? asyncClient : AsyncTransport.NETTY;
+    maxConnections = maxConnections != null ? maxConnections : 50;
+    connectionAcquisitionTimeout = connectionAcquisitionTimeout != null ? connectionAcquisitionTimeout : Duration.ofSeconds(10);
+    connectionTimeout = connectionTimeout != null ? connectionTimeout : Duration.ofSeconds(2);
+    socketTimeout = socketTimeout != null ? socketTimeout : Duration.ofSeconds(30);
+    tcpKeepAlive = tcpKeepAlive != null ? tcpKeepAlive : Boolean.FALSE;
+    tcpKeepAliveInterval = tcpKeepAliveInterval != null ? tcpKeepAliveInterval : Duration.ofSeconds(30);
+    connectionMaxIdleTime = connectionMaxIdleTime != null ? connectionMaxIdleTime : Duration.ofSeconds(60);
+    useIdleConnectionReaper = useIdleConnectionReaper != null ? useIdleConnectionReaper : Boolean.TRUE;
+    connectionTimeToLive = connectionTimeToLive != null ? connectionTimeToLive : Duration.ZERO;
+    shards = shards != null && shards > 0 ? shards : 1;
+    if (maxConnections <= 0) {
+      throw new IllegalArgumentException("aws.lambda.http.max-connections debe ser > 0");
+    }
+  }
+
+  /** Defaults del SDK (Apache/Netty, 50 conexiones, un solo pool). */
+  public static LambdaHttpClientProperties defaults() {
+    return new LambdaHttpClientProperties(null, null, null, null, null, null, null, null, null, null, null, null);
+  }
+
+  /** Conexiones de cada shard: el total se reparte redondeando hacia arriba. */
+  public int maxConnectionsPerShard() {
+    return (maxConnections + shards - 1) / shards;
+  }
+}
@@ -0,0 +1,106 @@
+package com.mx.att.digital.identity.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+import java.time.Duration;
+
+/**
+ * Traduce {@link LambdaHttpClientProperties} al builder del transporte elegido. Se entregan
+ * builders (no clientes) para que cada {@code LambdaClient} sea dueño de su pool y lo cierre.
+ */
+final class LambdaHttpClients {
+
+  private static final Logger log = LoggerFactory.getLogger(LambdaHttpClients.class);
+
+  private static final Duration CRT_KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(5);
+
+  private LambdaHttpClients() {
+  }
+
+  static SdkHttpClient.Builder<?> syncBuilder(LambdaHttpClientProperties p) {
+    int maxConnections = p.maxConnectionsPerShard();
+    return switch (p.syncClient()) {
+      case APACHE -> ApacheHttpClient.builder()
+          .maxConnections(maxConnections)
+          .connectionAcquisitionTimeout(p.connectionAcquisitionTimeout())
+          .connectionTimeout(p.connectionTimeout())
+          .socketTimeout(p.socketTimeout())
+          .tcpKeepAlive(p.tcpKeepAlive())
+          .useIdleConnectionReaper(p.useIdleConnectionReaper())
+          .connectionMaxIdleTime(p.connectionMaxIdleTime())
+          .connectionTimeToLive(p.connectionTimeToLive());
+
+      case URL_CONNECTION -> {
+        // HttpURLConnection no expone pool: sólo aplican los timeouts.
+        log.info("[LAMBDA][http] url-connection ignora max-connections/keep-alive/idle/ttl");
+        yield UrlConnectionHttpClient.builder()
+            .connectionTimeout(p.connectionTimeout())
+            .socketTimeout(p.socketTimeout());
+      }
+
+      case CRT -> {
+        logCrtIgnored(p);
+        AwsCrtHttpClient.Builder crt = AwsCrtHttpClient.builder()
+            .maxConcurrency(maxConnections)
+            .connectionTimeout(p.connectionTimeout())
+            .connectionMaxIdleTime(p.connectionMaxIdleTime());
+        if (Boolean.TRUE.equals(p.tcpKeepAlive())) {
+          crt.tcpKeepAliveConfiguration(crtKeepAlive(p));
+        }
+        yield crt;
+      }
+    };
+  }
+
+  static SdkAsyncHttpClient.Builder<?> asyncBuilder(LambdaHttpClientProperties p) {
+    return switch (p.asyncClient()) {
+      case NETTY -> NettyNioAsyncHttpClient.builder()
+          .maxConcurrency(p.maxConnections())
+          .connectionAcquisitionTimeout(p.connectionAcquisitionTimeout())
+          .connectionTimeout(p.connectionTimeout())
+          .readTimeout(p.socketTimeout())
+          .tcpKeepAlive(p.tcpKeepAlive())
+          .useIdleConnectionReaper(p.useIdleConnectionReaper())
+          .connectionMaxIdleTime(p.connectionMaxIdleTime())
+          .connectionTimeToLive(p.connectionTimeToLive());
+
+      case CRT -> {
+        logCrtIgnored(p);
+        AwsCrtAsyncHttpClient.Builder crt = AwsCrtAsyncHttpClient.builder()
+            .maxConcurrency(p.maxConnections())
+            .connectionTimeout(p.connectionTimeout())
+            .connectionMaxIdleTime(p.connectionMaxIdleTime());
+        if (Boolean.TRUE.equals(p.tcpKeepAlive())) {
+          crt.tcpKeepAliveConfiguration(crtKeepAlive(p));
+        }
+        yield crt;
+      }
+    };
+  }
+
+  /**
+   * Los builders CRT de esta versión del SDK no tienen timeout de adquisición de conexión, TTL,
+   * timeout de lectura ni reaper (cierran las ociosas por {@code connectionMaxIdleTime}).
+   */
+  private static void logCrtIgnored(LambdaHttpClientProperties p) {
+    log.info("[LAMBDA][http] crt ignora connection-acquisition-timeout={} connection-time-to-live={} "
+            + "socket-timeout={} use-idle-connection-reaper={}",
+        p.connectionAcquisitionTimeout(), p.connectionTimeToLive(), p.socketTimeout(), p.useIdleConnectionReaper());
+  }
+
+  private static TcpKeepAliveConfiguration crtKeepAlive(LambdaHttpClientProperties p) {
+    return TcpKeepAliveConfiguration.builder()
+        .keepAliveInterval(p.tcpKeepAliveInterval())
+        .keepAliveTimeout(CRT_KEEP_ALIVE_TIMEOUT)
+        .build();
+  }
+}
@@ -0,0 +1,47 @@
+package com.mx.att.digital.identity.config;
+
+import com.mx.att.digital.identity.cache.MdnCacheEndpoint;
+import com.mx.att.digital.identity.cache.MdnValidationCache;
+import com.mx.att.digital.identity.service.IdentityService;
+import com.mx.att.digital.identity.service.impl.CachingIdentityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Cache de {@code mdnValidate} ({@code identity.mdn-cache.enabled}, activo por defecto).
+ * {@link CachingIdentityService} queda como {@code IdentityService} primario y delega en
+ * {@code identityServiceImpl}, que conserva su circuit breaker y retry.
+ */
+@Configuration
+@ConditionalOnProperty(name = "identity.mdn-cache.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(MdnCacheProperties.class)
+public class MdnCacheConfig {
+
+  @Bean
+  public MdnValidationCache mdnValidationCache(
+      @Qualifier("identityServiceImpl") IdentityService origin,
+      MdnCacheProperties props,
+      MeterRegistry registry
+  ) {
+    return new MdnValidationCache(origin::mdnValidate, props, registry);
+  }
+
+  @Bean
+  @Primary
+  public IdentityService cachingIdentityService(
+      @Qualifier("identityServiceImpl") IdentityService origin,
+      MdnValidationCache mdnValidationCache
+  ) {
+    return new CachingIdentityService(origin, mdnValidationCache);
+  }
+
+  @Bean
+  public MdnCacheEndpoint mdnCacheEndpoint(MdnValidationCache mdnValidationCache) {
+    return new MdnCacheEndpoint(mdnValidationCache);
+  }
+}
@@ -0,0 +1,37 @@
+package com.mx.att.digital.identity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cache de {@code mdnValidate} por MSISDN ({@code identity.mdn-cache.*}).
+ *
+ * @param maxSize      entradas máximas; al superarlo se desalojan las menos usadas
+ * @param ttl          vida de una entrada fresca; pasado este tiempo se vuelve a consultar Lambda
+ * @param refreshAfter edad a partir de la cual una lectura dispara el refresco asíncrono
+ * @param maxStale     tiempo extra tras {@code ttl} en que la entrada se conserva para servirla
+ *                     si el circuito {@code orchestrator} está abierto
+ */
+@ConfigurationProperties(prefix = "identity.mdn-cache")
+public record MdnCacheProperties(
+    Long maxSize,
+    Duration ttl,
+    Duration refreshAfter,
+    Duration maxStale
+) {
+
+  public MdnCacheProperties {
+    maxSize = maxSize != null ? maxSize : 100_000L;
+    ttl = ttl != null ? ttl : Duration.ofMinutes(5);
+    refreshAfter = refreshAfter != null ? refreshAfter : Duration.ofMinutes(4);
+    maxStale = maxStale != null ? maxStale : Duration.ofHours(1);
+    if (refreshAfter.compareTo(ttl) >= 0) {
+      throw new IllegalArgumentException("identity.mdn-cache.refresh-after debe ser menor que ttl");
+    }
+  }
+
+  public static MdnCacheProperties defaults() {
+    return new MdnCacheProperties(null, null, null, null);
+  }
+}
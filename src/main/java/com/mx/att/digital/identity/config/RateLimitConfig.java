@@ -0,0 +1,28 @@
+package com.mx.att.digital.identity.config;
+
+import com.mx.att.digital.identity.ratelimit.LongTokenBucketMap;
+import com.mx.att.digital.identity.ratelimit.MsisdnRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Límite local por MSISDN de las operaciones OTP (lo aplica {@code OtpRateLimitAdvice}). */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+  @Bean
+  public MsisdnRateLimiter msisdnRateLimiter(RateLimitProperties props, MeterRegistry registry) {
+    return new MsisdnRateLimiter(
+        buckets(props, props.sms()),
+        buckets(props, props.validate()),
+        registry,
+        props.enabled()
+    );
+  }
+
+  private static LongTokenBucketMap buckets(RateLimitProperties props, RateLimitProperties.Limit limit) {
+    return new LongTokenBucketMap(props.capacity(), props.segments(), limit.burst(), limit.period());
+  }
+}
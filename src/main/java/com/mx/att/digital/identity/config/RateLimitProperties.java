@@ -0,0 +1,48 @@
+package com.mx.att.digital.identity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Límite por MSISDN de las operaciones OTP ({@code identity.rate-limit.*}).
+ *
+ * @param enabled  {@code false} => no se limita
+ * @param capacity MSISDN distintas que se siguen a la vez por bucket
+ * @param segments particiones con candado propio
+ * @param sms      bucket compartido por {@code otpRequest} y {@code otpForward}
+ * @param validate bucket de {@code otpValidate}
+ */
+@ConfigurationProperties(prefix = "identity.rate-limit")
+public record RateLimitProperties(
+    Boolean enabled,
+    Integer capacity,
+    Integer segments,
+    Limit sms,
+    Limit validate
+) {
+
+  public RateLimitProperties {
+    enabled = enabled != null ? enabled : Boolean.TRUE;
+    capacity = capacity != null ? capacity : 262_144;
+    segments = segments != null ? segments : 16;
+    sms = sms != null ? sms : new Limit(3, Duration.ofMinutes(1));
+    validate = validate != null ? validate : new Limit(5, Duration.ofSeconds(30));
+  }
+
+  public static RateLimitProperties defaults() {
+    return new RateLimitProperties(null, null, null, null, null);
+  }
+
+  /**
+   * @param burst  solicitudes seguidas permitidas con el bucket lleno
+   * @param period tiempo en que se repone un token
+   */
+  public record Limit(Integer burst, Duration period) {
+
+    public Limit {
+      burst = burst != null ? burst : 3;
+      period = period != null ? period : Duration.ofMinutes(1);
+    }
+  }
+}
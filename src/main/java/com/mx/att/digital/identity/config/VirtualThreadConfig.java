@@ -0,0 +1,57 @@
+package com.mx.att.digital.identity.config;
+
+import com.mx.att.digital.identity.client.BoundedLambdaClient;
+import com.mx.att.digital.identity.metrics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+
+import java.time.Duration;
+
+/**
+ * Modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}). Spring Boot ya pone
+ * Tomcat sobre hilos virtuales, así que {@code LambdaClient.invoke} corre en el hilo virtual
+ * del request; aquí se cubren los riesgos de anclaje (pinning):
+ * <ul>
+ *   <li>el {@link LambdaClient} se envuelve en un {@link BoundedLambdaClient} para que la espera
+ *       por conexión ocurra en un semáforo y no dentro del cliente HTTP del SDK;</li>
+ *   <li>{@link VirtualThreadPinningMonitor} publica cuántos anclajes ocurren realmente.</li>
+ * </ul>
+ * El recycler de buffers de Jackson se ajusta en {@link JacksonConfig}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+  @Bean
+  static BeanPostProcessor boundedLambdaClientPostProcessor(Environment env) {
+    // Por defecto, tantos permisos como conexiones tenga el pool del transporte HTTP.
+    int poolSize = env.getProperty("aws.lambda.http.max-connections", Integer.class, 50);
+    int maxConcurrent = env.getProperty("aws.lambda.virtual-threads.max-concurrent-invocations", Integer.class, poolSize);
+    Duration acquireTimeout = env.getProperty("aws.lambda.virtual-threads.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof LambdaClient client && !(bean instanceof BoundedLambdaClient)) {
+          return new BoundedLambdaClient(client, maxConcurrent, acquireTimeout);
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+      MeterRegistry registry,
+      @Value("${identity.virtual-threads.pinned-threshold:20ms}") Duration threshold
+  ) {
+    return new VirtualThreadPinningMonitor(registry, threshold);
+  }
+}
@@ -0,0 +1,39 @@
+package com.mx.att.digital.identity.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.client.OrchestratorClient;
+import com.mx.att.digital.identity.client.OrchestratorWarmUp;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+
+/**
+ * Calentamiento antes de readiness ({@code orchestrator.warm-up.enabled}, activo por defecto).
+ * Corre como {@code ApplicationRunner}: Spring Boot publica {@code ACCEPTING_TRAFFIC} recién
+ * después de los runners, así que {@code /actuator/health/readiness} responde 503 mientras tanto.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orchestrator.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpConfig {
+
+  @Bean
+  public OrchestratorWarmUp orchestratorWarmUp(
+      LambdaClient lambda,
+      AwsCredentialsProvider credentials,
+      @Value("${aws.lambda.function-arn}") String functionArn,
+      OrchestratorClient client,
+      ObjectMapper mapper,
+      Validator validator,
+      WarmUpProperties props,
+      MeterRegistry registry
+  ) {
+    return new OrchestratorWarmUp(lambda, credentials, functionArn, client, mapper, validator, props, registry);
+  }
+}
@@ -0,0 +1,35 @@
+package com.mx.att.digital.identity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Calentamiento previo a readiness ({@code orchestrator.warm-up.*}).
+ *
+ * @param enabled     {@code true} => la instancia no se declara lista hasta terminar o agotar
+ *                    {@code timeout}
+ * @param iterations  ciclos de deserialización, validación, sobre y parseo por operación
+ * @param connections invocaciones {@code DryRun} concurrentes para abrir conexiones del pool (no
+ *                    más que {@code aws.lambda.http.max-connections})
+ * @param timeout     tope del calentamiento; al agotarse la instancia se declara lista igual
+ */
+@ConfigurationProperties(prefix = "orchestrator.warm-up")
+public record WarmUpProperties(
+    Boolean enabled,
+    Integer iterations,
+    Integer connections,
+    Duration timeout
+) {
+
+  public WarmUpProperties {
+    enabled = enabled != null ? enabled : Boolean.TRUE;
+    iterations = iterations != null ? iterations : 5000;
+    connections = connections != null ? connections : 4;
+    timeout = timeout != null ? timeout : Duration.ofSeconds(30);
+  }
+
+  public static WarmUpProperties defaults() {
+    return new WarmUpProperties(null, null, null, null);
+  }
+}
@@ -0,0 +1,158 @@
+package com.mx.att.digital.identity.controller;
+
+import jakarta.validation.Valid;
+
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.MdnValidateData;
+import com.mx.att.digital.identity.model.MdnValidateRequest;
+import com.mx.att.digital.identity.model.OtpForwardData;
+import com.mx.att.digital.identity.model.OtpForwardRequest;
+import com.mx.att.digital.identity.model.OtpRequest;
+import com.mx.att.digital.identity.model.OtpRequestData;
+import com.mx.att.digital.identity.model.OtpValidateData;
+import com.mx.att.digital.identity.model.OtpValidateRequest;
+import com.mx.att.digital.identity.model.SessionInitData;
+import com.mx.att.digital.identity.model.SessionInitRequest;
+import com.mx.att.digital.identity.service.IdentityAsyncService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mismas operaciones que {@link IdentityController} bajo {@code /async}: cada handler devuelve
+ * un {@link CompletableFuture}, de modo que Spring MVC libera el hilo del servlet mientras la
+ * invocación a Lambda está en vuelo. Sólo existe con {@code orchestrator.async.enabled=true}.
+ */
+@Tag(name = "Identity Orchestration (async)", description = "Endpoints no bloqueantes para orquestación de identidad (AT&T MX)")
+@RestController
+@ConditionalOnProperty(name = "orchestrator.async.enabled", havingValue = "true")
+@RequestMapping(path = "/async", produces = MediaType.APPLICATION_JSON_VALUE)
+public class IdentityAsyncController {
+
+  private final IdentityAsyncService service;
+  public IdentityAsyncController(IdentityAsyncService service) { this.service = service; }
+
+  @Operation(
+      summary = "Inicializa sesión",
+      description = "Crea una sesión de orquestación (por ejemplo, para flujos de verificación).",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Sesión creada",
+              content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autorizado"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error interno")
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      required = true,
+      content = @Content(schema = @Schema(implementation = SessionInitRequest.class))
+  )
+  @PostMapping(path = "/session/init", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public CompletableFuture<ResponseEntity<ApiResponse<SessionInitData>>> sessionInit(@Valid @RequestBody SessionInitRequest req) {
+    return service.sessionInit(req).thenApply(ResponseEntity::ok);
+  }
+
+  @Operation(
+      summary = "Valida MDN",
+      description = "Valida MSISDN/MDN dentro del flujo de identidad.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Validación procesada",
+              content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autorizado"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error interno")
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      required = true,
+      content = @Content(schema = @Schema(implementation = MdnValidateRequest.class))
+  )
+  @PostMapping(path = "/mdn/validate", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public CompletableFuture<ResponseEntity<ApiResponse<MdnValidateData>>> mdnValidate(@Valid @RequestBody MdnValidateRequest req) {
+    return service.mdnValidate(req).thenApply(ResponseEntity::ok);
+  }
+
+  @Operation(
+      summary = "Solicita OTP",
+      description = "Genera y envía un OTP al canal configurado.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "OTP solicitado",
+              content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autorizado"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error interno")
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      required = true,
+      content = @Content(schema = @Schema(implementation = OtpRequest.class))
+  )
+  @PostMapping(path = "/otp/request", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public CompletableFuture<ResponseEntity<ApiResponse<OtpRequestData>>> otpRequest(@Valid @RequestBody OtpRequest req) {
+    return service.otpRequest(req).thenApply(ResponseEntity::ok);
+  }
+
+  @Operation(
+      summary = "Valida OTP",
+      description = "Valida el código OTP recibido por el usuario.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "OTP validado",
+              content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autorizado"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error interno")
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      required = true,
+      content = @Content(schema = @Schema(implementation = OtpValidateRequest.class))
+  )
+  @PostMapping(path = "/otp/validate", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public CompletableFuture<ResponseEntity<ApiResponse<OtpValidateData>>> otpValidate(@Valid @RequestBody OtpValidateRequest req) {
+    return service.otpValidate(req).thenApply(ResponseEntity::ok);
+  }
+
+  @Operation(
+      summary = "Reenvía OTP",
+      description = "Reenvía el OTP al usuario por el canal configurado.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "OTP reenviado",
+              content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autorizado"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error interno")
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      required = true,
+      content = @Content(schema = @Schema(implementation = OtpForwardRequest.class))
+  )
+  @PostMapping(path = "/otp/forward", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public CompletableFuture<ResponseEntity<ApiResponse<OtpForwardData>>> otpForward(@Valid @RequestBody OtpForwardRequest req) {
+    return service.otpForward(req).thenApply(ResponseEntity::ok);
+  }
+}
@@ -3,6 +3,10 @@ package com.mx.att.digital.identity.controller;
 import jakarta.validation.Valid;
 
 import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.IdentityFlowData;
+import com.mx.att.digital.identity.model.IdentityFlowRequest;
+import com.mx.att.digital.identity.model.MdnValidateBatchData;
+import com.mx.att.digital.identity.model.MdnValidateBatchRequest;
 import com.mx.att.digital.identity.model.MdnValidateData;
 import com.mx.att.digital.identity.model.MdnValidateRequest;
 import com.mx.att.digital.identity.model.OtpForwardData;
@@ -13,7 +17,9 @@ import com.mx.att.digital.identity.model.OtpValidateData;
 import com.mx.att.digital.identity.model.OtpValidateRequest;
 import com.mx.att.digital.identity.model.SessionInitData;
 import com.mx.att.digital.identity.model.SessionInitRequest;
+import com.mx.att.digital.identity.service.IdentityFlowService;
 import com.mx.att.digital.identity.service.IdentityService;
+import com.mx.att.digital.identity.service.MdnBatchValidationService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -30,7 +36,14 @@ import org.springframework.web.bind.annotation.*;
 public class IdentityController {
 
   private final IdentityService service;
-  public IdentityController(IdentityService service) { this.service = service; }
+  private final MdnBatchValidationService batch;
+  private final IdentityFlowService flow;
+
+  public IdentityController(IdentityService service, MdnBatchValidationService batch, IdentityFlowService flow) {
+    this.service = service;
+    this.batch = batch;
+    this.flow = flow;
+  }
 
   @Operation(
       summary = "Inicializa sesión",
@@ -55,6 +68,32 @@ public class IdentityController {
     return ResponseEntity.ok(service.sessionInit(req));
   }
 
+  @Operation(
+      summary = "Inicia flujo de identidad",
+      description = "Inicializa la sesión, después valida el MDN y, con requestOtp=true, solicita el OTP "
+          + "al terminar ambos. Un solo viaje en lugar de tres; el primer paso que falla corta el flujo "
+          + "y se responde con su error.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Flujo iniciado",
+              content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autorizado"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Límite de OTP por MSISDN"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error interno")
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      required = true,
+      content = @Content(schema = @Schema(implementation = IdentityFlowRequest.class))
+  )
+  @PostMapping(path = "/identity/flow", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ApiResponse<IdentityFlowData>> identityFlow(@Valid @RequestBody IdentityFlowRequest req) {
+    return ResponseEntity.ok(flow.start(req));
+  }
+
   @Operation(
       summary = "Valida MDN",
       description = "Valida MSISDN/MDN dentro del flujo de identidad.",
@@ -78,6 +117,30 @@ public class IdentityController {
     return ResponseEntity.ok(service.mdnValidate(req));
   }
 
+  @Operation(
+      summary = "Valida MDN por lotes",
+      description = "Valida hasta 500 MSISDN/MDN en paralelo acotado. Responde 200 con un resultado por "
+          + "elemento, en el orden recibido: un elemento inválido o fallido no tumba el lote.",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Lote procesado (status OK, PARTIAL o ERROR)",
+              content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Lote vacío o de más de 500 elementos"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autorizado"),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Error interno")
+      }
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      required = true,
+      content = @Content(schema = @Schema(implementation = MdnValidateBatchRequest.class))
+  )
+  @PostMapping(path = "/mdn/validate/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ApiResponse<MdnValidateBatchData>> mdnValidateBatch(@Valid @RequestBody MdnValidateBatchRequest req) {
+    return ResponseEntity.ok(batch.mdnValidateBatch(req));
+  }
+
   @Operation(
       summary = "Solicita OTP",
       description = "Genera y envía un OTP al canal configurado.",
@@ -0,0 +1,85 @@
+package com.mx.att.digital.identity.exception;
+
+import com.mx.att.digital.identity.client.ConcurrencyLimitExceededException;
+import com.mx.att.digital.identity.client.LambdaSaturatedException;
+import com.mx.att.digital.identity.client.OrchestratorClientException;
+import com.mx.att.digital.identity.model.ErrorResponse;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+/**
+ * Traducción de los errores de una llamada a la orquestación a {@link ErrorResponse}: la usan
+ * {@link GlobalExceptionHandler} para la respuesta HTTP y el lote de MDN para cada elemento, así
+ * un mismo fallo lleva el mismo estado y código por cualquiera de los dos caminos.
+ *
+ * <p>Los errores de Lambda y de la orquestación siguen saliendo como {@code UNEXPECTED_ERROR}
+ * (500), el contrato de los endpoints síncronos; sólo {@code retryable} depende de la causa. El
+ * circuito abierto sólo tiene código propio en el lote: en los endpoints síncronos sigue cayendo
+ * en el fallback genérico.
+ */
+public final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    /** Sin log: cada llamador decide el nivel. Lo que no se reconoce sale como {@code UNEXPECTED_ERROR}. */
+    public static ErrorResponse of(Throwable ex) {
+        if (ex instanceof HttpStatusCodeException http) {
+            return upstream(http);
+        }
+        if (ex instanceof CallNotPermittedException) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Circuit open, retry later", true, "CIRCUIT_OPEN");
+        }
+        if (ex instanceof BulkheadFullException) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Service busy, retry later", true, "BULKHEAD_FULL");
+        }
+        if (ex instanceof ConcurrencyLimitExceededException || ex instanceof LambdaSaturatedException) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Service busy, retry later", true, "CONCURRENCY_LIMIT");
+        }
+        if (ex instanceof LambdaException || ex instanceof OrchestratorClientException) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", transientCause(ex), "UNEXPECTED_ERROR");
+        }
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", true, "UNEXPECTED_ERROR");
+    }
+
+    /**
+     * Reintentable si en la cadena de causas hay una falla de transporte o un 429/5xx del servicio
+     * Lambda. Un 4xx (permisos, ARN) o un {@code functionError} sin causa de red se repetiría igual.
+     */
+    static boolean transientCause(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof LambdaException aws) {
+                int code = aws.statusCode();
+                return code == 0 || code == 429 || code >= 500;
+            }
+            if (t instanceof IOException || t instanceof SdkClientException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ErrorResponse upstream(HttpStatusCodeException ex) {
+        HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
+
+        String body = ex.getResponseBodyAsString();
+        String detail = body.isBlank() ? ex.getMessage() : body;
+        String msg = "Upstream error (" + ex.getStatusCode().value() + "): " + detail;
+
+        return error(status != null ? status : HttpStatus.BAD_GATEWAY,
+                msg,
+                ex.getStatusCode().is5xxServerError(),
+                ex.getStatusCode().is4xxClientError() ? "UPSTREAM_4XX" : "UPSTREAM_5XX");
+    }
+
+    static ErrorResponse error(HttpStatus status, String message, boolean retryable, String code) {
+        return new ErrorResponse(status.name(), message, retryable, code, OffsetDateTime.now());
+    }
+}
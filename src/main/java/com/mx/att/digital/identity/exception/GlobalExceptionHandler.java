@@ -1,8 +1,14 @@
 package com.mx.att.digital.identity.exception;
 
+import com.mx.att.digital.identity.client.ConcurrencyLimitExceededException;
+import com.mx.att.digital.identity.client.LambdaSaturatedException;
+import com.mx.att.digital.identity.client.OrchestratorClientException;
 import com.mx.att.digital.identity.model.ErrorResponse;
+import com.mx.att.digital.identity.ratelimit.RateLimitedException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,7 +20,6 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
-import java.time.OffsetDateTime;
 import java.util.List;
 
 @RestControllerAdvice
@@ -74,19 +79,35 @@ public class GlobalExceptionHandler {
     /* ===================== Errores propagados de clientes HTTP (RestTemplate) ===================== */
     @ExceptionHandler(HttpStatusCodeException.class)
     public ResponseEntity<ErrorResponse> handleHttpClient(HttpStatusCodeException ex) {
-        HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
+        ErrorResponse body = ErrorResponses.of(ex);
+        log.warn("HTTP client error. status={}, retryable={}, body={}",
+                ex.getStatusCode(), body.retryable(), ex.getResponseBodyAsString());
+        return respond(body);
+    }
 
-        String body = ex.getResponseBodyAsString();
-        String detail = body.isBlank() ? ex.getMessage() : body;
-        String msg = "Upstream error (" + ex.getStatusCode().value() + "): " + detail;
+    /* ===================== Bulkhead lleno (saturación local, reintentable) ===================== */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFull(BulkheadFullException ex) {
+        log.warn("Bulkhead full: {}", ex.getMessage());
+        return respond(ErrorResponses.of(ex));
+    }
 
-        boolean retryable = ex.getStatusCode().is5xxServerError();
-        log.warn("HTTP client error. status={}, retryable={}, body={}", ex.getStatusCode(), retryable, body);
+    /* ===================== Límite de concurrencia hacia Lambda (reintentable) ===================== */
+    @ExceptionHandler({ConcurrencyLimitExceededException.class, LambdaSaturatedException.class})
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimit(OrchestratorClientException ex) {
+        log.warn("Concurrency limit reached: {}", ex.getMessage());
+        return respond(ErrorResponses.of(ex));
+    }
 
-        return build(status != null ? status : HttpStatus.BAD_GATEWAY,
-                msg,
-                retryable,
-                ex.getStatusCode().is4xxClientError() ? "UPSTREAM_4XX" : "UPSTREAM_5XX");
+    /* ===================== Límite por MSISDN (429 + Retry-After) ===================== */
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimited(RateLimitedException ex) {
+        log.debug("Rate limited: {}", ex.getMessage());
+        long seconds = Math.max(1, (ex.retryAfter().toMillis() + 999) / 1000);
+        ResponseEntity<ErrorResponse> base = build(HttpStatus.TOO_MANY_REQUESTS, "Too many requests", true, "RATE_LIMITED");
+        return ResponseEntity.status(base.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(base.getBody());
     }
 
     /* ===================== Fallback genérico ===================== */
@@ -98,13 +119,10 @@ public class GlobalExceptionHandler {
 
     /* ===================== Helper ===================== */
     private ResponseEntity<ErrorResponse> build(HttpStatus status, String message, boolean retryable, String code) {
-        ErrorResponse body = new ErrorResponse(
-                status.name(),
-                message,
-                retryable,
-                code,
-                OffsetDateTime.now()
-        );
-        return ResponseEntity.status(status).body(body);
+        return respond(ErrorResponses.error(status, message, retryable, code));
+    }
+
+    private ResponseEntity<ErrorResponse> respond(ErrorResponse body) {
+        return ResponseEntity.status(HttpStatus.valueOf(body.status())).body(body);
     }
 }
@@ -0,0 +1,162 @@
+package com.mx.att.digital.identity.idempotency;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.model.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Repite el resultado de una operación no idempotente ({@code otpRequest}, {@code otpForward})
+ * en lugar de invocar Lambda otra vez cuando llega la misma {@link IdempotencyKey} dentro de la
+ * ventana configurada. Sólo se guardan resultados exitosos: un fallo no se repite, se reintenta.
+ * {@link #executeAsync} da la misma garantía al camino no bloqueante y además une los duplicados
+ * que llegan mientras la primera invocación sigue en vuelo.
+ *
+ * <p>Los errores del {@link IdempotencyStore} se registran y se ignoran; la operación sigue.
+ * Métricas: {@code identity.idempotency.replayed{operation}} y
+ * {@code identity.idempotency.store-errors}.
+ */
+public class IdempotencyGuard {
+
+  private static final Logger log = LoggerFactory.getLogger(IdempotencyGuard.class);
+
+  private final IdempotencyStore store;
+  private final Duration window;
+  private final boolean enabled;
+  private final Map<OrchestratorOperation, ObjectReader> readers = new EnumMap<>(OrchestratorOperation.class);
+  private final Map<OrchestratorOperation, ObjectWriter> writers = new EnumMap<>(OrchestratorOperation.class);
+  private final Map<OrchestratorOperation, Counter> replayed = new EnumMap<>(OrchestratorOperation.class);
+  private final Counter storeErrors;
+  private final Map<IdempotencyKey, CompletableFuture<ApiResponse<?>>> inFlight = new ConcurrentHashMap<>();
+
+  public IdempotencyGuard(
+      IdempotencyStore store,
+      ObjectMapper mapper,
+      MeterRegistry registry,
+      Duration window,
+      boolean enabled
+  ) {
+    this.store = store;
+    this.window = window;
+    this.enabled = enabled;
+    for (OrchestratorOperation op : OrchestratorOperation.values()) {
+      JavaType type = mapper.getTypeFactory().constructParametricType(ApiResponse.class, op.dataType());
+      readers.put(op, mapper.readerFor(type));
+      writers.put(op, mapper.writerFor(type));
+      replayed.put(op, Counter.builder("identity.idempotency.replayed")
+          .description("Resultados repetidos desde el almacén de idempotencia sin invocar Lambda")
+          .tag("operation", op.wireName())
+          .register(registry));
+    }
+    this.storeErrors = Counter.builder("identity.idempotency.store-errors")
+        .description("Fallos del almacén de idempotencia (la operación continúa sin él)")
+        .register(registry);
+  }
+
+  /** @param key {@code null} desactiva la protección para esta llamada (p. ej. request sin uuid). */
+  public <T> ApiResponse<T> execute(
+      OrchestratorOperation operation,
+      IdempotencyKey key,
+      Supplier<ApiResponse<T>> call
+  ) {
+    if (!enabled || key == null) {
+      return call.get();
+    }
+
+    Optional<ApiResponse<T>> previous = lookup(operation, key);
+    if (previous.isPresent()) {
+      replayed.get(operation).increment();
+      log.info("[IDEMPOTENCY] se repite resultado previo op={}", operation.wireName());
+      return previous.get();
+    }
+
+    ApiResponse<T> result = call.get();
+    remember(operation, key, result);
+    return result;
+  }
+
+  /**
+   * Versión para {@link CompletableFuture}: el resultado se guarda al completarse con éxito. Cada
+   * llamador recibe su propio futuro dependiente, así que cancelar uno (p. ej. el
+   * {@code TimeLimiter}) no cancela la invocación que comparten los demás.
+   *
+   * @param key {@code null} desactiva la protección para esta llamada
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<ApiResponse<T>> executeAsync(
+      OrchestratorOperation operation,
+      IdempotencyKey key,
+      Supplier<CompletableFuture<ApiResponse<T>>> call
+  ) {
+    if (!enabled || key == null) {
+      return call.get();
+    }
+
+    Optional<ApiResponse<T>> previous = lookup(operation, key);
+    if (previous.isPresent()) {
+      replayed.get(operation).increment();
+      log.info("[IDEMPOTENCY] se repite resultado previo op={}", operation.wireName());
+      return CompletableFuture.completedFuture(previous.get());
+    }
+
+    CompletableFuture<ApiResponse<?>> mine = new CompletableFuture<>();
+    CompletableFuture<ApiResponse<?>> leader = inFlight.putIfAbsent(key, mine);
+    if (leader != null) {
+      replayed.get(operation).increment();
+      return leader.thenApply(r -> (ApiResponse<T>) r);
+    }
+
+    CompletableFuture<ApiResponse<T>> invocation;
+    try {
+      invocation = call.get();
+    } catch (RuntimeException | Error ex) {
+      inFlight.remove(key, mine);
+      mine.completeExceptionally(ex);
+      throw ex;
+    }
+    invocation.whenComplete((result, ex) -> {
+      if (ex == null) remember(operation, key, result);
+      // Se quita después de guardar: quien llegue ahora encuentra el resultado en el almacén.
+      inFlight.remove(key, mine);
+      if (ex == null) mine.complete(result);
+      else mine.completeExceptionally(ex);
+    });
+    return mine.thenApply(r -> (ApiResponse<T>) r);
+  }
+
+  private <T> Optional<ApiResponse<T>> lookup(OrchestratorOperation operation, IdempotencyKey key) {
+    try {
+      Optional<byte[]> stored = store.find(key);
+      if (stored.isEmpty()) return Optional.empty();
+      return Optional.of(readers.get(operation).readValue(stored.get()));
+    } catch (Exception ex) {
+      storeErrors.increment();
+      log.warn("[IDEMPOTENCY] no se pudo leer el almacén op={}: {}", operation.wireName(), ex.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private void remember(OrchestratorOperation operation, IdempotencyKey key, ApiResponse<?> result) {
+    if (result == null) return;
+    try {
+      store.save(key, writers.get(operation).writeValueAsBytes(result), window);
+    } catch (Exception ex) {
+      storeErrors.increment();
+      log.warn("[IDEMPOTENCY] no se pudo guardar el resultado op={}: {}", operation.wireName(), ex.getMessage());
+    }
+  }
+}
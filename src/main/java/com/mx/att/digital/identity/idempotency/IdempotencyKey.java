@@ -0,0 +1,61 @@
+package com.mx.att.digital.identity.idempotency;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+
+/**
+ * Huella de 128 bits de {@code (operación, uuid, contenido del request)}. Dos hashes de 64 bits
+ * independientes (FNV-1a y un mezclador tipo SplitMix) hacen que una colisión entre millones de
+ * claves sea despreciable, y permiten guardar la clave en dos {@code long} sin objetos. Todos los
+ * bits de ambos son hash: ninguno se fija ni se reserva.
+ */
+public record IdempotencyKey(long hi, long lo) {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final long MIX_SEED = 0x9e3779b97f4a7c15L;
+  private static final char SEPARATOR = '\u001f';
+
+  /**
+   * @param parts campos que definen "el mismo request" para la operación: un reintento los repite
+   *              tal cual y una acción nueva del usuario cambia al menos uno (p. ej. el timestamp)
+   */
+  public static IdempotencyKey of(OrchestratorOperation operation, String uuid, String... parts) {
+    long h1 = FNV_OFFSET;
+    long h2 = MIX_SEED;
+    h1 = fnv(h1, operation.wireName());
+    h2 = mix(h2, operation.wireName());
+    h1 = fnv(h1, uuid);
+    h2 = mix(h2, uuid);
+    for (String p : parts) {
+      h1 = fnv(h1, p);
+      h2 = mix(h2, p);
+    }
+    return new IdempotencyKey(h1, h2);
+  }
+
+  private static long fnv(long h, String s) {
+    if (s != null) {
+      for (int i = 0; i < s.length(); i++) {
+        h ^= s.charAt(i);
+        h *= FNV_PRIME;
+      }
+    }
+    h ^= SEPARATOR;
+    return h * FNV_PRIME;
+  }
+
+  private static long mix(long h, String s) {
+    if (s != null) {
+      for (int i = 0; i < s.length(); i++) {
+        h = splitMix(h + s.charAt(i));
+      }
+    }
+    return splitMix(h + SEPARATOR);
+  }
+
+  private static long splitMix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
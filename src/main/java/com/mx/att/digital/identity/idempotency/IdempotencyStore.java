@@ -0,0 +1,26 @@
+package com.mx.att.digital.identity.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * SPI del almacén de idempotencia: guarda el resultado serializado de una operación no
+ * idempotente durante una ventana y lo devuelve si la misma operación se repite.
+ *
+ * <p>Por defecto se usa {@link InMemoryIdempotencyStore} (por instancia). Para compartir la
+ * ventana entre réplicas basta con declarar otro bean de este tipo (Redis, DynamoDB, ...); la
+ * configuración por defecto se retira con {@code @ConditionalOnMissingBean}.
+ *
+ * <p>Las implementaciones deben ser thread-safe. Perder un registro (por capacidad o caída del
+ * backend) sólo degrada a una invocación repetida; nunca debe fallar la operación de negocio.
+ */
+public interface IdempotencyStore {
+
+  /** Resultado guardado para {@code key}, si existe y sigue dentro de su ventana. */
+  Optional<byte[]> find(IdempotencyKey key);
+
+  /** Guarda (o reemplaza) el resultado de {@code key} durante {@code window}. */
+  void save(IdempotencyKey key, byte[] result, Duration window);
+
+  void invalidate(IdempotencyKey key);
+}
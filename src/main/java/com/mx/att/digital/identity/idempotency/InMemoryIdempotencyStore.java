@@ -0,0 +1,196 @@
+package com.mx.att.digital.identity.idempotency;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link IdempotencyStore} en memoria pensado para millones de claves sin presión de GC.
+ *
+ * <ul>
+ *   <li>Claves y expiraciones en arreglos primitivos ({@code long[]}), sin un objeto por entrada.</li>
+ *   <li>Resultados en slots de tamaño fijo dentro de un {@link ByteBuffer} directo (off-heap);
+ *       un resultado mayor a {@code slotBytes} no se guarda.</li>
+ *   <li>Direccionamiento abierto con sondeo lineal acotado a {@value #PROBE} slots: el segmento
+ *       sale de los bits altos de {@code hi} y el slot inicial de los bajos de {@code lo}. Si la ventana
+ *       de sondeo está llena se reemplaza la entrada que vence antes: al ser un cache, perder un
+ *       registro sólo provoca una invocación repetida.</li>
+ *   <li>Particionado en segmentos con su propio {@link ReentrantLock} (no ancla hilos virtuales).</li>
+ * </ul>
+ * Memoria fija: {@code capacity × (slotBytes + 29)} bytes aprox., reservada al crear el store.
+ */
+public final class InMemoryIdempotencyStore implements IdempotencyStore {
+
+  static final int PROBE = 8;
+
+  private final Segment[] segments;
+  private final int segmentMask;
+  private final int slotBytes;
+  private final LongSupplier clockMillis;
+
+  public InMemoryIdempotencyStore(int capacity, int slotBytes, int segments) {
+    this(capacity, slotBytes, segments, System::currentTimeMillis);
+  }
+
+  InMemoryIdempotencyStore(int capacity, int slotBytes, int segments, LongSupplier clockMillis) {
+    if (capacity <= 0 || slotBytes <= 0 || segments <= 0) {
+      throw new IllegalArgumentException("capacity, slotBytes y segments deben ser > 0");
+    }
+    int segCount = ceilPow2(segments);
+    int perSegment = Math.max(PROBE, ceilPow2((capacity + segCount - 1) / segCount));
+    this.segments = new Segment[segCount];
+    for (int i = 0; i < segCount; i++) {
+      this.segments[i] = new Segment(perSegment, slotBytes);
+    }
+    this.segmentMask = segCount - 1;
+    this.slotBytes = slotBytes;
+    this.clockMillis = clockMillis;
+  }
+
+  @Override
+  public Optional<byte[]> find(IdempotencyKey key) {
+    return Optional.ofNullable(segmentFor(key).find(key.hi(), key.lo(), clockMillis.getAsLong()));
+  }
+
+  @Override
+  public void save(IdempotencyKey key, byte[] result, Duration window) {
+    if (result.length > slotBytes) return;
+    segmentFor(key).save(key.hi(), key.lo(), result, clockMillis.getAsLong() + window.toMillis());
+  }
+
+  @Override
+  public void invalidate(IdempotencyKey key) {
+    segmentFor(key).invalidate(key.hi(), key.lo());
+  }
+
+  /** Slots totales (potencia de 2 por segmento). */
+  public int capacity() {
+    return segments.length * segments[0].hi.length;
+  }
+
+  public int slotBytes() {
+    return slotBytes;
+  }
+
+  /** Entradas vigentes; recorre todos los slots, sólo para diagnóstico. */
+  public int size() {
+    long now = clockMillis.getAsLong();
+    int n = 0;
+    for (Segment s : segments) n += s.live(now);
+    return n;
+  }
+
+  private Segment segmentFor(IdempotencyKey key) {
+    return segments[(int) (key.hi() >>> 32) & segmentMask];
+  }
+
+  private static int ceilPow2(int v) {
+    return v <= 1 ? 1 : Integer.highestOneBit(v - 1) << 1;
+  }
+
+  private static final class Segment {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] hi;
+    private final long[] lo;
+    private final long[] expiresAt;
+    private final int[] length;
+    /** Slot ocupado alguna vez; aparte de la clave porque cualquier par {@code (hi, lo)} es válido. */
+    private final boolean[] used;
+    private final ByteBuffer values;
+    private final int mask;
+    private final int slotBytes;
+
+    Segment(int slots, int slotBytes) {
+      this.hi = new long[slots];
+      this.lo = new long[slots];
+      this.expiresAt = new long[slots];
+      this.length = new int[slots];
+      this.used = new boolean[slots];
+      this.values = ByteBuffer.allocateDirect(Math.multiplyExact(slots, slotBytes));
+      this.mask = slots - 1;
+      this.slotBytes = slotBytes;
+    }
+
+    byte[] find(long h, long l, long now) {
+      lock.lock();
+      try {
+        int slot = indexOf(h, l);
+        if (slot < 0 || expiresAt[slot] <= now) return null;
+        byte[] out = new byte[length[slot]];
+        values.get(slot * slotBytes, out);
+        return out;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void save(long h, long l, byte[] value, long expires) {
+      lock.lock();
+      try {
+        int slot = slotForWrite(h, l);
+        used[slot] = true;
+        hi[slot] = h;
+        lo[slot] = l;
+        expiresAt[slot] = expires;
+        length[slot] = value.length;
+        values.put(slot * slotBytes, value);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void invalidate(long h, long l) {
+      lock.lock();
+      try {
+        int slot = indexOf(h, l);
+        // Se conserva la clave (slot ocupado) para no cortar cadenas de sondeo; sólo expira.
+        if (slot >= 0) expiresAt[slot] = 0;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int live(long now) {
+      lock.lock();
+      try {
+        int n = 0;
+        for (int i = 0; i < hi.length; i++) {
+          if (!isEmpty(i) && expiresAt[i] > now) n++;
+        }
+        return n;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Slot que contiene la clave, o -1. Un slot vacío corta la búsqueda: nunca se vacían. */
+    private int indexOf(long h, long l) {
+      int start = (int) l & mask;
+      for (int p = 0; p < PROBE; p++) {
+        int i = (start + p) & mask;
+        if (isEmpty(i)) return -1;
+        if (hi[i] == h && lo[i] == l) return i;
+      }
+      return -1;
+    }
+
+    /** Misma clave > slot vacío > el que vence antes (incluye los ya vencidos). */
+    private int slotForWrite(long h, long l) {
+      int start = (int) l & mask;
+      int oldest = start;
+      for (int p = 0; p < PROBE; p++) {
+        int i = (start + p) & mask;
+        if (isEmpty(i) || (hi[i] == h && lo[i] == l)) return i;
+        if (expiresAt[i] < expiresAt[oldest]) oldest = i;
+      }
+      return oldest;
+    }
+
+    private boolean isEmpty(int i) {
+      return !used[i];
+    }
+  }
+}
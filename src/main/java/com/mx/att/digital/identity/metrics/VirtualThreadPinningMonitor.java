@@ -0,0 +1,86 @@
+package com.mx.att.digital.identity.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * Cuenta los eventos JFR {@code jdk.VirtualThreadPinned}: un hilo virtual que se bloqueó
+ * sin poder desmontarse (p. ej. dentro de un bloque {@code synchronized}) durante más de
+ * {@code threshold}. Si el contador crece con la carga, el modo de hilos virtuales no está
+ * ayudando y hay que buscar el punto de anclaje en el log (DEBUG) de este componente.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private final Duration threshold;
+  private final Counter pinned;
+  private final Timer pinnedDuration;
+
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(MeterRegistry registry, Duration threshold) {
+    this.threshold = threshold;
+    this.pinned = Counter.builder("identity.virtual-threads.pinned")
+        .description("Hilos virtuales anclados a su carrier más allá del umbral")
+        .register(registry);
+    this.pinnedDuration = Timer.builder("identity.virtual-threads.pinned.duration")
+        .description("Tiempo que un hilo virtual permaneció anclado")
+        .register(registry);
+  }
+
+  @Override
+  public synchronized void start() {
+    if (stream != null) return;
+    RecordingStream rs = new RecordingStream();
+    rs.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    rs.onEvent(PINNED_EVENT, this::onPinned);
+    rs.startAsync();
+    stream = rs;
+    log.info("[VT] monitor de anclaje activo (umbral={} ms)", threshold.toMillis());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (stream == null) return;
+    stream.close();
+    stream = null;
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return stream != null;
+  }
+
+  /** Total de anclajes observados desde el arranque. */
+  public long pinnedCount() {
+    return (long) pinned.count();
+  }
+
+  void onPinned(RecordedEvent event) {
+    pinned.increment();
+    pinnedDuration.record(event.getDuration());
+    if (log.isDebugEnabled()) {
+      log.debug("[VT] hilo virtual anclado {} ms en {}", event.getDuration().toMillis(), topFrame(event));
+    }
+  }
+
+  private static String topFrame(RecordedEvent event) {
+    RecordedStackTrace trace = event.getStackTrace();
+    if (trace == null || trace.getFrames().isEmpty()) return "-";
+    RecordedFrame frame = trace.getFrames().get(0);
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+  }
+}
@@ -0,0 +1,12 @@
+package com.mx.att.digital.identity.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+
+/** Respuestas de cada paso del flujo; {@code otp} sólo viene si se pidió. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IdentityFlowData(
+    @NotNull ApiResponse<SessionInitData> session,
+    @NotNull ApiResponse<MdnValidateData> mdn,
+    ApiResponse<OtpRequestData> otp
+) {}
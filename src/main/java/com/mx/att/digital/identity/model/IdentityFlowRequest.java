@@ -0,0 +1,36 @@
+package com.mx.att.digital.identity.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.time.OffsetDateTime;
+
+/**
+ * Inicio de flujo en una sola petición: {@code /session/init} + {@code /mdn/validate} y, con
+ * {@code requestOtp=true}, {@code /otp/request}. Los campos son la unión de los tres requests.
+ */
+public record IdentityFlowRequest(
+    @NotBlank String uuid,
+    @NotNull OffsetDateTime timestamp,
+    @NotBlank String source,
+    @NotBlank String initFlowType,
+    @NotNull @Pattern(regexp = "\\d{10}") String msisdn,
+    Boolean requestOtp
+) {
+
+  public boolean otpRequested() {
+    return Boolean.TRUE.equals(requestOtp);
+  }
+
+  public SessionInitRequest sessionInit() {
+    return new SessionInitRequest(uuid, timestamp, msisdn);
+  }
+
+  public MdnValidateRequest mdnValidate() {
+    return new MdnValidateRequest(uuid, timestamp, source, initFlowType, msisdn);
+  }
+
+  public OtpRequest otpRequest() {
+    return new OtpRequest(uuid, msisdn, timestamp);
+  }
+}
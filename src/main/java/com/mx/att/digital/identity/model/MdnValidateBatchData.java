@@ -0,0 +1,13 @@
+package com.mx.att.digital.identity.model;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/** Resultados del lote en el orden de la petición, con el conteo de éxitos y fallas. */
+public record MdnValidateBatchData(
+    int total,
+    int succeeded,
+    int failed,
+    @NotNull List<MdnValidateBatchResult> results
+) {}
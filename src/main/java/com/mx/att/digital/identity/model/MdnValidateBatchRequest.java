@@ -0,0 +1,17 @@
+package com.mx.att.digital.identity.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Lote de validaciones de MDN. Sólo el sobre se valida con {@code @Valid}: cada elemento se
+ * valida por separado y, si no pasa, sale como error en su posición sin tumbar el lote.
+ */
+public record MdnValidateBatchRequest(
+    @NotEmpty @Size(max = MdnValidateBatchRequest.MAX_ITEMS) List<MdnValidateRequest> items
+) {
+
+  public static final int MAX_ITEMS = 500;
+}
@@ -0,0 +1,27 @@
+package com.mx.att.digital.identity.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Resultado de un elemento del lote, en la misma posición ({@code index}) que en la petición:
+ * {@code response} si la validación se hizo, {@code error} (mismo formato que los errores HTTP)
+ * si no.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MdnValidateBatchResult(
+    int index,
+    String msisdn,
+    @NotNull Boolean success,
+    ApiResponse<MdnValidateData> response,
+    ErrorResponse error
+) {
+
+  public static MdnValidateBatchResult ok(int index, String msisdn, ApiResponse<MdnValidateData> response) {
+    return new MdnValidateBatchResult(index, msisdn, Boolean.TRUE, response, null);
+  }
+
+  public static MdnValidateBatchResult failed(int index, String msisdn, ErrorResponse error) {
+    return new MdnValidateBatchResult(index, msisdn, Boolean.FALSE, null, error);
+  }
+}
@@ -0,0 +1,155 @@
+package com.mx.att.digital.identity.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets por clave {@code long} (p. ej. una MSISDN de 10 dígitos) sin objetos por entrada.
+ *
+ * <p>Cada bucket se guarda como un solo {@code long}: el instante teórico en que volvería a estar
+ * lleno (GCRA, la forma "virtual scheduling" del token bucket). Consumir un token lo adelanta
+ * {@code period}; se rechaza si quedaría más de {@code burst × period} en el futuro.
+ *
+ * <ul>
+ *   <li>Claves e instantes en arreglos primitivos; direccionamiento abierto con sondeo lineal
+ *       acotado a {@value #PROBE} slots.</li>
+ *   <li>Expiración por tiempo: un bucket que ya se rellenó por completo equivale a uno nuevo, así
+ *       que su slot se reutiliza sin barrido. Si la ventana de sondeo está llena de buckets vivos
+ *       se reemplaza el más cercano a rellenarse (se pierde el mínimo de estado).</li>
+ *   <li>Particionado en segmentos con su propio {@link ReentrantLock} (no ancla hilos virtuales).</li>
+ * </ul>
+ * Memoria fija: {@code capacity × 16} bytes aprox.
+ */
+public final class LongTokenBucketMap {
+
+  static final int PROBE = 8;
+
+  private final Segment[] segments;
+  private final int segmentMask;
+  private final long periodNanos;
+  private final long burstNanos;
+  private final LongSupplier clock;
+
+  public LongTokenBucketMap(int capacity, int segments, int burst, Duration period) {
+    this(capacity, segments, burst, period, System::nanoTime);
+  }
+
+  LongTokenBucketMap(int capacity, int segments, int burst, Duration period, LongSupplier clock) {
+    if (capacity <= 0 || segments <= 0 || burst <= 0) {
+      throw new IllegalArgumentException("capacity, segments y burst deben ser > 0");
+    }
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("period debe ser > 0: " + period);
+    }
+    int segCount = ceilPow2(segments);
+    int perSegment = Math.max(PROBE, ceilPow2((capacity + segCount - 1) / segCount));
+    this.segments = new Segment[segCount];
+    for (int i = 0; i < segCount; i++) {
+      this.segments[i] = new Segment(perSegment);
+    }
+    this.segmentMask = segCount - 1;
+    this.periodNanos = period.toNanos();
+    this.burstNanos = Math.multiplyExact(periodNanos, (long) burst);
+    this.clock = clock;
+  }
+
+  /**
+   * Intenta consumir un token de {@code key} (cualquier valor, incluido 0).
+   *
+   * @return 0 si se concedió; si no, nanosegundos hasta que haya un token disponible
+   */
+  public long tryAcquire(long key) {
+    long stored = key + 1;   // 0 marca slot vacío
+    long h = mix(stored);
+    return segments[(int) (h >>> 32) & segmentMask].tryAcquire(stored, (int) h, clock.getAsLong());
+  }
+
+  /** Slots totales (potencia de 2 por segmento). */
+  public int capacity() {
+    return segments.length * segments[0].keys.length;
+  }
+
+  /** Buckets que aún no se rellenan por completo; recorre todos los slots, sólo para diagnóstico. */
+  public int size() {
+    long now = clock.getAsLong();
+    int n = 0;
+    for (Segment s : segments) n += s.live(now);
+    return n;
+  }
+
+  private static long mix(long z) {
+    // Finalizador de SplitMix64: las MSISDN consecutivas quedan bien repartidas.
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  private static int ceilPow2(int v) {
+    return v <= 1 ? 1 : Integer.highestOneBit(v - 1) << 1;
+  }
+
+  private final class Segment {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] keys;
+    /** Instante (clock) en que el bucket vuelve a estar lleno. */
+    private final long[] fullAt;
+    private final int mask;
+
+    Segment(int slots) {
+      this.keys = new long[slots];
+      this.fullAt = new long[slots];
+      this.mask = slots - 1;
+    }
+
+    long tryAcquire(long key, int hash, long now) {
+      lock.lock();
+      try {
+        int slot = slotFor(key, hash, now);
+        long base = keys[slot] == key && fullAt[slot] - now > 0 ? fullAt[slot] : now;
+        long next = base + periodNanos;
+        long wait = next - now - burstNanos;
+        if (wait > 0) {
+          return wait;
+        }
+        keys[slot] = key;
+        fullAt[slot] = next;
+        return 0;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int live(long now) {
+      lock.lock();
+      try {
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+          if (keys[i] != 0 && fullAt[i] - now > 0) n++;
+        }
+        return n;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Misma clave > slot vacío > primer bucket ya lleno > el más próximo a llenarse. Los slots
+     * nunca se vacían, así que un vacío corta la búsqueda.
+     */
+    private int slotFor(long key, int hash, long now) {
+      int start = hash & mask;
+      int reusable = -1;
+      int oldest = start;
+      for (int p = 0; p < PROBE; p++) {
+        int i = (start + p) & mask;
+        if (keys[i] == key) return i;
+        if (keys[i] == 0) return reusable >= 0 ? reusable : i;
+        if (reusable < 0 && fullAt[i] - now <= 0) reusable = i;
+        if (fullAt[i] - fullAt[oldest] < 0) oldest = i;
+      }
+      return reusable >= 0 ? reusable : oldest;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.mx.att.digital.identity.ratelimit;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Límite local por MSISDN para las operaciones OTP, aplicado antes de cualquier invocación.
+ *
+ * <p>{@code otpRequest} y {@code otpForward} comparten bucket (ambas envían SMS);
+ * {@code otpValidate} tiene el suyo (intentos de código). La MSISDN se convierte a {@code long} sin
+ * asignar; una que no sea de 10 dígitos no se limita aquí (la rechaza la validación del request).
+ * Métrica: {@code identity.rate-limit.rejected{operation}}.
+ */
+public class MsisdnRateLimiter {
+
+  private static final Logger log = LoggerFactory.getLogger(MsisdnRateLimiter.class);
+
+  static final int MSISDN_DIGITS = 10;
+
+  private final boolean enabled;
+  private final Map<OrchestratorOperation, LongTokenBucketMap> buckets = new EnumMap<>(OrchestratorOperation.class);
+  private final Map<OrchestratorOperation, Counter> rejected = new EnumMap<>(OrchestratorOperation.class);
+
+  public MsisdnRateLimiter(LongTokenBucketMap sms, LongTokenBucketMap validate, MeterRegistry registry, boolean enabled) {
+    this.enabled = enabled;
+    buckets.put(OrchestratorOperation.OTP_REQUEST, sms);
+    buckets.put(OrchestratorOperation.OTP_FORWARD, sms);
+    buckets.put(OrchestratorOperation.OTP_VALIDATE, validate);
+    for (OrchestratorOperation op : buckets.keySet()) {
+      rejected.put(op, Counter.builder("identity.rate-limit.rejected")
+          .description("Solicitudes rechazadas por el límite por MSISDN sin invocar Lambda")
+          .tag("operation", op.wireName())
+          .register(registry));
+    }
+  }
+
+  /** Consume un token de la MSISDN para la operación o lanza {@link RateLimitedException}. */
+  public void check(OrchestratorOperation operation, String msisdn) {
+    if (!enabled) return;
+    LongTokenBucketMap map = buckets.get(operation);
+    if (map == null) return;
+    long key = parse(msisdn);
+    if (key < 0) return;
+
+    long waitNanos = map.tryAcquire(key);
+    if (waitNanos > 0) {
+      rejected.get(operation).increment();
+      if (log.isDebugEnabled()) {
+        log.debug("[RATE-LIMIT] rechazada op={} msisdn={}", operation.wireName(), msisdn);
+      }
+      throw new RateLimitedException(operation.wireName(), Duration.ofNanos(waitNanos));
+    }
+  }
+
+  /** MSISDN de exactamente 10 dígitos como {@code long}; -1 en cualquier otro caso. */
+  static long parse(String msisdn) {
+    if (msisdn == null || msisdn.length() != MSISDN_DIGITS) return -1;
+    long v = 0;
+    for (int i = 0; i < MSISDN_DIGITS; i++) {
+      int d = msisdn.charAt(i) - '0';
+      if (d < 0 || d > 9) return -1;
+      v = v * 10 + d;
+    }
+    return v;
+  }
+}
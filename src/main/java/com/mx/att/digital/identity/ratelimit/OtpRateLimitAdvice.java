@@ -0,0 +1,55 @@
+package com.mx.att.digital.identity.ratelimit;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.model.IdentityFlowRequest;
+import com.mx.att.digital.identity.model.OtpForwardRequest;
+import com.mx.att.digital.identity.model.OtpRequest;
+import com.mx.att.digital.identity.model.OtpValidateRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Aplica el {@link MsisdnRateLimiter} en cuanto se deserializa el body de una operación OTP, en
+ * los controladores síncrono y async: el 429 sale antes de bulkheads, circuit breakers, caches e
+ * invocaciones a Lambda. {@code /identity/flow} cuenta como {@code otpRequest} cuando pide OTP.
+ */
+@ControllerAdvice
+public class OtpRateLimitAdvice extends RequestBodyAdviceAdapter {
+
+  private final MsisdnRateLimiter limiter;
+
+  public OtpRateLimitAdvice(MsisdnRateLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  @Override
+  public boolean supports(MethodParameter parameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return targetType == OtpRequest.class
+        || targetType == OtpForwardRequest.class
+        || targetType == OtpValidateRequest.class
+        || targetType == IdentityFlowRequest.class;
+  }
+
+  @Override
+  public Object afterBodyRead(
+      Object body,
+      HttpInputMessage inputMessage,
+      MethodParameter parameter,
+      Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType
+  ) {
+    switch (body) {
+      case OtpRequest r -> limiter.check(OrchestratorOperation.OTP_REQUEST, r.msisdn());
+      case OtpForwardRequest r -> limiter.check(OrchestratorOperation.OTP_FORWARD, r.msisdn());
+      case OtpValidateRequest r -> limiter.check(OrchestratorOperation.OTP_VALIDATE, r.msisdn());
+      case IdentityFlowRequest r when r.otpRequested() -> limiter.check(OrchestratorOperation.OTP_REQUEST, r.msisdn());
+      default -> { }
+    }
+    return body;
+  }
+}
@@ -0,0 +1,25 @@
+package com.mx.att.digital.identity.ratelimit;
+
+import java.time.Duration;
+
+/** Solicitud rechazada por el límite local por MSISDN, antes de invocar Lambda (HTTP 429). */
+public class RateLimitedException extends RuntimeException {
+
+  private final String operation;
+  private final Duration retryAfter;
+
+  public RateLimitedException(String operation, Duration retryAfter) {
+    // Sin stack trace: es un rechazo esperado y barato, puede llegar en ráfagas.
+    super("Límite por MSISDN alcanzado (op=" + operation + ")", null, false, false);
+    this.operation = operation;
+    this.retryAfter = retryAfter;
+  }
+
+  public String operation() {
+    return operation;
+  }
+
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+}
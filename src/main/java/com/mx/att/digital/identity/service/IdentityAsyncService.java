@@ -0,0 +1,22 @@
+package com.mx.att.digital.identity.service;
+
+import com.mx.att.digital.identity.model.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Contraparte no bloqueante de {@link IdentityService}: cada operación devuelve un
+ * {@link CompletableFuture} que se completa cuando responde la Lambda orquestadora.
+ */
+public interface IdentityAsyncService {
+
+    CompletableFuture<ApiResponse<SessionInitData>> sessionInit(SessionInitRequest req);
+
+    CompletableFuture<ApiResponse<MdnValidateData>> mdnValidate(MdnValidateRequest req);
+
+    CompletableFuture<ApiResponse<OtpRequestData>> otpRequest(OtpRequest req);
+
+    CompletableFuture<ApiResponse<OtpValidateData>> otpValidate(OtpValidateRequest req);
+
+    CompletableFuture<ApiResponse<OtpForwardData>> otpForward(OtpForwardRequest req);
+}
@@ -0,0 +1,11 @@
+package com.mx.att.digital.identity.service;
+
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.IdentityFlowData;
+import com.mx.att.digital.identity.model.IdentityFlowRequest;
+
+/** {@code sessionInit} → {@code mdnValidate} → ({@code otpRequest}) en un solo viaje del portal. */
+public interface IdentityFlowService {
+
+    ApiResponse<IdentityFlowData> start(IdentityFlowRequest req);
+}
@@ -0,0 +1,11 @@
+package com.mx.att.digital.identity.service;
+
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.MdnValidateBatchData;
+import com.mx.att.digital.identity.model.MdnValidateBatchRequest;
+
+/** {@code mdnValidate} para muchos números en una sola petición, con un resultado por elemento. */
+public interface MdnBatchValidationService {
+
+    ApiResponse<MdnValidateBatchData> mdnValidateBatch(MdnValidateBatchRequest req);
+}
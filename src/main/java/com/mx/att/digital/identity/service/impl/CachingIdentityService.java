@@ -0,0 +1,46 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.cache.MdnValidationCache;
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityService;
+
+/**
+ * {@link IdentityService} que responde {@code mdnValidate} desde {@link MdnValidationCache}; el
+ * resto de operaciones pasa directo al servicio decorado. El cache queda por fuera del circuit
+ * breaker del delegado para poder servir respuestas vencidas cuando el circuito está abierto.
+ */
+public class CachingIdentityService implements IdentityService {
+
+    private final IdentityService delegate;
+    private final MdnValidationCache mdnCache;
+
+    public CachingIdentityService(IdentityService delegate, MdnValidationCache mdnCache) {
+        this.delegate = delegate;
+        this.mdnCache = mdnCache;
+    }
+
+    @Override
+    public ApiResponse<SessionInitData> sessionInit(SessionInitRequest req) {
+        return delegate.sessionInit(req);
+    }
+
+    @Override
+    public ApiResponse<MdnValidateData> mdnValidate(MdnValidateRequest req) {
+        return mdnCache.get(req);
+    }
+
+    @Override
+    public ApiResponse<OtpRequestData> otpRequest(OtpRequest req) {
+        return delegate.otpRequest(req);
+    }
+
+    @Override
+    public ApiResponse<OtpValidateData> otpValidate(OtpValidateRequest req) {
+        return delegate.otpValidate(req);
+    }
+
+    @Override
+    public ApiResponse<OtpForwardData> otpForward(OtpForwardRequest req) {
+        return delegate.otpForward(req);
+    }
+}
@@ -0,0 +1,117 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.client.OrchestratorAsyncClient;
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.idempotency.IdempotencyGuard;
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityAsyncService;
+
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mismas instancias de resilience4j que {@link IdentityServiceImpl}: los aspectos de
+ * CircuitBreaker/Retry reconocen el {@link CompletableFuture} y registran el resultado
+ * cuando éste se completa, no cuando el método retorna.
+ *
+ * <p>{@code otpRequest}/{@code otpForward} pasan por el mismo {@link IdempotencyGuard} y con la
+ * misma clave que el camino síncrono: un reintento del portal recibe el resultado guardado, sin
+ * importar por cuál de los dos caminos llegue. El {@code @Retry} usa las mismas instancias y sólo
+ * reintenta fallas anteriores al envío.
+ *
+ * <p>Los bulkheads son los mismos semáforos ({@code resilience4j.bulkhead.instances.<op>}): el
+ * permiso se retiene hasta que el futuro se completa, sin ocupar un hilo (el cliente async no
+ * bloquea), y síncrono y async comparten el tope por operación.
+ */
+@Service
+@ConditionalOnProperty(name = "orchestrator.async.enabled", havingValue = "true")
+public class IdentityAsyncServiceImpl implements IdentityAsyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentityAsyncServiceImpl.class);
+
+    private final OrchestratorAsyncClient client;
+    private final IdempotencyGuard idempotency;
+
+    public IdentityAsyncServiceImpl(OrchestratorAsyncClient client, IdempotencyGuard idempotency) {
+        this.client = client;
+        this.idempotency = idempotency;
+    }
+
+    @Override
+    @CircuitBreaker(name = "sessionInit")
+    @Retry(name = "sessionInit")
+    @TimeLimiter(name = "orchestrator")
+    @Bulkhead(name = "sessionInit")
+    public CompletableFuture<ApiResponse<SessionInitData>> sessionInit(SessionInitRequest req) {
+        if (log.isInfoEnabled()) {
+            log.info("[IdentityAsyncService] sessionInit uuid={}", safe(req == null ? null : req.uuid()));
+        }
+        return client.sessionInit(req);
+    }
+
+    @Override
+    @CircuitBreaker(name = "mdnValidate")
+    @Retry(name = "mdnValidate")
+    @TimeLimiter(name = "orchestrator")
+    @Bulkhead(name = "mdnValidate")
+    public CompletableFuture<ApiResponse<MdnValidateData>> mdnValidate(MdnValidateRequest req) {
+        if (log.isInfoEnabled()) {
+            log.info("[IdentityAsyncService] mdnValidate uuid={} msisdn={}",
+                safe(req == null ? null : req.uuid()),
+                safe(req == null ? null : req.msisdn())
+            );
+        }
+        return client.mdnValidate(req);
+    }
+
+    @Override
+    @CircuitBreaker(name = "otpRequest")
+    @Retry(name = "otpRequest")
+    @TimeLimiter(name = "orchestrator")
+    @Bulkhead(name = "otpRequest")
+    public CompletableFuture<ApiResponse<OtpRequestData>> otpRequest(OtpRequest req) {
+        if (log.isInfoEnabled()) {
+            log.info("[IdentityAsyncService] otpRequest uuid={}", safe(req == null ? null : req.uuid()));
+        }
+        return idempotency.executeAsync(OrchestratorOperation.OTP_REQUEST, OtpIdempotencyKeys.of(req),
+            () -> client.otpRequest(req));
+    }
+
+    @Override
+    @CircuitBreaker(name = "otpValidate")
+    @Retry(name = "otpValidate")
+    @TimeLimiter(name = "orchestrator")
+    @Bulkhead(name = "otpValidate")
+    public CompletableFuture<ApiResponse<OtpValidateData>> otpValidate(OtpValidateRequest req) {
+        if (log.isInfoEnabled()) {
+            log.info("[IdentityAsyncService] otpValidate uuid={}", safe(req == null ? null : req.uuid()));
+        }
+        return client.otpValidate(req);
+    }
+
+    @Override
+    @CircuitBreaker(name = "otpForward")
+    @Retry(name = "otpForward")
+    @TimeLimiter(name = "orchestrator")
+    @Bulkhead(name = "otpForward")
+    public CompletableFuture<ApiResponse<OtpForwardData>> otpForward(OtpForwardRequest req) {
+        if (log.isInfoEnabled()) {
+            log.info("[IdentityAsyncService] otpForward uuid={}", safe(req == null ? null : req.uuid()));
+        }
+        return idempotency.executeAsync(OrchestratorOperation.OTP_FORWARD, OtpIdempotencyKeys.of(req),
+            () -> client.otpForward(req));
+    }
+
+    private String safe(String v) {
+        return Objects.toString(v, "-");
+    }
+}
@@ -0,0 +1,48 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityFlowService;
+import com.mx.att.digital.identity.service.IdentityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Ejecuta el inicio de flujo del lado del servidor sobre el {@link IdentityService} primario (cache,
+ * circuit breaker, retry y bulkhead de cada operación intactos), en el mismo orden que el portal:
+ * <ul>
+ *   <li>{@code mdnValidate} va después de {@code sessionInit}: el contrato de la función no
+ *       garantiza que la validación no dependa de la sesión recién creada, así que no se
+ *       paralelizan;</li>
+ *   <li>{@code otpRequest} sólo se envía si las dos terminaron bien: no se manda un SMS a un número
+ *       sin validar.</li>
+ * </ul>
+ * La ganancia es de viajes: el portal hace uno en lugar de hasta tres. El primer fallo corta el
+ * flujo y se relanza tal cual, así que {@code GlobalExceptionHandler} responde igual que en el
+ * endpoint individual que falló.
+ */
+@Service
+public class IdentityFlowServiceImpl implements IdentityFlowService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentityFlowServiceImpl.class);
+
+    private final IdentityService identity;
+
+    public IdentityFlowServiceImpl(IdentityService identity) {
+        this.identity = identity;
+    }
+
+    @Override
+    public ApiResponse<IdentityFlowData> start(IdentityFlowRequest req) {
+        if (log.isInfoEnabled()) {
+            log.info("[IdentityFlow] start uuid={} otp={}", req.uuid(), req.otpRequested());
+        }
+        ApiResponse<SessionInitData> session = identity.sessionInit(req.sessionInit());
+        ApiResponse<MdnValidateData> mdn = identity.mdnValidate(req.mdnValidate());
+        ApiResponse<OtpRequestData> otp = req.otpRequested() ? identity.otpRequest(req.otpRequest()) : null;
+        return new ApiResponse<>("OK", otp == null ? "Sesión iniciada y MDN validado" : "Sesión iniciada, MDN validado y OTP solicitado",
+            new IdentityFlowData(session, mdn, otp), OffsetDateTime.now());
+    }
+}
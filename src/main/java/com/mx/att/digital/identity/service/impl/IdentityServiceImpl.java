@@ -1,9 +1,13 @@
 package com.mx.att.digital.identity.service.impl;
 
 import com.mx.att.digital.identity.client.OrchestratorClient;
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.idempotency.IdempotencyGuard;
+import com.mx.att.digital.identity.idempotency.IdempotencyKey;
 import com.mx.att.digital.identity.model.*;
 import com.mx.att.digital.identity.service.IdentityService;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
@@ -11,31 +15,45 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
+/**
+ * Cada operación tiene su propio circuit breaker, retry y bulkhead de semáforo, con el nombre de
+ * la operación ({@code resilience4j.*.instances.<op>}): una caída de {@code otpForward} abre sólo
+ * su circuito, y una degradación de {@code mdnValidate} no consume los permisos de
+ * {@code otpValidate}. Sin permiso de bulkhead se rechaza de inmediato con
+ * {@code BulkheadFullException} (503).
+ */
 @Service
 public class IdentityServiceImpl implements IdentityService {
 
     private static final Logger log = LoggerFactory.getLogger(IdentityServiceImpl.class);
 
     private final OrchestratorClient client;
+    private final SingleFlight singleFlight;
+    private final IdempotencyGuard idempotency;
 
-    public IdentityServiceImpl(OrchestratorClient client) {
+    public IdentityServiceImpl(OrchestratorClient client, SingleFlight singleFlight, IdempotencyGuard idempotency) {
         this.client = client;
+        this.singleFlight = singleFlight;
+        this.idempotency = idempotency;
     }
 
     @Override
-    @CircuitBreaker(name = "orchestrator")
-    @Retry(name = "orchestrator")
+    @CircuitBreaker(name = "sessionInit")
+    @Retry(name = "sessionInit")
+    @Bulkhead(name = "sessionInit")
     public ApiResponse<SessionInitData> sessionInit(SessionInitRequest req) {
         if (log.isInfoEnabled()) {
             log.info("[IdentityService] sessionInit uuid={}", safe(req == null ? null : req.uuid()));
         }
-        return client.sessionInit(req);
+        return singleFlight.execute(OrchestratorOperation.SESSION_INIT, req, () -> client.sessionInit(req));
     }
 
     @Override
-    @CircuitBreaker(name = "orchestrator")
-    @Retry(name = "orchestrator")
+    @CircuitBreaker(name = "mdnValidate")
+    @Retry(name = "mdnValidate")
+    @Bulkhead(name = "mdnValidate")
     public ApiResponse<MdnValidateData> mdnValidate(MdnValidateRequest req) {
         if (log.isInfoEnabled()) {
             log.info("[IdentityService] mdnValidate uuid={} msisdn={}",
@@ -43,37 +61,55 @@ public class IdentityServiceImpl implements IdentityService {
                 safe(req == null ? null : req.msisdn())
             );
         }
-        return client.mdnValidate(req);
+        return singleFlight.execute(OrchestratorOperation.MDN_VALIDATE, req, () -> client.mdnValidate(req));
     }
 
     @Override
-    @CircuitBreaker(name = "orchestrator")
-    @Retry(name = "orchestrator")
+    @CircuitBreaker(name = "otpRequest")
+    @Retry(name = "otpRequest")
+    @Bulkhead(name = "otpRequest")
     public ApiResponse<OtpRequestData> otpRequest(OtpRequest req) {
         if (log.isInfoEnabled()) {
             log.info("[IdentityService] otpRequest uuid={}", safe(req == null ? null : req.uuid()));
         }
-        return client.otpRequest(req);
+        return idempotent(OrchestratorOperation.OTP_REQUEST, OtpIdempotencyKeys.of(req), () -> client.otpRequest(req));
     }
 
     @Override
-    @CircuitBreaker(name = "orchestrator")
-    @Retry(name = "orchestrator")
+    @CircuitBreaker(name = "otpValidate")
+    @Retry(name = "otpValidate")
+    @Bulkhead(name = "otpValidate")
     public ApiResponse<OtpValidateData> otpValidate(OtpValidateRequest req) {
         if (log.isInfoEnabled()) {
             log.info("[IdentityService] otpValidate uuid={}", safe(req == null ? null : req.uuid()));
         }
-        return client.otpValidate(req);
+        return singleFlight.execute(OrchestratorOperation.OTP_VALIDATE, req, () -> client.otpValidate(req));
     }
 
     @Override
-    @CircuitBreaker(name = "orchestrator")
-    @Retry(name = "orchestrator")
+    @CircuitBreaker(name = "otpForward")
+    @Retry(name = "otpForward")
+    @Bulkhead(name = "otpForward")
     public ApiResponse<OtpForwardData> otpForward(OtpForwardRequest req) {
         if (log.isInfoEnabled()) {
             log.info("[IdentityService] otpForward uuid={}", safe(req == null ? null : req.uuid()));
         }
-        return client.otpForward(req);
+        return idempotent(OrchestratorOperation.OTP_FORWARD, OtpIdempotencyKeys.of(req), () -> client.otpForward(req));
+    }
+
+    /**
+     * Duplicados concurrentes comparten la invocación; los posteriores reciben el resultado
+     * guardado dentro de la ventana de idempotencia (ver {@link OtpIdempotencyKeys}).
+     */
+    private <T> ApiResponse<T> idempotent(
+        OrchestratorOperation operation,
+        IdempotencyKey key,
+        Supplier<ApiResponse<T>> call
+    ) {
+        if (key == null) {
+            return call.get();
+        }
+        return singleFlight.execute(operation, key, () -> idempotency.execute(operation, key, call));
     }
 
     private String safe(String v) {
@@ -0,0 +1,189 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.config.BatchProperties;
+import com.mx.att.digital.identity.exception.ErrorResponses;
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityService;
+import com.mx.att.digital.identity.service.MdnBatchValidationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Valida un lote de MDN en tres pasos:
+ * <ol>
+ *   <li>valida todos los elementos antes de invocar nada; los inválidos salen como
+ *       {@code VALIDATION_ERROR} en su posición;</li>
+ *   <li>reparte los válidos entre {@code orchestrator.batch.max-concurrency} hilos virtuales que
+ *       llaman a {@link IdentityService#mdnValidate} uno a uno, así que cada elemento pasa por el
+ *       cache, el circuit breaker, el retry y el bulkhead de {@code mdnValidate}; con el circuito
+ *       abierto los elementos fallan de inmediato con {@code CIRCUIT_OPEN};</li>
+ *   <li>al agotarse {@code orchestrator.batch.timeout} interrumpe lo que queda y lo marca
+ *       {@code BATCH_TIMEOUT}.</li>
+ * </ol>
+ * Un error sólo afecta a su elemento; la respuesta siempre trae un resultado por elemento, en el
+ * orden de la petición. Cada fallo se traduce con {@link ErrorResponses}, igual que en
+ * {@code GlobalExceptionHandler}.
+ */
+public class MdnBatchValidationServiceImpl implements MdnBatchValidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(MdnBatchValidationServiceImpl.class);
+
+    private final IdentityService identity;
+    private final Validator validator;
+    private final int maxConcurrency;
+    private final long timeoutNanos;
+
+    private final Timer duration;
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public MdnBatchValidationServiceImpl(
+        IdentityService identity,
+        Validator validator,
+        BatchProperties props,
+        MeterRegistry registry
+    ) {
+        this.identity = identity;
+        this.validator = validator;
+        this.maxConcurrency = props.maxConcurrency();
+        this.timeoutNanos = props.timeout().toNanos();
+        this.duration = Timer.builder("identity.batch.duration")
+            .description("Duración de un lote completo")
+            .tag("operation", "mdnValidate")
+            .register(registry);
+        this.succeeded = items(registry, "success");
+        this.failed = items(registry, "error");
+    }
+
+    private static Counter items(MeterRegistry registry, String outcome) {
+        return Counter.builder("identity.batch.items")
+            .description("Elementos procesados en lotes, por resultado")
+            .tag("operation", "mdnValidate")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    @Override
+    public ApiResponse<MdnValidateBatchData> mdnValidateBatch(MdnValidateBatchRequest req) {
+        long start = System.nanoTime();
+        List<MdnValidateRequest> items = req.items();
+        int total = items.size();
+        AtomicReferenceArray<MdnValidateBatchResult> results = new AtomicReferenceArray<>(total);
+
+        int[] pending = new int[total];
+        int queued = 0;
+        for (int i = 0; i < total; i++) {
+            String invalid = violations(items.get(i));
+            if (invalid == null) {
+                pending[queued++] = i;
+            } else {
+                results.set(i, MdnValidateBatchResult.failed(i, msisdn(items.get(i)),
+                    error(HttpStatus.BAD_REQUEST, invalid, false, "VALIDATION_ERROR")));
+            }
+        }
+        if (log.isInfoEnabled()) {
+            log.info("[MdnBatch] lote de {} elementos ({} inválidos)", total, total - queued);
+        }
+
+        fanOut(items, Arrays.copyOf(pending, queued), results, start + timeoutNanos);
+
+        int ok = 0;
+        MdnValidateBatchResult[] ordered = new MdnValidateBatchResult[total];
+        for (int i = 0; i < total; i++) {
+            ordered[i] = results.get(i);
+            if (ordered[i].success()) ok++;
+        }
+        succeeded.increment(ok);
+        failed.increment(total - ok);
+        duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        String status = ok == total ? "OK" : ok > 0 ? "PARTIAL" : "ERROR";
+        return new ApiResponse<>(status, ok + " de " + total + " validados",
+            new MdnValidateBatchData(total, ok, total - ok, List.of(ordered)), OffsetDateTime.now());
+    }
+
+    /** Cada hilo toma el siguiente índice pendiente hasta agotar la lista o el plazo. */
+    private void fanOut(
+        List<MdnValidateRequest> items,
+        int[] pending,
+        AtomicReferenceArray<MdnValidateBatchResult> results,
+        long deadline
+    ) {
+        if (pending.length == 0) return;
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mdn-batch-", 0).factory());
+        try {
+            for (int w = Math.min(maxConcurrency, pending.length); w > 0; w--) {
+                executor.execute(() -> {
+                    for (int k; !Thread.currentThread().isInterrupted() && (k = next.getAndIncrement()) < pending.length; ) {
+                        int i = pending[k];
+                        results.compareAndSet(i, null, validateOne(i, items.get(i)));
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                log.warn("[MdnBatch] plazo agotado; {} de {} elementos sin iniciar",
+                    pending.length - Math.min(next.get(), pending.length), pending.length);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Primero se cierran los pendientes y luego se interrumpe: un resultado tardío pierde el
+            // compareAndSet. shutdownNow y no close(): una invocación colgada no debe retener el lote.
+            for (int i : pending) {
+                results.compareAndSet(i, null, MdnValidateBatchResult.failed(i, items.get(i).msisdn(),
+                    error(HttpStatus.GATEWAY_TIMEOUT, "Batch timeout", true, "BATCH_TIMEOUT")));
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private MdnValidateBatchResult validateOne(int index, MdnValidateRequest item) {
+        try {
+            return MdnValidateBatchResult.ok(index, item.msisdn(), identity.mdnValidate(item));
+        } catch (RuntimeException ex) {
+            ErrorResponse error = ErrorResponses.of(ex);
+            if ("UNEXPECTED_ERROR".equals(error.errorCode())) {
+                log.warn("[MdnBatch] elemento {} falló: {}", index, ex.toString());
+            }
+            return MdnValidateBatchResult.failed(index, item.msisdn(), error);
+        }
+    }
+
+    /** Mismo formato que {@code GlobalExceptionHandler} para {@code @Valid}; {@code null} si es válido. */
+    private String violations(MdnValidateRequest item) {
+        if (item == null) return "item: must not be null";
+        Set<ConstraintViolation<MdnValidateRequest>> violations = validator.validate(item);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+            .map(v -> String.format("%s: %s (rejected=%s)", v.getPropertyPath(), v.getMessage(), v.getInvalidValue()))
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private static String msisdn(MdnValidateRequest item) {
+        return item == null ? null : item.msisdn();
+    }
+
+    private static ErrorResponse error(HttpStatus status, String message, boolean retryable, String code) {
+        return new ErrorResponse(status.name(), message, retryable, code, OffsetDateTime.now());
+    }
+}
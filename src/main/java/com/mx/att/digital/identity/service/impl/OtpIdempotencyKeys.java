@@ -0,0 +1,39 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.idempotency.IdempotencyKey;
+import com.mx.att.digital.identity.model.OtpForwardRequest;
+import com.mx.att.digital.identity.model.OtpRequest;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Claves de idempotencia de {@code otpRequest}/{@code otpForward}, iguales en el camino síncrono y
+ * en el asíncrono. La clave incluye el {@code timestamp} del request: un reintento del portal
+ * repite el mismo request y, si el primero terminó bien, recibe el resultado guardado; un
+ * "reenviar código" del usuario llega con otro timestamp y sí invoca Lambda.
+ *
+ * <p>Sólo se guardan resultados exitosos, así que el guard no cubre el {@code @Retry}, que
+ * reintenta tras una excepción: por eso esas instancias sólo reintentan fallas anteriores al
+ * envío ({@code FailedBeforeSend}).
+ */
+final class OtpIdempotencyKeys {
+
+    private OtpIdempotencyKeys() {
+    }
+
+    static IdempotencyKey of(OtpRequest req) {
+        return req == null ? null
+            : IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, req.uuid(), req.msisdn(), instant(req.timestamp()));
+    }
+
+    static IdempotencyKey of(OtpForwardRequest req) {
+        return req == null ? null
+            : IdempotencyKey.of(OrchestratorOperation.OTP_FORWARD, req.uuid(), req.msisdn(), instant(req.timestamp()));
+    }
+
+    /** Mismo instante con distinto offset => misma clave. */
+    private static String instant(OffsetDateTime timestamp) {
+        return timestamp == null ? null : timestamp.toInstant().toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescencia de llamadas idénticas en vuelo: si llega una llamada con la misma operación y el
+ * mismo request (igualdad de records) mientras otra está en curso, espera y recibe el mismo
+ * resultado (o la misma excepción) en lugar de invocar Lambda otra vez.
+ *
+ * <p>El registro de llamadas en vuelo es un {@link ConcurrentHashMap}: {@code putIfAbsent} sólo
+ * contiende por el bin de la clave, así que no hay un candado global. Métricas:
+ * {@code identity.orchestrator.coalesced{operation}} y {@code identity.orchestrator.in-flight}.
+ */
+@Component
+public class SingleFlight {
+
+  private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final Map<OrchestratorOperation, Counter> coalesced = new EnumMap<>(OrchestratorOperation.class);
+
+  public SingleFlight(MeterRegistry registry) {
+    for (OrchestratorOperation op : OrchestratorOperation.values()) {
+      coalesced.put(op, Counter.builder("identity.orchestrator.coalesced")
+          .description("Llamadas que se unieron a una invocación idéntica ya en vuelo")
+          .tag("operation", op.wireName())
+          .register(registry));
+    }
+    Gauge.builder("identity.orchestrator.in-flight", inFlight, Map::size)
+        .description("Invocaciones distintas en vuelo registradas para coalescencia")
+        .register(registry);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(OrchestratorOperation operation, Object request, Supplier<T> call) {
+    Key key = new Key(operation, request);
+    CompletableFuture<Object> mine = new CompletableFuture<>();
+    CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+
+    if (leader != null) {
+      coalesced.get(operation).increment();
+      return (T) await(leader);
+    }
+
+    T result;
+    try {
+      result = call.get();
+    } catch (RuntimeException | Error ex) {
+      inFlight.remove(key, mine);
+      mine.completeExceptionally(ex);
+      throw ex;
+    }
+    // Se quita antes de completar: quien llegue después ya no recibe un resultado terminado.
+    inFlight.remove(key, mine);
+    mine.complete(result);
+    return result;
+  }
+
+  int inFlightCount() {
+    return inFlight.size();
+  }
+
+  private static Object await(CompletableFuture<Object> leader) {
+    try {
+      return leader.join();
+    } catch (CompletionException ex) {
+      // Mismo contrato de errores que el líder: se relanza la excepción original.
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException re) throw re;
+      if (cause instanceof Error err) throw err;
+      throw ex;
+    }
+  }
+
+  private record Key(OrchestratorOperation operation, Object request) {}
+}
@@ -1,10 +1,45 @@
 package com.mx.att.digital.identity;
 
+import com.mx.att.digital.identity.cache.MdnCacheEndpoint;
+import com.mx.att.digital.identity.client.LambdaSaturatedException;
+import com.mx.att.digital.identity.client.OrchestratorClient;
+import com.mx.att.digital.identity.client.OrchestratorClientException;
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.client.OrchestratorWarmUp;
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.MdnValidateBatchData;
+import com.mx.att.digital.identity.model.MdnValidateBatchRequest;
+import com.mx.att.digital.identity.model.MdnValidateRequest;
+import com.mx.att.digital.identity.model.OtpRequest;
+import com.mx.att.digital.identity.model.OtpRequestData;
+import com.mx.att.digital.identity.service.IdentityService;
+import com.mx.att.digital.identity.service.MdnBatchValidationService;
+import com.mx.att.digital.identity.service.impl.CachingIdentityService;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
 
+import java.net.SocketTimeoutException;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class IdentityOrchestrationWebApplicationTest {
 
@@ -23,4 +58,204 @@ class IdentityOrchestrationWebApplicationTest {
       }
     });
   }
+
+  @Test
+  void context_starts_with_async_mode_enabled() {
+    assertThatNoException().isThrownBy(() -> {
+      try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+          .web(WebApplicationType.NONE)
+          .properties(
+              "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+              "aws.region=us-east-1",
+              "orchestrator.async.enabled=true"
+          )
+          .run()) {
+        // ok
+      }
+    });
+  }
+
+  @Test
+  void mdn_cache_fronts_identity_service_unless_disabled() {
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .run()) {
+      assertThat(ctx.getBean(IdentityService.class)).isInstanceOf(CachingIdentityService.class);
+      assertThat(ctx.getBeansOfType(MdnCacheEndpoint.class)).hasSize(1);
+    }
+
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        // application.yml fija identity.mdn-cache.enabled; las propiedades por defecto no lo pisan.
+        .run("--identity.mdn-cache.enabled=false")) {
+      assertThat(ctx.getBean(IdentityService.class)).isNotInstanceOf(CachingIdentityService.class);
+    }
+  }
+
+  @Test
+  void per_operation_bulkheads_come_from_application_yml() {
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .run("--BULKHEAD_OTP_VALIDATE=3")) {
+      BulkheadRegistry bulkheads = ctx.getBean(BulkheadRegistry.class);
+      assertThat(bulkheads.bulkhead("otpValidate").getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(3);
+      assertThat(bulkheads.bulkhead("otpValidate").getBulkheadConfig().getMaxWaitDuration()).isZero();
+      assertThat(bulkheads.bulkhead("otpRequest").getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(10);
+      assertThat(ctx.getBean(MeterRegistry.class).find("identity.bulkhead.rejected")
+          .tag("name", "otpValidate").tag("type", "semaphore").counter()).isNotNull();
+    }
+
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .run("--BULKHEAD_MAX_WAIT=25ms", "--orchestrator.warm-up.enabled=false")) {
+      BulkheadRegistry bulkheads = ctx.getBean(BulkheadRegistry.class);
+      assertThat(bulkheads.bulkhead("mdnValidate").getBulkheadConfig().getMaxWaitDuration()).hasMillis(25);
+    }
+  }
+
+  @Test
+  void each_operation_has_its_own_breaker_and_retry() {
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .run("--resilience4j.retry.instances.otpValidate.maxAttempts=1")) {
+      CircuitBreakerRegistry breakers = ctx.getBean(CircuitBreakerRegistry.class);
+      RetryRegistry retries = ctx.getBean(RetryRegistry.class);
+      for (OrchestratorOperation op : OrchestratorOperation.values()) {
+        assertThat(breakers.find(op.wireName())).as(op.wireName()).isPresent();
+        assertThat(retries.find(op.wireName())).as(op.wireName()).isPresent();
+      }
+      // Hereda de configs.default y aplica sólo lo que sobrescribe.
+      CircuitBreaker otpForward = breakers.circuitBreaker("otpForward");
+      assertThat(otpForward.getCircuitBreakerConfig().getFailureRateThreshold()).isEqualTo(50f);
+      assertThat(otpForward.getCircuitBreakerConfig().getSlidingWindowSize()).isEqualTo(10);
+      assertThat(retries.retry("otpValidate").getRetryConfig().getMaxAttempts()).isEqualTo(1);
+      assertThat(retries.retry("sessionInit").getRetryConfig().getMaxAttempts()).isEqualTo(2);
+      // Saturación local: ni cuenta como falla ni se reintenta.
+      LambdaSaturatedException saturated = new LambdaSaturatedException("sin permiso");
+      assertThat(otpForward.getCircuitBreakerConfig().getIgnoreExceptionPredicate().test(saturated)).isTrue();
+      assertThat(retries.retry("mdnValidate").getRetryConfig().getExceptionPredicate().test(saturated)).isFalse();
+
+      otpForward.transitionToOpenState();
+      assertThat(breakers.circuitBreaker("sessionInit").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+      assertThat(breakers.circuitBreaker("mdnValidate").tryAcquirePermission()).isTrue();
+    }
+  }
+
+  @Test
+  void warm_up_runs_before_the_instance_accepts_traffic() {
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .run("--orchestrator.warm-up.iterations=10", "--orchestrator.warm-up.connections=0")) {
+      assertThat(ctx.getBeansOfType(OrchestratorWarmUp.class)).hasSize(1);
+      assertThat(ctx.getBean(MeterRegistry.class).find("identity.warm-up.duration").timer().count()).isEqualTo(1);
+      assertThat(ctx.getBean(ApplicationAvailability.class).getReadinessState())
+          .isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .run("--orchestrator.warm-up.enabled=false")) {
+      assertThat(ctx.getBeansOfType(OrchestratorWarmUp.class)).isEmpty();
+    }
+  }
+
+  @Test
+  void batch_goes_through_the_mdn_validate_breaker() {
+    try (var ctx = new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .run("--identity.mdn-cache.enabled=false", "--orchestrator.warm-up.enabled=false")) {
+      ctx.getBean(CircuitBreakerRegistry.class).circuitBreaker("mdnValidate").transitionToOpenState();
+      OffsetDateTime now = OffsetDateTime.now();
+      MdnValidateBatchRequest req = new MdnValidateBatchRequest(List.of(
+          new MdnValidateRequest("u-1", now, "WEB", "LOGIN", "5512345678"),
+          new MdnValidateRequest("u-2", now, "WEB", "LOGIN", "bad"),
+          new MdnValidateRequest("u-3", now, "WEB", "LOGIN", "5587654321")));
+
+      ApiResponse<MdnValidateBatchData> res = ctx.getBean(MdnBatchValidationService.class).mdnValidateBatch(req);
+
+      assertThat(res.status()).isEqualTo("ERROR");
+      assertThat(res.data().results())
+          .extracting(r -> r.error().errorCode())
+          .containsExactly("CIRCUIT_OPEN", "VALIDATION_ERROR", "CIRCUIT_OPEN");
+    }
+  }
+
+  @Test
+  void otp_request_is_not_resent_after_a_failure_past_the_send() {
+    OrchestratorClient client = mock(OrchestratorClient.class);
+    when(client.otpRequest(any()))
+        .thenThrow(new OrchestratorClientException("read timeout", new SocketTimeoutException("Read timed out")))
+        .thenReturn(new ApiResponse<>("OK", "sent", new OtpRequestData("uuid-1", "00", "OK"), OffsetDateTime.now()));
+    try (var ctx = withClient(client)) {
+      IdentityService service = ctx.getBean(IdentityService.class);
+
+      assertThatThrownBy(() -> service.otpRequest(new OtpRequest("uuid-1", "5512345678", OffsetDateTime.now())))
+          .isInstanceOf(OrchestratorClientException.class);
+      verify(client, times(1)).otpRequest(any());
+    }
+  }
+
+  @Test
+  void otp_request_is_retried_when_lambda_throttled_before_running() {
+    OrchestratorClient client = mock(OrchestratorClient.class);
+    ApiResponse<OtpRequestData> ok = new ApiResponse<>("OK", "sent", new OtpRequestData("uuid-1", "00", "OK"), OffsetDateTime.now());
+    when(client.otpRequest(any()))
+        .thenThrow(TooManyRequestsException.builder().statusCode(429).message("Rate exceeded").build())
+        .thenReturn(ok);
+    try (var ctx = withClient(client)) {
+      IdentityService service = ctx.getBean(IdentityService.class);
+
+      assertThat(service.otpRequest(new OtpRequest("uuid-1", "5512345678", OffsetDateTime.now()))).isEqualTo(ok);
+      verify(client, times(2)).otpRequest(any());
+    }
+  }
+
+  /** Contexto real (aspectos de resilience4j incluidos) con el {@link OrchestratorClient} sustituido. */
+  private static org.springframework.context.ConfigurableApplicationContext withClient(OrchestratorClient client) {
+    return new SpringApplicationBuilder(IdentityOrchestrationWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "aws.lambda.function-arn=arn:aws:lambda:us-east-1:000000000000:function:dummy",
+            "aws.region=us-east-1"
+        )
+        .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+          @Override
+          public Object postProcessAfterInitialization(Object bean, String name) {
+            return bean instanceof OrchestratorClient ? client : bean;
+          }
+        }))
+        .run("--orchestrator.warm-up.enabled=false");
+  }
 }
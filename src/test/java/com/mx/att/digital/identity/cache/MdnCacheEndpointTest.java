@@ -0,0 +1,44 @@
+package com.mx.att.digital.identity.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class MdnCacheEndpointTest {
+
+  private final MdnValidationCache cache = mock(MdnValidationCache.class);
+  private final MdnCacheEndpoint endpoint = new MdnCacheEndpoint(cache);
+
+  @Test
+  void stats_exposes_size_and_counters() {
+    when(cache.estimatedSize()).thenReturn(7L);
+    when(cache.stats()).thenReturn(CacheStats.of(3, 1, 2, 0, 10, 4, 0));
+    when(cache.refreshCount()).thenReturn(5L);
+    when(cache.refreshFailureCount()).thenReturn(1L);
+
+    Map<String, Object> out = endpoint.stats();
+
+    assertThat(out)
+        .containsEntry("size", 7L)
+        .containsEntry("hits", 3L)
+        .containsEntry("misses", 1L)
+        .containsEntry("hitRate", 0.75)
+        .containsEntry("evictions", 4L)
+        .containsEntry("loads", 2L)
+        .containsEntry("refreshes", 5L)
+        .containsEntry("refreshFailures", 1L);
+  }
+
+  @Test
+  void delete_invalidates_all_or_one() {
+    endpoint.invalidateAll();
+    endpoint.invalidate("5512345678");
+
+    verify(cache).invalidateAll();
+    verify(cache).invalidate("5512345678");
+  }
+}
@@ -0,0 +1,281 @@
+package com.mx.att.digital.identity.cache;
+
+import com.mx.att.digital.identity.config.MdnCacheProperties;
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.MdnValidateData;
+import com.mx.att.digital.identity.model.MdnValidateRequest;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MdnValidationCacheTest {
+
+  private static final String MSISDN = "5512345678";
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger calls = new AtomicInteger();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final Queue<Runnable> refreshes = new ArrayDeque<>();
+  private final List<MdnValidateRequest> sent = new CopyOnWriteArrayList<>();
+
+  private Function<MdnValidateRequest, ApiResponse<MdnValidateData>> behaviour;
+  private MdnValidationCache cache;
+
+  @BeforeEach
+  void setUp() {
+    behaviour = req -> response(req.uuid(), "POSPAGO");
+    MdnCacheProperties props = new MdnCacheProperties(
+        100L, Duration.ofMinutes(5), Duration.ofMinutes(4), Duration.ofHours(1));
+    cache = new MdnValidationCache(
+        req -> {
+          calls.incrementAndGet();
+          sent.add(req);
+          return behaviour.apply(req);
+        },
+        props,
+        registry,
+        now::get,
+        refreshes::add
+    );
+  }
+
+  @Test
+  void second_read_is_served_from_cache_with_callers_uuid() {
+    cache.get(request("session-1"));
+    ApiResponse<MdnValidateData> out = cache.get(request("session-2"));
+
+    assertThat(calls).hasValue(1);
+    assertThat(out.data().uuid()).isEqualTo("session-2");
+    assertThat(out.data().customerType()).isEqualTo("POSPAGO");
+    assertThat(cache.stats().hitCount()).isEqualTo(1);
+    assertThat(cache.stats().missCount()).isEqualTo(1);
+    assertThat(registry.get("cache.gets").tag("cache", "mdn-validate").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void read_after_refresh_window_triggers_background_reload() {
+    cache.get(request("session-1"));
+    behaviour = req -> response(req.uuid(), "PREPAGO");
+
+    now.addAndGet(Duration.ofMinutes(4).plusSeconds(1).toNanos());
+    ApiResponse<MdnValidateData> servedWhileRefreshing = cache.get(request("session-2"));
+    assertThat(calls).hasValue(1);
+    assertThat(refreshes).hasSize(1);
+    refreshes.poll().run();
+    ApiResponse<MdnValidateData> afterRefresh = cache.get(request("session-3"));
+
+    assertThat(servedWhileRefreshing.data().customerType()).isEqualTo("POSPAGO");
+    assertThat(afterRefresh.data().customerType()).isEqualTo("PREPAGO");
+    assertThat(calls).hasValue(2);
+    assertThat(cache.refreshCount()).isEqualTo(1);
+    assertThat(registry.get("identity.mdn-cache.refreshes").tag("outcome", "success").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void refresh_sends_a_fresh_request_not_the_cached_one() {
+    MdnValidateRequest first = request("session-1");
+    cache.get(first);
+
+    now.addAndGet(Duration.ofMinutes(4).plusSeconds(1).toNanos());
+    cache.get(request("session-2"));
+    cache.get(request("session-3"));
+    assertThat(refreshes).hasSize(1);
+    refreshes.poll().run();
+
+    MdnValidateRequest refresh = sent.get(1);
+    assertThat(sent).hasSize(2);
+    assertThat(refresh.uuid()).isNotIn("session-1", "session-2", "session-3");
+    assertThat(refresh.timestamp()).isAfterOrEqualTo(first.timestamp());
+    assertThat(refresh.source()).isEqualTo("portal");
+    assertThat(refresh.initFlowType()).isEqualTo("WEB");
+    assertThat(refresh.msisdn()).isEqualTo(MSISDN);
+  }
+
+  @Test
+  void invalidation_during_refresh_wins() {
+    cache.get(request("session-1"));
+    now.addAndGet(Duration.ofMinutes(4).plusSeconds(1).toNanos());
+    cache.get(request("session-2"));
+
+    cache.invalidate(MSISDN);
+    refreshes.poll().run();
+
+    assertThat(cache.estimatedSize()).isZero();
+  }
+
+  @Test
+  void failed_refresh_keeps_serving_and_is_retried() {
+    cache.get(request("session-1"));
+    now.addAndGet(Duration.ofMinutes(4).plusSeconds(1).toNanos());
+    behaviour = req -> {
+      throw new IllegalStateException("boom");
+    };
+
+    cache.get(request("session-2"));
+    refreshes.poll().run();
+    ApiResponse<MdnValidateData> out = cache.get(request("session-3"));
+
+    assertThat(out.data().customerType()).isEqualTo("POSPAGO");
+    assertThat(refreshes).hasSize(1);
+    assertThat(cache.refreshFailureCount()).isEqualTo(1);
+    assertThat(cache.refreshCount()).isZero();
+  }
+
+  @Test
+  void concurrent_misses_share_one_lookup() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    behaviour = req -> {
+      entered.countDown();
+      await(release);
+      return response(req.uuid(), "POSPAGO");
+    };
+
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<ApiResponse<MdnValidateData>> leader = callers.submit(() -> cache.get(request("session-1")));
+      assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+      List<Future<ApiResponse<MdnValidateData>>> followers = new ArrayList<>();
+      for (int i = 2; i <= 4; i++) {
+        String uuid = "session-" + i;
+        followers.add(callers.submit(() -> cache.get(request(uuid))));
+      }
+      release.countDown();
+
+      assertThat(leader.get().data().uuid()).isEqualTo("session-1");
+      for (int i = 0; i < followers.size(); i++) {
+        assertThat(followers.get(i).get().data().uuid()).isEqualTo("session-" + (i + 2));
+      }
+    }
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void expired_entry_is_reloaded_inline() {
+    cache.get(request("session-1"));
+    now.addAndGet(Duration.ofMinutes(6).toNanos());
+
+    cache.get(request("session-2"));
+
+    assertThat(calls).hasValue(2);
+    assertThat(cache.stats().missCount()).isEqualTo(2);
+  }
+
+  @Test
+  void expired_entry_is_served_stale_when_circuit_is_open() {
+    cache.get(request("session-1"));
+    now.addAndGet(Duration.ofMinutes(30).toNanos());
+    behaviour = req -> {
+      throw CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("orchestrator"));
+    };
+
+    ApiResponse<MdnValidateData> out = cache.get(request("session-2"));
+
+    assertThat(out.data().customerType()).isEqualTo("POSPAGO");
+    assertThat(out.data().uuid()).isEqualTo("session-2");
+    assertThat(registry.get("identity.mdn-cache.stale").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void open_circuit_without_known_entry_propagates() {
+    behaviour = req -> {
+      throw CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("orchestrator"));
+    };
+
+    assertThatThrownBy(() -> cache.get(request("session-1"))).isInstanceOf(CallNotPermittedException.class);
+  }
+
+  @Test
+  void stale_window_is_bounded_by_max_stale() {
+    cache.get(request("session-1"));
+    now.addAndGet(Duration.ofMinutes(5).plusHours(1).plusSeconds(1).toNanos());
+    behaviour = req -> {
+      throw CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("orchestrator"));
+    };
+
+    assertThatThrownBy(() -> cache.get(request("session-2"))).isInstanceOf(CallNotPermittedException.class);
+  }
+
+  @Test
+  void other_failures_are_not_masked_by_stale_entries() {
+    cache.get(request("session-1"));
+    now.addAndGet(Duration.ofMinutes(6).toNanos());
+    behaviour = req -> {
+      throw new IllegalStateException("boom");
+    };
+
+    assertThatThrownBy(() -> cache.get(request("session-2"))).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void responses_without_data_are_not_cached() {
+    behaviour = req -> new ApiResponse<>("ERROR", "msg", null, OffsetDateTime.now());
+
+    cache.get(request("session-1"));
+    cache.get(request("session-2"));
+
+    assertThat(calls).hasValue(2);
+    assertThat(cache.estimatedSize()).isZero();
+  }
+
+  @Test
+  void requests_without_msisdn_bypass_cache() {
+    behaviour = req -> response("x", "POSPAGO");
+
+    cache.get(null);
+    cache.get(new MdnValidateRequest("u", null, null, null, " "));
+
+    assertThat(calls).hasValue(2);
+    assertThat(cache.estimatedSize()).isZero();
+  }
+
+  @Test
+  void invalidate_forces_a_new_lookup() {
+    cache.get(request("session-1"));
+    cache.invalidate(MSISDN);
+    cache.get(request("session-2"));
+
+    cache.invalidateAll();
+    cache.get(request("session-3"));
+
+    assertThat(calls).hasValue(3);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static MdnValidateRequest request(String uuid) {
+    return new MdnValidateRequest(uuid, OffsetDateTime.now(), "portal", "WEB", MSISDN);
+  }
+
+  private static ApiResponse<MdnValidateData> response(String uuid, String customerType) {
+    MdnValidateData data = new MdnValidateData(uuid, "0", "ok", MSISDN, customerType, "P1", true, "ACTIVE");
+    return new ApiResponse<>("OK", "msg", data, OffsetDateTime.now());
+  }
+}
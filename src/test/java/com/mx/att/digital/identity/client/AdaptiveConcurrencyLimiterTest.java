@@ -0,0 +1,138 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final OrchestratorOperation OP = OrchestratorOperation.MDN_VALIDATE;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(10));
+
+  private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+    return new AdaptiveConcurrencyLimiter(true, initial, min, max, 2.0, 0.9, registry, now::get);
+  }
+
+  /** {@code n} llamadas concurrentes que terminan todas tras {@code rttMs}. */
+  private void round(AdaptiveConcurrencyLimiter l, int n, long rttMs) {
+    List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < n; i++) permits.add(l.acquire(OP));
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMs));
+    permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+  }
+
+  @Test
+  void over_the_limit_is_rejected_immediately_and_counted() {
+    AdaptiveConcurrencyLimiter l = limiter(2, 1, 10);
+    AdaptiveConcurrencyLimiter.Permit a = l.acquire(OP);
+    l.acquire(OP);
+
+    assertThatThrownBy(() -> l.acquire(OP))
+        .isInstanceOf(ConcurrencyLimitExceededException.class)
+        .hasMessageContaining("mdnValidate");
+    assertThat(registry.get("identity.orchestrator.concurrency.rejected").tag("operation", "mdnValidate")
+        .counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("identity.orchestrator.concurrency.in-flight").gauge().value()).isEqualTo(2.0);
+
+    a.ignore();
+    assertThat(l.inFlight()).isEqualTo(1);
+    l.acquire(OP);
+  }
+
+  @Test
+  void limit_grows_while_latency_stays_at_baseline_and_fully_used() {
+    AdaptiveConcurrencyLimiter l = limiter(10, 1, 50);
+
+    for (int i = 0; i < 40; i++) round(l, l.limit(), 100);
+
+    assertThat(l.limit()).isGreaterThan(10);
+    assertThat(registry.get("identity.orchestrator.concurrency.limit").gauge().value()).isEqualTo(l.limit());
+  }
+
+  @Test
+  void limit_does_not_grow_when_underused() {
+    AdaptiveConcurrencyLimiter l = limiter(10, 1, 50);
+
+    for (int i = 0; i < 200; i++) round(l, 2, 100);
+
+    assertThat(l.limit()).isEqualTo(10);
+  }
+
+  @Test
+  void sustained_latency_above_tolerance_shrinks_a_saturated_limit_once_per_rtt() {
+    AdaptiveConcurrencyLimiter l = limiter(20, 2, 50);
+    round(l, 10, 100);
+
+    round(l, 20, 500);
+    assertThat(l.limit()).isEqualTo(18);
+
+    for (int i = 0; i < 20; i++) round(l, l.limit(), 500);
+    assertThat(l.limit()).isLessThan(18).isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  void isolated_slow_response_does_not_shrink_the_limit() {
+    AdaptiveConcurrencyLimiter l = limiter(4, 1, 50);
+    for (int i = 0; i < 5; i++) round(l, 4, 100);
+    int before = l.limit();
+
+    // Límite lleno y una sola respuesta a 5x la base: la RTT suavizada queda dentro de la tolerancia.
+    List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < before; i++) permits.add(l.acquire(OP));
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    permits.remove(permits.size() - 1).success();
+    permits.forEach(AdaptiveConcurrencyLimiter.Permit::ignore);
+
+    assertThat(l.limit()).isGreaterThanOrEqualTo(before);
+  }
+
+  @Test
+  void high_latency_with_spare_capacity_does_not_shrink_the_limit() {
+    AdaptiveConcurrencyLimiter l = limiter(20, 2, 50);
+    round(l, 10, 100);
+
+    for (int i = 0; i < 50; i++) round(l, 5, 500);
+
+    assertThat(l.limit()).isEqualTo(20);
+  }
+
+  @Test
+  void throttle_halves_the_limit_but_not_below_min() {
+    AdaptiveConcurrencyLimiter l = limiter(16, 4, 50);
+    round(l, 1, 100);
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    l.acquire(OP).throttled();
+    assertThat(l.limit()).isEqualTo(8);
+
+    for (int i = 0; i < 5; i++) {
+      now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+      l.acquire(OP).throttled();
+    }
+    assertThat(l.limit()).isEqualTo(4);
+    assertThat(l.inFlight()).isZero();
+  }
+
+  @Test
+  void disabled_never_rejects() {
+    AdaptiveConcurrencyLimiter l = AdaptiveConcurrencyLimiter.disabled();
+    for (int i = 0; i < 1000; i++) l.acquire(OP);
+    assertThat(l.inFlight()).isZero();
+  }
+
+  @Test
+  void invalid_bounds_are_rejected() {
+    assertThatThrownBy(() -> limiter(1, 2, 10)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(true, 5, 1, 10, 2.0, 1.0, registry, now::get))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,89 @@
+package com.mx.att.digital.identity.client;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BoundedLambdaClientTest {
+
+  private final LambdaClient delegate = mock(LambdaClient.class);
+
+  @Test
+  void invoke_delegates_and_releases_permit() {
+    InvokeResponse resp = InvokeResponse.builder().statusCode(200).build();
+    when(delegate.invoke(any(InvokeRequest.class))).thenReturn(resp);
+
+    BoundedLambdaClient client = new BoundedLambdaClient(delegate, 2, Duration.ofMillis(50));
+
+    assertThat(client.invoke(InvokeRequest.builder().build())).isSameAs(resp);
+    assertThat(client.availablePermits()).isEqualTo(2);
+  }
+
+  @Test
+  void invoke_releases_permit_when_delegate_fails() {
+    when(delegate.invoke(any(InvokeRequest.class)))
+        .thenThrow(LambdaException.builder().message("boom").build());
+
+    BoundedLambdaClient client = new BoundedLambdaClient(delegate, 1, Duration.ofMillis(50));
+    InvokeRequest req = InvokeRequest.builder().build();
+
+    assertThatThrownBy(() -> client.invoke(req)).isInstanceOf(LambdaException.class);
+    assertThat(client.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void invoke_fails_fast_when_no_permit_within_timeout() throws Exception {
+    CountDownLatch inFlight = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.invoke(any(InvokeRequest.class))).thenAnswer(inv -> {
+      inFlight.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return InvokeResponse.builder().statusCode(200).build();
+    });
+
+    BoundedLambdaClient client = new BoundedLambdaClient(delegate, 1, Duration.ofMillis(20));
+    InvokeRequest req = InvokeRequest.builder().build();
+    Thread holder = Thread.ofVirtual().start(() -> client.invoke(req));
+    assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> client.invoke(req))
+        .isInstanceOf(LambdaSaturatedException.class)
+        .hasMessageContaining("Sin permiso");
+
+    release.countDown();
+    holder.join();
+    verify(delegate, times(1)).invoke(any(InvokeRequest.class));
+  }
+
+  @Test
+  void ctor_rejects_non_positive_limit() {
+    Duration timeout = Duration.ofMillis(1);
+    assertThatThrownBy(() -> new BoundedLambdaClient(delegate, 0, timeout))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void metadata_and_close_are_delegated() {
+    when(delegate.serviceName()).thenReturn("lambda");
+    BoundedLambdaClient client = new BoundedLambdaClient(delegate, 1, Duration.ofMillis(1));
+
+    assertThat(client.serviceName()).isEqualTo("lambda");
+    assertThat(client.delegate()).isSameAs(delegate);
+    client.serviceClientConfiguration();
+    client.close();
+
+    verify(delegate).serviceClientConfiguration();
+    verify(delegate).close();
+  }
+}
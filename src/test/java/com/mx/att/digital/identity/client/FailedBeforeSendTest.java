@@ -0,0 +1,33 @@
+package com.mx.att.digital.identity.client;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailedBeforeSendTest {
+
+  private final FailedBeforeSend predicate = new FailedBeforeSend();
+
+  @Test
+  void throttle_and_connect_failures_are_retryable() {
+    assertThat(predicate.test(TooManyRequestsException.builder().statusCode(429).build())).isTrue();
+    assertThat(predicate.test(SdkClientException.create("no route", new ConnectException("refused")))).isTrue();
+    assertThat(predicate.test(new OrchestratorClientException("dns",
+        SdkClientException.create("dns", new UnknownHostException("lambda"))))).isTrue();
+  }
+
+  @Test
+  void failures_after_the_request_left_are_not() {
+    assertThat(predicate.test(SdkClientException.create("read", new SocketTimeoutException("Read timed out")))).isFalse();
+    assertThat(predicate.test(new OrchestratorClientException("functionError"))).isFalse();
+    assertThat(predicate.test(LambdaException.builder().statusCode(502).build())).isFalse();
+    assertThat(predicate.test(null)).isFalse();
+  }
+}
@@ -0,0 +1,214 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedInvokerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private static final InvokeResponse PRIMARY = InvokeResponse.builder().statusCode(200).executedVersion("primary").build();
+  private static final InvokeResponse HEDGE = InvokeResponse.builder().statusCode(200).executedVersion("hedge").build();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private HedgedInvoker hedger(int budgetPercent) {
+    return new HedgedInvoker(Set.of(OrchestratorOperation.MDN_VALIDATE), 0.95, budgetPercent,
+        Duration.ofMillis(50), registry, executor);
+  }
+
+  private static void warmUp(HedgedInvoker h) {
+    for (int i = 0; i < HedgedInvoker.MIN_SAMPLES; i++) {
+      h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> PRIMARY);
+    }
+  }
+
+  private double count(String name) {
+    return registry.get(name).tag("operation", "mdnValidate").counter().count();
+  }
+
+  @Test
+  void operations_not_opted_in_run_on_the_calling_thread() {
+    HedgedInvoker h = hedger(10);
+    Thread caller = Thread.currentThread();
+
+    InvokeResponse out = h.invoke(OrchestratorOperation.SESSION_INIT, () -> {
+      assertThat(Thread.currentThread()).isSameAs(caller);
+      return PRIMARY;
+    });
+
+    assertThat(out).isSameAs(PRIMARY);
+    assertThat(h.enabledFor(OrchestratorOperation.SESSION_INIT)).isFalse();
+  }
+
+  @Test
+  void non_hedgeable_operations_are_rejected() {
+    assertThatThrownBy(() -> new HedgedInvoker(Set.of(OrchestratorOperation.OTP_REQUEST), 0.95, 10,
+        Duration.ZERO, registry, executor)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new HedgedInvoker(List.of("otpForward"), 0.95, 10, Duration.ZERO, registry))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void no_threshold_until_enough_samples() {
+    HedgedInvoker h = hedger(10);
+    assertThat(h.thresholdNanos(OrchestratorOperation.MDN_VALIDATE)).isNegative();
+
+    warmUp(h);
+
+    // Latencias ~0: el umbral queda en el mínimo configurado.
+    assertThat(h.thresholdNanos(OrchestratorOperation.MDN_VALIDATE)).isEqualTo(Duration.ofMillis(50).toNanos());
+  }
+
+  @Test
+  void slow_primary_is_hedged_and_cancelled() throws Exception {
+    HedgedInvoker h = hedger(10);
+    warmUp(h);
+    AtomicInteger attempt = new AtomicInteger();
+    CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+    InvokeResponse out = h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> {
+      if (attempt.incrementAndGet() == 1) {
+        try {
+          Thread.sleep(5_000);
+        } catch (InterruptedException e) {
+          primaryInterrupted.countDown();
+          throw new IllegalStateException("cancelado");
+        }
+        return PRIMARY;
+      }
+      return HEDGE;
+    });
+
+    assertThat(out).isSameAs(HEDGE);
+    assertThat(count("identity.orchestrator.hedge.fired")).isEqualTo(1.0);
+    assertThat(count("identity.orchestrator.hedge.won")).isEqualTo(1.0);
+    assertThat(primaryInterrupted.await(2, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void losing_primary_still_contributes_its_latency() {
+    HedgedInvoker h = hedger(10);
+    warmUp(h);
+    AtomicInteger attempt = new AtomicInteger();
+
+    h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> {
+      if (attempt.incrementAndGet() == 1) sleep(5_000);
+      return HEDGE;
+    });
+
+    // El hedge y la original cancelada: ambas entran a la ventana, no sólo la ganadora.
+    assertThat(h.samples(OrchestratorOperation.MDN_VALIDATE)).isEqualTo(HedgedInvoker.MIN_SAMPLES + 2L);
+  }
+
+  @Test
+  void every_completed_attempt_is_recorded_once() throws Exception {
+    HedgedInvoker h = hedger(10);
+    warmUp(h);
+    AtomicInteger attempt = new AtomicInteger();
+    CountDownLatch hedgeDone = new CountDownLatch(1);
+
+    InvokeResponse out = h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> {
+      if (attempt.incrementAndGet() == 1) {
+        sleep(100);
+        return PRIMARY;
+      }
+      try {
+        // Termina aunque la cancelen: una respuesta tardía también es una muestra.
+        Thread.sleep(150);
+      } catch (InterruptedException e) {
+        Thread.interrupted();
+      }
+      hedgeDone.countDown();
+      return HEDGE;
+    });
+
+    assertThat(out).isSameAs(PRIMARY);
+    assertThat(hedgeDone.await(2, TimeUnit.SECONDS)).isTrue();
+    Thread.sleep(50);
+    assertThat(h.samples(OrchestratorOperation.MDN_VALIDATE)).isEqualTo(HedgedInvoker.MIN_SAMPLES + 2L);
+  }
+
+  @Test
+  void hedges_are_capped_by_budget() {
+    HedgedInvoker h = hedger(0);
+    warmUp(h);
+
+    // El saldo inicial alcanza para un hedge; con 0% no se repone.
+    for (int i = 0; i < 2; i++) {
+      AtomicInteger attempt = new AtomicInteger();
+      h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> {
+        if (attempt.incrementAndGet() == 1) sleep(150);
+        return PRIMARY;
+      });
+    }
+
+    assertThat(count("identity.orchestrator.hedge.fired")).isEqualTo(1.0);
+    assertThat(count("identity.orchestrator.hedge.budget-exhausted")).isEqualTo(1.0);
+  }
+
+  @Test
+  void fast_failure_is_propagated_without_hedge() {
+    HedgedInvoker h = hedger(10);
+    warmUp(h);
+
+    assertThatThrownBy(() -> h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> {
+      throw LambdaException.builder().message("aws").build();
+    })).isInstanceOf(LambdaException.class);
+    assertThat(count("identity.orchestrator.hedge.fired")).isZero();
+  }
+
+  @Test
+  void failure_of_slow_primary_waits_for_hedge() {
+    HedgedInvoker h = hedger(10);
+    warmUp(h);
+    AtomicInteger attempt = new AtomicInteger();
+
+    InvokeResponse out = h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> {
+      if (attempt.incrementAndGet() == 1) {
+        sleep(100);
+        throw LambdaException.builder().message("primary").build();
+      }
+      sleep(200);
+      return HEDGE;
+    });
+
+    assertThat(out).isSameAs(HEDGE);
+  }
+
+  @Test
+  void disabled_never_hedges() {
+    HedgedInvoker h = HedgedInvoker.disabled();
+
+    assertThat(h.invoke(OrchestratorOperation.MDN_VALIDATE, () -> PRIMARY)).isSameAs(PRIMARY);
+    assertThat(h.enabledFor(OrchestratorOperation.MDN_VALIDATE)).isFalse();
+  }
+
+  private static void sleep(long ms) {
+    try {
+      Thread.sleep(ms);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
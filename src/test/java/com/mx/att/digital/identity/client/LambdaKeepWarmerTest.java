@@ -0,0 +1,181 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.att.digital.identity.config.KeepWarmProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LogType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LambdaKeepWarmerTest {
+
+  private static final String ARN = "arn:aws:lambda:us-east-1:123:function:test";
+  private static final Duration INTERVAL = Duration.ofMinutes(5);
+
+  private final LambdaClient lambda = mock(LambdaClient.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final OrchestratorMetrics traffic = new OrchestratorMetrics(new SimpleMeterRegistry());
+  private LambdaKeepWarmer warmer;
+
+  @AfterEach
+  void tearDown() {
+    if (warmer != null) warmer.stop();
+  }
+
+  private LambdaKeepWarmer warmer(int min, int max) {
+    KeepWarmProperties props = new KeepWarmProperties(true, INTERVAL, min, max, 1.5, Duration.ofMillis(50));
+    return new LambdaKeepWarmer(lambda, ARN, new ObjectMapper(), props, traffic, registry);
+  }
+
+  /** {@code calls} invocaciones reales con {@code concurrency} media durante el periodo. */
+  private void realTraffic(int calls, double concurrency) {
+    long each = (long) (INTERVAL.toNanos() * concurrency / calls);
+    for (int i = 0; i < calls; i++) traffic.invoked(OrchestratorOperation.SESSION_INIT, each, 100);
+  }
+
+  private static InvokeResponse report(boolean cold) {
+    String logs = "REPORT RequestId: x\tDuration: 50.00 ms\tBilled Duration: 51 ms\tMemory Size: 512 MB"
+        + "\tMax Memory Used: 80 MB" + (cold ? "\tInit Duration: 300.00 ms" : "");
+    return InvokeResponse.builder().statusCode(200)
+        .logResult(Base64.getEncoder().encodeToString(logs.getBytes(StandardCharsets.UTF_8)))
+        .build();
+  }
+
+  @Test
+  void target_scales_with_observed_concurrency_within_bounds() {
+    LambdaKeepWarmer w = warmer(2, 10);
+
+    assertThat(w.targetFor(0)).isEqualTo(2);
+    assertThat(w.targetFor(3)).isEqualTo(5);
+    assertThat(w.targetFor(40)).isEqualTo(10);
+  }
+
+  @Test
+  void pings_cover_only_what_real_traffic_did_not() {
+    assertThat(LambdaKeepWarmer.pingsNeeded(5, 0, 0)).isEqualTo(5);
+    assertThat(LambdaKeepWarmer.pingsNeeded(5, 100, 2.2)).isEqualTo(2);
+    assertThat(LambdaKeepWarmer.pingsNeeded(5, 1, 0.001)).isEqualTo(4);
+    assertThat(LambdaKeepWarmer.pingsNeeded(10, 10_000, 12)).isZero();
+  }
+
+  @Test
+  void idle_period_sends_min_environments_concurrent_pings_and_counts_cold_ones() {
+    when(lambda.invoke(any(InvokeRequest.class))).thenReturn(report(true), report(false));
+    warmer = warmer(2, 10);
+
+    int sent = warmer.runOnce();
+
+    assertThat(sent).isEqualTo(2);
+    ArgumentCaptor<InvokeRequest> captor = ArgumentCaptor.forClass(InvokeRequest.class);
+    verify(lambda, atLeastOnce()).invoke(captor.capture());
+    InvokeRequest ping = captor.getValue();
+    assertThat(ping.functionName()).isEqualTo(ARN);
+    assertThat(ping.logType()).isEqualTo(LogType.TAIL);
+    assertThat(ping.payload().asUtf8String()).isEqualTo("{\"operation\":\"keepWarm\",\"request\":{\"delayMs\":50}}");
+    assertThat(registry.get("identity.lambda.keep-warm.target").gauge().value()).isEqualTo(2.0);
+  }
+
+  @Test
+  void cold_pings_are_reported() {
+    when(lambda.invoke(any(InvokeRequest.class))).thenReturn(report(true));
+    warmer = warmer(3, 10);
+
+    warmer.runOnce();
+
+    assertThat(registry.get("identity.lambda.keep-warm.pings").counter().count()).isEqualTo(3.0);
+    assertThat(registry.get("identity.lambda.keep-warm.cold").counter().count()).isEqualTo(3.0);
+    assertThat(registry.get("identity.lambda.keep-warm.failed").counter().count()).isZero();
+  }
+
+  @Test
+  void traffic_at_the_scaled_target_sends_no_pings() {
+    warmer = warmer(2, 10);
+    realTraffic(10_000, 3);
+
+    assertThat(warmer.runOnce()).isZero();
+    assertThat(registry.get("identity.lambda.keep-warm.target").gauge().value()).isEqualTo(5.0);
+    verify(lambda, never()).invoke(any(InvokeRequest.class));
+  }
+
+  @Test
+  void light_traffic_is_topped_up_to_the_floor() {
+    when(lambda.invoke(any(InvokeRequest.class))).thenReturn(report(false));
+    warmer = warmer(4, 10);
+    realTraffic(100, 1);
+
+    // Objetivo 4 (piso); el tráfico cubre ceil(1 × 1.5) = 2.
+    assertThat(warmer.runOnce()).isEqualTo(2);
+  }
+
+  @Test
+  void busy_traffic_stops_the_pings() {
+    warmer = warmer(2, 6);
+    realTraffic(50_000, 8);
+
+    assertThat(warmer.runOnce()).isZero();
+    assertThat(registry.get("identity.lambda.keep-warm.target").gauge().value()).isEqualTo(6.0);
+    verify(lambda, never()).invoke(any(InvokeRequest.class));
+  }
+
+  @Test
+  void lifecycle_runs_a_first_round_on_start() {
+    when(lambda.invoke(any(InvokeRequest.class))).thenReturn(report(false));
+    warmer = warmer(1, 1);
+
+    warmer.start();
+
+    verify(lambda, timeout(5_000).times(1)).invoke(any(InvokeRequest.class));
+    assertThat(warmer.isRunning()).isTrue();
+    warmer.stop();
+    assertThat(warmer.isRunning()).isFalse();
+  }
+
+  @Test
+  void stop_interrupts_pings_in_flight_and_start_recreates_the_pingers() throws Exception {
+    CountDownLatch pinging = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    when(lambda.invoke(any(InvokeRequest.class))).thenAnswer(inv -> {
+      pinging.countDown();
+      try {
+        Thread.sleep(30_000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return report(false);
+    }).thenReturn(report(false));
+    warmer = warmer(1, 1);
+
+    warmer.start();
+    assertThat(pinging.await(5, TimeUnit.SECONDS)).isTrue();
+    warmer.stop();
+    assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    warmer.start();
+    verify(lambda, timeout(5_000).times(2)).invoke(any(InvokeRequest.class));
+  }
+
+  @Test
+  void invalid_bounds_are_rejected() {
+    assertThatThrownBy(() -> warmer(5, 2)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
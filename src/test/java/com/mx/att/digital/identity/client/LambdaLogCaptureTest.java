@@ -0,0 +1,145 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LogType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LambdaLogCaptureTest {
+
+  private final AtomicLong now = new AtomicLong(1_000L);
+  private final List<Runnable> decodes = new ArrayList<>();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private LambdaLogCapture adaptive(double sampleRate) {
+    return new LambdaLogCapture(
+        LambdaLogCapture.Mode.ADAPTIVE,
+        sampleRate,
+        Duration.ofSeconds(60),
+        Duration.ofSeconds(2),
+        now::get,
+        decodes::add,
+        registry
+    );
+  }
+
+  @Test
+  void resolveMode_is_case_insensitive_and_defaults_to_none() {
+    assertThat(LambdaLogCapture.resolveMode("Tail")).isEqualTo(LambdaLogCapture.Mode.TAIL);
+    assertThat(LambdaLogCapture.resolveMode("ADAPTIVE")).isEqualTo(LambdaLogCapture.Mode.ADAPTIVE);
+    assertThat(LambdaLogCapture.resolveMode("None")).isEqualTo(LambdaLogCapture.Mode.NONE);
+    assertThat(LambdaLogCapture.resolveMode("whatever")).isEqualTo(LambdaLogCapture.Mode.NONE);
+    assertThat(LambdaLogCapture.resolveMode(null)).isEqualTo(LambdaLogCapture.Mode.NONE);
+  }
+
+  @Test
+  void fixed_modes_always_return_the_same_log_type() {
+    assertThat(LambdaLogCapture.fixed("Tail").nextLogType()).isEqualTo(LogType.TAIL);
+    assertThat(LambdaLogCapture.fixed("None").nextLogType()).isEqualTo(LogType.NONE);
+    assertThat(LambdaLogCapture.fixed("Adaptive").mode()).isEqualTo(LambdaLogCapture.Mode.NONE);
+  }
+
+  @Test
+  void adaptive_samples_by_rate() {
+    assertThat(adaptive(0).nextLogType()).isEqualTo(LogType.NONE);
+    assertThat(adaptive(1).nextLogType()).isEqualTo(LogType.TAIL);
+  }
+
+  @Test
+  void function_error_boosts_to_tail_until_cooldown_expires() {
+    LambdaLogCapture capture = adaptive(0);
+
+    capture.onResponse(InvokeResponse.builder().functionError("Unhandled").build(), OrchestratorOperation.OTP_REQUEST, 0);
+
+    assertThat(capture.boosted()).isTrue();
+    assertThat(capture.nextLogType()).isEqualTo(LogType.TAIL);
+
+    now.addAndGet(Duration.ofSeconds(61).toNanos());
+
+    assertThat(capture.boosted()).isFalse();
+    assertThat(capture.nextLogType()).isEqualTo(LogType.NONE);
+  }
+
+  @Test
+  void latency_outlier_boosts_and_normal_latency_does_not() {
+    LambdaLogCapture capture = adaptive(0);
+
+    capture.onResponse(InvokeResponse.builder().build(), OrchestratorOperation.MDN_VALIDATE, Duration.ofMillis(200).toNanos());
+    assertThat(capture.boosted()).isFalse();
+
+    capture.onResponse(InvokeResponse.builder().build(), OrchestratorOperation.MDN_VALIDATE, Duration.ofSeconds(3).toNanos());
+    assertThat(capture.boosted()).isTrue();
+  }
+
+  @Test
+  void fixed_mode_never_boosts() {
+    LambdaLogCapture capture = LambdaLogCapture.fixed("None");
+
+    capture.onResponse(InvokeResponse.builder().functionError("Unhandled").build(), OrchestratorOperation.OTP_REQUEST, Long.MAX_VALUE);
+
+    assertThat(capture.boosted()).isFalse();
+    assertThat(capture.nextLogType()).isEqualTo(LogType.NONE);
+  }
+
+  @Test
+  void logs_are_decoded_off_thread_for_function_errors() {
+    LambdaLogCapture capture = adaptive(0);
+    String tail = Base64.getEncoder().encodeToString("START RequestId: 1\nboom".getBytes(StandardCharsets.UTF_8));
+
+    capture.onResponse(InvokeResponse.builder().functionError("Unhandled").logResult(tail).build(), OrchestratorOperation.OTP_REQUEST, 0);
+
+    assertThat(decodes).hasSize(1);
+    decodes.get(0).run();
+  }
+
+  @Test
+  void report_line_feeds_cold_start_duration_split_and_cost_metrics() {
+    LambdaLogCapture capture = adaptive(0);
+    String logs = "START RequestId: 1 Version: $LATEST\nok\nEND RequestId: 1\n"
+        + "REPORT RequestId: 1\tDuration: 40.00 ms\tBilled Duration: 41 ms\tMemory Size: 1024 MB"
+        + "\tMax Memory Used: 90 MB\tInit Duration: 250.00 ms\t\n";
+    String tail = Base64.getEncoder().encodeToString(logs.getBytes(StandardCharsets.UTF_8));
+
+    capture.onResponse(InvokeResponse.builder().logResult(tail).build(), OrchestratorOperation.SESSION_INIT, Duration.ofMillis(300).toNanos());
+    assertThat(decodes).hasSize(1);
+    decodes.get(0).run();
+
+    assertThat(registry.get("identity.lambda.report.samples").tag("operation", "sessionInit").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("identity.lambda.cold-starts").tag("operation", "sessionInit").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("identity.lambda.init-duration").tag("operation", "sessionInit").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(250.0);
+    assertThat(registry.get("identity.lambda.function-duration").tag("operation", "sessionInit").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40.0);
+    // 300 ms observados - 40 ms de función - 250 ms de init
+    assertThat(registry.get("identity.lambda.overhead").tag("operation", "sessionInit").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10.0);
+    assertThat(registry.get("identity.lambda.billed-gb-seconds").tag("operation", "sessionInit").counter().count())
+        .isEqualTo(0.041);
+    assertThat(registry.get("identity.lambda.cold-starts").tag("operation", "mdnValidate").counter().count()).isZero();
+  }
+
+  @Test
+  void response_without_logs_schedules_nothing() {
+    LambdaLogCapture capture = adaptive(0);
+
+    capture.onResponse(InvokeResponse.builder().functionError("Unhandled").build(), OrchestratorOperation.OTP_REQUEST, 0);
+
+    assertThat(decodes).isEmpty();
+  }
+
+  @Test
+  void sample_rate_out_of_range_is_rejected() {
+    assertThatThrownBy(() -> adaptive(1.5)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
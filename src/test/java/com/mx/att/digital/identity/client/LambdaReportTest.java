@@ -0,0 +1,45 @@
+package com.mx.att.digital.identity.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LambdaReportTest {
+
+  @Test
+  void parses_warm_report_line() {
+    LambdaReport r = LambdaReport.parse("""
+        START RequestId: abc Version: $LATEST
+        END RequestId: abc
+        REPORT RequestId: abc\tDuration: 12.34 ms\tBilled Duration: 13 ms\tMemory Size: 512 MB\tMax Memory Used: 88 MB\t
+        """);
+
+    assertThat(r).isNotNull();
+    assertThat(r.durationMs()).isEqualTo(12.34);
+    assertThat(r.billedDurationMs()).isEqualTo(13.0);
+    assertThat(r.memorySizeMb()).isEqualTo(512);
+    assertThat(r.maxMemoryUsedMb()).isEqualTo(88);
+    assertThat(r.coldStart()).isFalse();
+    assertThat(r.billedGbSeconds()).isEqualTo(0.013 * 0.5);
+  }
+
+  @Test
+  void parses_cold_start_with_spaces_instead_of_tabs() {
+    LambdaReport r = LambdaReport.parse(
+        "REPORT RequestId: abc  Init Duration: 180.55 ms  Duration: 3.10 ms  Billed Duration: 185 ms  Memory Size: 256 MB  Max Memory Used: 70 MB");
+
+    assertThat(r).isNotNull();
+    assertThat(r.coldStart()).isTrue();
+    assertThat(r.initDurationMs()).isEqualTo(180.55);
+    assertThat(r.durationMs()).isEqualTo(3.10);
+    assertThat(r.billedDurationMs()).isEqualTo(185.0);
+  }
+
+  @Test
+  void missing_or_truncated_report_yields_null() {
+    assertThat(LambdaReport.parse(null)).isNull();
+    assertThat(LambdaReport.parse("START RequestId: abc\nhello")).isNull();
+    // La cola de 4 KB puede cortar la línea REPORT.
+    assertThat(LambdaReport.parse("REPORT RequestId: abc\tDuration: 12.3")).isNull();
+  }
+}
@@ -0,0 +1,143 @@
+package com.mx.att.digital.identity.client;
+
+import com.mx.att.digital.identity.model.ApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicroBatcherTest {
+
+  private static final OrchestratorOperation OP = OrchestratorOperation.MDN_VALIDATE;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+  private final List<List<Object>> flushed = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  private MicroBatcher batcher(int maxItems, Duration linger) {
+    return new MicroBatcher(Set.of(OP), maxItems, linger, registry);
+  }
+
+  /** Responde a cada request con una {@code ApiResponse} cuyo mensaje es el request. */
+  private List<Object> echo(OrchestratorOperation op, List<Object> requests) {
+    flushed.add(List.copyOf(requests));
+    List<Object> out = new ArrayList<>();
+    for (Object r : requests) {
+      out.add("fail".equals(r) ? new OrchestratorClientException("item " + r) : new ApiResponse<>("OK", (String) r, null, null));
+    }
+    return out;
+  }
+
+  private List<Future<ApiResponse<Object>>> submit(MicroBatcher batcher, MicroBatcher.Flusher flusher, String... requests) {
+    List<Future<ApiResponse<Object>>> calls = new ArrayList<>();
+    for (String r : requests) {
+      calls.add(callers.submit(() -> batcher.<Object>call(OP, r, flusher)));
+    }
+    return calls;
+  }
+
+  private double count(String name, String... tags) {
+    return registry.get(name).tags(tags).counter().count();
+  }
+
+  @Test
+  void only_idempotent_operations_and_sane_limits_are_accepted() {
+    assertThatThrownBy(() -> new MicroBatcher(Set.of(OrchestratorOperation.OTP_REQUEST), 8, Duration.ZERO, registry))
+        .hasMessageContaining("otpRequest");
+    assertThatThrownBy(() -> batcher(0, Duration.ZERO)).hasMessageContaining("max-items");
+    assertThatThrownBy(() -> batcher(8, Duration.ofMillis(-1))).hasMessageContaining("linger");
+    assertThat(MicroBatcher.disabled().enabledFor(OP)).isFalse();
+    assertThat(batcher(8, Duration.ZERO).enabledFor(OP)).isTrue();
+    assertThat(batcher(8, Duration.ZERO).enabledFor(OrchestratorOperation.SESSION_INIT)).isFalse();
+  }
+
+  @Test
+  void full_batch_is_sent_at_once_and_demultiplexed_in_order() throws Exception {
+    MicroBatcher batcher = batcher(4, Duration.ofSeconds(30));
+
+    List<Future<ApiResponse<Object>>> calls = submit(batcher, this::echo, "a", "b", "c", "d");
+
+    List<String> answers = new ArrayList<>();
+    for (Future<ApiResponse<Object>> call : calls) answers.add(call.get().message());
+    assertThat(answers).containsExactly("a", "b", "c", "d");
+    assertThat(flushed).hasSize(1);
+    assertThat(flushed.get(0)).containsExactlyInAnyOrder("a", "b", "c", "d");
+    assertThat(count("identity.orchestrator.batch.flushes", "operation", "mdnValidate", "reason", "size")).isEqualTo(1.0);
+    assertThat(count("identity.orchestrator.batch.invocations-saved", "operation", "mdnValidate")).isEqualTo(3.0);
+    assertThat(registry.get("identity.orchestrator.batch.size").summary().max()).isEqualTo(4.0);
+    assertThat(registry.get("identity.orchestrator.batch.linger").timer().count()).isEqualTo(4);
+  }
+
+  @Test
+  void lone_call_is_sent_when_linger_expires() {
+    MicroBatcher batcher = batcher(16, Duration.ofMillis(20));
+
+    long start = System.nanoTime();
+    ApiResponse<Object> answer = batcher.call(OP, "solo", this::echo);
+
+    assertThat(answer.message()).isEqualTo("solo");
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+    assertThat(flushed).containsExactly(List.of("solo"));
+    assertThat(count("identity.orchestrator.batch.flushes", "operation", "mdnValidate", "reason", "linger")).isEqualTo(1.0);
+    assertThat(count("identity.orchestrator.batch.invocations-saved", "operation", "mdnValidate")).isZero();
+  }
+
+  @Test
+  void item_error_fails_only_its_caller() throws Exception {
+    MicroBatcher batcher = batcher(3, Duration.ofSeconds(30));
+
+    List<Future<ApiResponse<Object>>> calls = submit(batcher, this::echo, "a", "fail", "c");
+
+    int failed = 0;
+    for (Future<ApiResponse<Object>> call : calls) {
+      try {
+        assertThat(call.get().message()).isIn("a", "c");
+      } catch (ExecutionException ex) {
+        assertThat(ex.getCause()).isInstanceOf(OrchestratorClientException.class).hasMessage("item fail");
+        failed++;
+      }
+    }
+    assertThat(failed).isEqualTo(1);
+  }
+
+  @Test
+  void batch_failure_or_size_mismatch_fails_every_caller() {
+    RuntimeException down = new IllegalStateException("down");
+    MicroBatcher batcher = batcher(2, Duration.ofSeconds(30));
+
+    List<Future<ApiResponse<Object>>> thrown = submit(batcher, (op, requests) -> { throw down; }, "a", "b");
+    assertThat(thrown).allSatisfy(call ->
+        assertThatThrownBy(call::get).isInstanceOf(ExecutionException.class).hasCause(down));
+
+    List<Future<ApiResponse<Object>>> mismatched = submit(batcher, (op, requests) -> List.of(new ApiResponse<>("OK", "x", null, null)), "a", "b");
+    assertThat(mismatched).allSatisfy(call ->
+        assertThatThrownBy(call::get).hasCauseInstanceOf(OrchestratorClientException.class).hasMessageContaining("1 elementos para 2"));
+  }
+
+  @Test
+  void zero_linger_sends_immediately() {
+    MicroBatcher batcher = batcher(16, Duration.ZERO);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(batcher.call(OP, "r" + i, this::echo).message()).isEqualTo("r" + i);
+    }
+    assertThat(flushed).hasSize(3);
+  }
+}
@@ -0,0 +1,176 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.MdnValidateData;
+import com.mx.att.digital.identity.model.MdnValidateRequest;
+import com.mx.att.digital.identity.model.OtpRequest;
+import com.mx.att.digital.identity.model.OtpValidateRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrchestratorAsyncClientTest {
+
+  @Mock
+  private LambdaAsyncClient lambdaClient;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private OrchestratorAsyncClient client;
+
+  private static final String FUNCTION_ARN =
+      "arn:aws:lambda:us-east-1:123:function:test";
+
+  @BeforeEach
+  void setup() {
+    client = new OrchestratorAsyncClient(
+        lambdaClient,
+        objectMapper,
+        FUNCTION_ARN,
+        "RequestResponse",
+        LambdaLogCapture.fixed("Tail"),
+        OrchestratorMetrics.standalone(),
+        AdaptiveConcurrencyLimiter.disabled()
+    );
+  }
+
+  @Test
+  void mdnValidate_success_completes_with_parsed_response() {
+    InvokeResponse response = InvokeResponse.builder()
+        .statusCode(200)
+        .payload(SdkBytes.fromString(
+            "{\"status\":\"OK\",\"message\":\"msg\",\"data\":{\"uuid\":\"u-1\",\"isRegistered\":false}}",
+            StandardCharsets.UTF_8))
+        .build();
+    when(lambdaClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+
+    ApiResponse<MdnValidateData> out =
+        client.mdnValidate(new MdnValidateRequest(null, null, null, null, null)).join();
+
+    assertThat(out.status()).isEqualTo("OK");
+    assertThat(out.data().uuid()).isEqualTo("u-1");
+    verify(lambdaClient).invoke(any(InvokeRequest.class));
+  }
+
+  @Test
+  void lambdaException_completes_future_exceptionally_unwrapped() {
+    when(lambdaClient.invoke(any(InvokeRequest.class)))
+        .thenReturn(CompletableFuture.failedFuture(LambdaException.builder().message("AWS error").build()));
+
+    CompletableFuture<?> out = client.mdnValidate(new MdnValidateRequest(null, null, null, null, null));
+
+    assertThatThrownBy(out::join)
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(LambdaException.class);
+  }
+
+  @Test
+  void functionError_completes_future_with_client_exception() {
+    InvokeResponse response = InvokeResponse.builder()
+        .statusCode(200)
+        .functionError("Unhandled")
+        .payload(SdkBytes.fromString("{}", StandardCharsets.UTF_8))
+        .build();
+    when(lambdaClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+
+    CompletableFuture<?> out = client.otpRequest(new OtpRequest(null, null, null));
+
+    assertThatThrownBy(out::join).hasCauseInstanceOf(OrchestratorClientException.class);
+  }
+
+  @Test
+  void emptyPayload_completes_future_with_client_exception() {
+    InvokeResponse response = InvokeResponse.builder()
+        .statusCode(200)
+        .payload(SdkBytes.fromString("", StandardCharsets.UTF_8))
+        .build();
+    when(lambdaClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+
+    CompletableFuture<?> out = client.otpValidate(new OtpValidateRequest(null, null, null, null));
+
+    assertThatThrownBy(out::join).hasCauseInstanceOf(OrchestratorClientException.class);
+  }
+
+  @Test
+  void serializationError_returns_failed_future_without_invoking() {
+    // Sin JavaTimeModule el OffsetDateTime del request no se puede serializar.
+    OrchestratorAsyncClient plain = new OrchestratorAsyncClient(
+        lambdaClient, new ObjectMapper(), FUNCTION_ARN, "RequestResponse", LambdaLogCapture.fixed("Tail"),
+        OrchestratorMetrics.standalone(), AdaptiveConcurrencyLimiter.disabled());
+
+    CompletableFuture<?> out = plain.otpRequest(new OtpRequest("u-1", "5512345678", OffsetDateTime.now()));
+
+    assertThat(out).isCompletedExceptionally();
+    assertThatThrownBy(out::join).hasCauseInstanceOf(OrchestratorClientException.class);
+    verifyNoInteractions(lambdaClient);
+  }
+
+  @Test
+  void sdkFailure_is_wrapped_with_operation_context() {
+    when(lambdaClient.invoke(any(InvokeRequest.class)))
+        .thenReturn(CompletableFuture.failedFuture(new CompletionException(new IllegalStateException("io"))));
+
+    CompletableFuture<?> out = client.otpRequest(new OtpRequest(null, null, null));
+
+    assertThatThrownBy(out::join)
+        .hasCauseInstanceOf(OrchestratorClientException.class)
+        .cause()
+        .hasMessageContaining("op=otpRequest");
+  }
+
+  @Test
+  void invocation_holds_a_limiter_permit_until_the_sdk_completes() {
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(true, 1, 1, 1, 2.0, 0.9, new SimpleMeterRegistry(), System::nanoTime);
+    OrchestratorAsyncClient limited = new OrchestratorAsyncClient(
+        lambdaClient, objectMapper, FUNCTION_ARN, "RequestResponse", LambdaLogCapture.fixed("Tail"),
+        OrchestratorMetrics.standalone(), limiter);
+    CompletableFuture<InvokeResponse> pending = new CompletableFuture<>();
+    when(lambdaClient.invoke(any(InvokeRequest.class)))
+        .thenReturn(pending)
+        .thenReturn(CompletableFuture.failedFuture(TooManyRequestsException.builder().message("Rate").build()));
+
+    CompletableFuture<?> first = limited.mdnValidate(new MdnValidateRequest(null, null, null, null, null));
+    CompletableFuture<?> rejected = limited.mdnValidate(new MdnValidateRequest(null, null, null, null, null));
+
+    assertThat(limiter.inFlight()).isEqualTo(1);
+    assertThatThrownBy(rejected::join).hasCauseInstanceOf(ConcurrencyLimitExceededException.class);
+    verify(lambdaClient, times(1)).invoke(any(InvokeRequest.class));
+
+    pending.complete(InvokeResponse.builder().statusCode(200)
+        .payload(SdkBytes.fromString("{\"status\":\"OK\",\"message\":\"m\",\"data\":{}}", StandardCharsets.UTF_8))
+        .build());
+    assertThat(first).isCompleted();
+    assertThat(limiter.inFlight()).isZero();
+
+    // Un throttle de Lambda también libera el permiso.
+    CompletableFuture<?> throttled = limited.mdnValidate(new MdnValidateRequest(null, null, null, null, null));
+    assertThatThrownBy(throttled::join).hasCauseInstanceOf(TooManyRequestsException.class);
+    assertThat(limiter.inFlight()).isZero();
+  }
+}
@@ -0,0 +1,166 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mx.att.digital.identity.emulator.EmulatorConfig;
+import com.mx.att.digital.identity.emulator.LambdaEmulator;
+import com.mx.att.digital.identity.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** {@link OrchestratorClient} con el SDK real contra el {@link LambdaEmulator}: sin mocks del wire. */
+class OrchestratorClientEmulatorTest {
+
+  private static final String FUNCTION_ARN = "arn:aws:lambda:us-east-1:000000000000:function:emulated";
+  private static final OffsetDateTime NOW = OffsetDateTime.parse("2024-01-01T10:15:30Z");
+
+  private final ObjectMapper mapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  private LambdaEmulator emulator;
+  private LambdaClient lambda;
+
+  @AfterEach
+  void stop() {
+    if (lambda != null) lambda.close();
+    if (emulator != null) emulator.close();
+  }
+
+  @Test
+  void all_operations_round_trip_through_the_sdk() throws IOException {
+    OrchestratorClient client = client("");
+
+    assertThat(client.sessionInit(new SessionInitRequest("u-1", NOW, null)).data().uuid()).isEqualTo("u-1");
+    ApiResponse<MdnValidateData> mdn = client.mdnValidate(new MdnValidateRequest("u-2", NOW, "WEB", "LOGIN", "5512345678"));
+    assertThat(mdn.data().msisdn()).isEqualTo("5512345678");
+    assertThat(mdn.data().isRegistered()).isTrue();
+    assertThat(client.otpRequest(new OtpRequest("u-3", "5512345678", NOW)).status()).isEqualTo("OK");
+    assertThat(client.otpValidate(new OtpValidateRequest("u-4", NOW, "5512345678", "123456")).data().onboardingUrl())
+        .endsWith("/u-4");
+    assertThat(client.otpForward(new OtpForwardRequest("u-5", NOW, "5512345678")).data().uuid()).isEqualTo("u-5");
+    assertThat(emulator.stats().invocations()).isEqualTo(5);
+  }
+
+  @Test
+  void function_error_becomes_orchestrator_client_exception() throws IOException {
+    OrchestratorClient client = client("operation.otpValidate.function-error-rate=1");
+
+    OtpValidateRequest req = new OtpValidateRequest("u-1", NOW, "5512345678", "123456");
+    OrchestratorClientException ex = assertThrows(OrchestratorClientException.class, () -> client.otpValidate(req));
+
+    assertThat(ex.getMessage()).contains("Unhandled", "otpValidate");
+  }
+
+  @Test
+  void throttling_surfaces_as_too_many_requests() throws IOException {
+    OrchestratorClient client = client("default.throttle-rate=1");
+
+    SessionInitRequest req = new SessionInitRequest("u-1", NOW, null);
+    TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> client.sessionInit(req));
+
+    assertThat(ex.statusCode()).isEqualTo(429);
+    assertThat(emulator.stats().throttled()).isEqualTo(1);
+  }
+
+  @Test
+  void tail_report_lines_feed_cold_start_metrics() throws IOException {
+    OrchestratorClient client = client("""
+        cold-start.probability=1
+        cold-start.init-duration=50ms
+        """);
+
+    client.sessionInit(new SessionInitRequest("u-1", NOW, null));
+
+    assertThat(registry.get("identity.lambda.report.samples").tag("operation", "sessionInit").counter().count())
+        .isEqualTo(1.0);
+    assertThat(registry.get("identity.lambda.cold-starts").tag("operation", "sessionInit").counter().count())
+        .isEqualTo(1.0);
+    assertThat(registry.get("identity.lambda.init-duration").tag("operation", "sessionInit").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(50.0);
+  }
+
+  @Test
+  void concurrent_calls_share_one_batch_invocation() throws Exception {
+    MicroBatcher batcher = new MicroBatcher(Set.of(OrchestratorOperation.MDN_VALIDATE), 8, Duration.ofSeconds(1), registry);
+    OrchestratorClient client = client("", batcher);
+
+    List<Future<ApiResponse<MdnValidateData>>> calls = new ArrayList<>();
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 8; i++) {
+        MdnValidateRequest req = new MdnValidateRequest("u-" + i, NOW, "WEB", "LOGIN", "551234567" + i);
+        calls.add(callers.submit(() -> client.mdnValidate(req)));
+      }
+    }
+
+    for (int i = 0; i < 8; i++) {
+      assertThat(calls.get(i).get().data().msisdn()).isEqualTo("551234567" + i);
+      assertThat(calls.get(i).get().data().uuid()).isEqualTo("u-" + i);
+    }
+    assertThat(emulator.stats().invocations()).isEqualTo(1);
+    assertThat(registry.get("identity.orchestrator.batch.flushes").tag("reason", "size").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("identity.orchestrator.batch.invocations-saved").counter().count()).isEqualTo(7.0);
+  }
+
+  private OrchestratorClient client(String overrides) throws IOException {
+    return client(overrides, MicroBatcher.disabled());
+  }
+
+  /** Emulador con 1 ms de latencia y sin arranques en frío salvo {@code overrides}; logs en Tail. */
+  private OrchestratorClient client(String overrides, MicroBatcher batcher) throws IOException {
+    Properties props = new Properties();
+    props.setProperty("port", "0");
+    props.setProperty("cold-start.probability", "0");
+    props.setProperty("default.latency", "1ms");
+    props.load(new StringReader(overrides));
+    emulator = LambdaEmulator.start(EmulatorConfig.from(props));
+
+    lambda = LambdaClient.builder()
+        .region(Region.US_EAST_1)
+        .endpointOverride(emulator.endpoint())
+        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("emulator", "emulator")))
+        .httpClientBuilder(UrlConnectionHttpClient.builder())
+        .overrideConfiguration(c -> c.retryPolicy(RetryPolicy.none()))
+        .build();
+
+    LambdaLogCapture tail = new LambdaLogCapture(
+        LambdaLogCapture.Mode.TAIL, 0, Duration.ZERO, Duration.ZERO, System::nanoTime, Runnable::run, registry);
+    return new OrchestratorClient(
+        lambda,
+        mapper,
+        FUNCTION_ARN,
+        "RequestResponse",
+        tail,
+        HedgedInvoker.disabled(),
+        AdaptiveConcurrencyLimiter.disabled(),
+        batcher,
+        OrchestratorMetrics.standalone());
+  }
+}
@@ -1,16 +1,19 @@
 package com.mx.att.digital.identity.client;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.mx.att.digital.identity.model.ApiResponse;
 import com.mx.att.digital.identity.model.MdnValidateData;
 import com.mx.att.digital.identity.model.MdnValidateRequest;
 import com.mx.att.digital.identity.model.OtpRequest;
-import com.mx.att.digital.identity.model.OtpRequestData;
 import com.mx.att.digital.identity.model.OtpValidateRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.core.SdkBytes;
@@ -18,14 +21,21 @@ import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.lambda.model.InvokeRequest;
 import software.amazon.awssdk.services.lambda.model.InvokeResponse;
 import software.amazon.awssdk.services.lambda.model.LambdaException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
 
 import java.nio.charset.StandardCharsets;
-import java.time.OffsetDateTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,14 +44,21 @@ class OrchestratorClientTest {
   @Mock
   private LambdaClient lambdaClient;
 
-  @Mock
-  private ObjectMapper objectMapper;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
   private OrchestratorClient client;
 
   private static final String FUNCTION_ARN =
       "arn:aws:lambda:us-east-1:123:function:test";
 
+  private static final String MDN_RESPONSE = """
+      {"status":"OK","message":"msg","timestamp":"2024-01-01T10:15:30Z",
+       "data":{"uuid":"u-1","resultCode":"0","resultDesc":"ok","msisdn":"5512345678",
+               "customerType":"POSPAGO","platform":"P1","isRegistered":true,"status":"ACTIVE"}}
+      """;
+
   @BeforeEach
   void setup() {
     client = new OrchestratorClient(
@@ -49,7 +66,11 @@ class OrchestratorClientTest {
         objectMapper,
         FUNCTION_ARN,
         "RequestResponse",
-        "Tail"
+        LambdaLogCapture.fixed("Tail"),
+        HedgedInvoker.disabled(),
+        AdaptiveConcurrencyLimiter.disabled(),
+        MicroBatcher.disabled(),
+        OrchestratorMetrics.standalone()
     );
   }
 
@@ -57,47 +78,56 @@ class OrchestratorClientTest {
   // Flujo exitoso (sube coverage)
   // =========================
   @Test
-  void mdnValidate_success_returns_parsed_response() throws Exception {
-    when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-
+  void mdnValidate_success_returns_parsed_response() {
     InvokeResponse response = InvokeResponse.builder()
         .statusCode(200)
-        .payload(SdkBytes.fromString("{\"status\":\"OK\"}", StandardCharsets.UTF_8))
+        .payload(SdkBytes.fromString(MDN_RESPONSE, StandardCharsets.UTF_8))
         .build();
 
     when(lambdaClient.invoke(any(InvokeRequest.class))).thenReturn(response);
 
-    ApiResponse<MdnValidateData> expected =
-        new ApiResponse<>("OK", "msg", null, OffsetDateTime.now());
-
-    // OJO: no uses eq("{...}") porque el body puede variar (espacios/orden/campos)
-    when(objectMapper.readValue(
-        anyString(),
-        org.mockito.ArgumentMatchers.<TypeReference<ApiResponse<MdnValidateData>>>any()
-    )).thenReturn(expected);
-
     MdnValidateRequest req = new MdnValidateRequest(null, null, null, null, null);
 
     ApiResponse<MdnValidateData> out = client.mdnValidate(req);
 
-    assertThat(out).isSameAs(expected);
+    assertThat(out.status()).isEqualTo("OK");
+    assertThat(out.data()).isInstanceOf(MdnValidateData.class);
+    assertThat(out.data().customerType()).isEqualTo("POSPAGO");
+    assertThat(out.data().isRegistered()).isTrue();
 
-    verify(objectMapper).writeValueAsString(any());
     verify(lambdaClient).invoke(any(InvokeRequest.class));
-    verify(objectMapper).readValue(
-        anyString(),
-        org.mockito.ArgumentMatchers.<TypeReference<ApiResponse<MdnValidateData>>>any()
-    );
-    verifyNoMoreInteractions(lambdaClient, objectMapper);
+    verifyNoMoreInteractions(lambdaClient);
   }
 
   // =========================
-  // LambdaException se propaga
+  // Sobre enviado a Lambda
   // =========================
   @Test
-  void invoke_lambdaException_propagated() throws Exception {
-    when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+  void invoke_sends_operation_envelope_with_request() throws Exception {
+    when(lambdaClient.invoke(any(InvokeRequest.class))).thenReturn(InvokeResponse.builder()
+        .statusCode(200)
+        .payload(SdkBytes.fromString(MDN_RESPONSE, StandardCharsets.UTF_8))
+        .build());
+
+    client.mdnValidate(new MdnValidateRequest("u-1", null, "portal", "WEB", "5512345678"));
+
+    ArgumentCaptor<InvokeRequest> captor = ArgumentCaptor.forClass(InvokeRequest.class);
+    verify(lambdaClient).invoke(captor.capture());
+    InvokeRequest sent = captor.getValue();
+    JsonNode envelope = objectMapper.readTree(sent.payload().asByteArrayUnsafe());
+
+    assertThat(sent.functionName()).isEqualTo(FUNCTION_ARN);
+    assertThat(sent.logTypeAsString()).isEqualTo("Tail");
+    assertThat(envelope.get("operation").asText()).isEqualTo("mdnValidate");
+    assertThat(envelope.get("request").get("uuid").asText()).isEqualTo("u-1");
+    assertThat(envelope.get("request").get("msisdn").asText()).isEqualTo("5512345678");
+  }
 
+  // =========================
+  // LambdaException se propaga
+  // =========================
+  @Test
+  void invoke_lambdaException_propagated() {
     when(lambdaClient.invoke(any(InvokeRequest.class)))
         .thenThrow(LambdaException.builder().message("AWS error").build());
 
@@ -105,18 +135,15 @@ class OrchestratorClientTest {
 
     assertThrows(LambdaException.class, () -> client.mdnValidate(req));
 
-    verify(objectMapper).writeValueAsString(any());
     verify(lambdaClient).invoke(any(InvokeRequest.class));
-    verifyNoMoreInteractions(lambdaClient, objectMapper);
+    verifyNoMoreInteractions(lambdaClient);
   }
 
   // =========================
   // Lambda functionError -> RuntimeException
   // =========================
   @Test
-  void invoke_functionError_throwsRuntimeException() throws Exception {
-    when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-
+  void invoke_functionError_throwsRuntimeException() {
     InvokeResponse response = InvokeResponse.builder()
         .statusCode(200)
         .functionError("Unhandled")
@@ -129,18 +156,15 @@ class OrchestratorClientTest {
 
     assertThrows(RuntimeException.class, () -> client.otpRequest(req));
 
-    verify(objectMapper).writeValueAsString(any());
     verify(lambdaClient).invoke(any(InvokeRequest.class));
-    verifyNoMoreInteractions(lambdaClient, objectMapper);
+    verifyNoMoreInteractions(lambdaClient);
   }
 
   // =========================
   // Payload vacío -> RuntimeException
   // =========================
   @Test
-  void invoke_emptyPayload_throwsRuntimeException() throws Exception {
-    when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-
+  void invoke_emptyPayload_throwsRuntimeException() {
     InvokeResponse response = InvokeResponse.builder()
         .statusCode(200)
         .payload(SdkBytes.fromString("", StandardCharsets.UTF_8))
@@ -152,40 +176,152 @@ class OrchestratorClientTest {
 
     assertThrows(RuntimeException.class, () -> client.otpValidate(req));
 
-    verify(objectMapper).writeValueAsString(any());
     verify(lambdaClient).invoke(any(InvokeRequest.class));
-    verifyNoMoreInteractions(lambdaClient, objectMapper);
+    verifyNoMoreInteractions(lambdaClient);
   }
 
   // =========================
   // Error de parseo -> RuntimeException
   // =========================
   @Test
-  void invoke_parseError_throwsRuntimeException() throws Exception {
-    when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-
+  void invoke_parseError_throwsRuntimeException() {
     InvokeResponse response = InvokeResponse.builder()
         .statusCode(200)
-        .payload(SdkBytes.fromString("{\"bad\":true}", StandardCharsets.UTF_8))
+        .payload(SdkBytes.fromString("{\"bad\":", StandardCharsets.UTF_8))
         .build();
 
     when(lambdaClient.invoke(any(InvokeRequest.class))).thenReturn(response);
 
-    when(objectMapper.readValue(
-        anyString(),
-        org.mockito.ArgumentMatchers.<TypeReference<ApiResponse<OtpRequestData>>>any()
-    )).thenThrow(new IllegalArgumentException("boom"));
-
     OtpRequest req = new OtpRequest(null, null, null);
 
     assertThrows(RuntimeException.class, () -> client.otpRequest(req));
 
-    verify(objectMapper).writeValueAsString(any());
     verify(lambdaClient).invoke(any(InvokeRequest.class));
-    verify(objectMapper).readValue(
-        anyString(),
-        org.mockito.ArgumentMatchers.<TypeReference<ApiResponse<OtpRequestData>>>any()
-    );
-    verifyNoMoreInteractions(lambdaClient, objectMapper);
+    verifyNoMoreInteractions(lambdaClient);
+  }
+
+  // =========================
+  // Throttle de Lambda -> reduce el límite adaptativo
+  // =========================
+  @Test
+  void invoke_throttled_shrinks_concurrency_limit_and_releases_permit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+        true, 8, 1, 16, 2.0, 0.9, new SimpleMeterRegistry(), System::nanoTime);
+    OrchestratorClient limited = new OrchestratorClient(lambdaClient, objectMapper, FUNCTION_ARN, "RequestResponse",
+        LambdaLogCapture.fixed("None"), HedgedInvoker.disabled(), limiter, MicroBatcher.disabled(), OrchestratorMetrics.standalone());
+    when(lambdaClient.invoke(any(InvokeRequest.class)))
+        .thenThrow(TooManyRequestsException.builder().message("Rate exceeded").build());
+
+    MdnValidateRequest req = new MdnValidateRequest(null, null, null, null, null);
+
+    assertThrows(TooManyRequestsException.class, () -> limited.mdnValidate(req));
+    assertThat(limiter.limit()).isEqualTo(4);
+    assertThat(limiter.inFlight()).isZero();
+  }
+
+  // =========================
+  // Hedging -> cada intento toma su propio permiso del límite adaptativo
+  // =========================
+  @Test
+  void hedge_attempt_takes_its_own_concurrency_permit() throws Exception {
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+          true, 8, 1, 16, 2.0, 0.9, new SimpleMeterRegistry(), System::nanoTime);
+      HedgedInvoker hedging = new HedgedInvoker(Set.of(OrchestratorOperation.MDN_VALIDATE), 0.95, 100,
+          Duration.ofMillis(20), new SimpleMeterRegistry(), executor);
+      for (int i = 0; i < HedgedInvoker.MIN_SAMPLES; i++) {
+        hedging.invoke(OrchestratorOperation.MDN_VALIDATE, () -> InvokeResponse.builder().build());
+      }
+      OrchestratorClient hedged = new OrchestratorClient(lambdaClient, objectMapper, FUNCTION_ARN, "RequestResponse",
+          LambdaLogCapture.fixed("None"), hedging, limiter, MicroBatcher.disabled(), OrchestratorMetrics.standalone());
+      AtomicInteger attempts = new AtomicInteger();
+      AtomicInteger inFlightAtHedge = new AtomicInteger();
+      when(lambdaClient.invoke(any(InvokeRequest.class))).thenAnswer(inv -> {
+        if (attempts.incrementAndGet() == 1) {
+          Thread.sleep(5_000);
+        }
+        inFlightAtHedge.set(limiter.inFlight());
+        return InvokeResponse.builder().statusCode(200).payload(SdkBytes.fromUtf8String(MDN_RESPONSE)).build();
+      });
+
+      ApiResponse<MdnValidateData> out = hedged.mdnValidate(new MdnValidateRequest(null, null, null, null, null));
+
+      assertThat(out.data().msisdn()).isEqualTo("5512345678");
+      assertThat(inFlightAtHedge).hasValue(2);
+      long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+      while (limiter.inFlight() > 0 && System.nanoTime() < deadline) Thread.sleep(5);
+      assertThat(limiter.inFlight()).isZero();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  // =========================
+  // Micro-batching: un sobre con requests[], una respuesta por elemento
+  // =========================
+  @Test
+  void micro_batch_sends_one_envelope_and_demultiplexes_item_results() throws Exception {
+    OrchestratorClient batching = new OrchestratorClient(lambdaClient, objectMapper, FUNCTION_ARN, "RequestResponse",
+        LambdaLogCapture.fixed("None"), HedgedInvoker.disabled(), AdaptiveConcurrencyLimiter.disabled(),
+        new MicroBatcher(Set.of(OrchestratorOperation.MDN_VALIDATE), 2, Duration.ofSeconds(30), new SimpleMeterRegistry()),
+        OrchestratorMetrics.standalone());
+    when(lambdaClient.invoke(any(InvokeRequest.class))).thenAnswer(inv -> {
+      JsonNode envelope = objectMapper.readTree(inv.<InvokeRequest>getArgument(0).payload().asByteArrayUnsafe());
+      StringBuilder responses = new StringBuilder("{\"responses\":[");
+      for (JsonNode req : envelope.path("requests")) {
+        if (responses.charAt(responses.length() - 1) != '[') responses.append(',');
+        responses.append("0000000000".equals(req.path("msisdn").asText())
+            ? "{\"error\":{\"errorType\":\"InvalidMsisdn\",\"errorMessage\":\"no existe\"}}"
+            : MDN_RESPONSE.replace("5512345678", req.path("msisdn").asText()));
+      }
+      return InvokeResponse.builder().statusCode(200)
+          .payload(SdkBytes.fromString(responses.append("]}").toString(), StandardCharsets.UTF_8)).build();
+    });
+
+    Future<ApiResponse<MdnValidateData>> ok;
+    Future<ApiResponse<MdnValidateData>> failed;
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      ok = callers.submit(() -> batching.mdnValidate(new MdnValidateRequest("u-1", null, "WEB", "LOGIN", "5587654321")));
+      failed = callers.submit(() -> batching.mdnValidate(new MdnValidateRequest("u-2", null, "WEB", "LOGIN", "0000000000")));
+    }
+
+    assertThat(ok.get().data().msisdn()).isEqualTo("5587654321");
+    ExecutionException ex = assertThrows(ExecutionException.class, failed::get);
+    assertThat(ex.getCause()).isInstanceOf(OrchestratorClientException.class)
+        .hasMessageContaining("InvalidMsisdn").hasMessageContaining("mdnValidate");
+
+    ArgumentCaptor<InvokeRequest> captor = ArgumentCaptor.forClass(InvokeRequest.class);
+    verify(lambdaClient, times(1)).invoke(captor.capture());
+    JsonNode envelope = objectMapper.readTree(captor.getValue().payload().asByteArrayUnsafe());
+    assertThat(envelope.path("operation").asText()).isEqualTo("mdnValidate");
+    assertThat(envelope.has("request")).isFalse();
+    assertThat(envelope.path("requests").size()).isEqualTo(2);
+  }
+
+  @Test
+  void micro_batch_function_error_fails_the_whole_batch() {
+    OrchestratorClient batching = new OrchestratorClient(lambdaClient, objectMapper, FUNCTION_ARN, "RequestResponse",
+        LambdaLogCapture.fixed("None"), HedgedInvoker.disabled(), AdaptiveConcurrencyLimiter.disabled(),
+        new MicroBatcher(Set.of(OrchestratorOperation.MDN_VALIDATE), 2, Duration.ofSeconds(30), new SimpleMeterRegistry()),
+        OrchestratorMetrics.standalone());
+    when(lambdaClient.invoke(any(InvokeRequest.class))).thenReturn(InvokeResponse.builder()
+        .statusCode(200)
+        .functionError("Unhandled")
+        .payload(SdkBytes.fromString("{\"errorMessage\":\"boom\"}", StandardCharsets.UTF_8))
+        .build());
+
+    Future<ApiResponse<MdnValidateData>> first;
+    Future<ApiResponse<MdnValidateData>> second;
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      first = callers.submit(() -> batching.mdnValidate(new MdnValidateRequest("u-1", null, "WEB", "LOGIN", "5500000001")));
+      second = callers.submit(() -> batching.mdnValidate(new MdnValidateRequest("u-2", null, "WEB", "LOGIN", "5500000002")));
+    }
+
+    for (Future<ApiResponse<MdnValidateData>> call : List.of(first, second)) {
+      ExecutionException ex = assertThrows(ExecutionException.class, call::get);
+      assertThat(ex.getCause()).isInstanceOf(OrchestratorClientException.class).hasMessageContaining("Unhandled");
+    }
+    verify(lambdaClient, times(1)).invoke(any(InvokeRequest.class));
   }
 }
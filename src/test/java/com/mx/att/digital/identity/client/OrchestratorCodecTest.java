@@ -0,0 +1,199 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.MdnValidateData;
+import com.mx.att.digital.identity.model.MdnValidateRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrchestratorCodecTest {
+
+  private static final String FUNCTION_ARN = "arn:aws:lambda:us-east-1:123:function:test";
+
+  private final ObjectMapper mapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final OrchestratorCodec codec = new OrchestratorCodec(
+      mapper, FUNCTION_ARN, "RequestResponse", LambdaLogCapture.fixed("Tail"), new OrchestratorMetrics(registry));
+
+  private final MdnValidateRequest request = new MdnValidateRequest(
+      "2f1c0b7e-8d4a-4c55-9f0e-1a2b3c4d5e6f",
+      OffsetDateTime.parse("2024-01-01T10:15:30Z"),
+      "portal",
+      "WEB",
+      "5512345678"
+  );
+
+  @Test
+  void encode_matches_legacy_map_envelope() throws Exception {
+    SdkBytes streamed = codec.encode(OrchestratorOperation.MDN_VALIDATE, request);
+
+    assertThat(mapper.readTree(streamed.asByteArrayUnsafe())).isEqualTo(mapper.readTree(legacy(request).asByteArrayUnsafe()));
+  }
+
+  @Test
+  void encode_null_request_writes_json_null() throws Exception {
+    JsonNode envelope = mapper.readTree(codec.encode(OrchestratorOperation.OTP_REQUEST, null).asByteArrayUnsafe());
+
+    assertThat(envelope.get("operation").asText()).isEqualTo("otpRequest");
+    assertThat(envelope.get("request").isNull()).isTrue();
+  }
+
+  @Test
+  void buildRequest_sets_function_and_log_type() {
+    InvokeRequest req = codec.buildRequest(OrchestratorOperation.SESSION_INIT, null);
+
+    assertThat(req.functionName()).isEqualTo(FUNCTION_ARN);
+    assertThat(req.invocationTypeAsString()).isEqualTo("RequestResponse");
+    assertThat(req.logTypeAsString()).isEqualTo("Tail");
+  }
+
+  private static final String MDN_RESPONSE = """
+      {"status":"OK","message":"msg","timestamp":"2024-01-01T10:15:30Z",
+       "data":{"uuid":"u-1","resultCode":"0","resultDesc":"ok","msisdn":"5512345678",
+               "customerType":"POSPAGO","platform":"P1","isRegistered":true,"status":"ACTIVE"}}
+      """;
+
+  @Test
+  void readResponse_decodes_typed_data_from_bytes() throws Exception {
+    ApiResponse<MdnValidateData> out = codec.readResponse(response(MDN_RESPONSE), OrchestratorOperation.MDN_VALIDATE, 0L);
+
+    assertThat(out.status()).isEqualTo("OK");
+    assertThat(out.data()).isInstanceOf(MdnValidateData.class);
+    assertThat(out.data().msisdn()).isEqualTo("5512345678");
+    assertThat(out.timestamp()).isEqualTo(OffsetDateTime.parse("2024-01-01T10:15:30Z"));
+  }
+
+  @Test
+  void readResponse_whitespace_only_body_is_empty_response() {
+    assertThatThrownBy(() -> codec.readResponse(response(" \r\n\t "), OrchestratorOperation.OTP_VALIDATE, 0L))
+        .isInstanceOf(OrchestratorClientException.class)
+        .hasMessageContaining("Respuesta vacía")
+        .hasMessageContaining("otpValidate");
+  }
+
+  @Test
+  void readResponse_json_null_body_is_parse_error() {
+    assertThatThrownBy(() -> codec.readResponse(response("null"), OrchestratorOperation.OTP_REQUEST, 0L))
+        .isInstanceOf(OrchestratorClientException.class)
+        .hasMessageContaining("No se pudo parsear");
+  }
+
+  @Test
+  void every_stage_is_recorded_per_operation() throws Exception {
+    SdkBytes sent = codec.encode(OrchestratorOperation.MDN_VALIDATE, request);
+    codec.readResponse(response(MDN_RESPONSE), OrchestratorOperation.MDN_VALIDATE, 7_000_000L);
+
+    assertThat(registry.get("identity.orchestrator.serialize").tag("operation", "mdnValidate").timer().count()).isEqualTo(1);
+    assertThat(registry.get("identity.orchestrator.request.bytes").tag("operation", "mdnValidate").summary().totalAmount())
+        .isEqualTo(sent.asByteArrayUnsafe().length);
+    assertThat(registry.get("identity.orchestrator.invoke").tag("operation", "mdnValidate").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(7.0);
+    assertThat(registry.get("identity.orchestrator.response.bytes").tag("operation", "mdnValidate").summary().totalAmount())
+        .isEqualTo(MDN_RESPONSE.getBytes(StandardCharsets.UTF_8).length);
+    assertThat(registry.get("identity.orchestrator.decode").tag("operation", "mdnValidate").timer().count()).isEqualTo(1);
+    assertThat(registry.get("identity.orchestrator.decode").tag("operation", "otpRequest").timer().count()).isZero();
+  }
+
+  @Test
+  void hedged_call_measures_report_overhead_against_the_winning_attempt() throws Exception {
+    LambdaLogCapture capture = new LambdaLogCapture(LambdaLogCapture.Mode.TAIL, 0, Duration.ZERO, Duration.ZERO,
+        System::nanoTime, Runnable::run, registry);
+    OrchestratorCodec tailing = new OrchestratorCodec(mapper, FUNCTION_ARN, "RequestResponse", capture,
+        new OrchestratorMetrics(registry));
+    String report = "REPORT RequestId: 1\tDuration: 40.00 ms\tBilled Duration: 41 ms\tMemory Size: 512 MB"
+        + "\tMax Memory Used: 80 MB\t\n";
+    InvokeResponse resp = response(MDN_RESPONSE).toBuilder()
+        .logResult(Base64.getEncoder().encodeToString(report.getBytes(StandardCharsets.UTF_8)))
+        .build();
+
+    // Llamada de 300 ms; el hedge que ganó tardó 50 ms.
+    tailing.readResponse(resp, OrchestratorOperation.MDN_VALIDATE, 300_000_000L, 50_000_000L);
+
+    assertThat(registry.get("identity.orchestrator.invoke").tag("operation", "mdnValidate").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(300.0);
+    assertThat(registry.get("identity.lambda.overhead").tag("operation", "mdnValidate").timer()
+        .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10.0);
+  }
+
+  @Test
+  void function_errors_and_empty_responses_are_counted() {
+    InvokeResponse unhandled = InvokeResponse.builder().statusCode(200).functionError("Unhandled")
+        .payload(SdkBytes.fromUtf8String("{}")).build();
+
+    assertThatThrownBy(() -> codec.readResponse(unhandled, OrchestratorOperation.OTP_REQUEST, 0L))
+        .isInstanceOf(OrchestratorClientException.class);
+    assertThatThrownBy(() -> codec.readResponse(response(""), OrchestratorOperation.OTP_REQUEST, 0L))
+        .isInstanceOf(OrchestratorClientException.class);
+
+    assertThat(registry.get("identity.orchestrator.function-errors")
+        .tag("operation", "otpRequest").tag("type", "Unhandled").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("identity.orchestrator.empty-responses")
+        .tag("operation", "otpRequest").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("identity.orchestrator.invoke").tag("operation", "otpRequest").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  void isBlank_only_accepts_json_whitespace() {
+    assertThat(OrchestratorCodec.isBlank(new byte[0])).isTrue();
+    assertThat(OrchestratorCodec.isBlank(" \t\r\n".getBytes(StandardCharsets.UTF_8))).isTrue();
+    assertThat(OrchestratorCodec.isBlank(" {} ".getBytes(StandardCharsets.UTF_8))).isFalse();
+  }
+
+  @Test
+  void readResponse_matches_string_decoding() throws Exception {
+    InvokeResponse resp = response(MDN_RESPONSE);
+
+    ApiResponse<MdnValidateData> out = codec.readResponse(resp, OrchestratorOperation.MDN_VALIDATE, 0L);
+
+    assertThat(out).isEqualTo(legacyRead(resp));
+  }
+
+  /** Lectura tal como se hacía antes: String intermedio + TypeReference anónimo por llamada. */
+  private ApiResponse<MdnValidateData> legacyRead(InvokeResponse resp) throws Exception {
+    String body = resp.payload().asUtf8String();
+    if (body.isBlank()) throw new IllegalStateException();
+    return mapper.readValue(body, new TypeReference<>() {});
+  }
+
+  private static InvokeResponse response(String body) {
+    return InvokeResponse.builder()
+        .statusCode(200)
+        .payload(SdkBytes.fromString(body, StandardCharsets.UTF_8))
+        .build();
+  }
+
+  /** Sobre tal como se construía antes: Map + String intermedio + copia a UTF-8. */
+  private SdkBytes legacy(Object req) {
+    try {
+      Map<String, Object> payload = new HashMap<>();
+      payload.put("operation", "mdnValidate");
+      payload.put("request", req);
+      return SdkBytes.fromString(mapper.writeValueAsString(payload), StandardCharsets.UTF_8);
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.mx.att.digital.identity.client;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrchestratorMetricsTest {
+
+  private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+  private final OrchestratorMetrics metrics = new OrchestratorMetrics(registry);
+
+  @Test
+  void sdk_errors_are_tagged_with_aws_error_code_or_exception_class() {
+    TooManyRequestsException throttled = TooManyRequestsException.builder()
+        .awsErrorDetails(AwsErrorDetails.builder().errorCode("TooManyRequestsException").build())
+        .build();
+
+    metrics.sdkError(OrchestratorOperation.SESSION_INIT, throttled);
+    metrics.sdkError(OrchestratorOperation.SESSION_INIT, SdkClientException.create("timeout"));
+
+    assertThat(registry.get("identity.orchestrator.sdk-errors")
+        .tag("operation", "sessionInit").tag("code", "TooManyRequestsException").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("identity.orchestrator.sdk-errors")
+        .tag("operation", "sessionInit").tag("code", "SdkClientException").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void stage_timers_publish_prometheus_histogram_buckets() {
+    metrics.serialized(OrchestratorOperation.MDN_VALIDATE, 150_000, 240);
+    metrics.invoked(OrchestratorOperation.MDN_VALIDATE, 45_000_000, 512);
+    metrics.decoded(OrchestratorOperation.MDN_VALIDATE, 80_000);
+
+    String scrape = registry.scrape();
+
+    assertThat(scrape)
+        .contains("identity_orchestrator_invoke_seconds_bucket{")
+        .contains("identity_orchestrator_serialize_seconds_bucket{")
+        .contains("identity_orchestrator_decode_seconds_bucket{")
+        .contains("identity_orchestrator_response_bytes_bucket{")
+        .contains("operation=\"mdnValidate\"");
+  }
+}
@@ -0,0 +1,118 @@
+package com.mx.att.digital.identity.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mx.att.digital.identity.config.WarmUpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvocationType;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrchestratorWarmUpTest {
+
+  private static final String ARN = "arn:aws:lambda:us-east-1:123:function:test";
+
+  private final LambdaClient lambda = mock(LambdaClient.class);
+  private final AwsCredentialsProvider credentials = mock(AwsCredentialsProvider.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ObjectMapper mapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+  private OrchestratorWarmUp warmUp(int iterations, int connections, Duration timeout) {
+    OrchestratorClient client = new OrchestratorClient(lambda, mapper, ARN, "RequestResponse",
+        LambdaLogCapture.fixed("None"), HedgedInvoker.disabled(), AdaptiveConcurrencyLimiter.disabled(), MicroBatcher.disabled(),
+        OrchestratorMetrics.standalone());
+    return new OrchestratorWarmUp(lambda, credentials, ARN, client, mapper, validator,
+        new WarmUpProperties(true, iterations, connections, timeout), registry);
+  }
+
+  private long runs(String outcome) {
+    return registry.get("identity.warm-up.duration").tag("outcome", outcome).timer().count();
+  }
+
+  @Test
+  void samples_of_every_operation_deserialize_validate_and_round_trip() throws Exception {
+    assertThat(warmUp(3, 0, Duration.ofSeconds(5)).trainHotPath())
+        .isEqualTo(3 * OrchestratorOperation.values().length);
+  }
+
+  @Test
+  void resolves_credentials_and_opens_connections_with_dry_runs() {
+    when(credentials.resolveCredentials()).thenReturn(AwsBasicCredentials.create("a", "b"));
+    when(lambda.invoke(any(InvokeRequest.class))).thenReturn(InvokeResponse.builder().statusCode(204).build());
+
+    warmUp(10, 3, Duration.ofSeconds(5)).run(null);
+
+    ArgumentCaptor<InvokeRequest> captor = ArgumentCaptor.forClass(InvokeRequest.class);
+    verify(lambda, times(3)).invoke(captor.capture());
+    assertThat(captor.getAllValues()).allSatisfy(req -> {
+      assertThat(req.invocationType()).isEqualTo(InvocationType.DRY_RUN);
+      assertThat(req.functionName()).isEqualTo(ARN);
+      assertThat(req.payload()).isNull();
+    });
+    assertThat(runs("completed")).isEqualTo(1);
+  }
+
+  @Test
+  void without_credentials_skips_dry_runs_but_still_trains() {
+    when(credentials.resolveCredentials()).thenThrow(SdkClientException.create("sin credenciales"));
+
+    warmUp(10, 3, Duration.ofSeconds(5)).run(null);
+
+    verify(lambda, never()).invoke(any(InvokeRequest.class));
+    assertThat(runs("completed")).isEqualTo(1);
+  }
+
+  @Test
+  void failed_dry_runs_do_not_fail_the_warm_up() {
+    when(credentials.resolveCredentials()).thenReturn(AwsBasicCredentials.create("a", "b"));
+    when(lambda.invoke(any(InvokeRequest.class))).thenThrow(SdkClientException.create("sin red"));
+
+    warmUp(10, 2, Duration.ofSeconds(5)).run(null);
+
+    assertThat(runs("completed")).isEqualTo(1);
+  }
+
+  @Test
+  void hung_connection_is_abandoned_at_timeout() {
+    when(credentials.resolveCredentials()).thenReturn(AwsBasicCredentials.create("a", "b"));
+    when(lambda.invoke(any(InvokeRequest.class))).thenAnswer(inv -> {
+      Thread.sleep(10_000);
+      return InvokeResponse.builder().statusCode(204).build();
+    });
+
+    long start = System.nanoTime();
+    warmUp(10, 1, Duration.ofMillis(200)).run(null);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    assertThat(runs("timeout")).isEqualTo(1);
+  }
+
+  @Test
+  void negative_settings_are_rejected() {
+    assertThatThrownBy(() -> warmUp(-1, 0, Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
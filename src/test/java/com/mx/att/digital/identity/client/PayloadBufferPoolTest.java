@@ -0,0 +1,48 @@
+package com.mx.att.digital.identity.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadBufferPoolTest {
+
+  @Test
+  void released_buffer_is_reused_and_reset() {
+    PayloadBufferPool pool = new PayloadBufferPool(2, 16, 1024);
+
+    PayloadBufferPool.Buffer first = pool.acquire();
+    first.write(new byte[] {1, 2, 3}, 0, 3);
+    first.close();
+    assertThat(pool.pooledCount()).isEqualTo(1);
+
+    PayloadBufferPool.Buffer second = pool.acquire();
+    assertThat(second).isSameAs(first);
+    assertThat(second.size()).isZero();
+    assertThat(pool.pooledCount()).isZero();
+  }
+
+  @Test
+  void toByteArray_returns_exact_copy_after_growth() {
+    PayloadBufferPool pool = new PayloadBufferPool(1, 4, 1024);
+    try (PayloadBufferPool.Buffer buf = pool.acquire()) {
+      for (int i = 0; i < 10; i++) buf.write(i);
+      assertThat(buf.toByteArray()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+  }
+
+  @Test
+  void pool_is_bounded_and_drops_oversized_buffers() {
+    PayloadBufferPool pool = new PayloadBufferPool(1, 4, 8);
+
+    PayloadBufferPool.Buffer big = pool.acquire();
+    big.write(new byte[64], 0, 64);
+    big.close();
+    assertThat(pool.pooledCount()).isZero();
+
+    PayloadBufferPool.Buffer a = pool.acquire();
+    PayloadBufferPool.Buffer b = pool.acquire();
+    a.close();
+    b.close();
+    assertThat(pool.pooledCount()).isEqualTo(1);
+  }
+}
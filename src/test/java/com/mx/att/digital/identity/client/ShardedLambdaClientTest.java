@@ -0,0 +1,65 @@
+package com.mx.att.digital.identity.client;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ShardedLambdaClientTest {
+
+  @Test
+  void invoke_spreads_calls_across_all_shards() {
+    LambdaClient a = mock(LambdaClient.class);
+    LambdaClient b = mock(LambdaClient.class);
+    InvokeResponse resp = InvokeResponse.builder().statusCode(200).build();
+    when(a.invoke(any(InvokeRequest.class))).thenReturn(resp);
+    when(b.invoke(any(InvokeRequest.class))).thenReturn(resp);
+
+    ShardedLambdaClient client = new ShardedLambdaClient(List.of(a, b));
+    InvokeRequest req = InvokeRequest.builder().build();
+    for (int i = 0; i < 200; i++) {
+      assertThat(client.invoke(req)).isSameAs(resp);
+    }
+
+    verify(a, atLeastOnce()).invoke(req);
+    verify(b, atLeastOnce()).invoke(req);
+    assertThat(client.shardCount()).isEqualTo(2);
+  }
+
+  @Test
+  void close_closes_every_shard_even_if_one_fails() {
+    LambdaClient a = mock(LambdaClient.class);
+    LambdaClient b = mock(LambdaClient.class);
+    doThrow(new IllegalStateException("boom")).when(a).close();
+
+    ShardedLambdaClient client = new ShardedLambdaClient(List.of(a, b));
+
+    assertThatThrownBy(client::close).isInstanceOf(IllegalStateException.class);
+    verify(b).close();
+  }
+
+  @Test
+  void metadata_comes_from_first_shard() {
+    LambdaClient a = mock(LambdaClient.class);
+    when(a.serviceName()).thenReturn("lambda");
+
+    ShardedLambdaClient client = new ShardedLambdaClient(List.of(a));
+
+    assertThat(client.serviceName()).isEqualTo("lambda");
+    client.serviceClientConfiguration();
+    verify(a).serviceClientConfiguration();
+  }
+
+  @Test
+  void requires_at_least_one_shard() {
+    List<LambdaClient> none = List.of();
+    assertThatThrownBy(() -> new ShardedLambdaClient(none)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -1,13 +1,18 @@
 package com.mx.att.digital.identity.config;
 
+import com.mx.att.digital.identity.client.ShardedLambdaClient;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 
+import java.time.Duration;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -50,11 +55,63 @@ class AwsLambdaConfigTest {
   void lambdaClient_endpoint_override_variants(String endpointOverride) {
     AwsCredentialsProvider provider = config.awsCredentialsProvider("static", "ak", "sk");
 
-    try (LambdaClient client = config.lambdaClient(provider, "us-east-1", endpointOverride)) {
+    try (LambdaClient client = config.lambdaClient(provider, "us-east-1", endpointOverride, LambdaHttpClientProperties.defaults())) {
       assertThat(client).isNotNull();
     }
   }
 
+  @ParameterizedTest
+  @MethodSource("endpointOverrides")
+  void lambdaAsyncClient_endpoint_override_variants(String endpointOverride) {
+    AwsCredentialsProvider provider = config.awsCredentialsProvider("static", "ak", "sk");
+
+    try (LambdaAsyncClient client = config.lambdaAsyncClient(provider, "us-east-1", endpointOverride, LambdaHttpClientProperties.defaults())) {
+      assertThat(client).isNotNull();
+    }
+  }
+
+  // === transportes HTTP seleccionables ===
+  @ParameterizedTest
+  @EnumSource(LambdaHttpClientProperties.SyncTransport.class)
+  void lambdaClient_builds_with_each_sync_transport(LambdaHttpClientProperties.SyncTransport transport) {
+    AwsCredentialsProvider provider = config.awsCredentialsProvider("static", "ak", "sk");
+
+    try (LambdaClient client = config.lambdaClient(provider, "us-east-1", "", http(transport, null, 1))) {
+      assertThat(client).isNotNull().isNotInstanceOf(ShardedLambdaClient.class);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(LambdaHttpClientProperties.AsyncTransport.class)
+  void lambdaAsyncClient_builds_with_each_async_transport(LambdaHttpClientProperties.AsyncTransport transport) {
+    AwsCredentialsProvider provider = config.awsCredentialsProvider("static", "ak", "sk");
+
+    try (LambdaAsyncClient client = config.lambdaAsyncClient(provider, "us-east-1", "", http(null, transport, 1))) {
+      assertThat(client).isNotNull();
+    }
+  }
+
+  @Test
+  void lambdaClient_with_shards_builds_sharded_client() {
+    AwsCredentialsProvider provider = config.awsCredentialsProvider("static", "ak", "sk");
+
+    try (LambdaClient client = config.lambdaClient(provider, "us-east-1", "", http(null, null, 3))) {
+      assertThat(client).isInstanceOf(ShardedLambdaClient.class);
+      assertThat(((ShardedLambdaClient) client).shardCount()).isEqualTo(3);
+    }
+  }
+
+  private static LambdaHttpClientProperties http(
+      LambdaHttpClientProperties.SyncTransport sync,
+      LambdaHttpClientProperties.AsyncTransport async,
+      int shards
+  ) {
+    return new LambdaHttpClientProperties(
+        sync, async, 12, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(5),
+        true, Duration.ofSeconds(30), Duration.ofSeconds(30), true, Duration.ofMinutes(5), shards
+    );
+  }
+
   // record para mantener los parámetros del test claros y tipados
   record CredentialsCase(
       String mode,
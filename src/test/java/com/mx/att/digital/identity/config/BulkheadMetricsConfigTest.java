@@ -0,0 +1,41 @@
+package com.mx.att.digital.identity.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadMetricsConfigTest {
+
+  private final MeterRegistry meters = new SimpleMeterRegistry();
+  private final BulkheadMetricsConfig config = new BulkheadMetricsConfig();
+
+  @Test
+  void semaphore_rejection_is_counted_per_bulkhead_and_immediate() {
+    BulkheadRegistry registry = BulkheadRegistry.of(
+        BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build(),
+        config.bulkheadRejectionMetrics(meters));
+    Bulkhead otpValidate = registry.bulkhead("otpValidate");
+    registry.bulkhead("mdnValidate");
+
+    assertThat(otpValidate.tryAcquirePermission()).isTrue();
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> otpValidate.executeSupplier(() -> "x")).isInstanceOf(BulkheadFullException.class);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+
+    assertThat(rejected("otpValidate", "semaphore")).isEqualTo(1.0);
+    assertThat(rejected("mdnValidate", "semaphore")).isZero();
+  }
+
+  private double rejected(String name, String type) {
+    return meters.get(BulkheadMetricsConfig.REJECTED).tag("name", name).tag("type", type).counter().count();
+  }
+}
@@ -1,5 +1,6 @@
 package com.mx.att.digital.identity.config;
 
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.mx.att.digital.identity.config.JacksonConfig;
@@ -48,6 +49,20 @@ class JacksonConfigTest {
         ).isFalse();
     }
 
+    @Test
+    void platform_threads_keep_default_recycler_pool() {
+        assertThat(objectMapper.getFactory()._getRecyclerPool())
+                .isNotSameAs(JsonRecyclerPools.sharedLockFreePool());
+    }
+
+    @Test
+    void virtual_threads_use_shared_lock_free_recycler_pool() {
+        ObjectMapper vtMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json(), true);
+
+        assertThat(vtMapper.getFactory()._getRecyclerPool())
+                .isSameAs(JsonRecyclerPools.sharedLockFreePool());
+    }
+
     @Configuration
     static class TestConfig {
 
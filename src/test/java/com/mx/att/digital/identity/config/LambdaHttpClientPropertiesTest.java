@@ -0,0 +1,48 @@
+package com.mx.att.digital.identity.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LambdaHttpClientPropertiesTest {
+
+  @Test
+  void defaults_match_sdk_apache_defaults() {
+    LambdaHttpClientProperties p = LambdaHttpClientProperties.defaults();
+
+    assertThat(p.syncClient()).isEqualTo(LambdaHttpClientProperties.SyncTransport.APACHE);
+    assertThat(p.asyncClient()).isEqualTo(LambdaHttpClientProperties.AsyncTransport.NETTY);
+    assertThat(p.maxConnections()).isEqualTo(50);
+    assertThat(p.connectionTimeToLive()).isEqualTo(Duration.ZERO);
+    assertThat(p.useIdleConnectionReaper()).isTrue();
+    assertThat(p.tcpKeepAlive()).isFalse();
+    assertThat(p.shards()).isEqualTo(1);
+  }
+
+  @Test
+  void max_connections_are_split_across_shards_rounding_up() {
+    LambdaHttpClientProperties p = new LambdaHttpClientProperties(
+        null, null, 50, null, null, null, null, null, null, null, null, 4);
+
+    assertThat(p.maxConnectionsPerShard()).isEqualTo(13);
+  }
+
+  @Test
+  void non_positive_shards_fall_back_to_single_pool() {
+    LambdaHttpClientProperties p = new LambdaHttpClientProperties(
+        null, null, null, null, null, null, null, null, null, null, null, 0);
+
+    assertThat(p.shards()).isEqualTo(1);
+    assertThat(p.maxConnectionsPerShard()).isEqualTo(50);
+  }
+
+  @Test
+  void non_positive_max_connections_is_rejected() {
+    assertThatThrownBy(() -> new LambdaHttpClientProperties(
+        null, null, 0, null, null, null, null, null, null, null, null, null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,50 @@
+package com.mx.att.digital.identity.config;
+
+import com.mx.att.digital.identity.client.BoundedLambdaClient;
+import com.mx.att.digital.identity.metrics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadConfigTest {
+
+  private final ApplicationContextRunner runner = new ApplicationContextRunner()
+      // @Value con Duration requiere el ConversionService de Boot (como en la app real)
+      .withInitializer(ctx -> ctx.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+      .withUserConfiguration(AwsLambdaConfig.class, VirtualThreadConfig.class)
+      .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+      .withPropertyValues(
+          "aws.region=us-east-1",
+          "aws.credentials.provider=static",
+          "aws.credentials.access-key=ak",
+          "aws.credentials.secret-key=sk"
+      );
+
+  @Test
+  void virtual_mode_wraps_lambda_client_and_registers_monitor() {
+    runner
+        .withPropertyValues(
+            "spring.threads.virtual.enabled=true",
+            "aws.lambda.virtual-threads.max-concurrent-invocations=7"
+        )
+        .run(ctx -> {
+          LambdaClient client = ctx.getBean(LambdaClient.class);
+          assertThat(client).isInstanceOf(BoundedLambdaClient.class);
+          assertThat(((BoundedLambdaClient) client).availablePermits()).isEqualTo(7);
+          assertThat(ctx).hasSingleBean(VirtualThreadPinningMonitor.class);
+        });
+  }
+
+  @Test
+  void platform_mode_leaves_lambda_client_untouched() {
+    runner.run(ctx -> {
+      assertThat(ctx.getBean(LambdaClient.class)).isNotInstanceOf(BoundedLambdaClient.class);
+      assertThat(ctx).doesNotHaveBean(VirtualThreadPinningMonitor.class);
+    });
+  }
+}
@@ -0,0 +1,119 @@
+package com.mx.att.digital.identity.controller;
+
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityAsyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de IdentityAsyncController: el handler arranca un request async de MVC y la
+ * respuesta se escribe en el asyncDispatch cuando el futuro se completa.
+ */
+class IdentityAsyncControllerTest {
+
+  @Mock
+  private IdentityAsyncService service;
+
+  private MockMvc mvc;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    IdentityAsyncController controller = new IdentityAsyncController(service);
+
+    this.mvc = MockMvcBuilders
+        .standaloneSetup(controller)
+        .setValidator(new IdentityControllerTest.NoOpValidator())
+        .build();
+  }
+
+  @Test
+  @DisplayName("POST /async/session/init libera el hilo y responde 200 al completarse")
+  void sessionInit_async_ok() throws Exception {
+    CompletableFuture<ApiResponse<SessionInitData>> pending = new CompletableFuture<>();
+    when(service.sessionInit(ArgumentMatchers.any(SessionInitRequest.class))).thenReturn(pending);
+
+    MvcResult started = mvc.perform(post("/async/session/init")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    pending.complete(new ApiResponse<>("OK", "msg", new SessionInitData("u-1", "0", "ok"), OffsetDateTime.now()));
+
+    mvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.uuid").value("u-1"));
+
+    verify(service).sessionInit(ArgumentMatchers.any(SessionInitRequest.class));
+    verifyNoMoreInteractions(service);
+  }
+
+  @Test
+  void mdnValidate_async_ok() throws Exception {
+    when(service.mdnValidate(ArgumentMatchers.any(MdnValidateRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    performAndDispatch("/async/mdn/validate");
+
+    verify(service).mdnValidate(ArgumentMatchers.any(MdnValidateRequest.class));
+  }
+
+  @Test
+  void otpRequest_async_ok() throws Exception {
+    when(service.otpRequest(ArgumentMatchers.any(OtpRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    performAndDispatch("/async/otp/request");
+
+    verify(service).otpRequest(ArgumentMatchers.any(OtpRequest.class));
+  }
+
+  @Test
+  void otpValidate_async_ok() throws Exception {
+    when(service.otpValidate(ArgumentMatchers.any(OtpValidateRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    performAndDispatch("/async/otp/validate");
+
+    verify(service).otpValidate(ArgumentMatchers.any(OtpValidateRequest.class));
+  }
+
+  @Test
+  void otpForward_async_ok() throws Exception {
+    when(service.otpForward(ArgumentMatchers.any(OtpForwardRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    performAndDispatch("/async/otp/forward");
+
+    verify(service).otpForward(ArgumentMatchers.any(OtpForwardRequest.class));
+  }
+
+  private void performAndDispatch(String path) throws Exception {
+    MvcResult started = mvc.perform(post(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+  }
+}
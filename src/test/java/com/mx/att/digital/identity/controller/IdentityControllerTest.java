@@ -1,7 +1,11 @@
 package com.mx.att.digital.identity.controller;
 
+import com.mx.att.digital.identity.client.OrchestratorClientException;
+import com.mx.att.digital.identity.exception.GlobalExceptionHandler;
 import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityFlowService;
 import com.mx.att.digital.identity.service.IdentityService;
+import com.mx.att.digital.identity.service.MdnBatchValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,9 +18,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -34,12 +40,18 @@ class IdentityControllerTest {
   @Mock
   private IdentityService service;
 
+  @Mock
+  private MdnBatchValidationService batch;
+
+  @Mock
+  private IdentityFlowService flow;
+
   private MockMvc mvc;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    IdentityController controller = new IdentityController(service);
+    IdentityController controller = new IdentityController(service, batch, flow);
 
     this.mvc = MockMvcBuilders
         .standaloneSetup(controller)
@@ -66,6 +78,24 @@ class IdentityControllerTest {
     }
   }
 
+  @Nested
+  @DisplayName("POST /identity/flow")
+  class IdentityFlowEndpoint {
+    @Test
+    @DisplayName("200 OK e invoca flow.start, no service")
+    void identityFlow_ok_invoca_flow() throws Exception {
+      when(flow.start(ArgumentMatchers.any(IdentityFlowRequest.class))).thenReturn(null);
+
+      mvc.perform(post("/identity/flow")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{}"))
+          .andExpect(status().isOk());
+
+      verify(flow, times(1)).start(ArgumentMatchers.any(IdentityFlowRequest.class));
+      verifyNoInteractions(service, batch);
+    }
+  }
+
   @Nested
   @DisplayName("POST /mdn/validate")
   class MdnValidateEndpoint {
@@ -84,6 +114,24 @@ class IdentityControllerTest {
     }
   }
 
+  @Nested
+  @DisplayName("POST /mdn/validate/batch")
+  class MdnValidateBatchEndpoint {
+    @Test
+    @DisplayName("200 OK e invoca batch.mdnValidateBatch, no service")
+    void mdnValidateBatch_ok_invoca_batch() throws Exception {
+      when(batch.mdnValidateBatch(ArgumentMatchers.any(MdnValidateBatchRequest.class))).thenReturn(null);
+
+      mvc.perform(post("/mdn/validate/batch")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{\"items\":[{}]}"))
+          .andExpect(status().isOk());
+
+      verify(batch, times(1)).mdnValidateBatch(ArgumentMatchers.any(MdnValidateBatchRequest.class));
+      verifyNoInteractions(service);
+    }
+  }
+
   @Nested
   @DisplayName("POST /otp/request")
   class OtpRequestEndpoint {
@@ -137,4 +185,42 @@ class IdentityControllerTest {
       verifyNoMoreInteractions(service);
     }
   }
+
+  @Nested
+  @DisplayName("Errores de Lambda / orquestación")
+  class OrchestrationErrors {
+    private MockMvc withAdvice() {
+      return MockMvcBuilders
+          .standaloneSetup(new IdentityController(service, batch, flow))
+          .setControllerAdvice(new GlobalExceptionHandler())
+          .setValidator(new NoOpValidator())
+          .build();
+    }
+
+    @Test
+    @DisplayName("LambdaException sigue saliendo como 500 UNEXPECTED_ERROR")
+    void lambdaException_is_500() throws Exception {
+      when(service.mdnValidate(ArgumentMatchers.any(MdnValidateRequest.class)))
+          .thenThrow(LambdaException.builder().message("Service").statusCode(500).build());
+
+      withAdvice().perform(post("/mdn/validate")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{}"))
+          .andExpect(status().isInternalServerError())
+          .andExpect(jsonPath("$.errorCode").value("UNEXPECTED_ERROR"));
+    }
+
+    @Test
+    @DisplayName("OrchestratorClientException sigue saliendo como 500 UNEXPECTED_ERROR")
+    void orchestratorException_is_500() throws Exception {
+      when(service.otpRequest(ArgumentMatchers.any(OtpRequest.class)))
+          .thenThrow(new OrchestratorClientException("Lambda function error: Unhandled (op=otpRequest)"));
+
+      withAdvice().perform(post("/otp/request")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{}"))
+          .andExpect(status().isInternalServerError())
+          .andExpect(jsonPath("$.errorCode").value("UNEXPECTED_ERROR"));
+    }
+  }
 }
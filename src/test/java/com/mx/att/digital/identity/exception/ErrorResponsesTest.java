@@ -0,0 +1,70 @@
+package com.mx.att.digital.identity.exception;
+
+import com.mx.att.digital.identity.client.ConcurrencyLimitExceededException;
+import com.mx.att.digital.identity.client.LambdaSaturatedException;
+import com.mx.att.digital.identity.client.OrchestratorClientException;
+import com.mx.att.digital.identity.model.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpServerErrorException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorResponsesTest {
+
+    @Test
+    void saturation_maps_to_concurrency_limit_whatever_its_source() {
+        ErrorResponse limit = ErrorResponses.of(new ConcurrencyLimitExceededException("mdnValidate", 4));
+        ErrorResponse permit = ErrorResponses.of(new LambdaSaturatedException("Sin permiso"));
+
+        assertEquals("CONCURRENCY_LIMIT", limit.errorCode());
+        assertEquals(limit.errorCode(), permit.errorCode());
+        assertEquals(limit.status(), permit.status());
+    }
+
+    @Test
+    void unknown_upstream_status_falls_back_to_bad_gateway() {
+        ErrorResponse res = ErrorResponses.of(new HttpServerErrorException(HttpStatusCode.valueOf(599)));
+
+        assertEquals("BAD_GATEWAY", res.status());
+        assertEquals("UPSTREAM_5XX", res.errorCode());
+        assertTrue(res.retryable());
+    }
+
+    @Test
+    void lambda_errors_keep_the_sync_contract_and_client_errors_are_not_retryable() {
+        ErrorResponse res = ErrorResponses.of(LambdaException.builder().message("Bad").statusCode(400).build());
+        ErrorResponse throttled = ErrorResponses.of(LambdaException.builder().message("Rate").statusCode(429).build());
+
+        assertEquals("INTERNAL_SERVER_ERROR", res.status());
+        assertEquals("UNEXPECTED_ERROR", res.errorCode());
+        assertFalse(res.retryable());
+        assertTrue(throttled.retryable());
+    }
+
+    @Test
+    void orchestrator_errors_are_retryable_only_with_a_transient_cause() {
+        ErrorResponse io = ErrorResponses.of(new OrchestratorClientException("Error invocando Lambda",
+                SdkClientException.create("read", new SocketTimeoutException("Read timed out"))));
+        ErrorResponse denied = ErrorResponses.of(new OrchestratorClientException("Error invocando Lambda",
+                LambdaException.builder().message("AccessDenied").statusCode(403).build()));
+        ErrorResponse functionError = ErrorResponses.of(new OrchestratorClientException("functionError=Unhandled"));
+
+        assertEquals("UNEXPECTED_ERROR", io.errorCode());
+        assertTrue(io.retryable());
+        assertFalse(denied.retryable());
+        assertFalse(functionError.retryable());
+    }
+
+    @Test
+    void anything_else_is_unexpected() {
+        ErrorResponse res = ErrorResponses.of(new IllegalStateException("boom"));
+
+        assertEquals("INTERNAL_SERVER_ERROR", res.status());
+        assertEquals("UNEXPECTED_ERROR", res.errorCode());
+    }
+}
@@ -1,6 +1,11 @@
 package com.mx.att.digital.identity.exception;
 
+import com.mx.att.digital.identity.client.ConcurrencyLimitExceededException;
+import com.mx.att.digital.identity.client.LambdaSaturatedException;
 import com.mx.att.digital.identity.model.ErrorResponse;
+import com.mx.att.digital.identity.ratelimit.RateLimitedException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -16,6 +21,8 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GlobalExceptionHandlerTest {
@@ -155,6 +162,50 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody());
     }
 
+    /* ===================== Bulkhead ===================== */
+
+    @Test
+    void handleBulkheadFull() {
+        BulkheadFullException ex = BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("otpValidate"));
+
+        ResponseEntity<ErrorResponse> response = handler.handleBulkheadFull(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().retryable());
+        assertEquals("BULKHEAD_FULL", response.getBody().errorCode());
+    }
+
+    @Test
+    void handleConcurrencyLimit() {
+        ResponseEntity<ErrorResponse> response =
+                handler.handleConcurrencyLimit(new ConcurrencyLimitExceededException("mdnValidate", 4));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertTrue(response.getBody().retryable());
+        assertEquals("CONCURRENCY_LIMIT", response.getBody().errorCode());
+    }
+
+    @Test
+    void handleConcurrencyLimit_covers_lambda_permit_timeout() {
+        ResponseEntity<ErrorResponse> response =
+                handler.handleConcurrencyLimit(new LambdaSaturatedException("Sin permiso para invocar Lambda tras 50 ms"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertTrue(response.getBody().retryable());
+        assertEquals("CONCURRENCY_LIMIT", response.getBody().errorCode());
+    }
+
+    @Test
+    void handleRateLimited_sets_retry_after_in_whole_seconds() {
+        ResponseEntity<ErrorResponse> response =
+                handler.handleRateLimited(new RateLimitedException("otpRequest", Duration.ofMillis(1500)));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("RATE_LIMITED", response.getBody().errorCode());
+    }
+
     /* ===================== Generic ===================== */
 
     @Test
@@ -0,0 +1,126 @@
+package com.mx.att.digital.identity.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.model.ApiResponse;
+import com.mx.att.digital.identity.model.OtpRequestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotencyGuardTest {
+
+  private final ObjectMapper mapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private final IdempotencyKey key = IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "u-1", "5512345678");
+  private final ApiResponse<OtpRequestData> sent = new ApiResponse<>(
+      "OK", "msg", new OtpRequestData("u-1", "0", "enviado"), OffsetDateTime.parse("2024-01-01T10:15:30Z"));
+
+  private final Supplier<ApiResponse<OtpRequestData>> call = () -> {
+    calls.incrementAndGet();
+    return sent;
+  };
+
+  private IdempotencyGuard guard(IdempotencyStore store, boolean enabled) {
+    return new IdempotencyGuard(store, mapper, registry, Duration.ofMinutes(10), enabled);
+  }
+
+  @Test
+  void second_call_replays_stored_result() {
+    IdempotencyGuard guard = guard(new InMemoryIdempotencyStore(64, 512, 1), true);
+
+    guard.execute(OrchestratorOperation.OTP_REQUEST, key, call);
+    ApiResponse<OtpRequestData> replay = guard.execute(OrchestratorOperation.OTP_REQUEST, key, call);
+
+    assertThat(calls).hasValue(1);
+    assertThat(replay).isEqualTo(sent);
+    assertThat(registry.get("identity.idempotency.replayed").tag("operation", "otpRequest").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void failures_are_not_remembered() {
+    IdempotencyGuard guard = guard(new InMemoryIdempotencyStore(64, 512, 1), true);
+
+    assertThatThrownBy(() -> guard.execute(OrchestratorOperation.OTP_REQUEST, key, () -> {
+      throw new IllegalStateException("boom");
+    })).isInstanceOf(IllegalStateException.class);
+    guard.execute(OrchestratorOperation.OTP_REQUEST, key, call);
+
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void async_result_is_remembered_when_it_completes() {
+    IdempotencyGuard guard = guard(new InMemoryIdempotencyStore(64, 512, 1), true);
+    CompletableFuture<ApiResponse<OtpRequestData>> pending = new CompletableFuture<>();
+
+    CompletableFuture<ApiResponse<OtpRequestData>> first =
+        guard.executeAsync(OrchestratorOperation.OTP_REQUEST, key, () -> pending);
+    pending.complete(sent);
+    CompletableFuture<ApiResponse<OtpRequestData>> replay =
+        guard.executeAsync(OrchestratorOperation.OTP_REQUEST, key, () -> CompletableFuture.completedFuture(call.get()));
+
+    assertThat(first).isCompletedWithValue(sent);
+    assertThat(replay).isCompletedWithValue(sent);
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void async_failures_are_shared_but_not_remembered() {
+    IdempotencyGuard guard = guard(new InMemoryIdempotencyStore(64, 512, 1), true);
+    CompletableFuture<ApiResponse<OtpRequestData>> pending = new CompletableFuture<>();
+
+    CompletableFuture<ApiResponse<OtpRequestData>> first =
+        guard.executeAsync(OrchestratorOperation.OTP_REQUEST, key, () -> pending);
+    CompletableFuture<ApiResponse<OtpRequestData>> duplicate =
+        guard.executeAsync(OrchestratorOperation.OTP_REQUEST, key, () -> CompletableFuture.completedFuture(call.get()));
+    pending.completeExceptionally(new IllegalStateException("boom"));
+    guard.executeAsync(OrchestratorOperation.OTP_REQUEST, key, () -> CompletableFuture.completedFuture(call.get())).join();
+
+    assertThat(first).isCompletedExceptionally();
+    assertThat(duplicate).isCompletedExceptionally();
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void disabled_or_null_key_always_invokes() {
+    IdempotencyGuard disabled = guard(new InMemoryIdempotencyStore(64, 512, 1), false);
+    disabled.execute(OrchestratorOperation.OTP_REQUEST, key, call);
+    disabled.execute(OrchestratorOperation.OTP_REQUEST, key, call);
+
+    IdempotencyGuard enabled = guard(new InMemoryIdempotencyStore(64, 512, 1), true);
+    enabled.execute(OrchestratorOperation.OTP_REQUEST, null, call);
+    enabled.execute(OrchestratorOperation.OTP_REQUEST, null, call);
+
+    assertThat(calls).hasValue(4);
+  }
+
+  @Test
+  void store_failures_do_not_break_the_operation() {
+    IdempotencyStore broken = mock(IdempotencyStore.class);
+    when(broken.find(any())).thenThrow(new IllegalStateException("down"));
+    doThrow(new IllegalStateException("down")).when(broken).save(any(), any(), any());
+
+    ApiResponse<OtpRequestData> out = guard(broken, true).execute(OrchestratorOperation.OTP_REQUEST, key, call);
+
+    assertThat(out).isSameAs(sent);
+    assertThat(registry.get("identity.idempotency.store-errors").counter().count()).isEqualTo(2.0);
+  }
+}
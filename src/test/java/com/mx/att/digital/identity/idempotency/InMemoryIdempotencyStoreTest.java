@@ -0,0 +1,147 @@
+package com.mx.att.digital.identity.idempotency;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryIdempotencyStoreTest {
+
+  private final AtomicLong now = new AtomicLong(1_000);
+
+  private InMemoryIdempotencyStore store(int capacity, int slotBytes, int segments) {
+    return new InMemoryIdempotencyStore(capacity, slotBytes, segments, now::get);
+  }
+
+  private static IdempotencyKey key(String uuid) {
+    return IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, uuid, "5512345678");
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void save_then_find_returns_copy_of_value() {
+    InMemoryIdempotencyStore store = store(64, 64, 4);
+
+    store.save(key("u-1"), bytes("{\"ok\":1}"), Duration.ofMinutes(1));
+
+    assertThat(store.find(key("u-1"))).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("{\"ok\":1}")));
+    assertThat(store.find(key("u-2"))).isEmpty();
+    assertThat(store.size()).isEqualTo(1);
+  }
+
+  @Test
+  void entries_expire_after_window() {
+    InMemoryIdempotencyStore store = store(64, 64, 1);
+    store.save(key("u-1"), bytes("a"), Duration.ofSeconds(10));
+
+    now.addAndGet(10_000);
+
+    assertThat(store.find(key("u-1"))).isEmpty();
+    assertThat(store.size()).isZero();
+  }
+
+  @Test
+  void save_replaces_value_for_same_key() {
+    InMemoryIdempotencyStore store = store(64, 64, 1);
+    store.save(key("u-1"), bytes("first-longer"), Duration.ofMinutes(1));
+    store.save(key("u-1"), bytes("second"), Duration.ofMinutes(1));
+
+    assertThat(store.find(key("u-1"))).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("second")));
+    assertThat(store.size()).isEqualTo(1);
+  }
+
+  @Test
+  void oversized_values_are_not_stored() {
+    InMemoryIdempotencyStore store = store(64, 4, 1);
+
+    store.save(key("u-1"), bytes("12345"), Duration.ofMinutes(1));
+
+    assertThat(store.find(key("u-1"))).isEmpty();
+  }
+
+  @Test
+  void invalidate_removes_only_that_key() {
+    InMemoryIdempotencyStore store = store(64, 16, 1);
+    store.save(key("u-1"), bytes("a"), Duration.ofMinutes(1));
+    store.save(key("u-2"), bytes("b"), Duration.ofMinutes(1));
+
+    store.invalidate(key("u-1"));
+
+    assertThat(store.find(key("u-1"))).isEmpty();
+    assertThat(store.find(key("u-2"))).isPresent();
+  }
+
+  @Test
+  void full_store_evicts_entries_closest_to_expiry_and_keeps_working() {
+    InMemoryIdempotencyStore store = store(8, 8, 1);
+    for (int i = 0; i < 100; i++) {
+      now.incrementAndGet();
+      store.save(key("u-" + i), bytes("v" + i), Duration.ofMinutes(1));
+    }
+
+    assertThat(store.capacity()).isEqualTo(8);
+    assertThat(store.size()).isEqualTo(8);
+    assertThat(store.find(key("u-99"))).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("v99")));
+    assertThat(store.find(key("u-0"))).isEmpty();
+  }
+
+  @Test
+  void any_key_value_is_storable_including_zero() {
+    InMemoryIdempotencyStore store = store(8, 8, 1);
+    IdempotencyKey zero = new IdempotencyKey(0, 0);
+    IdempotencyKey even = new IdempotencyKey(0, 2);
+
+    store.save(zero, bytes("z"), Duration.ofMinutes(1));
+    store.save(even, bytes("e"), Duration.ofMinutes(1));
+
+    assertThat(store.find(zero)).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("z")));
+    assertThat(store.find(even)).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("e")));
+    assertThat(store.size()).isEqualTo(2);
+  }
+
+  @Test
+  void probe_starts_use_even_and_odd_slots() {
+    boolean[] parity = new boolean[2];
+    for (int i = 0; i < 64; i++) {
+      parity[(int) (key("u-" + i).lo() & 1L)] = true;
+    }
+
+    assertThat(parity).containsExactly(true, true);
+  }
+
+  @Test
+  void capacity_is_rounded_to_power_of_two_segments() {
+    InMemoryIdempotencyStore store = store(1000, 32, 3);
+
+    assertThat(store.capacity()).isEqualTo(1024);
+    assertThat(store.slotBytes()).isEqualTo(32);
+  }
+
+  @Test
+  void rejects_non_positive_sizes() {
+    assertThatThrownBy(() -> store(0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void key_depends_on_operation_uuid_and_parts() {
+    IdempotencyKey base = IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "u-1", "5512345678");
+
+    assertThat(IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "u-1", "5512345678")).isEqualTo(base);
+    assertThat(IdempotencyKey.of(OrchestratorOperation.OTP_FORWARD, "u-1", "5512345678")).isNotEqualTo(base);
+    assertThat(IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "u-2", "5512345678")).isNotEqualTo(base);
+    assertThat(IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "u-1", "5587654321")).isNotEqualTo(base);
+    assertThat(IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "u-1", "5512345678", "2024-01-01T16:15:30Z"))
+        .isNotEqualTo(base);
+    // El separador evita que ("ab","c") y ("a","bc") colisionen.
+    assertThat(IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "ab", "c"))
+        .isNotEqualTo(IdempotencyKey.of(OrchestratorOperation.OTP_REQUEST, "a", "bc"));
+  }
+}
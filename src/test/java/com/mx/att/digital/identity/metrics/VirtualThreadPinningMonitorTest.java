@@ -0,0 +1,61 @@
+package com.mx.att.digital.identity.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void counts_virtual_thread_pinned_inside_synchronized_block() throws Exception {
+    VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(5));
+    monitor.start();
+    try {
+      assertThat(monitor.isRunning()).isTrue();
+
+      Object lock = new Object();
+      Thread.ofVirtual().start(() -> {
+        synchronized (lock) {
+          sleepQuietly(50); // bloquea dentro de synchronized => ancla el carrier
+        }
+      }).join();
+
+      long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+      while (monitor.pinnedCount() == 0 && System.nanoTime() < deadline) {
+        Thread.sleep(100);
+      }
+
+      assertThat(monitor.pinnedCount()).isPositive();
+      assertThat(registry.get("identity.virtual-threads.pinned").counter().count()).isPositive();
+      assertThat(registry.get("identity.virtual-threads.pinned.duration").timer().count()).isPositive();
+    } finally {
+      monitor.stop();
+    }
+    assertThat(monitor.isRunning()).isFalse();
+  }
+
+  @Test
+  void start_and_stop_are_idempotent() {
+    VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(20));
+    monitor.start();
+    monitor.start();
+    monitor.stop();
+    monitor.stop();
+
+    assertThat(monitor.isRunning()).isFalse();
+    assertThat(monitor.pinnedCount()).isZero();
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
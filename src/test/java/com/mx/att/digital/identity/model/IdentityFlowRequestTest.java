@@ -0,0 +1,70 @@
+package com.mx.att.digital.identity.model;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.*;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityFlowRequestTest {
+
+  private static ValidatorFactory factory;
+  private static Validator validator;
+
+  @BeforeAll
+  static void init() {
+    factory = Validation.buildDefaultValidatorFactory();
+    validator = factory.getValidator();
+  }
+
+  @AfterAll
+  static void close() {
+    if (factory != null) factory.close();
+  }
+
+  @Test
+  void maps_to_each_step_request() {
+    OffsetDateTime ts = OffsetDateTime.now();
+    IdentityFlowRequest req = new IdentityFlowRequest("uuid-1", ts, "WEB", "LOGIN", "5512345678", true);
+
+    assertThat(req.sessionInit()).isEqualTo(new SessionInitRequest("uuid-1", ts, "5512345678"));
+    assertThat(req.mdnValidate()).isEqualTo(new MdnValidateRequest("uuid-1", ts, "WEB", "LOGIN", "5512345678"));
+    assertThat(req.otpRequest()).isEqualTo(new OtpRequest("uuid-1", "5512345678", ts));
+  }
+
+  @Test
+  void otp_is_opt_in() {
+    OffsetDateTime ts = OffsetDateTime.now();
+    assertThat(new IdentityFlowRequest("u", ts, "WEB", "LOGIN", "5512345678", null).otpRequested()).isFalse();
+    assertThat(new IdentityFlowRequest("u", ts, "WEB", "LOGIN", "5512345678", false).otpRequested()).isFalse();
+    assertThat(new IdentityFlowRequest("u", ts, "WEB", "LOGIN", "5512345678", true).otpRequested()).isTrue();
+  }
+
+  @Test
+  void validation_ok() {
+    IdentityFlowRequest req = new IdentityFlowRequest("uuid-1", OffsetDateTime.now(), "WEB", "LOGIN", "5512345678", null);
+    assertThat(validator.validate(req)).isEmpty();
+  }
+
+  @Test
+  void msisdn_required_and_ten_digits() {
+    OffsetDateTime ts = OffsetDateTime.now();
+    assertThat(validator.validate(new IdentityFlowRequest("u", ts, "WEB", "LOGIN", null, null)))
+        .extracting(v -> v.getPropertyPath().toString())
+        .containsExactly("msisdn");
+    assertThat(validator.validate(new IdentityFlowRequest("u", ts, "WEB", "LOGIN", "55-123", null)))
+        .extracting(v -> v.getPropertyPath().toString())
+        .containsExactly("msisdn");
+  }
+
+  @Test
+  void notBlank_fields_invalid_when_blank() {
+    IdentityFlowRequest req = new IdentityFlowRequest(" ", null, " ", " ", "5512345678", null);
+    assertThat(validator.validate(req))
+        .extracting(v -> v.getPropertyPath().toString())
+        .contains("uuid", "timestamp", "source", "initFlowType");
+  }
+}
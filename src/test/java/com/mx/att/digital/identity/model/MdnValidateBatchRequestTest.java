@@ -0,0 +1,65 @@
+package com.mx.att.digital.identity.model;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.*;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdnValidateBatchRequestTest {
+
+  private static ValidatorFactory factory;
+  private static Validator validator;
+
+  @BeforeAll
+  static void init() {
+    factory = Validation.buildDefaultValidatorFactory();
+    validator = factory.getValidator();
+  }
+
+  @AfterAll
+  static void close() {
+    if (factory != null) factory.close();
+  }
+
+  private static MdnValidateRequest item(String msisdn) {
+    return new MdnValidateRequest("uuid-1", OffsetDateTime.now(), "src", "flow", msisdn);
+  }
+
+  @Test
+  void validation_ok_up_to_max_items() {
+    MdnValidateBatchRequest req = new MdnValidateBatchRequest(
+        Collections.nCopies(MdnValidateBatchRequest.MAX_ITEMS, item("1234567890")));
+    assertThat(validator.validate(req)).isEmpty();
+  }
+
+  @Test
+  void empty_or_null_items_invalid() {
+    assertThat(validator.validate(new MdnValidateBatchRequest(List.of())))
+        .extracting(v -> v.getPropertyPath().toString())
+        .containsExactly("items");
+    assertThat(validator.validate(new MdnValidateBatchRequest(null)))
+        .extracting(v -> v.getPropertyPath().toString())
+        .containsExactly("items");
+  }
+
+  @Test
+  void more_than_max_items_invalid() {
+    MdnValidateBatchRequest req = new MdnValidateBatchRequest(
+        Collections.nCopies(MdnValidateBatchRequest.MAX_ITEMS + 1, item("1234567890")));
+    assertThat(validator.validate(req))
+        .extracting(v -> v.getPropertyPath().toString())
+        .containsExactly("items");
+  }
+
+  @Test
+  void invalid_items_do_not_invalidate_the_envelope() {
+    MdnValidateBatchRequest req = new MdnValidateBatchRequest(List.of(item("123"), item("1234567890")));
+    assertThat(validator.validate(req)).isEmpty();
+  }
+}
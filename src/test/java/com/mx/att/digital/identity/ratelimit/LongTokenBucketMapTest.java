@@ -0,0 +1,88 @@
+package com.mx.att.digital.identity.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongTokenBucketMapTest {
+
+  private static final long MSISDN = 5512345678L;
+
+  // nanoTime puede ser negativo: el mapa sólo usa diferencias.
+  private final AtomicLong now = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+
+  private LongTokenBucketMap map(int capacity, int burst, Duration period) {
+    return new LongTokenBucketMap(capacity, 1, burst, period, now::get);
+  }
+
+  @Test
+  void burst_is_granted_then_rejected_with_wait_until_next_token() {
+    LongTokenBucketMap m = map(64, 3, Duration.ofSeconds(60));
+
+    assertThat(m.tryAcquire(MSISDN)).isZero();
+    assertThat(m.tryAcquire(MSISDN)).isZero();
+    assertThat(m.tryAcquire(MSISDN)).isZero();
+
+    long wait = m.tryAcquire(MSISDN);
+    assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+    assertThat(m.tryAcquire(MSISDN)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThat(m.tryAcquire(MSISDN)).isZero();
+    assertThat(m.tryAcquire(MSISDN)).isPositive();
+  }
+
+  @Test
+  void keys_are_independent_including_zero() {
+    LongTokenBucketMap m = map(64, 1, Duration.ofSeconds(10));
+
+    assertThat(m.tryAcquire(0L)).isZero();
+    assertThat(m.tryAcquire(0L)).isPositive();
+    assertThat(m.tryAcquire(MSISDN)).isZero();
+    assertThat(m.tryAcquire(MSISDN + 1)).isZero();
+    assertThat(m.size()).isEqualTo(3);
+  }
+
+  @Test
+  void fully_refilled_buckets_expire_and_free_their_slots() {
+    LongTokenBucketMap m = map(8, 2, Duration.ofSeconds(1));
+    for (long k = 0; k < m.capacity(); k++) {
+      assertThat(m.tryAcquire(k)).isZero();
+    }
+    assertThat(m.size()).isEqualTo(m.capacity());
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThat(m.size()).isZero();
+
+    // Claves nuevas reutilizan los slots vencidos; las viejas vuelven con el bucket lleno.
+    for (long k = 100; k < 100 + m.capacity(); k++) {
+      assertThat(m.tryAcquire(k)).isZero();
+    }
+    assertThat(m.tryAcquire(0L)).isZero();
+    assertThat(m.tryAcquire(0L)).isZero();
+  }
+
+  @Test
+  void when_full_of_live_buckets_the_closest_to_refill_is_replaced() {
+    LongTokenBucketMap m = map(8, 1, Duration.ofSeconds(60));
+    for (long k = 0; k < 1_000; k++) {
+      assertThat(m.tryAcquire(k)).isZero();
+    }
+    assertThat(m.size()).isLessThanOrEqualTo(m.capacity());
+    // La clave más reciente sigue limitada.
+    assertThat(m.tryAcquire(999L)).isPositive();
+  }
+
+  @Test
+  void invalid_arguments_are_rejected() {
+    assertThatThrownBy(() -> map(0, 1, Duration.ofSeconds(1))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> map(8, 0, Duration.ofSeconds(1))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> map(8, 1, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
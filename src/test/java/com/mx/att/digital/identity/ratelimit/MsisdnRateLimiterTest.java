@@ -0,0 +1,72 @@
+package com.mx.att.digital.identity.ratelimit;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MsisdnRateLimiterTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private MsisdnRateLimiter limiter(boolean enabled) {
+    return new MsisdnRateLimiter(
+        new LongTokenBucketMap(1024, 4, 2, Duration.ofMinutes(1)),
+        new LongTokenBucketMap(1024, 4, 1, Duration.ofMinutes(1)),
+        registry,
+        enabled
+    );
+  }
+
+  @Test
+  void otp_request_and_forward_share_the_sms_bucket() {
+    MsisdnRateLimiter l = limiter(true);
+
+    l.check(OrchestratorOperation.OTP_REQUEST, "5512345678");
+    l.check(OrchestratorOperation.OTP_FORWARD, "5512345678");
+
+    assertThatThrownBy(() -> l.check(OrchestratorOperation.OTP_FORWARD, "5512345678"))
+        .isInstanceOfSatisfying(RateLimitedException.class, ex -> {
+          assertThat(ex.operation()).isEqualTo("otpForward");
+          assertThat(ex.retryAfter()).isPositive();
+        });
+    assertThat(registry.get("identity.rate-limit.rejected").tag("operation", "otpForward").counter().count())
+        .isEqualTo(1.0);
+
+    // Otra MSISDN y otra operación no se ven afectadas.
+    l.check(OrchestratorOperation.OTP_REQUEST, "5587654321");
+    l.check(OrchestratorOperation.OTP_VALIDATE, "5512345678");
+    assertThatThrownBy(() -> l.check(OrchestratorOperation.OTP_VALIDATE, "5512345678"))
+        .isInstanceOf(RateLimitedException.class);
+  }
+
+  @Test
+  void non_otp_operations_invalid_msisdn_and_disabled_are_not_limited() {
+    MsisdnRateLimiter l = limiter(true);
+    MsisdnRateLimiter off = limiter(false);
+
+    assertThatNoException().isThrownBy(() -> {
+      for (int i = 0; i < 10; i++) {
+        l.check(OrchestratorOperation.MDN_VALIDATE, "5512345678");
+        l.check(OrchestratorOperation.OTP_REQUEST, "55-1234567");
+        l.check(OrchestratorOperation.OTP_REQUEST, null);
+        off.check(OrchestratorOperation.OTP_REQUEST, "5512345678");
+      }
+    });
+  }
+
+  @Test
+  void parse_accepts_only_ten_digits() {
+    assertThat(MsisdnRateLimiter.parse("5512345678")).isEqualTo(5512345678L);
+    assertThat(MsisdnRateLimiter.parse("0000000000")).isZero();
+    assertThat(MsisdnRateLimiter.parse("551234567")).isEqualTo(-1);
+    assertThat(MsisdnRateLimiter.parse("55123456789")).isEqualTo(-1);
+    assertThat(MsisdnRateLimiter.parse("55123a5678")).isEqualTo(-1);
+    assertThat(MsisdnRateLimiter.parse(null)).isEqualTo(-1);
+  }
+}
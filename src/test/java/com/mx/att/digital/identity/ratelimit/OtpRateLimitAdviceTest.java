@@ -0,0 +1,85 @@
+package com.mx.att.digital.identity.ratelimit;
+
+import com.mx.att.digital.identity.controller.IdentityController;
+import com.mx.att.digital.identity.exception.GlobalExceptionHandler;
+import com.mx.att.digital.identity.model.OtpRequest;
+import com.mx.att.digital.identity.service.IdentityFlowService;
+import com.mx.att.digital.identity.service.IdentityService;
+import com.mx.att.digital.identity.service.MdnBatchValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OtpRateLimitAdviceTest {
+
+  private static final String BODY = """
+      {"uuid":"u-1","msisdn":"5512345678","timestamp":"2024-01-01T10:15:30Z"}
+      """;
+
+  private final IdentityService service = mock(IdentityService.class);
+  private final IdentityFlowService flow = mock(IdentityFlowService.class);
+  private MockMvc mvc;
+
+  @BeforeEach
+  void setUp() {
+    MsisdnRateLimiter limiter = new MsisdnRateLimiter(
+        new LongTokenBucketMap(64, 1, 1, Duration.ofMinutes(1)),
+        new LongTokenBucketMap(64, 1, 1, Duration.ofMinutes(1)),
+        new SimpleMeterRegistry(),
+        true
+    );
+    mvc = MockMvcBuilders.standaloneSetup(new IdentityController(service, mock(MdnBatchValidationService.class), flow))
+        .setControllerAdvice(new OtpRateLimitAdvice(limiter), new GlobalExceptionHandler())
+        .build();
+  }
+
+  @Test
+  void second_otp_request_for_same_msisdn_gets_429_without_reaching_the_service() throws Exception {
+    mvc.perform(post("/otp/request").contentType(MediaType.APPLICATION_JSON).content(BODY))
+        .andExpect(status().isOk());
+
+    mvc.perform(post("/otp/request").contentType(MediaType.APPLICATION_JSON).content(BODY))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "60"))
+        .andExpect(jsonPath("$.errorCode").value("RATE_LIMITED"))
+        .andExpect(jsonPath("$.retryable").value(true));
+
+    verify(service, times(1)).otpRequest(any(OtpRequest.class));
+  }
+
+  @Test
+  void identity_flow_with_otp_shares_the_otp_request_bucket() throws Exception {
+    mvc.perform(post("/otp/request").contentType(MediaType.APPLICATION_JSON).content(BODY))
+        .andExpect(status().isOk());
+
+    mvc.perform(post("/identity/flow").contentType(MediaType.APPLICATION_JSON).content("""
+            {"uuid":"u-1","msisdn":"5512345678","timestamp":"2024-01-01T10:15:30Z",
+             "source":"WEB","initFlowType":"LOGIN","requestOtp":true}
+            """))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(jsonPath("$.errorCode").value("RATE_LIMITED"));
+    verify(flow, never()).start(any());
+
+    mvc.perform(post("/identity/flow").contentType(MediaType.APPLICATION_JSON).content("""
+            {"uuid":"u-1","msisdn":"5512345678","timestamp":"2024-01-01T10:15:30Z",
+             "source":"WEB","initFlowType":"LOGIN"}
+            """))
+        .andExpect(status().isOk());
+    verify(flow, times(1)).start(any());
+  }
+}
@@ -0,0 +1,55 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.cache.MdnValidationCache;
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CachingIdentityServiceTest {
+
+  private IdentityService delegate;
+  private MdnValidationCache cache;
+  private CachingIdentityService service;
+
+  @BeforeEach
+  void setUp() {
+    delegate = mock(IdentityService.class);
+    cache = mock(MdnValidationCache.class);
+    service = new CachingIdentityService(delegate, cache);
+  }
+
+  @Test
+  void mdnValidate_goes_through_cache() {
+    MdnValidateRequest req = new MdnValidateRequest(null, null, null, null, "5512345678");
+    ApiResponse<MdnValidateData> expected = new ApiResponse<>("OK", "msg", null, OffsetDateTime.now());
+    when(cache.get(req)).thenReturn(expected);
+
+    assertThat(service.mdnValidate(req)).isSameAs(expected);
+    verifyNoInteractions(delegate);
+  }
+
+  @Test
+  void other_operations_delegate() {
+    SessionInitRequest s = new SessionInitRequest(null, null, null);
+    OtpRequest o = new OtpRequest(null, null, null);
+    OtpValidateRequest v = new OtpValidateRequest(null, null, null, null);
+    OtpForwardRequest f = new OtpForwardRequest(null, null, null);
+
+    service.sessionInit(s);
+    service.otpRequest(o);
+    service.otpValidate(v);
+    service.otpForward(f);
+
+    verify(delegate).sessionInit(s);
+    verify(delegate).otpRequest(o);
+    verify(delegate).otpValidate(v);
+    verify(delegate).otpForward(f);
+    verifyNoInteractions(cache);
+  }
+}
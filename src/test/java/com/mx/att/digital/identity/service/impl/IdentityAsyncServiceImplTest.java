@@ -0,0 +1,153 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mx.att.digital.identity.client.OrchestratorAsyncClient;
+import com.mx.att.digital.identity.idempotency.IdempotencyGuard;
+import com.mx.att.digital.identity.idempotency.InMemoryIdempotencyStore;
+import com.mx.att.digital.identity.model.*;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdentityAsyncServiceImplTest {
+
+  private OrchestratorAsyncClient client;
+  private IdentityAsyncServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    client = mock(OrchestratorAsyncClient.class);
+    ObjectMapper mapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    IdempotencyGuard guard = new IdempotencyGuard(
+        new InMemoryIdempotencyStore(64, 512, 1), mapper, new SimpleMeterRegistry(), Duration.ofSeconds(30), true);
+    service = new IdentityAsyncServiceImpl(client, guard);
+  }
+
+  @Test
+  void async_methods_share_the_semaphore_bulkheads_of_the_sync_path() throws Exception {
+    for (Method m : IdentityAsyncServiceImpl.class.getDeclaredMethods()) {
+      Bulkhead bulkhead = m.getAnnotation(Bulkhead.class);
+      if (bulkhead == null) continue;
+      assertThat(bulkhead.type()).as(m.getName()).isEqualTo(Bulkhead.Type.SEMAPHORE);
+      Method sync = IdentityServiceImpl.class.getMethod(m.getName(), m.getParameterTypes());
+      assertThat(bulkhead.name()).isEqualTo(sync.getAnnotation(Bulkhead.class).name());
+    }
+  }
+
+  @Test
+  void sessionInit_returns_client_future() {
+    SessionInitRequest req = new SessionInitRequest("u-1", null, null);
+    CompletableFuture<ApiResponse<SessionInitData>> expected =
+        CompletableFuture.completedFuture(new ApiResponse<>("OK", "msg", null, OffsetDateTime.now()));
+
+    when(client.sessionInit(req)).thenReturn(expected);
+
+    assertThat(service.sessionInit(req)).isSameAs(expected);
+    verify(client).sessionInit(req);
+    verifyNoMoreInteractions(client);
+  }
+
+  @Test
+  void mdnValidate_returns_client_future_with_null_req() {
+    CompletableFuture<ApiResponse<MdnValidateData>> expected = new CompletableFuture<>();
+
+    when(client.mdnValidate(null)).thenReturn(expected);
+
+    assertThat(service.mdnValidate(null)).isSameAs(expected);
+    verify(client).mdnValidate(null);
+    verifyNoMoreInteractions(client);
+  }
+
+  @Test
+  void otpRequest_completes_with_client_result() {
+    OtpRequest req = new OtpRequest("u-1", "5512345678", OffsetDateTime.now());
+    CompletableFuture<ApiResponse<OtpRequestData>> pending = new CompletableFuture<>();
+    ApiResponse<OtpRequestData> sent = otpRequestData();
+
+    when(client.otpRequest(req)).thenReturn(pending);
+
+    CompletableFuture<ApiResponse<OtpRequestData>> out = service.otpRequest(req);
+    assertThat(out).isNotDone();
+    pending.complete(sent);
+
+    assertThat(out).isCompletedWithValue(sent);
+    verify(client).otpRequest(req);
+    verifyNoMoreInteractions(client);
+  }
+
+  @Test
+  void otpRequest_retry_is_replayed_and_duplicates_in_flight_share_the_call() {
+    OtpRequest req = new OtpRequest("u-1", "5512345678", OffsetDateTime.now());
+    CompletableFuture<ApiResponse<OtpRequestData>> pending = new CompletableFuture<>();
+    when(client.otpRequest(req)).thenReturn(pending);
+
+    CompletableFuture<ApiResponse<OtpRequestData>> first = service.otpRequest(req);
+    CompletableFuture<ApiResponse<OtpRequestData>> duplicate = service.otpRequest(req);
+    first.cancel(true);
+    pending.complete(otpRequestData());
+    CompletableFuture<ApiResponse<OtpRequestData>> retry = service.otpRequest(req);
+
+    assertThat(duplicate.join().data().uuid()).isEqualTo("u-1");
+    assertThat(retry.join().data().uuid()).isEqualTo("u-1");
+    verify(client).otpRequest(req);
+    verifyNoMoreInteractions(client);
+  }
+
+  @Test
+  void otpRequest_failure_is_not_remembered() {
+    OtpRequest req = new OtpRequest("u-1", "5512345678", OffsetDateTime.now());
+    when(client.otpRequest(req))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")))
+        .thenReturn(CompletableFuture.completedFuture(otpRequestData()));
+
+    assertThat(service.otpRequest(req)).isCompletedExceptionally();
+    assertThat(service.otpRequest(req)).isCompleted();
+    verify(client, times(2)).otpRequest(req);
+  }
+
+  @Test
+  void otpValidate_returns_client_future() {
+    OtpValidateRequest req = new OtpValidateRequest("u-1", null, "5512345678", "123456");
+    CompletableFuture<ApiResponse<OtpValidateData>> expected = new CompletableFuture<>();
+
+    when(client.otpValidate(req)).thenReturn(expected);
+
+    assertThat(service.otpValidate(req)).isSameAs(expected);
+    verify(client).otpValidate(req);
+    verifyNoMoreInteractions(client);
+  }
+
+  @Test
+  void otpForward_resend_with_new_timestamp_invokes_again() {
+    OtpForwardRequest first = new OtpForwardRequest("u-1", OffsetDateTime.now(), "5512345678");
+    OtpForwardRequest resend = new OtpForwardRequest("u-1", first.timestamp().plusSeconds(20), "5512345678");
+    when(client.otpForward(any())).thenReturn(CompletableFuture.completedFuture(
+        new ApiResponse<>("OK", "msg", new OtpForwardData("u-1", "0", "ok"), OffsetDateTime.now())));
+
+    service.otpForward(first).join();
+    service.otpForward(first).join();
+    service.otpForward(resend).join();
+
+    verify(client).otpForward(first);
+    verify(client).otpForward(resend);
+    verifyNoMoreInteractions(client);
+  }
+
+  private static ApiResponse<OtpRequestData> otpRequestData() {
+    return new ApiResponse<>("OK", "msg", new OtpRequestData("u-1", "0", "enviado"), OffsetDateTime.now());
+  }
+}
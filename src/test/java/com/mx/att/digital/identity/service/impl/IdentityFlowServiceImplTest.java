@@ -0,0 +1,101 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityService;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdentityFlowServiceImplTest {
+
+  private static final OffsetDateTime TS = OffsetDateTime.parse("2024-01-01T10:15:30Z");
+
+  private IdentityService identity;
+  private IdentityFlowServiceImpl flow;
+
+  @BeforeEach
+  void setUp() {
+    identity = mock(IdentityService.class);
+    flow = new IdentityFlowServiceImpl(identity);
+  }
+
+  private static IdentityFlowRequest request(Boolean otp) {
+    return new IdentityFlowRequest("uuid-1", TS, "WEB", "LOGIN", "5512345678", otp);
+  }
+
+  private static <T> ApiResponse<T> ok(T data) {
+    return new ApiResponse<>("OK", "msg", data, TS);
+  }
+
+  @Test
+  void session_then_mdn_are_combined() {
+    ApiResponse<SessionInitData> session = ok(new SessionInitData("uuid-1", "0", "ok"));
+    ApiResponse<MdnValidateData> mdn = ok(null);
+    when(identity.sessionInit(any())).thenReturn(session);
+    when(identity.mdnValidate(any())).thenReturn(mdn);
+
+    ApiResponse<IdentityFlowData> res = flow.start(request(null));
+
+    assertThat(res.status()).isEqualTo("OK");
+    assertThat(res.data().session()).isSameAs(session);
+    assertThat(res.data().mdn()).isSameAs(mdn);
+    assertThat(res.data().otp()).isNull();
+    InOrder order = inOrder(identity);
+    order.verify(identity).sessionInit(new SessionInitRequest("uuid-1", TS, "5512345678"));
+    order.verify(identity).mdnValidate(new MdnValidateRequest("uuid-1", TS, "WEB", "LOGIN", "5512345678"));
+    verify(identity, never()).otpRequest(any());
+  }
+
+  @Test
+  void otp_is_requested_after_both_steps_when_asked() {
+    ApiResponse<OtpRequestData> otp = ok(new OtpRequestData("uuid-1", "0", "ok"));
+    when(identity.sessionInit(any())).thenReturn(ok(null));
+    when(identity.mdnValidate(any())).thenReturn(ok(null));
+    when(identity.otpRequest(any())).thenReturn(otp);
+
+    ApiResponse<IdentityFlowData> res = flow.start(request(true));
+
+    assertThat(res.data().otp()).isSameAs(otp);
+    verify(identity).otpRequest(new OtpRequest("uuid-1", "5512345678", TS));
+  }
+
+  @Test
+  void session_failure_stops_the_flow() {
+    CallNotPermittedException open = CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("sessionInit"));
+    when(identity.sessionInit(any())).thenThrow(open);
+
+    assertThatThrownBy(() -> flow.start(request(true))).isSameAs(open);
+
+    verify(identity, never()).mdnValidate(any());
+    verify(identity, never()).otpRequest(any());
+  }
+
+  @Test
+  void mdn_failure_skips_otp() {
+    CallNotPermittedException open = CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("mdnValidate"));
+    when(identity.sessionInit(any())).thenReturn(ok(null));
+    when(identity.mdnValidate(any())).thenThrow(open);
+
+    assertThatThrownBy(() -> flow.start(request(true))).isSameAs(open);
+
+    verify(identity, never()).otpRequest(any());
+  }
+
+  @Test
+  void otp_failure_propagates() {
+    when(identity.sessionInit(any())).thenReturn(ok(null));
+    when(identity.mdnValidate(any())).thenReturn(ok(null));
+    when(identity.otpRequest(any())).thenThrow(new IllegalStateException("boom"));
+
+    assertThatThrownBy(() -> flow.start(request(true))).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+  }
+}
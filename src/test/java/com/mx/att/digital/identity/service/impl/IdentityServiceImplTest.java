@@ -1,13 +1,22 @@
 package com.mx.att.digital.identity.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.mx.att.digital.identity.client.OrchestratorClient;
+import com.mx.att.digital.identity.idempotency.IdempotencyGuard;
+import com.mx.att.digital.identity.idempotency.InMemoryIdempotencyStore;
 import com.mx.att.digital.identity.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class IdentityServiceImplTest {
@@ -18,7 +27,13 @@ class IdentityServiceImplTest {
   @BeforeEach
   void setUp() {
     client = mock(OrchestratorClient.class);
-    service = new IdentityServiceImpl(client);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ObjectMapper mapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    IdempotencyGuard guard = new IdempotencyGuard(
+        new InMemoryIdempotencyStore(64, 512, 1), mapper, registry, Duration.ofMinutes(10), true);
+    service = new IdentityServiceImpl(client, new SingleFlight(registry), guard);
   }
 
   @Test
@@ -150,4 +165,49 @@ class IdentityServiceImplTest {
     verify(client).otpForward(null);
     verifyNoMoreInteractions(client);
   }
+
+  @Test
+  void otpRequest_retry_of_the_same_request_is_replayed() {
+    OffsetDateTime sentAt = OffsetDateTime.parse("2024-01-01T10:15:30-06:00");
+    OtpRequest first = new OtpRequest("u-1", "5512345678", sentAt);
+    OtpRequest retry = new OtpRequest("u-1", "5512345678", sentAt.withOffsetSameInstant(ZoneOffset.UTC));
+    ApiResponse<OtpRequestData> expected =
+        new ApiResponse<>("OK", "msg", new OtpRequestData("u-1", "0", "enviado"), OffsetDateTime.now());
+    when(client.otpRequest(first)).thenReturn(expected);
+
+    service.otpRequest(first);
+    ApiResponse<OtpRequestData> out = service.otpRequest(retry);
+
+    assertThat(out).isEqualTo(expected);
+    verify(client).otpRequest(first);
+    verifyNoMoreInteractions(client);
+  }
+
+  @Test
+  void otpForward_resend_in_the_same_session_invokes_lambda_again() {
+    OtpForwardRequest first = new OtpForwardRequest("u-1", OffsetDateTime.now(), "5512345678");
+    OtpForwardRequest resend = new OtpForwardRequest("u-1", first.timestamp().plusSeconds(20), "5512345678");
+    when(client.otpForward(any())).thenReturn(
+        new ApiResponse<>("OK", "msg", new OtpForwardData("u-1", "0", "ok"), OffsetDateTime.now()));
+
+    service.otpForward(first);
+    service.otpForward(resend);
+
+    verify(client).otpForward(first);
+    verify(client).otpForward(resend);
+  }
+
+  @Test
+  void otpForward_other_msisdn_is_a_new_invocation() {
+    OtpForwardRequest a = new OtpForwardRequest("u-1", OffsetDateTime.now(), "5512345678");
+    OtpForwardRequest b = new OtpForwardRequest("u-1", OffsetDateTime.now(), "5587654321");
+    when(client.otpForward(any())).thenReturn(
+        new ApiResponse<>("OK", "msg", new OtpForwardData("u-1", "0", "ok"), OffsetDateTime.now()));
+
+    service.otpForward(a);
+    service.otpForward(b);
+
+    verify(client).otpForward(a);
+    verify(client).otpForward(b);
+  }
 }
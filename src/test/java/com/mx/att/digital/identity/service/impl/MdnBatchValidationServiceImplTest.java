@@ -0,0 +1,238 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.client.ConcurrencyLimitExceededException;
+import com.mx.att.digital.identity.client.LambdaSaturatedException;
+import com.mx.att.digital.identity.client.OrchestratorClientException;
+import com.mx.att.digital.identity.config.BatchProperties;
+import com.mx.att.digital.identity.model.*;
+import com.mx.att.digital.identity.service.IdentityService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import software.amazon.awssdk.services.lambda.model.LambdaException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class MdnBatchValidationServiceImplTest {
+
+  private static ValidatorFactory factory;
+  private static Validator validator;
+
+  private IdentityService identity;
+  private SimpleMeterRegistry registry;
+
+  @BeforeAll
+  static void init() {
+    factory = Validation.buildDefaultValidatorFactory();
+    validator = factory.getValidator();
+  }
+
+  @AfterAll
+  static void close() {
+    if (factory != null) factory.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    identity = mock(IdentityService.class);
+    registry = new SimpleMeterRegistry();
+  }
+
+  private MdnBatchValidationServiceImpl service(int maxConcurrency, Duration timeout) {
+    return new MdnBatchValidationServiceImpl(identity, validator, new BatchProperties(maxConcurrency, timeout), registry);
+  }
+
+  private static MdnValidateRequest item(String msisdn) {
+    return new MdnValidateRequest("uuid-" + msisdn, OffsetDateTime.now(), "WEB", "LOGIN", msisdn);
+  }
+
+  private static ApiResponse<MdnValidateData> ok(String msisdn) {
+    return new ApiResponse<>("OK", msisdn, null, OffsetDateTime.now());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  void results_keep_request_order_under_random_latency() {
+    when(identity.mdnValidate(any())).thenAnswer(inv -> {
+      sleep(ThreadLocalRandom.current().nextInt(0, 10));
+      return ok(inv.<MdnValidateRequest>getArgument(0).msisdn());
+    });
+    List<MdnValidateRequest> items = new ArrayList<>();
+    for (int i = 0; i < 50; i++) items.add(item(String.format("55000000%02d", i)));
+
+    ApiResponse<MdnValidateBatchData> res = service(8, Duration.ofSeconds(10)).mdnValidateBatch(new MdnValidateBatchRequest(items));
+
+    assertThat(res.status()).isEqualTo("OK");
+    assertThat(res.data().total()).isEqualTo(50);
+    assertThat(res.data().succeeded()).isEqualTo(50);
+    for (int i = 0; i < 50; i++) {
+      MdnValidateBatchResult r = res.data().results().get(i);
+      assertThat(r.index()).isEqualTo(i);
+      assertThat(r.success()).isTrue();
+      assertThat(r.response().message()).isEqualTo(items.get(i).msisdn());
+    }
+    assertThat(registry.get("identity.batch.items").tag("outcome", "success").counter().count()).isEqualTo(50);
+    assertThat(registry.get("identity.batch.duration").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void invalid_items_fail_in_place_without_reaching_the_service() {
+    when(identity.mdnValidate(any())).thenAnswer(inv -> ok(inv.<MdnValidateRequest>getArgument(0).msisdn()));
+    List<MdnValidateRequest> items = new ArrayList<>(List.of(item("5512345678"), item("55-bad")));
+    items.add(null);
+
+    ApiResponse<MdnValidateBatchData> res = service(4, Duration.ofSeconds(10)).mdnValidateBatch(new MdnValidateBatchRequest(items));
+
+    assertThat(res.status()).isEqualTo("PARTIAL");
+    assertThat(res.data().succeeded()).isEqualTo(1);
+    assertThat(res.data().failed()).isEqualTo(2);
+    MdnValidateBatchResult bad = res.data().results().get(1);
+    assertThat(bad.success()).isFalse();
+    assertThat(bad.msisdn()).isEqualTo("55-bad");
+    assertThat(bad.error().errorCode()).isEqualTo("VALIDATION_ERROR");
+    assertThat(bad.error().status()).isEqualTo("BAD_REQUEST");
+    assertThat(bad.error().retryable()).isFalse();
+    assertThat(bad.error().message()).startsWith("msisdn:");
+    assertThat(res.data().results().get(2).error().errorCode()).isEqualTo("VALIDATION_ERROR");
+    verify(identity, times(1)).mdnValidate(any());
+  }
+
+  @Test
+  void failures_are_mapped_per_item_like_the_exception_handler() {
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("1"))))
+        .thenThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("mdnValidate")));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("2"))))
+        .thenThrow(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("mdnValidate")));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("3"))))
+        .thenThrow(new ConcurrencyLimitExceededException("mdnValidate", 4));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("4"))))
+        .thenThrow(new IllegalStateException("boom"));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("0"))))
+        .thenReturn(ok("5500000000"));
+    List<MdnValidateRequest> items = List.of(
+        item("5500000000"), item("5500000001"), item("5500000002"), item("5500000003"), item("5500000004"));
+
+    ApiResponse<MdnValidateBatchData> res = service(2, Duration.ofSeconds(10)).mdnValidateBatch(new MdnValidateBatchRequest(items));
+
+    List<MdnValidateBatchResult> results = res.data().results();
+    assertThat(results.get(0).success()).isTrue();
+    assertThat(results.subList(1, 5))
+        .extracting(r -> r.error().errorCode())
+        .containsExactly("CIRCUIT_OPEN", "BULKHEAD_FULL", "CONCURRENCY_LIMIT", "UNEXPECTED_ERROR");
+    assertThat(results.subList(1, 5)).allSatisfy(r -> assertThat(r.error().retryable()).isTrue());
+    assertThat(results.get(1).error().status()).isEqualTo("SERVICE_UNAVAILABLE");
+    assertThat(results.get(4).error().status()).isEqualTo("INTERNAL_SERVER_ERROR");
+    assertThat(res.status()).isEqualTo("PARTIAL");
+    assertThat(registry.get("identity.batch.items").tag("outcome", "error").counter().count()).isEqualTo(4);
+  }
+
+  @Test
+  void upstream_and_lambda_failures_keep_their_status_and_retryability() {
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("1"))))
+        .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", HttpHeaders.EMPTY, new byte[0], null));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("2"))))
+        .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, new byte[0], null));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("3"))))
+        .thenThrow(LambdaException.builder().message("Service").statusCode(500).build());
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("4"))))
+        .thenThrow(new LambdaSaturatedException("Sin permiso para invocar Lambda tras 50 ms"));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("5"))))
+        .thenThrow(new OrchestratorClientException("functionError=Unhandled"));
+    List<MdnValidateRequest> items = List.of(
+        item("5500000001"), item("5500000002"), item("5500000003"), item("5500000004"), item("5500000005"));
+
+    List<MdnValidateBatchResult> results = service(2, Duration.ofSeconds(10))
+        .mdnValidateBatch(new MdnValidateBatchRequest(items)).data().results();
+
+    assertThat(results).extracting(r -> r.error().errorCode())
+        .containsExactly("UPSTREAM_5XX", "UPSTREAM_4XX", "UNEXPECTED_ERROR", "CONCURRENCY_LIMIT", "UNEXPECTED_ERROR");
+    assertThat(results).extracting(r -> r.error().status())
+        .containsExactly("SERVICE_UNAVAILABLE", "NOT_FOUND", "INTERNAL_SERVER_ERROR", "SERVICE_UNAVAILABLE", "INTERNAL_SERVER_ERROR");
+    // El functionError sin causa de red se repetiría igual.
+    assertThat(results).extracting(r -> r.error().retryable())
+        .containsExactly(true, false, true, true, false);
+  }
+
+  @Test
+  void all_failed_reports_error_status() {
+    when(identity.mdnValidate(any()))
+        .thenThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("mdnValidate")));
+
+    ApiResponse<MdnValidateBatchData> res = service(4, Duration.ofSeconds(10))
+        .mdnValidateBatch(new MdnValidateBatchRequest(List.of(item("5500000000"), item("5500000001"))));
+
+    assertThat(res.status()).isEqualTo("ERROR");
+    assertThat(res.data().failed()).isEqualTo(2);
+  }
+
+  @Test
+  void in_flight_calls_never_exceed_max_concurrency() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    when(identity.mdnValidate(any())).thenAnswer(inv -> {
+      peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      sleep(5);
+      inFlight.decrementAndGet();
+      return ok("x");
+    });
+    List<MdnValidateRequest> items = new ArrayList<>();
+    for (int i = 0; i < 40; i++) items.add(item(String.format("55000000%02d", i)));
+
+    service(3, Duration.ofSeconds(10)).mdnValidateBatch(new MdnValidateBatchRequest(items));
+
+    assertThat(peak.get()).isBetween(1, 3);
+    verify(identity, times(40)).mdnValidate(any());
+  }
+
+  @Test
+  void pending_items_time_out_without_holding_the_batch() {
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("0")))).thenReturn(ok("5500000000"));
+    when(identity.mdnValidate(argThat(r -> r != null && r.msisdn().endsWith("1")))).thenAnswer(inv -> {
+      sleep(60_000);
+      return ok("5500000001");
+    });
+    List<MdnValidateRequest> items = List.of(item("5500000000"), item("5500000001"), item("5500000002"));
+
+    long start = System.nanoTime();
+    ApiResponse<MdnValidateBatchData> res = service(1, Duration.ofSeconds(2)).mdnValidateBatch(new MdnValidateBatchRequest(items));
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    List<MdnValidateBatchResult> results = res.data().results();
+    assertThat(results.get(0).success()).isTrue();
+    assertThat(results.subList(1, 3)).allSatisfy(r -> {
+      assertThat(r.error().errorCode()).isEqualTo("BATCH_TIMEOUT");
+      assertThat(r.error().status()).isEqualTo("GATEWAY_TIMEOUT");
+      assertThat(r.error().retryable()).isTrue();
+    });
+  }
+}
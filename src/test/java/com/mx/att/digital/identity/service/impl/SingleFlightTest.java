@@ -0,0 +1,144 @@
+package com.mx.att.digital.identity.service.impl;
+
+import com.mx.att.digital.identity.client.OrchestratorOperation;
+import com.mx.att.digital.identity.model.OtpValidateRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final SingleFlight singleFlight = new SingleFlight(registry);
+
+  private final OtpValidateRequest req = new OtpValidateRequest("u-1", null, "5512345678", "123456");
+
+  @Test
+  void concurrent_identical_calls_share_one_invocation() throws Exception {
+    int callers = 8;
+    AtomicInteger invocations = new AtomicInteger();
+    CountDownLatch leaderStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      results.add(pool.submit(() -> singleFlight.execute(OrchestratorOperation.OTP_VALIDATE, req, () -> {
+        invocations.incrementAndGet();
+        leaderStarted.countDown();
+        await(release);
+        return "result";
+      })));
+      await(leaderStarted);
+
+      for (int i = 1; i < callers; i++) {
+        results.add(pool.submit(() -> singleFlight.execute(OrchestratorOperation.OTP_VALIDATE,
+            new OtpValidateRequest("u-1", null, "5512345678", "123456"), () -> {
+              invocations.incrementAndGet();
+              return "other";
+            })));
+      }
+      waitForCoalesced(callers - 1);
+      release.countDown();
+
+      for (Future<String> f : results) {
+        assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertThat(invocations).hasValue(1);
+    assertThat(coalescedCount("otpValidate")).isEqualTo(callers - 1);
+    assertThat(singleFlight.inFlightCount()).isZero();
+  }
+
+  @Test
+  void failure_is_propagated_to_every_waiter() throws Exception {
+    CountDownLatch leaderStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      Future<Object> leader = pool.submit(() -> singleFlight.execute(OrchestratorOperation.OTP_VALIDATE, req, () -> {
+        leaderStarted.countDown();
+        await(release);
+        throw new IllegalStateException("boom");
+      }));
+      await(leaderStarted);
+      Future<Object> follower = pool.submit(() -> singleFlight.execute(OrchestratorOperation.OTP_VALIDATE, req, () -> "never"));
+      waitForCoalesced(1);
+      release.countDown();
+
+      assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("boom");
+    } finally {
+      pool.shutdownNow();
+    }
+    assertThat(singleFlight.inFlightCount()).isZero();
+  }
+
+  @Test
+  void sequential_calls_are_not_coalesced() {
+    AtomicInteger invocations = new AtomicInteger();
+
+    singleFlight.execute(OrchestratorOperation.OTP_VALIDATE, req, invocations::incrementAndGet);
+    singleFlight.execute(OrchestratorOperation.OTP_VALIDATE, req, invocations::incrementAndGet);
+
+    assertThat(invocations).hasValue(2);
+    assertThat(coalescedCount("otpValidate")).isZero();
+  }
+
+  @Test
+  void same_request_on_different_operations_is_not_coalesced() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> first = pool.submit(() -> singleFlight.execute(OrchestratorOperation.OTP_VALIDATE, req, () -> {
+        started.countDown();
+        await(release);
+        return "a";
+      }));
+      await(started);
+
+      String second = singleFlight.execute(OrchestratorOperation.SESSION_INIT, req, () -> "b");
+      release.countDown();
+
+      assertThat(second).isEqualTo("b");
+      assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private double coalescedCount(String op) {
+    return registry.get("identity.orchestrator.coalesced").tag("operation", op).counter().count();
+  }
+
+  private void waitForCoalesced(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (coalescedCount("otpValidate") < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.mx.att.digital.identity.startup;
+
+import com.mx.att.digital.identity.emulator.EmulatorConfig;
+import com.mx.att.digital.identity.emulator.LambdaEmulator;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de arranque hasta el primer {@code POST /session/init} exitoso, con la función
+ * orquestadora sustituida por el {@link LambdaEmulator} (latencia fija de 1 ms, sin fallas ni
+ * arranques en frío, para que sólo cuente el arranque de la aplicación).
+ *
+ * <p>Compara tres modos: el jar ejecutable tal cual ({@code jar}), el jar extraído
+ * ({@code extract}) y el jar extraído con Spring AOT + AppCDS ({@code aot+cds}). Cada corrida
+ * es un proceso nuevo; se mide desde {@code ProcessBuilder.start()} hasta la primera respuesta
+ * 200, así que incluye el arranque de la JVM. Uso (perfil {@code startup} de {@code boot/pom.xml}):
+ * {@code StartupBenchmark <jar> <jar-extraído> <application.jsa> [corridas]}.
+ */
+public final class StartupBenchmark {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(90);
+  private static final String FUNCTION_ARN = "arn:aws:lambda:us-east-1:000000000000:function:stub";
+  private static final String SESSION_INIT = "{\"uuid\":\"startup-benchmark\",\"timestamp\":\"2024-01-01T00:00:00Z\"}";
+
+  private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+  private final String stubEndpoint;
+  private final Path logDir;
+
+  private StartupBenchmark(String stubEndpoint, Path logDir) {
+    this.stubEndpoint = stubEndpoint;
+    this.logDir = logDir;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 3) {
+      System.err.println("uso: StartupBenchmark <jar> <jar-extraído> <application.jsa> [corridas]");
+      System.exit(2);
+    }
+    Path fatJar = Path.of(args[0]);
+    Path extractedJar = Path.of(args[1]);
+    Path archive = Path.of(args[2]);
+    int runs = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+    try (LambdaEmulator stub = startStub()) {
+      Path logDir = Files.createDirectories(extractedJar.toAbsolutePath().getParent().resolve("benchmark-logs"));
+      StartupBenchmark bench = new StartupBenchmark(stub.endpoint().toString(), logDir);
+
+      System.out.printf("%-16s %8s %8s %8s%n", "modo", "min ms", "p50 ms", "max ms");
+      bench.report("jar", runs, List.of("-jar", fatJar.toString()));
+      bench.report("extract", runs, List.of("-jar", extractedJar.toString()));
+      bench.report("aot+cds", runs, List.of(
+          "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true", "-jar", extractedJar.toString()));
+    }
+  }
+
+  static LambdaEmulator startStub() throws IOException {
+    Properties props = new Properties();
+    props.setProperty("port", "0");
+    props.setProperty("cold-start.probability", "0");
+    props.setProperty("default.latency", "1ms");
+    return LambdaEmulator.start(EmulatorConfig.from(props));
+  }
+
+  private void report(String mode, int runs, List<String> launch) throws Exception {
+    long[] millis = new long[runs];
+    for (int i = 0; i < runs; i++) {
+      millis[i] = timeToFirstSessionInit(mode + "-" + i, launch);
+    }
+    Arrays.sort(millis);
+    System.out.printf("%-16s %8d %8d %8d%n", mode, millis[0], millis[runs / 2], millis[runs - 1]);
+  }
+
+  private long timeToFirstSessionInit(String run, List<String> launch) throws Exception {
+    int port = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(launch);
+    command.addAll(List.of(
+        "--server.port=" + port,
+        "--spring.main.banner-mode=off",
+        "--logging.level.root=WARN",
+        "--logging.level.com.mx.att.digital.identity=WARN",
+        "--aws.region=us-east-1",
+        "--aws.credentials.provider=static",
+        "--aws.credentials.access-key=stub",
+        "--aws.credentials.secret-key=stub",
+        "--aws.lambda.function-arn=" + FUNCTION_ARN,
+        "--aws.lambda.endpoint-override=" + stubEndpoint,
+        "--aws.lambda.log-type=None"));
+
+    Path log = logDir.resolve(run + ".log");
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/session/init"))
+        .timeout(Duration.ofSeconds(5))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(SESSION_INIT))
+        .build();
+
+    long start = System.nanoTime();
+    Process app = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    try {
+      int lastStatus = -1;
+      while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+        if (!app.isAlive()) {
+          throw new IllegalStateException("la aplicación terminó con código " + app.exitValue() + ", ver " + log);
+        }
+        try {
+          lastStatus = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+          if (lastStatus == 200) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+          }
+        } catch (ConnectException notListeningYet) {
+          // Tomcat aún no abre el puerto.
+        }
+        Thread.sleep(5);
+      }
+      throw new IllegalStateException("sin /session/init exitoso en " + TIMEOUT + " (último status "
+          + lastStatus + "), ver " + log);
+    } finally {
+      app.destroy();
+      if (!app.waitFor(10, TimeUnit.SECONDS)) {
+        app.destroyForcibly();
+      }
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}